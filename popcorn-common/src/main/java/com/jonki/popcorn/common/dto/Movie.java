@@ -15,6 +15,7 @@ import lombok.Getter;
 import javax.annotation.Nullable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -77,9 +78,9 @@ public class Movie extends BaseDTO {
         this.rating = builder.bRating;
         this.numberOfRatings = builder.bNumberOfRatings;
         this.releaseDate = builder.bReleaseDate;
-        this.countries = builder.bCountries;
-        this.languages = builder.bLanguages;
-        this.genres = builder.bGenres;
+        this.countries = Collections.unmodifiableList(new ArrayList<>(builder.bCountries));
+        this.languages = Collections.unmodifiableList(new ArrayList<>(builder.bLanguages));
+        this.genres = Collections.unmodifiableList(new ArrayList<>(builder.bGenres));
         this.boxofficeCumulative = builder.bBoxofficeCumulative;
         this.outline = builder.bOutline;
         this.summary = builder.bSummary;
@@ -0,0 +1,102 @@
+package com.jonki.popcorn.common.dto;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The relations of a movie to its collections of accepted info, named like the links of the movie resource.
+ */
+@Getter
+public enum MovieRelation {
+
+    /**
+     * The other titles of the movie
+     */
+    TITLES("titles"),
+
+    /**
+     * The release dates of the movie
+     */
+    RELEASE_DATES("releaseDates"),
+
+    /**
+     * The outlines of the movie
+     */
+    OUTLINES("outlines"),
+
+    /**
+     * The summaries of the movie
+     */
+    SUMMARIES("summaries"),
+
+    /**
+     * The synopses of the movie
+     */
+    SYNOPSES("synopses"),
+
+    /**
+     * The box offices of the movie
+     */
+    BOX_OFFICES("boxOffices"),
+
+    /**
+     * The sites of the movie
+     */
+    SITES("sites"),
+
+    /**
+     * The countries of the movie
+     */
+    COUNTRIES("countries"),
+
+    /**
+     * The languages of the movie
+     */
+    LANGUAGES("languages"),
+
+    /**
+     * The genres of the movie
+     */
+    GENRES("genres"),
+
+    /**
+     * The reviews of the movie
+     */
+    REVIEWS("reviews"),
+
+    /**
+     * The photos of the movie
+     */
+    PHOTOS("photos"),
+
+    /**
+     * The posters of the movie
+     */
+    POSTERS("posters");
+
+    /**
+     * The name of the relation
+     */
+    private final String rel;
+
+    /**
+     * Constructor.
+     *
+     * @param rel The name of the relation
+     */
+    MovieRelation(final String rel) {
+        this.rel = rel;
+    }
+
+    /**
+     * Find the relation by its name.
+     *
+     * @param rel The name of the relation, e.g. releaseDates
+     * @return The relation or empty if there is no relation of the name
+     */
+    public static Optional<MovieRelation> fromRel(final String rel) {
+        return Arrays.stream(values()).filter(relation -> relation.rel.equals(rel)).findFirst();
+    }
+}
@@ -0,0 +1,69 @@
+package com.jonki.popcorn.common.dto.movie.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.jonki.popcorn.common.dto.CommonResource;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Read only data transfer object representing a RatingHistogram.
+ */
+@Getter
+@JsonDeserialize(builder = RatingHistogram.Builder.class)
+@ApiModel(description = "Movie rating histogram")
+public class RatingHistogram extends CommonResource {
+
+    private static final long serialVersionUID = 2209738402361586431L;
+
+    @ApiModelProperty(notes = "The number of votes for every rate, the first one for the rate 1", required = true)
+    private final List<Integer> counts;
+
+    @ApiModelProperty(notes = "The number of all votes", required = true)
+    private final Integer total;
+
+    /**
+     * Constructor only accessible via builder build() method.
+     *
+     * @param builder The builder to get data from
+     */
+    private RatingHistogram(final Builder builder) {
+        this.counts = builder.bCounts;
+        this.total = builder.bTotal;
+    }
+
+    /**
+     * A builder to create rating histograms.
+     */
+    public static class Builder {
+
+        private final List<Integer> bCounts;
+        private final Integer bTotal;
+
+        /**
+         * Constructor which has required fields.
+         *
+         * @param counts The number of votes for every rate, the first one for the rate 1
+         * @param total The number of all votes
+         */
+        public Builder(
+                @JsonProperty("counts") final List<Integer> counts,
+                @JsonProperty("total") final Integer total
+        ) {
+            this.bCounts = counts;
+            this.bTotal = total;
+        }
+
+        /**
+         * Build the rating histogram.
+         *
+         * @return Create the final read-only RatingHistogram instance
+         */
+        public RatingHistogram build() {
+            return new RatingHistogram(this);
+        }
+    }
+}
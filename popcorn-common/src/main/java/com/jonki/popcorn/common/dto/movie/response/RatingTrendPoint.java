@@ -0,0 +1,95 @@
+package com.jonki.popcorn.common.dto.movie.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.jonki.popcorn.common.dto.CommonResource;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Read only data transfer object representing a RatingTrendPoint.
+ */
+@Getter
+@JsonDeserialize(builder = RatingTrendPoint.Builder.class)
+@ApiModel(description = "Point of the movie rating trend")
+public class RatingTrendPoint extends CommonResource {
+
+    private static final long serialVersionUID = -6163180521964402327L;
+
+    @ApiModelProperty(notes = "The first day of the period", required = true)
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private final Date date;
+
+    @ApiModelProperty(notes = "The number of votes of the period", required = true)
+    private final Integer count;
+
+    @ApiModelProperty(notes = "The average rating of the votes of the period")
+    private final Float average;
+
+    @ApiModelProperty(notes = "The number of all votes until the end of the period", required = true)
+    private final Integer totalCount;
+
+    @ApiModelProperty(notes = "The average rating of all votes until the end of the period")
+    private final Float totalAverage;
+
+    /**
+     * Constructor only accessible via builder build() method.
+     *
+     * @param builder The builder to get data from
+     */
+    private RatingTrendPoint(final Builder builder) {
+        this.date = builder.bDate;
+        this.count = builder.bCount;
+        this.average = builder.bAverage;
+        this.totalCount = builder.bTotalCount;
+        this.totalAverage = builder.bTotalAverage;
+    }
+
+    /**
+     * A builder to create rating trend points.
+     */
+    public static class Builder {
+
+        private final Date bDate;
+        private final Integer bCount;
+        private final Float bAverage;
+        private final Integer bTotalCount;
+        private final Float bTotalAverage;
+
+        /**
+         * Constructor which has required fields.
+         *
+         * @param date The first day of the period
+         * @param count The number of votes of the period
+         * @param average The average rating of the votes of the period, null if there are no votes
+         * @param totalCount The number of all votes until the end of the period
+         * @param totalAverage The average rating of all votes until the end of the period, null if there are no votes
+         */
+        public Builder(
+                @JsonProperty("date") final Date date,
+                @JsonProperty("count") final Integer count,
+                @JsonProperty("average") final Float average,
+                @JsonProperty("totalCount") final Integer totalCount,
+                @JsonProperty("totalAverage") final Float totalAverage
+        ) {
+            this.bDate = date;
+            this.bCount = count;
+            this.bAverage = average;
+            this.bTotalCount = totalCount;
+            this.bTotalAverage = totalAverage;
+        }
+
+        /**
+         * Build the rating trend point.
+         *
+         * @return Create the final read-only RatingTrendPoint instance
+         */
+        public RatingTrendPoint build() {
+            return new RatingTrendPoint(this);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.jonki.popcorn.common.dto.movie.type;
+
+/**
+ * Resolution of the time series, the length of the period of one point.
+ */
+public enum TrendResolution {
+    DAY, WEEK, MONTH
+}
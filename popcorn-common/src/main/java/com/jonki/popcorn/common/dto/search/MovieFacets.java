@@ -0,0 +1,63 @@
+package com.jonki.popcorn.common.dto.search;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This class represents the number of movies per value of the facets when a search for Movies is conducted.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@ApiModel(description = "This class represents the number of movies per value of the facets when a search for Movies is conducted")
+public class MovieFacets implements Serializable {
+
+    private static final long serialVersionUID = -1853390414929417362L;
+
+    @ApiModelProperty(notes = "The number of movies per type", required = true)
+    private final Map<MovieType, Long> types;
+
+    @ApiModelProperty(notes = "The number of movies per genre", required = true)
+    private final Map<GenreType, Long> genres;
+
+    @ApiModelProperty(notes = "The number of movies per country", required = true)
+    private final Map<CountryType, Long> countries;
+
+    @ApiModelProperty(notes = "The number of movies per language", required = true)
+    private final Map<LanguageType, Long> languages;
+
+    /**
+     * Constructor.
+     *
+     * @param types The number of movies per type
+     * @param genres The number of movies per genre
+     * @param countries The number of movies per country
+     * @param languages The number of movies per language
+     */
+    @JsonCreator
+    public MovieFacets(
+            @NotNull @JsonProperty("types") final Map<MovieType, Long> types,
+            @NotNull @JsonProperty("genres") final Map<GenreType, Long> genres,
+            @NotNull @JsonProperty("countries") final Map<CountryType, Long> countries,
+            @NotNull @JsonProperty("languages") final Map<LanguageType, Long> languages
+    ) {
+        this.types = Collections.unmodifiableMap(types);
+        this.genres = Collections.unmodifiableMap(genres);
+        this.countries = Collections.unmodifiableMap(countries);
+        this.languages = Collections.unmodifiableMap(languages);
+    }
+}
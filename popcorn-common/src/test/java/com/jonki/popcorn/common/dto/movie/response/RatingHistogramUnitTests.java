@@ -0,0 +1,67 @@
+package com.jonki.popcorn.common.dto.movie.response;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.test.category.UnitTest;
+import com.jonki.popcorn.test.supplier.RandomSupplier;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+
+/**
+ * Tests for the RatingHistogram DTO.
+ */
+@Category(UnitTest.class)
+public class RatingHistogramUnitTests {
+
+    private static final List<Integer> COUNTS = Lists.newArrayList(
+            RandomSupplier.INT.get(), RandomSupplier.INT.get(), RandomSupplier.INT.get()
+    );
+    private static final Integer TOTAL = RandomSupplier.INT.get();
+
+    /**
+     * Test to make sure we can build a rating histogram using the default builder constructor.
+     */
+    @Test
+    public void canBuildRatingHistogram() {
+        final RatingHistogram ratingHistogram = new RatingHistogram.Builder(
+                COUNTS,
+                TOTAL
+        ).build();
+        Assert.assertThat(ratingHistogram.getCounts(), Matchers.is(COUNTS));
+        Assert.assertThat(ratingHistogram.getTotal(), Matchers.is(TOTAL));
+    }
+
+    /**
+     * Test equals.
+     */
+    @Test
+    public void canFindEquality() {
+        final RatingHistogram.Builder builder = new RatingHistogram.Builder(
+                COUNTS,
+                TOTAL
+        );
+        final RatingHistogram ratingHistogram1 = builder.build();
+        final RatingHistogram ratingHistogram2 = builder.build();
+
+        Assert.assertTrue(ratingHistogram1.equals(ratingHistogram2));
+        Assert.assertTrue(ratingHistogram2.equals(ratingHistogram1));
+    }
+
+    /**
+     * Test hash code.
+     */
+    @Test
+    public void canUseHashCode() {
+        final RatingHistogram.Builder builder = new RatingHistogram.Builder(
+                COUNTS,
+                TOTAL
+        );
+        final RatingHistogram ratingHistogram1 = builder.build();
+        final RatingHistogram ratingHistogram2 = builder.build();
+
+        Assert.assertEquals(ratingHistogram1.hashCode(), ratingHistogram2.hashCode());
+    }
+}
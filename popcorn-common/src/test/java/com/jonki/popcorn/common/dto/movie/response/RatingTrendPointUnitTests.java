@@ -0,0 +1,79 @@
+package com.jonki.popcorn.common.dto.movie.response;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import com.jonki.popcorn.test.supplier.RandomSupplier;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Date;
+
+/**
+ * Tests for the RatingTrendPoint DTO.
+ */
+@Category(UnitTest.class)
+public class RatingTrendPointUnitTests {
+
+    private static final Date DATE = RandomSupplier.DATE.get();
+    private static final Integer COUNT = RandomSupplier.INT.get();
+    private static final Float AVERAGE = RandomSupplier.INT.get() / 10F;
+    private static final Integer TOTAL_COUNT = RandomSupplier.INT.get();
+    private static final Float TOTAL_AVERAGE = RandomSupplier.INT.get() / 10F;
+
+    /**
+     * Test to make sure we can build a rating trend point using the default builder constructor.
+     */
+    @Test
+    public void canBuildRatingTrendPoint() {
+        final RatingTrendPoint ratingTrendPoint = new RatingTrendPoint.Builder(
+                DATE,
+                COUNT,
+                AVERAGE,
+                TOTAL_COUNT,
+                TOTAL_AVERAGE
+        ).build();
+        Assert.assertThat(ratingTrendPoint.getDate(), Matchers.is(DATE));
+        Assert.assertThat(ratingTrendPoint.getCount(), Matchers.is(COUNT));
+        Assert.assertThat(ratingTrendPoint.getAverage(), Matchers.is(AVERAGE));
+        Assert.assertThat(ratingTrendPoint.getTotalCount(), Matchers.is(TOTAL_COUNT));
+        Assert.assertThat(ratingTrendPoint.getTotalAverage(), Matchers.is(TOTAL_AVERAGE));
+    }
+
+    /**
+     * Test equals.
+     */
+    @Test
+    public void canFindEquality() {
+        final RatingTrendPoint.Builder builder = new RatingTrendPoint.Builder(
+                DATE,
+                COUNT,
+                AVERAGE,
+                TOTAL_COUNT,
+                TOTAL_AVERAGE
+        );
+        final RatingTrendPoint ratingTrendPoint1 = builder.build();
+        final RatingTrendPoint ratingTrendPoint2 = builder.build();
+
+        Assert.assertTrue(ratingTrendPoint1.equals(ratingTrendPoint2));
+        Assert.assertTrue(ratingTrendPoint2.equals(ratingTrendPoint1));
+    }
+
+    /**
+     * Test hash code.
+     */
+    @Test
+    public void canUseHashCode() {
+        final RatingTrendPoint.Builder builder = new RatingTrendPoint.Builder(
+                DATE,
+                COUNT,
+                AVERAGE,
+                TOTAL_COUNT,
+                TOTAL_AVERAGE
+        );
+        final RatingTrendPoint ratingTrendPoint1 = builder.build();
+        final RatingTrendPoint ratingTrendPoint2 = builder.build();
+
+        Assert.assertEquals(ratingTrendPoint1.hashCode(), ratingTrendPoint2.hashCode());
+    }
+}
@@ -0,0 +1,182 @@
+package com.jonki.popcorn.core.cache;
+
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.properties.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of the immutable movie details, keyed by the movie ID. The details depend on the locale,
+ * so a snapshot is kept for every country of the default locale the movie has been read with.
+ * <p>
+ * The least recently used movie is evicted when the cache is full. A movie is evicted as soon as a write
+ * changing its details has been committed, there is no expiration time. The votes don't evict the movie,
+ * the readers replace the rating and the number of ratings of the snapshot with the current ones.
+ */
+@Component
+@Slf4j
+public class MovieSnapshotCache {
+
+    private static final String CACHE_NAME = "movieSnapshots";
+
+    private final CacheProperties cacheProperties;
+    private final Map<Long, Map<String, Movie>> snapshots;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter writeEvictions;
+
+    private long generation;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheProperties The cache properties to use
+     * @param meterRegistry The meter registry to use, the global registry if there is none
+     */
+    @Autowired
+    public MovieSnapshotCache(
+            @NotNull final CacheProperties cacheProperties,
+            @NotNull final ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(cacheProperties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cacheProperties The cache properties to use
+     * @param meterRegistry The meter registry to use
+     */
+    public MovieSnapshotCache(
+            @NotNull final CacheProperties cacheProperties,
+            @NotNull final MeterRegistry meterRegistry
+    ) {
+        this.cacheProperties = cacheProperties;
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", "size");
+        this.writeEvictions = meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", "write");
+        this.snapshots = new LinkedHashMap<Long, Map<String, Movie>>(16, 0.75f, true) {
+            private static final long serialVersionUID = -6385402176385401719L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Map<String, Movie>> eldest) {
+                if (this.size() > cacheProperties.getMovie().getMaxSize()) {
+                    MovieSnapshotCache.this.sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("cache.size", this, MovieSnapshotCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached details of the movie or load and cache them.
+     *
+     * @param movieId The movie ID
+     * @param loader The function loading the details of the movie
+     * @return The details of the movie
+     */
+    public Movie get(@NotNull final Long movieId, @NotNull final Supplier<Movie> loader) {
+        return this.get(movieId, loader, UnaryOperator.identity());
+    }
+
+    /**
+     * Get the cached details of the movie updated by the refresher or load and cache them.
+     *
+     * @param movieId The movie ID
+     * @param loader The function loading the details of the movie
+     * @param refresher The function updating the cached details with the data the cache doesn't follow
+     * @return The details of the movie
+     */
+    public Movie get(
+            @NotNull final Long movieId,
+            @NotNull final Supplier<Movie> loader,
+            @NotNull final UnaryOperator<Movie> refresher
+    ) {
+        if (!this.cacheProperties.getMovie().isEnabled()) {
+            return loader.get();
+        }
+
+        final String country = Locale.getDefault().getCountry();
+        final Movie cached;
+        final long currentGeneration;
+        synchronized (this.snapshots) {
+            final Map<String, Movie> byCountry = this.snapshots.get(movieId);
+            cached = byCountry == null ? null : byCountry.get(country);
+            currentGeneration = this.generation;
+        }
+
+        if (cached != null) {
+            this.hits.increment();
+            // The refresher may query the database, so it doesn't run under the lock
+            return refresher.apply(cached);
+        }
+
+        this.misses.increment();
+        final Movie movie = loader.get();
+        synchronized (this.snapshots) {
+            // Don't cache the details loaded before the last eviction
+            if (this.generation == currentGeneration) {
+                this.snapshots.computeIfAbsent(movieId, id -> new HashMap<>()).put(country, movie);
+            }
+        }
+        return movie;
+    }
+
+    /**
+     * Remove the details of the movie.
+     *
+     * @param movieId The movie ID
+     */
+    public void evict(@NotNull final Long movieId) {
+        synchronized (this.snapshots) {
+            this.generation++;
+            if (this.snapshots.remove(movieId) != null) {
+                this.writeEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Get the number of cached movies.
+     *
+     * @return The number of movies
+     */
+    public int size() {
+        synchronized (this.snapshots) {
+            return this.snapshots.size();
+        }
+    }
+
+    /**
+     * Evict the movie after it has changed.
+     *
+     * @param event The movie changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(final MovieChangedEvent event) {
+        log.debug("Evicting the movie after {}", event);
+        this.evict(event.getMovieId());
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * In-memory caches of the movie data.
+ */
+
+package com.jonki.popcorn.core.cache;
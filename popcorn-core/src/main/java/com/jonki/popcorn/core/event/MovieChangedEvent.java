@@ -0,0 +1,37 @@
+package com.jonki.popcorn.core.event;
+
+import com.jonki.popcorn.common.dto.MovieField;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Event published when accepted data of the movie has changed.
+ */
+@Getter
+@ToString
+public class MovieChangedEvent {
+
+    /**
+     * The movie ID
+     */
+    private final Long movieId;
+
+    /**
+     * The changed field, null if the movie itself has changed (e.g. its status)
+     */
+    private final MovieField field;
+
+    /**
+     * Constructor.
+     *
+     * @param movieId The movie ID
+     * @param field The changed field or null if the movie itself has changed
+     */
+    public MovieChangedEvent(@NotNull final Long movieId, @Nullable final MovieField field) {
+        this.movieId = movieId;
+        this.field = field;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jonki.popcorn.core.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Event published when the movie has been added to or removed from favorites of a user.
+ */
+@Getter
+@ToString
+public class MovieFavoritedEvent {
+
+    /**
+     * The movie ID
+     */
+    private final Long movieId;
+
+    /**
+     * Constructor.
+     *
+     * @param movieId The movie ID
+     */
+    public MovieFavoritedEvent(@NotNull final Long movieId) {
+        this.movieId = movieId;
+    }
+}
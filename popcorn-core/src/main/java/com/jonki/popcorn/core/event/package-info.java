@@ -0,0 +1,5 @@
+/**
+ * Application events published by the core services.
+ */
+
+package com.jonki.popcorn.core.event;
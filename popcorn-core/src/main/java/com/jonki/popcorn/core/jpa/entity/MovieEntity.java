@@ -42,6 +42,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,7 +60,10 @@ import java.util.Optional;
                 "budget",
                 "status",
                 "rating",
-                "favoriteCount"
+                "ratingSum",
+                "ratingCount",
+                "favoriteCount",
+                "contentVersion"
         },
         doNotUseGetters = true
 )
@@ -157,19 +161,94 @@ public class MovieEntity implements Serializable {
     @Column(name = "rating")
     private Float rating;
 
+    @Basic
+    @Column(name = "rating_sum", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Long ratingSum;
+
+    @Basic
+    @Column(name = "rating_count", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingCount;
+
+    @Basic
+    @Column(name = "rating_histogram_1", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram1;
+
+    @Basic
+    @Column(name = "rating_histogram_2", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram2;
+
+    @Basic
+    @Column(name = "rating_histogram_3", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram3;
+
+    @Basic
+    @Column(name = "rating_histogram_4", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram4;
+
+    @Basic
+    @Column(name = "rating_histogram_5", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram5;
+
+    @Basic
+    @Column(name = "rating_histogram_6", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram6;
+
+    @Basic
+    @Column(name = "rating_histogram_7", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram7;
+
+    @Basic
+    @Column(name = "rating_histogram_8", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram8;
+
+    @Basic
+    @Column(name = "rating_histogram_9", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram9;
+
+    @Basic
+    @Column(name = "rating_histogram_10", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer ratingHistogram10;
+
     @Basic
     @Column(name = "favorite_count", nullable = false)
     @NotNull
     @Min(0)
     private Integer favoriteCount;
 
+    @Basic
+    @Column(name = "content_version", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Long contentVersion;
+
     @OneToMany(mappedBy = "movie", fetch = FetchType.LAZY)
     @OrderBy("created ASC")
     private List<ContributionEntity> contributions = new ArrayList<>();
 
     /**
      * Assign the status "WAITING" when saving a object and the status is null.
-     * Initializing the favorite counter to zero.
+     * Initializing the favorite counter, the rating aggregates, the rating histogram and the content version to zero.
      */
     @PrePersist
     protected void onCreateMovieEntity() {
@@ -179,6 +258,45 @@ public class MovieEntity implements Serializable {
         if (this.favoriteCount == null) {
             this.favoriteCount = 0;
         }
+        if (this.ratingSum == null) {
+            this.ratingSum = 0L;
+        }
+        if (this.ratingCount == null) {
+            this.ratingCount = 0;
+        }
+        if (this.ratingHistogram1 == null) {
+            this.ratingHistogram1 = 0;
+        }
+        if (this.ratingHistogram2 == null) {
+            this.ratingHistogram2 = 0;
+        }
+        if (this.ratingHistogram3 == null) {
+            this.ratingHistogram3 = 0;
+        }
+        if (this.ratingHistogram4 == null) {
+            this.ratingHistogram4 = 0;
+        }
+        if (this.ratingHistogram5 == null) {
+            this.ratingHistogram5 = 0;
+        }
+        if (this.ratingHistogram6 == null) {
+            this.ratingHistogram6 = 0;
+        }
+        if (this.ratingHistogram7 == null) {
+            this.ratingHistogram7 = 0;
+        }
+        if (this.ratingHistogram8 == null) {
+            this.ratingHistogram8 = 0;
+        }
+        if (this.ratingHistogram9 == null) {
+            this.ratingHistogram9 = 0;
+        }
+        if (this.ratingHistogram10 == null) {
+            this.ratingHistogram10 = 0;
+        }
+        if (this.contentVersion == null) {
+            this.contentVersion = 0L;
+        }
     }
 
     /**
@@ -189,4 +307,24 @@ public class MovieEntity implements Serializable {
     public Optional<Float> getRating() {
         return Optional.ofNullable(this.rating);
     }
+
+    /**
+     * Get the number of the movie's votes for every rate.
+     *
+     * @return The numbers of votes, the first one for the rate 1 and the last one for the rate 10
+     */
+    public List<Integer> getRatingHistogram() {
+        return Arrays.asList(
+                this.ratingHistogram1,
+                this.ratingHistogram2,
+                this.ratingHistogram3,
+                this.ratingHistogram4,
+                this.ratingHistogram5,
+                this.ratingHistogram6,
+                this.ratingHistogram7,
+                this.ratingHistogram8,
+                this.ratingHistogram9,
+                this.ratingHistogram10
+        );
+    }
 }
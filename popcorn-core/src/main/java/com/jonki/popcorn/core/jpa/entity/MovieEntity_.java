@@ -44,5 +44,19 @@ public abstract class MovieEntity_ {
     public static volatile SingularAttribute<MovieEntity, String> budget;
     public static volatile SingularAttribute<MovieEntity, DataStatus> status;
     public static volatile SingularAttribute<MovieEntity, Float> rating;
+    public static volatile SingularAttribute<MovieEntity, Long> ratingSum;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingCount;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram1;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram2;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram3;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram4;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram5;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram6;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram7;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram8;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram9;
+    public static volatile SingularAttribute<MovieEntity, Integer> ratingHistogram10;
+    public static volatile SingularAttribute<MovieEntity, Integer> favoriteCount;
+    public static volatile SingularAttribute<MovieEntity, Long> contentVersion;
     public static volatile ListAttribute<MovieEntity, ContributionEntity> contributions;
 }
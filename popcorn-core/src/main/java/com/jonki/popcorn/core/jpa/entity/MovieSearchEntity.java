@@ -0,0 +1,112 @@
+package com.jonki.popcorn.core.jpa.entity;
+
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Flat read model of an accepted movie used by the movie search. The accepted titles, genres, countries
+ * and languages are stored as strings delimited with {@link #SEPARATOR}, e.g. "|ACTION|DRAMA|".
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(of = {"id"})
+@ToString(
+        of = {
+                "id",
+                "title",
+                "type",
+                "releaseDate",
+                "rating",
+                "favoriteCount"
+        },
+        doNotUseGetters = true
+)
+@Entity
+@Table(name = "movie_search")
+public class MovieSearchEntity implements Serializable {
+
+    private static final long serialVersionUID = 6083162419355532876L;
+
+    /**
+     * The separator of the values in the multi-valued columns.
+     */
+    public static final String SEPARATOR = "|";
+
+    @Id
+    @Basic(optional = false)
+    @Column(name = "movie_id", unique = true, nullable = false, updatable = false)
+    private Long id;
+
+    @Basic(optional = false)
+    @Column(name = "title", nullable = false)
+    @NotBlank
+    private String title;
+
+    @Basic(optional = false)
+    @Column(name = "type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private MovieType type;
+
+    @Basic(optional = false)
+    @Column(name = "titles", length = 20000, nullable = false)
+    @NotNull
+    private String titles;
+
+    @Basic
+    @Column(name = "release_date")
+    @Temporal(TemporalType.DATE)
+    private Date releaseDate;
+
+    @Basic
+    @Column(name = "latest_release_date")
+    @Temporal(TemporalType.DATE)
+    private Date latestReleaseDate;
+
+    @Basic
+    @Column(name = "release_year")
+    private Integer releaseYear;
+
+    @Basic(optional = false)
+    @Column(name = "genres", length = 2000, nullable = false)
+    @NotNull
+    private String genres;
+
+    @Basic(optional = false)
+    @Column(name = "countries", length = 2000, nullable = false)
+    @NotNull
+    private String countries;
+
+    @Basic(optional = false)
+    @Column(name = "languages", length = 2000, nullable = false)
+    @NotNull
+    private String languages;
+
+    @Basic
+    @Column(name = "rating")
+    private Float rating;
+
+    @Basic(optional = false)
+    @Column(name = "favorite_count", nullable = false)
+    @NotNull
+    @Min(0)
+    private Integer favoriteCount;
+}
@@ -30,5 +30,6 @@ public abstract class UserEntity_ extends BaseEntity_ {
     public static volatile SetAttribute<UserEntity, UserMoviePermission> permissions;
     public static volatile SetAttribute<UserEntity, MovieRateEntity> ratings;
     public static volatile SetAttribute<UserEntity, ContributionEntity> contributions;
+    public static volatile SetAttribute<UserEntity, MovieEntity> favoritesMovies;
     public static volatile SingularAttribute<UserEntity, Date> modifiedDate;
 }
@@ -0,0 +1,58 @@
+package com.jonki.popcorn.core.jpa.entity.movie;
+
+import com.jonki.popcorn.core.jpa.entity.IdEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+/**
+ * Representation of the daily rollup of the movie's ratings, the sum and the number of the votes of one day.
+ * A vote is counted on the day it was last changed.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+@Entity
+@Table(
+        name = "movies_ratings_daily",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"movie_id", "date"})
+)
+public class MovieRatingDayEntity extends IdEntity {
+
+    private static final long serialVersionUID = -4218230731552937461L;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "movie_id", nullable = false)
+    @NotNull
+    private MovieEntity movie;
+
+    @Basic(optional = false)
+    @Column(name = "date", nullable = false)
+    @Temporal(TemporalType.DATE)
+    @NotNull
+    private Date date;
+
+    @Basic(optional = false)
+    @Column(name = "rating_sum", nullable = false)
+    @NotNull
+    private Long ratingSum;
+
+    @Basic(optional = false)
+    @Column(name = "rating_count", nullable = false)
+    @NotNull
+    private Integer ratingCount;
+}
@@ -20,4 +20,13 @@ public interface MovieRepository extends JpaRepository<MovieEntity, Long>, JpaSp
      * @return The movie
      */
     Optional<MovieEntity> findByIdAndStatus(final Long id, final DataStatus dataStatus);
+
+    /**
+     * Check whether the movie with the ID and status exists.
+     *
+     * @param id The movie ID
+     * @param dataStatus The status
+     * @return True if the movie exists
+     */
+    boolean existsByIdAndStatus(final Long id, final DataStatus dataStatus);
 }
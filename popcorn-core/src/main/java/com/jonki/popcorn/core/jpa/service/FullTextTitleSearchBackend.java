@@ -0,0 +1,132 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.MovieField;
+import com.jonki.popcorn.core.search.TitleSearchBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * PostgreSQL full-text title search backend. The accepted titles are matched by word prefixes
+ * on the GIN index of their text search vectors and ranked by ts_rank. Only the relevance sort
+ * matches the titles this way.
+ *
+ * @see <a href="https://www.postgresql.org/docs/current/static/textsearch.html">Docs</a>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class FullTextTitleSearchBackend implements TitleSearchBackend {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // The vector expression must match the expression of the index IDX_movies_info_title_tsv
+    private static final String VECTOR = "to_tsvector('simple', i.title)";
+    private static final String QUERY = "to_tsquery('simple', ?1)";
+
+    private static final String SQL = "SELECT i.movie_id FROM movies_info i"
+            + " JOIN movies m ON m.id = i.movie_id"
+            + " WHERE i.dtype = '" + MovieField.Values.OTHER_TITLE + "'"
+            + " AND i.status = '" + DataStatus.ACCEPTED.name() + "'"
+            + " AND m.status = '" + DataStatus.ACCEPTED.name() + "'"
+            + " AND " + VECTOR + " @@ " + QUERY
+            + " GROUP BY i.movie_id"
+            + " ORDER BY MAX(ts_rank(" + VECTOR + ", " + QUERY + ")) DESC, i.movie_id"
+            + " LIMIT ?2";
+
+    private final DataSource dataSource;
+
+    private volatile Boolean available;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource The data source to use
+     */
+    @Autowired
+    public FullTextTitleSearchBackend(
+            @NotNull final DataSource dataSource
+    ) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAvailable() {
+        if (this.available == null) {
+            // The same vendor resolution as of the Flyway location db/migration/{vendor}
+            try {
+                final String url = (String) JdbcUtils.extractDatabaseMetaData(this.dataSource, "getURL");
+                this.available = DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL;
+            } catch (final MetaDataAccessException e) {
+                log.warn("Can't resolve the database vendor", e);
+                this.available = false;
+            }
+        }
+        return this.available;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<List<Long>> findRankedMovieIds(
+            @NotNull final String title,
+            @Min(1) final int maxResults
+    ) {
+        log.info("Called with title {}, maxResults {}", title, maxResults);
+
+        final String query = toPrefixQuery(title);
+        if (query.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final List<Long> ids = ((List<Number>) this.entityManager
+                .createNativeQuery(SQL)
+                .setParameter(1, query)
+                .setParameter(2, maxResults + 1)
+                .getResultList())
+                .stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+        return ids.size() <= maxResults ? Optional.of(ids) : Optional.empty();
+    }
+
+    /**
+     * Create the text search query matching all words of the phrase as prefixes, e.g. "the mat" is
+     * converted to "the:* &amp; mat:*".
+     *
+     * @param title The phrase
+     * @return The text search query or empty string if the phrase has no words
+     */
+    static String toPrefixQuery(final String title) {
+        return Stream.of(NON_WORD.split(title.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
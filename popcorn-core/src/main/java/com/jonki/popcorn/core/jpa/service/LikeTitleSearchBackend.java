@@ -0,0 +1,38 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.core.search.TitleSearchBackend;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Title search backend for any database. The titles are matched by the LIKE predicate of the search query.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class LikeTitleSearchBackend implements TitleSearchBackend {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<List<Long>> findRankedMovieIds(
+            @NotNull final String title,
+            @Min(1) final int maxResults
+    ) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieFavoritedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+
+/**
+ * Bumps the content version of the movie in the transaction which changed the movie, its accepted info,
+ * its ratings or its favorites. The version is the validator of the movie's resources, so it changes
+ * if and only if the write is committed.
+ */
+@Component
+@Slf4j
+@Transactional
+public class MovieContentVersionUpdater {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Bump the version after the movie or its info has changed.
+     *
+     * @param event The movie changed event
+     */
+    @EventListener
+    public void onMovieChanged(final MovieChangedEvent event) {
+        this.increment(event.getMovieId());
+    }
+
+    /**
+     * Bump the version after the movie has been rated.
+     *
+     * @param event The movie rated event
+     */
+    @EventListener
+    public void onMovieRated(final MovieRatedEvent event) {
+        this.increment(event.getMovieId());
+    }
+
+    /**
+     * Bump the version after the movie has been added to or removed from favorites.
+     *
+     * @param event The movie favorited event
+     */
+    @EventListener
+    public void onMovieFavorited(final MovieFavoritedEvent event) {
+        this.increment(event.getMovieId());
+    }
+
+    /**
+     * Increment the content version of the movie with one update statement.
+     *
+     * @param movieId The movie ID
+     */
+    private void increment(final Long movieId) {
+        log.debug("Incrementing the content version of the movie {}", movieId);
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaUpdate<MovieEntity> update = cb.createCriteriaUpdate(MovieEntity.class);
+        final Root<MovieEntity> root = update.from(MovieEntity.class);
+        update.set(root.get(MovieEntity_.contentVersion), cb.sum(root.get(MovieEntity_.contentVersion), 1L))
+                .where(cb.equal(root.get(MovieEntity_.id), movieId));
+
+        this.entityManager.createQuery(update).executeUpdate();
+    }
+}
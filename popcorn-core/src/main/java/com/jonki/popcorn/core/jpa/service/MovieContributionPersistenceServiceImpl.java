@@ -25,6 +25,7 @@ import com.jonki.popcorn.common.exception.ResourceForbiddenException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
 import com.jonki.popcorn.common.exception.ResourcePreconditionException;
 import com.jonki.popcorn.common.exception.ResourceServerException;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
 import com.jonki.popcorn.core.jpa.entity.ContributionEntity;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
@@ -55,6 +56,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -103,6 +105,7 @@ public class MovieContributionPersistenceServiceImpl implements MovieContributio
     private final MoviePersistenceService moviePersistenceService;
     private final StorageService storageService;
     private final AuthorizationService authorizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -117,6 +120,7 @@ public class MovieContributionPersistenceServiceImpl implements MovieContributio
      * @param moviePersistenceService The movie persistence service to use
      * @param storageService The storage service to use
      * @param authorizationService The authorization service to use
+     * @param eventPublisher The application event publisher to use
      */
     @Autowired
     public MovieContributionPersistenceServiceImpl(
@@ -126,7 +130,8 @@ public class MovieContributionPersistenceServiceImpl implements MovieContributio
             @NotNull final UserRepository userRepository,
             @NotNull final MoviePersistenceService moviePersistenceService,
             @Qualifier("googleStorageService") @NotNull final StorageService storageService,
-            @NotNull final AuthorizationService authorizationService
+            @NotNull final AuthorizationService authorizationService,
+            @NotNull final ApplicationEventPublisher eventPublisher
     ) {
         this.contributionRepository = contributionRepository;
         this.movieRepository = movieRepository;
@@ -135,6 +140,7 @@ public class MovieContributionPersistenceServiceImpl implements MovieContributio
         this.moviePersistenceService = moviePersistenceService;
         this.storageService = storageService;
         this.authorizationService = authorizationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -1541,6 +1547,10 @@ public class MovieContributionPersistenceServiceImpl implements MovieContributio
                 oldElement.setStatus(DataStatus.EDITED);
             });
         }
+
+        this.eventPublisher.publishEvent(
+                new MovieChangedEvent(contribution.getMovie().getId(), contribution.getField())
+        );
     }
 
     /**
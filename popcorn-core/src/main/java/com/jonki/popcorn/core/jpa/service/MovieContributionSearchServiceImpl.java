@@ -37,11 +37,13 @@ import com.jonki.popcorn.core.jpa.entity.movie.MovieSynopsisEntity;
 import com.jonki.popcorn.core.jpa.repository.ContributionRepository;
 import com.jonki.popcorn.core.jpa.repository.MovieRepository;
 import com.jonki.popcorn.core.jpa.specification.ContributionSpecs;
+import com.jonki.popcorn.core.jpa.specification.KeysetSpecs;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
+import com.jonki.popcorn.core.search.SearchQueryExecutor;
 import com.jonki.popcorn.core.service.MovieContributionSearchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -51,16 +53,16 @@ import org.springframework.validation.annotation.Validated;
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.BiFunction;
 
 /**
  * JPA implementation of the Movie Contribution Search Service.
@@ -73,6 +75,7 @@ public class MovieContributionSearchServiceImpl implements MovieContributionSear
 
     private final ContributionRepository contributionRepository;
     private final MovieRepository movieRepository;
+    private final SearchQueryExecutor searchQueryExecutor;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -82,21 +85,24 @@ public class MovieContributionSearchServiceImpl implements MovieContributionSear
      *
      * @param contributionRepository The contribution repository to use
      * @param movieRepository The movie repository to use
+     * @param searchQueryExecutor The search query executor to use
      */
     @Autowired
     public MovieContributionSearchServiceImpl(
             @NotNull final ContributionRepository contributionRepository,
-            @NotNull final MovieRepository movieRepository
+            @NotNull final MovieRepository movieRepository,
+            @NotNull final SearchQueryExecutor searchQueryExecutor
     ) {
         this.contributionRepository = contributionRepository;
         this.movieRepository = movieRepository;
+        this.searchQueryExecutor = searchQueryExecutor;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<ContributionSearchResult> findContributions(
+    public SearchPage<ContributionSearchResult> findContributions(
             @Nullable @Min(1) final Long id,
             @Nullable final MovieField field,
             @Nullable final DataStatus status,
@@ -107,60 +113,57 @@ public class MovieContributionSearchServiceImpl implements MovieContributionSear
         log.info("Called with id {}, field {}, status {}, fromDate {}, toDate {}," +
                 " page {}", id, field, status, fromDate, toDate, page);
 
-        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
-        final CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        final Root<ContributionEntity> root = countQuery.from(ContributionEntity.class);
-
-        final Predicate whereClause = ContributionSpecs
+        final MovieEntity movie = id != null ? this.findMovie(id) : null;
+        final BiFunction<Root<ContributionEntity>, CriteriaBuilder, Predicate> filter = (root, cb) -> ContributionSpecs
                 .getFindPredicate(
                         root,
                         cb,
-                        id != null ? this.findMovie(id) : null,
+                        movie,
                         field,
                         status,
                         fromDate,
                         toDate
                 );
-
-        countQuery.select(cb.count(root)).where(whereClause);
-
-        final Long count = this.entityManager.createQuery(countQuery).getSingleResult();
-
-        if (count > 0) {
-            final CriteriaQuery<ContributionSearchResult> contentQuery = cb.createQuery(ContributionSearchResult.class);
-            contentQuery.from(ContributionEntity.class);
-
-            contentQuery.multiselect(
-                    root.get(ContributionEntity_.id),
-                    root.get(ContributionEntity_.field),
-                    root.get(ContributionEntity_.created)
+        final Sort sort = SearchUtils.getSort(page);
+
+        final SearchQueryExecutor.Result<Tuple> result = this.searchQueryExecutor.execute(
+                "contributions",
+                () -> SearchUtils.count(this.entityManager, ContributionEntity.class, filter),
+                () -> {
+                    final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+                    final CriteriaQuery<Tuple> contentQuery = cb.createTupleQuery();
+                    final Root<ContributionEntity> root = contentQuery.from(ContributionEntity.class);
+
+                    contentQuery.multiselect(SearchUtils.getContentSelections(
+                            root,
+                            cb.construct(
+                                    ContributionSearchResult.class,
+                                    root.get(ContributionEntity_.id),
+                                    root.get(ContributionEntity_.field),
+                                    root.get(ContributionEntity_.created)
+                            ),
+                            page,
+                            sort
+                    ));
+
+                    contentQuery.where(
+                            SearchUtils.getContentPredicate(root, cb, filter.apply(root, cb), page, sort)
+                    );
+
+                    contentQuery.orderBy(KeysetSpecs.getOrders(root, cb, sort, page instanceof KeysetPageRequest));
+
+                    return SearchUtils
+                            .limit(this.entityManager.createQuery(contentQuery), page)
+                            .getResultList();
+                }
+        );
+
+        if (result.getContent() != null) {
+            return SearchUtils.toPage(
+                    result.getContent(), ContributionSearchResult.class, page, result.getCount(), true, sort
             );
-
-            contentQuery.where(whereClause);
-
-            final Sort sort = page.getSort();
-            final List<Order> orders = new ArrayList<>();
-            sort.iterator().forEachRemaining(
-                    order -> {
-                        if (order.isAscending()) {
-                            orders.add(cb.asc(root.get(order.getProperty())));
-                        } else {
-                            orders.add(cb.desc(root.get(order.getProperty())));
-                        }
-                    }
-            );
-
-            contentQuery.orderBy(orders);
-
-            final List<ContributionSearchResult> results = this.entityManager
-                    .createQuery(contentQuery)
-                    .setFirstResult(((Long) page.getOffset()).intValue())
-                    .setMaxResults(page.getPageSize())
-                    .getResultList();
-
-            return new PageImpl<>(results, page, count);
         } else {
-            return new PageImpl<>(Lists.newArrayList(), page, count);
+            return new SearchPage<>(Lists.newArrayList(), page, result.getCount(), null);
         }
     }
 
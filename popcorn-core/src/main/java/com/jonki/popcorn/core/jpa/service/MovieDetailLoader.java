@@ -0,0 +1,202 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.core.jpa.entity.IdEntity_;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.UserEntity;
+import com.jonki.popcorn.core.jpa.entity.UserEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOutlineEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieReleaseDateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSummaryEntity;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Root;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the movie detail in a constant number of queries. Instead of initializing the lazy collections of the movie
+ * one by one, the accepted movie info shown in the detail is read from the movie info table in one query and split
+ * by its kind in memory. The data of the logged in user is read with point queries, independent of the number
+ * of the movie's ratings and the user's favorites.
+ */
+@Component
+public class MovieDetailLoader {
+
+    /**
+     * The kinds of movie info shown in the movie detail, with the order of the movie's collections.
+     */
+    private static final Map<Class<? extends MovieInfoEntity>, Comparator<MovieInfoEntity>> DETAIL_INFOS;
+
+    static {
+        final Map<Class<? extends MovieInfoEntity>, Comparator<MovieInfoEntity>> infos = new LinkedHashMap<>();
+        infos.put(MovieOtherTitleEntity.class, orderBy(MovieOtherTitleEntity.class,
+                ot -> ot.getCountry() == null ? null : ot.getCountry().name()));
+        infos.put(MovieReleaseDateEntity.class, orderBy(MovieReleaseDateEntity.class, MovieReleaseDateEntity::getDate));
+        infos.put(MovieCountryEntity.class, orderBy(MovieCountryEntity.class, c -> c.getCountry().name()));
+        infos.put(MovieLanguageEntity.class, orderBy(MovieLanguageEntity.class, l -> l.getLanguage().name()));
+        infos.put(MovieGenreEntity.class, orderBy(MovieGenreEntity.class, g -> g.getGenre().name()));
+        infos.put(MovieBoxOfficeEntity.class, orderBy(MovieBoxOfficeEntity.class, MovieInfoEntity::getId));
+        infos.put(MovieOutlineEntity.class, orderBy(MovieOutlineEntity.class, MovieInfoEntity::getId));
+        infos.put(MovieSummaryEntity.class, orderBy(MovieSummaryEntity.class, MovieInfoEntity::getId));
+        DETAIL_INFOS = Collections.unmodifiableMap(infos);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Load the detail of the movie. Runs one query for the movie info, the number of ratings is kept
+     * by the movie.
+     *
+     * @param movieEntity The movie
+     * @return The immutable DTO of the movie
+     */
+    public Movie loadMovie(@NotNull final MovieEntity movieEntity) {
+        return ServiceUtils.toMovieDto(
+                movieEntity,
+                this.findInfos(movieEntity.getId()),
+                movieEntity.getRatingCount()
+        );
+    }
+
+    /**
+     * Replace the rating and the number of ratings of the cached movie detail with the current ones. Runs one query
+     * for the rating columns of the movie, the votes don't invalidate the rest of the detail.
+     *
+     * @param movie The movie detail
+     * @param movieId The movie ID
+     * @return The immutable DTO of the movie with the current rating
+     */
+    public Movie loadRating(@NotNull final Movie movie, @NotNull final Long movieId) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+        query.multiselect(
+                root.get(MovieEntity_.rating),
+                root.get(MovieEntity_.ratingCount)
+        ).where(cb.equal(root.get(MovieEntity_.id), movieId));
+
+        return this.entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> ServiceUtils.toMovieDto(movie, tuple.get(0, Float.class), tuple.get(1, Integer.class)))
+                .orElse(movie);
+    }
+
+    /**
+     * Find the user's rating of the movie.
+     *
+     * @param movieId The movie ID
+     * @param userId The user ID
+     * @return The rate or empty if the user hasn't rated the movie
+     */
+    public Optional<Integer> findRating(@NotNull final Long movieId, @NotNull final Long userId) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        final Root<MovieRateEntity> root = query.from(MovieRateEntity.class);
+        query.select(root.get(MovieRateEntity_.rate)).where(
+                cb.equal(root.get(MovieRateEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.equal(root.get(MovieRateEntity_.user).get(IdEntity_.id), userId)
+        );
+
+        return this.entityManager.createQuery(query).setMaxResults(1).getResultList().stream().findFirst();
+    }
+
+    /**
+     * Check whether the user has added the movie to favorites.
+     *
+     * @param movieId The movie ID
+     * @param userId The user ID
+     * @return True if the movie is one of the user's favorites
+     */
+    public boolean isFavorite(@NotNull final Long movieId, @NotNull final Long userId) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<UserEntity> root = query.from(UserEntity.class);
+        final Join<UserEntity, MovieEntity> movie = root.join(UserEntity_.favoritesMovies);
+        query.select(cb.count(root)).where(
+                cb.equal(root.get(IdEntity_.id), userId),
+                cb.equal(movie.get(MovieEntity_.id), movieId)
+        );
+
+        return this.entityManager.createQuery(query).getSingleResult() > 0;
+    }
+
+    /**
+     * Find the accepted movie info shown in the movie detail.
+     *
+     * @param movieId The movie ID
+     * @return The movie info grouped by its kind
+     */
+    private List<MovieInfoEntity> findInfos(final Long movieId) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MovieInfoEntity> query = cb.createQuery(MovieInfoEntity.class);
+        final Root<MovieInfoEntity> root = query.from(MovieInfoEntity.class);
+        query.select(root).where(
+                cb.equal(root.get(MovieInfoEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.equal(root.get(MovieInfoEntity_.status), DataStatus.ACCEPTED),
+                root.type().in(DETAIL_INFOS.keySet())
+        ).orderBy(cb.asc(root.get(MovieInfoEntity_.id)));
+
+        final Map<Class<?>, List<MovieInfoEntity>> byKind = this.entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .collect(Collectors.groupingBy(Object::getClass));
+
+        final List<MovieInfoEntity> infos = new ArrayList<>();
+        DETAIL_INFOS.forEach((kind, order) -> {
+            final List<MovieInfoEntity> ofKind = byKind.get(kind);
+            if (ofKind != null) {
+                ofKind.sort(order);
+                infos.addAll(ofKind);
+            }
+        });
+        return infos;
+    }
+
+    /**
+     * Create the order of one kind of movie info, nulls last.
+     *
+     * @param kind The class of the kind of movie info
+     * @param key The function extracting the sort key
+     * @param <T> The kind of movie info
+     * @param <U> The type of the sort key
+     * @return The comparator of the movie info
+     */
+    private static <T extends MovieInfoEntity, U extends Comparable<? super U>> Comparator<MovieInfoEntity> orderBy(
+            final Class<T> kind,
+            final Function<T, U> key
+    ) {
+        return Comparator.comparing(
+                info -> key.apply(kind.cast(info)),
+                Comparator.nullsLast(Comparator.<U>naturalOrder())
+        );
+    }
+}
@@ -0,0 +1,576 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.MovieField;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
+import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieFavoritedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity_;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.core.search.BkTree;
+import com.jonki.popcorn.core.search.FacetIndex;
+import com.jonki.popcorn.core.search.PrefixTrie;
+import com.jonki.popcorn.core.search.TrigramIndex;
+import com.jonki.popcorn.core.service.MovieIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.validation.annotation.Validated;
+
+import javax.annotation.Nullable;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * JPA implementation of the Movie Index Service.
+ */
+@Service("movieIndexService")
+@Slf4j
+@Transactional(readOnly = true)
+@Validated
+public class MovieIndexServiceImpl implements MovieIndexService, DisposableBean {
+
+    private static final Set<MovieField> FACET_FIELDS
+            = EnumSet.of(MovieField.TYPE, MovieField.GENRE, MovieField.COUNTRY, MovieField.LANGUAGE);
+    private static final Set<MovieField> SUGGEST_FIELDS = EnumSet.of(MovieField.TYPE, MovieField.OTHER_TITLE);
+
+    private final SearchProperties searchProperties;
+    private final TrigramIndex titleIndex = new TrigramIndex();
+    private final BkTree fuzzyIndex = new BkTree();
+    private final FacetIndex facetIndex = new FacetIndex();
+    private final ExecutorService suggestPacker;
+    private final PrefixTrie suggestIndex;
+
+    private volatile boolean titleIndexReady;
+    private volatile boolean fuzzyIndexReady;
+    private volatile boolean facetIndexReady;
+    private volatile boolean suggestIndexReady;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param searchProperties The search properties to use
+     */
+    @Autowired
+    public MovieIndexServiceImpl(
+            @NotNull final SearchProperties searchProperties
+    ) {
+        this.searchProperties = searchProperties;
+        this.suggestPacker = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("suggest-pack-"));
+        this.suggestIndex = new PrefixTrie(searchProperties.getSuggest().getTopK(), this.suggestPacker);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Set<Long>> findMovieIdsByTitle(
+            @NotNull final String title
+    ) {
+        log.info("Called with title {}", title);
+
+        if (!this.searchProperties.getTitleIndex().isEnabled() || !this.titleIndexReady) {
+            return Optional.empty();
+        }
+
+        return this.titleIndex
+                .search(title)
+                .filter(ids -> ids.size() <= this.searchProperties.getTitleIndex().getMaxCandidates());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Map<Long, Integer>> findMovieIdsByFuzzyTitle(
+            @NotNull final String title
+    ) {
+        log.info("Called with title {}", title);
+
+        if (!this.searchProperties.getFuzzyIndex().isEnabled() || !this.fuzzyIndexReady) {
+            return Optional.empty();
+        }
+
+        final Map<Long, Integer> distances
+                = this.fuzzyIndex.search(title, this.searchProperties.getFuzzyIndex().getMaxDistance());
+        return Optional.of(distances
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(this.searchProperties.getFuzzyIndex().getMaxCandidates())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Set<Long>> findMovieIdsByFacets(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countries,
+            @Nullable final Collection<LanguageType> languages,
+            @Nullable final Collection<GenreType> genres
+    ) {
+        log.info("Called with type {}, countries {}, languages {}, genres {}", type, countries, languages, genres);
+
+        if (!this.searchProperties.getFacetIndex().isEnabled() || !this.facetIndexReady) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.facetIndex.search(type, countries, languages, genres))
+                .filter(ids -> ids.size() <= this.searchProperties.getFacetIndex().getMaxCandidates());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<MovieFacets> countFacets(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countries,
+            @Nullable final Collection<LanguageType> languages,
+            @Nullable final Collection<GenreType> genres,
+            @Nullable final Collection<Long> ids
+    ) {
+        log.info("Called with type {}, countries {}, languages {}, genres {}, ids {}",
+                type, countries, languages, genres, ids);
+
+        if (!this.searchProperties.getFacetIndex().isEnabled() || !this.facetIndexReady) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.facetIndex.count(type, countries, languages, genres, ids));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<List<MovieSearchResult>> suggestMovies(
+            @NotBlank final String prefix,
+            @Min(1) final int limit
+    ) {
+        log.info("Called with prefix {}, limit {}", prefix, limit);
+
+        if (!this.searchProperties.getSuggest().isEnabled() || !this.suggestIndexReady) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.suggestIndex
+                .suggest(prefix, limit)
+                .stream()
+                .map(entry -> new MovieSearchResult(
+                        entry.getMovieId(), entry.getTitle(), entry.getType(), entry.getRating()
+                ))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rebuild() {
+        log.info("Called");
+
+        final Map<Long, List<String>> titles = this.searchProperties.getTitleIndex().isEnabled()
+                || this.searchProperties.getFuzzyIndex().isEnabled()
+                || this.searchProperties.getSuggest().isEnabled() ? this.findAcceptedTitles(null) : null;
+
+        if (this.searchProperties.getTitleIndex().isEnabled()) {
+            this.titleIndex.rebuild(titles);
+            this.titleIndexReady = true;
+
+            log.info("Title index built for {} movies", titles.size());
+        }
+
+        if (this.searchProperties.getFuzzyIndex().isEnabled()) {
+            this.fuzzyIndex.rebuild(titles);
+            this.fuzzyIndexReady = true;
+
+            log.info("Fuzzy title index built for {} movies", titles.size());
+        }
+
+        if (this.searchProperties.getSuggest().isEnabled()) {
+            final Map<Long, PrefixTrie.Entry> suggestions = this.findSuggestions(null, titles);
+            this.suggestIndex.rebuild(suggestions.values());
+            this.suggestIndexReady = true;
+
+            log.info("Suggest index built for {} movies", suggestions.size());
+        }
+
+        if (this.searchProperties.getFacetIndex().isEnabled()) {
+            final Map<Long, FacetIndex.Entry> facets = this.findAcceptedFacets(null);
+            this.facetIndex.rebuild(facets.values());
+            this.facetIndexReady = true;
+
+            log.info("Facet index built for {} movies", facets.size());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reindexMovie(
+            @Min(1) final Long id
+    ) {
+        log.info("Called with id {}", id);
+
+        this.reindexTitles(id);
+        this.reindexFacets(id);
+        this.reindexSuggestions(id);
+    }
+
+    /**
+     * Build the indexes when the application is ready.
+     *
+     * @param event The application ready event
+     */
+    @EventListener
+    public void onApplicationReady(final ApplicationReadyEvent event) {
+        this.rebuild();
+    }
+
+    /**
+     * Update the indexes after the transaction which changed the movie has been committed.
+     *
+     * @param event The movie changed event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onMovieChanged(final MovieChangedEvent event) {
+        if (event.getField() == null || event.getField() == MovieField.OTHER_TITLE) {
+            this.reindexTitles(event.getMovieId());
+        }
+        if (event.getField() == null || FACET_FIELDS.contains(event.getField())) {
+            this.reindexFacets(event.getMovieId());
+        }
+        if (event.getField() == null || SUGGEST_FIELDS.contains(event.getField())) {
+            this.reindexSuggestions(event.getMovieId());
+        }
+    }
+
+    /**
+     * Update the rank of the suggested movie after the transaction which rated the movie has been committed.
+     *
+     * @param event The movie rated event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onMovieRated(final MovieRatedEvent event) {
+        this.rankSuggestion(event.getMovieId());
+    }
+
+    /**
+     * Update the rank of the suggested movie after the transaction which favorited the movie has been committed.
+     *
+     * @param event The movie favorited event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onMovieFavorited(final MovieFavoritedEvent event) {
+        this.rankSuggestion(event.getMovieId());
+    }
+
+    /**
+     * Stop packing the suggest index when the application context is closed.
+     */
+    @Override
+    public void destroy() {
+        this.suggestPacker.shutdownNow();
+    }
+
+    /**
+     * Reload the titles of the movie into the title and fuzzy title indexes.
+     *
+     * @param id The movie ID
+     */
+    private void reindexTitles(final Long id) {
+        final boolean titleIndexEnabled = this.searchProperties.getTitleIndex().isEnabled();
+        final boolean fuzzyIndexEnabled = this.searchProperties.getFuzzyIndex().isEnabled();
+        if (!titleIndexEnabled && !fuzzyIndexEnabled) {
+            return;
+        }
+
+        final List<String> titles = this.findAcceptedTitles(id).get(id);
+        if (titles == null) {
+            if (titleIndexEnabled) {
+                this.titleIndex.remove(id);
+            }
+            if (fuzzyIndexEnabled) {
+                this.fuzzyIndex.remove(id);
+            }
+        } else {
+            if (titleIndexEnabled) {
+                this.titleIndex.put(id, titles);
+            }
+            if (fuzzyIndexEnabled) {
+                this.fuzzyIndex.put(id, titles);
+            }
+        }
+    }
+
+    /**
+     * Reload the facets of the movie into the facet index.
+     *
+     * @param id The movie ID
+     */
+    private void reindexFacets(final Long id) {
+        if (!this.searchProperties.getFacetIndex().isEnabled()) {
+            return;
+        }
+
+        final FacetIndex.Entry facets = this.findAcceptedFacets(id).get(id);
+        if (facets == null) {
+            this.facetIndex.remove(id);
+        } else {
+            this.facetIndex.put(facets);
+        }
+    }
+
+    /**
+     * Reload the titles and the rank of the movie into the suggest index.
+     *
+     * @param id The movie ID
+     */
+    private void reindexSuggestions(final Long id) {
+        if (!this.searchProperties.getSuggest().isEnabled()) {
+            return;
+        }
+
+        final PrefixTrie.Entry suggestion = this.findSuggestions(id, this.findAcceptedTitles(id)).get(id);
+        if (suggestion == null) {
+            this.suggestIndex.remove(id);
+        } else {
+            this.suggestIndex.put(suggestion);
+        }
+    }
+
+    /**
+     * Reload the rank of the movie into the suggest index. The titles don't change with the votes and the favorites,
+     * so they aren't read again.
+     *
+     * @param id The movie ID
+     */
+    private void rankSuggestion(final Long id) {
+        if (!this.searchProperties.getSuggest().isEnabled()) {
+            return;
+        }
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+        query.multiselect(
+                root.get(MovieEntity_.rating),
+                root.get(MovieEntity_.favoriteCount)
+        ).where(cb.equal(root.get(MovieEntity_.id), id));
+
+        this.entityManager.createQuery(query)
+                .getResultList()
+                .forEach(tuple -> this.suggestIndex.rank(id, tuple.get(0, Float.class), tuple.get(1, Integer.class)));
+    }
+
+    /**
+     * Find accepted movies with their accepted titles, rating and favorites.
+     *
+     * @param id The movie ID or null for all movies
+     * @param titles The accepted titles grouped by movie ID, see {@link #findAcceptedTitles(Long)}
+     * @return The suggest entries by movie ID
+     */
+    private Map<Long, PrefixTrie.Entry> findSuggestions(
+            @Nullable final Long id,
+            final Map<Long, List<String>> titles
+    ) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED));
+        if (id != null) {
+            predicates.add(cb.equal(root.get(MovieEntity_.id), id));
+        }
+
+        query.multiselect(
+                root.get(MovieEntity_.id),
+                root.get(MovieEntity_.title),
+                root.get(MovieEntity_.type),
+                root.get(MovieEntity_.rating),
+                root.get(MovieEntity_.favoriteCount)
+        ).where(predicates.toArray(new Predicate[predicates.size()]));
+
+        final Map<Long, PrefixTrie.Entry> suggestions = new HashMap<>();
+        for (final Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            final Long movieId = tuple.get(0, Long.class);
+            final List<String> movieTitles = titles.get(movieId);
+            if (movieTitles != null) {
+                suggestions.put(movieId, new PrefixTrie.Entry(
+                        movieId,
+                        tuple.get(1, String.class),
+                        tuple.get(2, MovieType.class),
+                        tuple.get(3, Float.class),
+                        tuple.get(4, Integer.class),
+                        movieTitles
+                ));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Find accepted titles of accepted movies.
+     *
+     * @param id The movie ID or null for all movies
+     * @return The titles grouped by movie ID
+     */
+    private Map<Long, List<String>> findAcceptedTitles(@Nullable final Long id) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieOtherTitleEntity> root = query.from(MovieOtherTitleEntity.class);
+        final Join<MovieOtherTitleEntity, MovieEntity> movie = root.join(MovieInfoEntity_.movie);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(MovieInfoEntity_.status), DataStatus.ACCEPTED));
+        predicates.add(cb.equal(movie.get(MovieEntity_.status), DataStatus.ACCEPTED));
+        if (id != null) {
+            predicates.add(cb.equal(movie.get(MovieEntity_.id), id));
+        }
+
+        query.multiselect(movie.get(MovieEntity_.id), root.get(MovieOtherTitleEntity_.title))
+                .where(predicates.toArray(new Predicate[predicates.size()]));
+
+        final Map<Long, List<String>> titles = new HashMap<>();
+        for (final Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            titles.computeIfAbsent(tuple.get(0, Long.class), key -> new ArrayList<>()).add(tuple.get(1, String.class));
+        }
+        return titles;
+    }
+
+    /**
+     * Find the type and the accepted genres, countries and languages of accepted movies.
+     *
+     * @param id The movie ID or null for all movies
+     * @return The facets by movie ID
+     */
+    private Map<Long, FacetIndex.Entry> findAcceptedFacets(@Nullable final Long id) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED));
+        if (id != null) {
+            predicates.add(cb.equal(root.get(MovieEntity_.id), id));
+        }
+
+        query.multiselect(root.get(MovieEntity_.id), root.get(MovieEntity_.type))
+                .where(predicates.toArray(new Predicate[predicates.size()]));
+
+        final Map<Long, FacetIndex.Entry> facets = new HashMap<>();
+        for (final Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            final Long movieId = tuple.get(0, Long.class);
+            facets.put(movieId, new FacetIndex.Entry(movieId, tuple.get(1, MovieType.class)));
+        }
+
+        this.findAcceptedValues(MovieGenreEntity.class, MovieGenreEntity_.genre, GenreType.class, id,
+                facets, FacetIndex.Entry::withGenre);
+        this.findAcceptedValues(MovieCountryEntity.class, MovieCountryEntity_.country, CountryType.class, id,
+                facets, FacetIndex.Entry::withCountry);
+        this.findAcceptedValues(MovieLanguageEntity.class, MovieLanguageEntity_.language, LanguageType.class, id,
+                facets, FacetIndex.Entry::withLanguage);
+        return facets;
+    }
+
+    /**
+     * Add accepted values of the movie info of accepted movies to their facets.
+     *
+     * @param entityClass The class of the movie info
+     * @param attribute The attribute holding the value
+     * @param valueClass The class of the value
+     * @param id The movie ID or null for all movies
+     * @param facets The facets by movie ID
+     * @param consumer The function adding the value to the facets
+     * @param <E> The type of the movie info
+     * @param <V> The type of the value
+     */
+    private <E extends MovieInfoEntity, V> void findAcceptedValues(
+            final Class<E> entityClass,
+            final SingularAttribute<E, V> attribute,
+            final Class<V> valueClass,
+            @Nullable final Long id,
+            final Map<Long, FacetIndex.Entry> facets,
+            final BiConsumer<FacetIndex.Entry, V> consumer
+    ) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<E> root = query.from(entityClass);
+        final Join<E, MovieEntity> movie = root.join(MovieInfoEntity_.movie);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(MovieInfoEntity_.status), DataStatus.ACCEPTED));
+        predicates.add(cb.equal(movie.get(MovieEntity_.status), DataStatus.ACCEPTED));
+        predicates.add(cb.isNotNull(root.get(attribute)));
+        if (id != null) {
+            predicates.add(cb.equal(movie.get(MovieEntity_.id), id));
+        }
+
+        query.multiselect(movie.get(MovieEntity_.id), root.get(attribute))
+                .where(predicates.toArray(new Predicate[predicates.size()]));
+
+        for (final Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            final FacetIndex.Entry entry = facets.get(tuple.get(0, Long.class));
+            if (entry != null) {
+                consumer.accept(entry, tuple.get(1, valueClass));
+            }
+        }
+    }
+}
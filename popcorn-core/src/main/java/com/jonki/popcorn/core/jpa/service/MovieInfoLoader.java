@@ -0,0 +1,518 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.MovieRelation;
+import com.jonki.popcorn.common.dto.StorageProvider;
+import com.jonki.popcorn.common.dto.TitleAttribute;
+import com.jonki.popcorn.common.dto.movie.BoxOffice;
+import com.jonki.popcorn.common.dto.movie.Country;
+import com.jonki.popcorn.common.dto.movie.Genre;
+import com.jonki.popcorn.common.dto.movie.Language;
+import com.jonki.popcorn.common.dto.movie.OtherTitle;
+import com.jonki.popcorn.common.dto.movie.Outline;
+import com.jonki.popcorn.common.dto.movie.ReleaseDate;
+import com.jonki.popcorn.common.dto.movie.Review;
+import com.jonki.popcorn.common.dto.movie.Site;
+import com.jonki.popcorn.common.dto.movie.Summary;
+import com.jonki.popcorn.common.dto.movie.Synopsis;
+import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.SiteType;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieFileEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieFileEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOutlineEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOutlineEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MoviePhotoEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MoviePosterEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieReleaseDateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieReleaseDateEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieReviewEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieReviewEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSiteEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSiteEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSummaryEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSummaryEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSynopsisEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieSynopsisEntity_;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the accepted movie info of one kind for the movie's sub-resources. Only the columns of the DTO are selected
+ * from the movie info table, filtered by the kind, the movie and the status, so neither the movie nor the history
+ * of its info is loaded.
+ */
+@Component
+public class MovieInfoLoader {
+
+    /**
+     * The kinds of movie info of the movie's relations, with the order of the movie's sub-resources.
+     */
+    private static final Map<MovieRelation, Kind<?>> RELATION_KINDS;
+
+    static {
+        final Map<MovieRelation, Kind<?>> kinds = new EnumMap<>(MovieRelation.class);
+        kinds.put(MovieRelation.TITLES, new Kind<>(MovieOtherTitleEntity.class,
+                nullsLast(ot -> ot.getCountry() == null ? null : ot.getCountry().name()),
+                ServiceUtils::toOtherTitleDto));
+        kinds.put(MovieRelation.RELEASE_DATES, new Kind<>(MovieReleaseDateEntity.class,
+                nullsLast(MovieReleaseDateEntity::getDate), ServiceUtils::toReleaseDateDto));
+        kinds.put(MovieRelation.OUTLINES, new Kind<>(MovieOutlineEntity.class,
+                null, ServiceUtils::toOutlineDto));
+        kinds.put(MovieRelation.SUMMARIES, new Kind<>(MovieSummaryEntity.class,
+                null, ServiceUtils::toSummaryDto));
+        kinds.put(MovieRelation.SYNOPSES, new Kind<>(MovieSynopsisEntity.class,
+                null, ServiceUtils::toSynopsisDto));
+        kinds.put(MovieRelation.BOX_OFFICES, new Kind<>(MovieBoxOfficeEntity.class,
+                null, ServiceUtils::toBoxOfficeDto));
+        kinds.put(MovieRelation.SITES, new Kind<>(MovieSiteEntity.class,
+                null, ServiceUtils::toSiteDto));
+        kinds.put(MovieRelation.COUNTRIES, new Kind<>(MovieCountryEntity.class,
+                nullsLast(c -> c.getCountry().name()), ServiceUtils::toCountryDto));
+        kinds.put(MovieRelation.LANGUAGES, new Kind<>(MovieLanguageEntity.class,
+                nullsLast(l -> l.getLanguage().name()), ServiceUtils::toLanguageDto));
+        kinds.put(MovieRelation.GENRES, new Kind<>(MovieGenreEntity.class,
+                nullsLast(g -> g.getGenre().name()), ServiceUtils::toGenreDto));
+        kinds.put(MovieRelation.REVIEWS, new Kind<>(MovieReviewEntity.class,
+                null, ServiceUtils::toReviewDto));
+        kinds.put(MovieRelation.PHOTOS, new Kind<MoviePhotoEntity>(MoviePhotoEntity.class,
+                null, ServiceUtils::toImageResponseDto));
+        kinds.put(MovieRelation.POSTERS, new Kind<MoviePosterEntity>(MoviePosterEntity.class,
+                null, ServiceUtils::toImageResponseDto));
+        RELATION_KINDS = Collections.unmodifiableMap(kinds);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find the accepted other titles of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The other titles ordered by the country
+     */
+    public List<OtherTitle> findTitles(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieOtherTitleEntity.class,
+                MovieOtherTitleEntity_.country,
+                root -> new Selection<?>[]{
+                        root.get(MovieOtherTitleEntity_.title),
+                        root.get(MovieOtherTitleEntity_.country),
+                        root.get(MovieOtherTitleEntity_.attribute),
+                },
+                tuple -> {
+                    final OtherTitle.Builder builder = new OtherTitle.Builder(
+                            tuple.get(0, String.class),
+                            tuple.get(1, CountryType.class)
+                    );
+
+                    Optional.ofNullable(tuple.get(2, TitleAttribute.class)).ifPresent(builder::withAttribute);
+
+                    return builder.build();
+                }
+        );
+    }
+
+    /**
+     * Find the accepted release dates of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The release dates ordered by the date
+     */
+    public List<ReleaseDate> findReleaseDates(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieReleaseDateEntity.class,
+                MovieReleaseDateEntity_.date,
+                root -> new Selection<?>[]{
+                        root.get(MovieReleaseDateEntity_.date),
+                        root.get(MovieReleaseDateEntity_.country),
+                },
+                tuple -> new ReleaseDate.Builder(
+                        tuple.get(0, Date.class),
+                        tuple.get(1, CountryType.class)
+                ).build()
+        );
+    }
+
+    /**
+     * Find the accepted outlines of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The outlines
+     */
+    public List<Outline> findOutlines(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieOutlineEntity.class,
+                null,
+                root -> new Selection<?>[]{root.get(MovieOutlineEntity_.outline)},
+                tuple -> new Outline.Builder(tuple.get(0, String.class)).build()
+        );
+    }
+
+    /**
+     * Find the accepted summaries of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The summaries
+     */
+    public List<Summary> findSummaries(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieSummaryEntity.class,
+                null,
+                root -> new Selection<?>[]{root.get(MovieSummaryEntity_.summary)},
+                tuple -> new Summary.Builder(tuple.get(0, String.class)).build()
+        );
+    }
+
+    /**
+     * Find the accepted synopses of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The synopses
+     */
+    public List<Synopsis> findSynopses(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieSynopsisEntity.class,
+                null,
+                root -> new Selection<?>[]{root.get(MovieSynopsisEntity_.synopsis)},
+                tuple -> new Synopsis.Builder(tuple.get(0, String.class)).build()
+        );
+    }
+
+    /**
+     * Find the accepted box offices of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The box offices
+     */
+    public List<BoxOffice> findBoxOffices(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieBoxOfficeEntity.class,
+                null,
+                root -> new Selection<?>[]{
+                        root.get(MovieBoxOfficeEntity_.boxOffice),
+                        root.get(MovieBoxOfficeEntity_.country),
+                },
+                tuple -> new BoxOffice.Builder(
+                        tuple.get(0, BigDecimal.class),
+                        tuple.get(1, CountryType.class)
+                ).build()
+        );
+    }
+
+    /**
+     * Find the accepted sites of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The sites
+     */
+    public List<Site> findSites(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieSiteEntity.class,
+                null,
+                root -> new Selection<?>[]{
+                        root.get(MovieSiteEntity_.site),
+                        root.get(MovieSiteEntity_.official),
+                },
+                tuple -> new Site.Builder(
+                        tuple.get(0, String.class),
+                        tuple.get(1, SiteType.class)
+                ).build()
+        );
+    }
+
+    /**
+     * Find the accepted countries of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The countries ordered by the country
+     */
+    public List<Country> findCountries(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieCountryEntity.class,
+                MovieCountryEntity_.country,
+                root -> new Selection<?>[]{root.get(MovieCountryEntity_.country)},
+                tuple -> new Country.Builder(tuple.get(0, CountryType.class)).build()
+        );
+    }
+
+    /**
+     * Find the accepted languages of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The languages ordered by the language
+     */
+    public List<Language> findLanguages(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieLanguageEntity.class,
+                MovieLanguageEntity_.language,
+                root -> new Selection<?>[]{root.get(MovieLanguageEntity_.language)},
+                tuple -> new Language.Builder(tuple.get(0, LanguageType.class)).build()
+        );
+    }
+
+    /**
+     * Find the accepted genres of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The genres ordered by the genre
+     */
+    public List<Genre> findGenres(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieGenreEntity.class,
+                MovieGenreEntity_.genre,
+                root -> new Selection<?>[]{root.get(MovieGenreEntity_.genre)},
+                tuple -> new Genre.Builder(tuple.get(0, GenreType.class)).build()
+        );
+    }
+
+    /**
+     * Find the accepted reviews of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The reviews
+     */
+    public List<Review> findReviews(@NotNull final Long movieId) {
+        return this.findInfos(
+                movieId,
+                MovieReviewEntity.class,
+                null,
+                root -> new Selection<?>[]{
+                        root.get(MovieReviewEntity_.title),
+                        root.get(MovieReviewEntity_.review),
+                        root.get(MovieReviewEntity_.spoiler),
+                },
+                tuple -> new Review.Builder(
+                        tuple.get(0, String.class),
+                        tuple.get(1, String.class),
+                        tuple.get(2, Boolean.class)
+                ).build()
+        );
+    }
+
+    /**
+     * Find the accepted photos of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The photos
+     */
+    public List<ImageResponse> findPhotos(@NotNull final Long movieId) {
+        return this.findFiles(movieId, MoviePhotoEntity.class);
+    }
+
+    /**
+     * Find the accepted posters of the movie.
+     *
+     * @param movieId The movie ID
+     * @return The posters
+     */
+    public List<ImageResponse> findPosters(@NotNull final Long movieId) {
+        return this.findFiles(movieId, MoviePosterEntity.class);
+    }
+
+    /**
+     * Find the accepted movie info of several relations of the movie in one query. The info is read from the movie
+     * info table filtered by the kinds of the relations, split by its kind in memory and ordered like the movie's
+     * sub-resources.
+     *
+     * @param movieId The movie ID
+     * @param relations The relations to find
+     * @return The DTOs of the movie info by the relation, in the order of the relations, empty lists included
+     */
+    public Map<MovieRelation, List<?>> findRelations(
+            @NotNull final Long movieId,
+            @NotNull final Set<MovieRelation> relations
+    ) {
+        final Map<MovieRelation, List<?>> infos = new EnumMap<>(MovieRelation.class);
+        if (relations.isEmpty()) {
+            return infos;
+        }
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MovieInfoEntity> query = cb.createQuery(MovieInfoEntity.class);
+        final Root<MovieInfoEntity> root = query.from(MovieInfoEntity.class);
+        query.select(root).where(
+                cb.equal(root.get(MovieInfoEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.equal(root.get(MovieInfoEntity_.status), DataStatus.ACCEPTED),
+                root.type().in(relations.stream()
+                        .map(relation -> RELATION_KINDS.get(relation).type)
+                        .collect(Collectors.toList()))
+        ).orderBy(cb.asc(root.get(MovieInfoEntity_.id)));
+
+        final Map<Class<?>, List<MovieInfoEntity>> byKind = this.entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .collect(Collectors.groupingBy(Object::getClass));
+
+        relations.forEach(relation -> {
+            final Kind<?> kind = RELATION_KINDS.get(relation);
+            infos.put(relation, kind.toDtos(byKind.getOrDefault(kind.type, Collections.emptyList())));
+        });
+        return infos;
+    }
+
+    /**
+     * Find the accepted files of one kind of the movie.
+     *
+     * @param movieId The movie ID
+     * @param kind The class of the kind of file
+     * @param <E> The kind of file
+     * @return The files
+     */
+    private <E extends MovieFileEntity> List<ImageResponse> findFiles(final Long movieId, final Class<E> kind) {
+        return this.findInfos(
+                movieId,
+                kind,
+                null,
+                root -> new Selection<?>[]{
+                        root.get(MovieFileEntity_.idInCloud),
+                        root.get(MovieFileEntity_.provider),
+                },
+                tuple -> new ImageResponse.Builder(
+                        tuple.get(1, StorageProvider.class).getUrlFile(tuple.get(0, String.class))
+                ).build()
+        );
+    }
+
+    /**
+     * Find the accepted movie info of one kind of the movie. The kind restricts the query to its discriminator value.
+     *
+     * @param movieId The movie ID
+     * @param kind The class of the kind of movie info
+     * @param orderBy The attribute to order by, in addition to the ID, or null to order by the ID only
+     * @param selection The function selecting the columns of the DTO
+     * @param mapper The function converting the selected columns to the DTO
+     * @param <E> The kind of movie info
+     * @param <T> The type of the DTO
+     * @return The DTOs of the movie info
+     */
+    private <E extends MovieInfoEntity, T> List<T> findInfos(
+            final Long movieId,
+            final Class<E> kind,
+            @Nullable final SingularAttribute<? super E, ?> orderBy,
+            final Function<Root<E>, Selection<?>[]> selection,
+            final Function<Tuple, T> mapper
+    ) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<E> root = query.from(kind);
+
+        final List<Order> orders = new ArrayList<>();
+        if (orderBy != null) {
+            orders.add(cb.asc(root.get(orderBy)));
+        }
+        orders.add(cb.asc(root.get(MovieInfoEntity_.id)));
+
+        query.multiselect(selection.apply(root)).where(
+                cb.equal(root.get(MovieInfoEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.equal(root.get(MovieInfoEntity_.status), DataStatus.ACCEPTED)
+        ).orderBy(orders);
+
+        return this.entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create the order of one kind of movie info by the sort key, nulls last.
+     *
+     * @param key The function extracting the sort key
+     * @param <E> The kind of movie info
+     * @param <U> The type of the sort key
+     * @return The comparator of the movie info
+     */
+    private static <E extends MovieInfoEntity, U extends Comparable<? super U>> Comparator<E> nullsLast(
+            final Function<E, U> key
+    ) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.<U>naturalOrder()));
+    }
+
+    /**
+     * One kind of movie info of a relation of the movie.
+     *
+     * @param <E> The kind of movie info
+     */
+    private static final class Kind<E extends MovieInfoEntity> {
+
+        private final Class<E> type;
+        private final Comparator<E> order;
+        private final Function<E, ?> mapper;
+
+        /**
+         * Constructor.
+         *
+         * @param type The class of the kind of movie info
+         * @param order The order in addition to the ID, or null to order by the ID only
+         * @param mapper The function converting the movie info to the DTO
+         */
+        private Kind(final Class<E> type, @Nullable final Comparator<E> order, final Function<E, ?> mapper) {
+            this.type = type;
+            this.order = order;
+            this.mapper = mapper;
+        }
+
+        /**
+         * Convert the movie info of the kind, ordered by the ID, to DTOs.
+         *
+         * @param infos The movie info of the kind ordered by the ID
+         * @return The DTOs in the order of the kind
+         */
+        private List<?> toDtos(final List<MovieInfoEntity> infos) {
+            final List<E> ofKind = infos.stream().map(this.type::cast).collect(Collectors.toList());
+            if (this.order != null) {
+                ofKind.sort(this.order);
+            }
+            return ofKind.stream().map(this.mapper).collect(Collectors.toList());
+        }
+    }
+}
@@ -23,6 +23,9 @@ import com.jonki.popcorn.common.dto.request.MovieRequest;
 import com.jonki.popcorn.common.exception.ResourceConflictException;
 import com.jonki.popcorn.common.exception.ResourceForbiddenException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieFavoritedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
@@ -33,7 +36,6 @@ import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieOutlineEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MoviePhotoEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MoviePosterEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieReleaseDateEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieReviewEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieSiteEntity;
@@ -46,6 +48,7 @@ import com.jonki.popcorn.core.service.MoviePersistenceService;
 import com.jonki.popcorn.core.util.CollectorUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -79,6 +82,8 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
     private final MovieRepository movieRepository;
     private final UserRepository userRepository;
     private final AuthorizationService authorizationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieRatingWriter movieRatingWriter;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -89,16 +94,22 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
      * @param movieRepository The movie repository to use
      * @param userRepository The user repository to use
      * @param authorizationService The authorization service to use
+     * @param eventPublisher The application event publisher to use
+     * @param movieRatingWriter The writer of the movie ratings to use
      */
     @Autowired
     public MoviePersistenceServiceImpl(
             @NotNull final MovieRepository movieRepository,
             @NotNull final UserRepository userRepository,
-            @NotNull final AuthorizationService authorizationService
+            @NotNull final AuthorizationService authorizationService,
+            @NotNull final ApplicationEventPublisher eventPublisher,
+            @NotNull final MovieRatingWriter movieRatingWriter
     ) {
         this.movieRepository = movieRepository;
         this.userRepository = userRepository;
         this.authorizationService = authorizationService;
+        this.eventPublisher = eventPublisher;
+        this.movieRatingWriter = movieRatingWriter;
     }
 
     /**
@@ -144,6 +155,8 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
 
         movie.setStatus(status.getDataStatus());
         movie.getOtherTitles().stream().findFirst().ifPresent(title -> title.setStatus(status.getDataStatus()));
+
+        this.eventPublisher.publishEvent(new MovieChangedEvent(movie.getId(), null));
     }
 
     /**
@@ -743,31 +756,28 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
             throw new ResourceConflictException("The movie with id " + id + " had no premiere");
         }
 
-        boolean rated = false;
+        this.movieRatingWriter.saveRating(movie, user, rateRequest.getRate());
 
-        final List<MovieRateEntity> ratings = movie.getRatings();
-        for(final MovieRateEntity mRate : ratings) {
-            if(mRate.getUser().getUniqueId().equals(user.getUniqueId())) {
-                mRate.setRate(rateRequest.getRate());
+        this.publishRated(movie.getId());
+    }
 
-                movie.setRating(this.calculationRating(ratings));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteRating(
+            @Min(1) final Long id
+    ) throws ResourceNotFoundException, ResourceConflictException {
+        log.info("Called with id {}", id);
 
-                rated = true;
+        final UserEntity user = this.findUser(this.authorizationService.getUserId());
+        final MovieEntity movie = this.findMovie(id, DataStatus.ACCEPTED);
 
-                break;
-            }
+        if (!this.movieRatingWriter.deleteRating(movie, user)) {
+            throw new ResourceConflictException("The movie with id " + id + " is not rated");
         }
 
-        if(!rated) {
-            final MovieRateEntity movieRate = new MovieRateEntity();
-            movieRate.setRate(rateRequest.getRate());
-            movieRate.setMovie(movie);
-            movieRate.setUser(user);
-
-            movie.getRatings().add(movieRate);
-
-            movie.setRating(this.calculationRating(movie.getRatings()));
-        }
+        this.publishRated(movie.getId());
     }
 
     /**
@@ -778,6 +788,8 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
             @Min(1) final Long id
     ) throws ResourceNotFoundException, ResourceConflictException {
         this.findUser(this.authorizationService.getUserId()).addFavoriteMovie(this.findMovie(id, DataStatus.ACCEPTED));
+
+        this.eventPublisher.publishEvent(new MovieFavoritedEvent(id));
     }
 
     /**
@@ -788,6 +800,23 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
             @Min(1) final Long id
     ) throws ResourceNotFoundException, ResourceConflictException {
         this.findUser(this.authorizationService.getUserId()).removeFavoriteMovie(this.findMovie(id, DataStatus.ACCEPTED));
+
+        this.eventPublisher.publishEvent(new MovieFavoritedEvent(id));
+    }
+
+    /**
+     * Helper method to announce the movie as rated once its aggregates have been changed. In the write-behind
+     * mode the buffer announces the movie when it applies the changes, so nothing reacts to the vote inside
+     * its transaction.
+     *
+     * @param movieId The movie ID
+     */
+    private void publishRated(final Long movieId) {
+        if (this.movieRatingWriter.isWriteBehind()) {
+            return;
+        }
+
+        this.eventPublisher.publishEvent(new MovieRatedEvent(movieId));
     }
 
     /**
@@ -818,24 +847,6 @@ public class MoviePersistenceServiceImpl implements MoviePersistenceService {
     }
 
 
-    /**
-     * Calculates the average rating for a movie.
-     *
-     * @param movieRates Rating list
-     * @return Average rating
-     */
-    private Float calculationRating(final List<MovieRateEntity> movieRates) {
-        Float averageRating = 0F;
-
-        for(final MovieRateEntity movieRate : movieRates) {
-            averageRating += movieRate.getRate();
-        }
-
-        averageRating = averageRating / movieRates.size();
-
-        return averageRating;
-    }
-
     /**
      * Helper method for checking the uniqueness of the title.
      *
@@ -0,0 +1,295 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.properties.RatingProperties;
+import com.jonki.popcorn.core.rating.DailyRating;
+import com.jonki.popcorn.core.rating.RatingAccumulator;
+import com.jonki.popcorn.core.rating.RatingDelta;
+import com.jonki.popcorn.core.rating.RatingSeries;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer of the rating aggregates, the rating histograms and the daily rollups of the movies.
+ * The votes are saved at once, but the changes they make to the aggregates are accumulated in memory after the vote
+ * has been committed, and applied in batches on an interval or when enough votes have been buffered. A hot movie
+ * is then updated once per flush instead of once per vote, so the voters don't wait for its row lock.
+ * <p>
+ * The votes are the source of truth. The buffered changes are lost if the application stops abruptly,
+ * so the aggregates which don't match the votes can be recomputed from them at startup, before the requests
+ * are accepted. The reconciliation scans every movie, so it only runs if {@code rating.reconcile-on-startup}
+ * is set.
+ * <p>
+ * The write-behind mode assumes a single instance of the application. The reconciliation can't see the changes
+ * buffered by another instance, so they would be counted twice once that instance flushes them.
+ */
+@Component
+@Slf4j
+public class MovieRatingBuffer implements DisposableBean {
+
+    private static final String STALE_MOVIES_SQL;
+    private static final String REBUILD_SQL;
+    private static final String DELETE_DAYS_SQL = "DELETE FROM movies_ratings_daily WHERE movie_id = ?1";
+    private static final String VOTES_SQL = "SELECT r.date, r.rate FROM movies_ratings r WHERE r.movie_id = ?1";
+
+    static {
+        final StringBuilder stale = new StringBuilder("SELECT m.id FROM movies m WHERE m.rating_sum <>")
+                .append(" COALESCE((SELECT SUM(r.rate) FROM movies_ratings r WHERE r.movie_id = m.id), 0)")
+                .append(" OR m.rating_count <> (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = m.id)")
+                .append(" OR m.rating_count <> COALESCE((SELECT SUM(d.rating_count) FROM movies_ratings_daily d")
+                .append(" WHERE d.movie_id = m.id), 0)");
+        final StringBuilder rebuild = new StringBuilder("UPDATE movies SET")
+                .append(" rating_sum =")
+                .append(" COALESCE((SELECT SUM(r.rate) FROM movies_ratings r WHERE r.movie_id = movies.id), 0),")
+                .append(" rating_count = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id),")
+                .append(" rating = (SELECT CAST(SUM(r.rate) AS FLOAT) / COUNT(*) FROM movies_ratings r")
+                .append(" WHERE r.movie_id = movies.id)");
+        for (int rate = RatingDelta.MIN_RATE; rate <= RatingDelta.MAX_RATE; rate++) {
+            stale.append(" OR m.rating_histogram_").append(rate)
+                    .append(" <> (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = m.id AND r.rate = ")
+                    .append(rate).append(")");
+            rebuild.append(", rating_histogram_").append(rate)
+                    .append(" = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = ")
+                    .append(rate).append(")");
+        }
+        STALE_MOVIES_SQL = stale.toString();
+        REBUILD_SQL = rebuild.append(" WHERE id = ?1").toString();
+    }
+
+    private final RatingProperties.WriteBehind properties;
+    private final boolean reconcileOnStartup;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RatingAccumulator accumulator;
+    private final Timer flushTimer;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param ratingProperties The rating properties to use
+     * @param transactionManager The transaction manager to use
+     * @param eventPublisher The application event publisher to use
+     * @param meterRegistry The meter registry to use, the global registry if there is none
+     */
+    @Autowired
+    public MovieRatingBuffer(
+            @NotNull final RatingProperties ratingProperties,
+            @NotNull final PlatformTransactionManager transactionManager,
+            @NotNull final ApplicationEventPublisher eventPublisher,
+            @NotNull final ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(
+                ratingProperties,
+                transactionManager,
+                eventPublisher,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ratingProperties The rating properties to use
+     * @param transactionManager The transaction manager to use
+     * @param eventPublisher The application event publisher to use
+     * @param meterRegistry The meter registry to use
+     */
+    public MovieRatingBuffer(
+            @NotNull final RatingProperties ratingProperties,
+            @NotNull final PlatformTransactionManager transactionManager,
+            @NotNull final ApplicationEventPublisher eventPublisher,
+            @NotNull final MeterRegistry meterRegistry
+    ) {
+        this.properties = ratingProperties.getWriteBehind();
+        this.reconcileOnStartup = ratingProperties.isReconcileOnStartup();
+        this.eventPublisher = eventPublisher;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.accumulator = new RatingAccumulator(this.properties.getStripes());
+        this.flushTimer = meterRegistry.timer("popcorn.rating.buffer.flush");
+        Gauge.builder("popcorn.rating.buffer.depth", this.accumulator, RatingAccumulator::getDepth)
+                .register(meterRegistry);
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("rating-flush-"));
+    }
+
+    /**
+     * Check whether the changes of the rating aggregates are buffered.
+     *
+     * @return True if the write-behind mode is enabled
+     */
+    public boolean isEnabled() {
+        return this.properties.isEnabled();
+    }
+
+    /**
+     * Buffer the change made by a vote once the transaction saving the vote has been committed.
+     *
+     * @param movieId The movie ID
+     * @param delta The change of the movie's rating aggregates
+     */
+    public void add(@NotNull final Long movieId, @NotNull final RatingDelta delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    MovieRatingBuffer.this.accumulate(movieId, delta);
+                }
+            });
+        } else {
+            this.accumulate(movieId, delta);
+        }
+    }
+
+    /**
+     * Apply the buffered changes in one transaction. The changes are put back into the buffer if they can't
+     * be applied. Every updated movie is announced as rated, so the read model, the content version
+     * and the caches follow the new aggregates.
+     */
+    public synchronized void flush() {
+        final SortedMap<Long, RatingDelta> deltas = this.accumulator.drain();
+        deltas.values().removeIf(RatingDelta::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.flushTimer.record(() -> this.transactionTemplate.execute(status -> {
+                deltas.forEach((movieId, delta) -> {
+                    MovieRatingWriter.applyDelta(this.entityManager, movieId, delta);
+                    this.eventPublisher.publishEvent(new MovieRatedEvent(movieId));
+                });
+                return null;
+            }));
+            log.debug("Flushed the rating changes of {} movies", deltas.size());
+        } catch (final RuntimeException e) {
+            log.error("Can't flush the rating changes of {} movies, they will be retried", deltas.size(), e);
+            this.accumulator.restore(deltas);
+        }
+    }
+
+    /**
+     * Recompute the aggregates and the daily rollups which don't match the votes if the reconciliation is enabled
+     * and, in the write-behind mode, start flushing on the interval. It runs once the context has been refreshed,
+     * so before the web server accepts the requests. The rollups are checked in both modes, so the days of the votes
+     * cast before the rollup table was created are bucketed in UTC.
+     *
+     * @param event The context refreshed event
+     */
+    @EventListener
+    public void onContextRefreshed(final ContextRefreshedEvent event) {
+        if (!this.started.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (this.reconcileOnStartup) {
+            this.rebuild();
+        }
+        if (!this.isEnabled()) {
+            return;
+        }
+
+        final long interval = this.properties.getFlushInterval();
+        this.scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop flushing on the interval and flush the remaining changes when the application context is closed.
+     *
+     * @throws InterruptedException if interrupted while waiting for the running flush
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        this.scheduler.shutdown();
+        this.scheduler.awaitTermination(this.properties.getFlushInterval(), TimeUnit.MILLISECONDS);
+        this.flush();
+    }
+
+    /**
+     * Recompute the aggregates and the daily rollups of the movies which don't match their votes from the votes.
+     */
+    void rebuild() {
+        final Integer rebuilt = this.transactionTemplate.execute(status -> {
+            @SuppressWarnings("unchecked")
+            final List<Number> movieIds = this.entityManager.createNativeQuery(STALE_MOVIES_SQL).getResultList();
+            for (final Number id : movieIds) {
+                final Long movieId = id.longValue();
+                this.entityManager.createNativeQuery(REBUILD_SQL).setParameter(1, movieId).executeUpdate();
+                this.entityManager.createNativeQuery(DELETE_DAYS_SQL).setParameter(1, movieId).executeUpdate();
+                this.rebuildDays(movieId);
+                this.eventPublisher.publishEvent(new MovieRatedEvent(movieId));
+            }
+            return movieIds.size();
+        });
+        log.info("Rating aggregates of {} movies rebuilt from the votes", rebuilt);
+    }
+
+    /**
+     * Insert the daily rollup of the movie summed from its votes. The votes are bucketed into the days
+     * in the application, in the same time zone as the written votes, not in the time zone of the database session.
+     *
+     * @param movieId The movie ID
+     */
+    private void rebuildDays(final Long movieId) {
+        @SuppressWarnings("unchecked")
+        final List<Object[]> votes = this.entityManager.createNativeQuery(VOTES_SQL)
+                .setParameter(1, movieId)
+                .getResultList();
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        for (final Object[] vote : votes) {
+            days.merge(
+                    RatingSeries.getDay((Date) vote[0]),
+                    new DailyRating(((Number) vote[1]).longValue(), 1),
+                    DailyRating::plus
+            );
+        }
+        days.forEach((day, rating) -> MovieRatingWriter.applyDay(this.entityManager, movieId, day, rating));
+    }
+
+    private void accumulate(final Long movieId, final RatingDelta delta) {
+        if (this.accumulator.add(movieId, delta) >= this.properties.getFlushThreshold()
+                && !this.scheduler.isShutdown()
+                && this.flushRequested.compareAndSet(false, true)) {
+            this.scheduler.execute(() -> {
+                this.flushRequested.set(false);
+                this.flush();
+            });
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
+import com.jonki.popcorn.core.jpa.entity.IdEntity_;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.UserEntity;
+import com.jonki.popcorn.core.jpa.entity.UserEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRatingDayEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRatingDayEntity_;
+import com.jonki.popcorn.core.jpa.specification.KeysetSpecs;
+import com.jonki.popcorn.core.jpa.specification.RatingSpecs;
+import com.jonki.popcorn.core.rating.DailyRating;
+import com.jonki.popcorn.core.rating.RatingSeries;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchCursor;
+import com.jonki.popcorn.core.search.SearchPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the pages of the movie's ratings. Only the columns of the DTO are selected from the votes, filtered
+ * by the movie ID and the date and ordered by the date and the ID, so the movie isn't loaded and the page
+ * is read from the index of the votes. The next pages are sought after the cursor instead of skipping
+ * the votes before them. The rating trends are read from the daily rollup of the ratings, one row per day
+ * instead of one per vote.
+ */
+@Component
+public class MovieRatingLoader {
+
+    /**
+     * Name of the date attribute the ratings are sorted by.
+     */
+    private static final String DATE = "date";
+
+    private final MovieRatingBuffer movieRatingBuffer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param movieRatingBuffer The write-behind buffer of the rating aggregates to use
+     */
+    @Autowired
+    public MovieRatingLoader(@NotNull final MovieRatingBuffer movieRatingBuffer) {
+        this.movieRatingBuffer = movieRatingBuffer;
+    }
+
+    /**
+     * Whether the rating aggregates are buffered and applied later. The votes are saved at once, but the content
+     * version of the movie and its aggregates change only when the buffered changes are applied.
+     *
+     * @return True if the rating aggregates are written behind
+     */
+    public boolean isWriteBehind() {
+        return this.movieRatingBuffer.isEnabled();
+    }
+
+    /**
+     * Find the page of the movie's ratings. The ratings are always sorted by the date, in the direction
+     * of the date order of the page request if any, ascending otherwise. Without the date range the total
+     * is the number of votes kept by the movie, which lags behind the votes in the write-behind mode.
+     *
+     * @param movieId The movie ID
+     * @param fromDate Rating day range "from"
+     * @param toDate Rating day range "to"
+     * @param page The page to get, a KeysetPageRequest for keyset pagination
+     * @return The page of the ratings
+     * @throws ResourceBadRequestException if the cursor of the page request has been created for another sort
+     */
+    public SearchPage<RateResponse> findRatings(
+            @NotNull final Long movieId,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate,
+            @NotNull final Pageable page
+    ) throws ResourceBadRequestException {
+        final BiFunction<Root<MovieRateEntity>, CriteriaBuilder, Predicate> filter
+                = (root, cb) -> RatingSpecs.getFindPredicate(root, cb, movieId, fromDate, toDate);
+        final Sort sort = getSort(page);
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieRateEntity> root = query.from(MovieRateEntity.class);
+        final Join<MovieRateEntity, UserEntity> user = root.join(MovieRateEntity_.user);
+        query.multiselect(
+                root.get(MovieRateEntity_.rate),
+                user.get(UserEntity_.username),
+                root.get(MovieRateEntity_.date),
+                root.get(IdEntity_.id)
+        ).where(
+                SearchUtils.getContentPredicate(root, cb, filter.apply(root, cb), page, sort)
+        ).orderBy(
+                KeysetSpecs.getOrders(root, cb, sort, page instanceof KeysetPageRequest)
+        );
+
+        final List<Tuple> rows = SearchUtils.limit(this.entityManager.createQuery(query), page).getResultList();
+        final List<RateResponse> content = rows
+                .stream()
+                .limit(page.getPageSize())
+                .map(row -> new RateResponse.Builder(
+                        row.get(0, Integer.class),
+                        row.get(1, String.class),
+                        row.get(2, Date.class)
+                ).build())
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (page instanceof KeysetPageRequest && rows.size() > page.getPageSize()) {
+            final Tuple last = rows.get(page.getPageSize() - 1);
+            nextCursor = SearchCursor.of(sort, Arrays.asList(last.get(2), last.get(3))).encode();
+        }
+
+        if (fromDate != null || toDate != null) {
+            return new SearchPage<>(
+                    content, page, SearchUtils.count(this.entityManager, MovieRateEntity.class, filter), nextCursor
+            );
+        }
+        return new SearchPage<>(
+                content, page, this.countRatings(movieId), !this.movieRatingBuffer.isEnabled(), nextCursor
+        );
+    }
+
+    /**
+     * Find the trend of the movie's rating in the day range, downsampled to the resolution. The days
+     * of the range are read from the daily rollup and the votes before the range are summed from it,
+     * so the cumulative averages include them.
+     *
+     * @param movieId The movie ID
+     * @param resolution The resolution of the trend
+     * @param fromDate Rating day range "from"
+     * @param toDate Rating day range "to"
+     * @return The points of the trend, in the order of the dates
+     */
+    public List<RatingTrendPoint> findTrend(
+            @NotNull final Long movieId,
+            @NotNull final TrendResolution resolution,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate
+    ) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieRatingDayEntity> root = query.from(MovieRatingDayEntity.class);
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(MovieRatingDayEntity_.movie).get(MovieEntity_.id), movieId));
+        predicates.add(cb.notEqual(root.get(MovieRatingDayEntity_.ratingCount), 0));
+        if (fromDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get(MovieRatingDayEntity_.date), toColumn(fromDate)));
+        }
+        if (toDate != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get(MovieRatingDayEntity_.date), toColumn(toDate)));
+        }
+        query.multiselect(
+                root.get(MovieRatingDayEntity_.date),
+                root.get(MovieRatingDayEntity_.ratingSum),
+                root.get(MovieRatingDayEntity_.ratingCount)
+        ).where(
+                predicates.toArray(new Predicate[0])
+        ).orderBy(
+                cb.asc(root.get(MovieRatingDayEntity_.date))
+        );
+
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        for (final Tuple row : this.entityManager.createQuery(query).getResultList()) {
+            days.put(
+                    fromColumn(row.get(0, Date.class)),
+                    new DailyRating(row.get(1, Long.class), row.get(2, Integer.class))
+            );
+        }
+
+        final DailyRating before = fromDate != null ? this.sumDaysBefore(movieId, fromDate) : new DailyRating(0, 0);
+        return RatingSeries.downsample(days, before, resolution);
+    }
+
+    /**
+     * Sum the votes of the movie's days before the day.
+     *
+     * @param movieId The movie ID
+     * @param day The day
+     * @return The sum and the number of the votes
+     */
+    private DailyRating sumDaysBefore(final Long movieId, final LocalDate day) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieRatingDayEntity> root = query.from(MovieRatingDayEntity.class);
+        query.multiselect(
+                cb.sum(root.get(MovieRatingDayEntity_.ratingSum)),
+                cb.sumAsLong(root.get(MovieRatingDayEntity_.ratingCount))
+        ).where(
+                cb.equal(root.get(MovieRatingDayEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.lessThan(root.get(MovieRatingDayEntity_.date), toColumn(day))
+        );
+
+        final Tuple row = this.entityManager.createQuery(query).getSingleResult();
+        final Long sum = row.get(0, Long.class);
+        final Long count = row.get(1, Long.class);
+        return new DailyRating(sum != null ? sum : 0, count != null ? count.intValue() : 0);
+    }
+
+    /**
+     * Get the number of votes kept by the movie.
+     *
+     * @param movieId The movie ID
+     * @return The number of votes
+     */
+    private long countRatings(final Long movieId) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+        query.select(root.get(MovieEntity_.ratingCount)).where(cb.equal(root.get(MovieEntity_.id), movieId));
+
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Get the value of the date column of the daily rollup holding the day. The column has no time zone,
+     * it keeps the day itself.
+     *
+     * @param day The day
+     * @return The value of the column
+     */
+    private static Date toColumn(final LocalDate day) {
+        return java.sql.Date.valueOf(day);
+    }
+
+    /**
+     * Get the day kept by the date column of the daily rollup.
+     *
+     * @param column The value of the column
+     * @return The day
+     */
+    private static LocalDate fromColumn(final Date column) {
+        return new java.sql.Date(column.getTime()).toLocalDate();
+    }
+
+    /**
+     * Get the keyset sort of the ratings, by the date and the ID in the same direction.
+     *
+     * @param page The page request
+     * @return The sort
+     */
+    private static Sort getSort(final Pageable page) {
+        final Sort.Order order = page.getSort().getOrderFor(DATE);
+        return KeysetSpecs.getKeysetSort(
+                Sort.by(order != null ? order.getDirection() : Sort.Direction.ASC, DATE)
+        );
+    }
+}
@@ -0,0 +1,298 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.exception.ResourceConflictException;
+import com.jonki.popcorn.core.jpa.entity.IdEntity_;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.UserEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRatingDayEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRatingDayEntity_;
+import com.jonki.popcorn.core.rating.DailyRating;
+import com.jonki.popcorn.core.rating.RatingDelta;
+import com.jonki.popcorn.core.rating.RatingSeries;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.validation.constraints.NotNull;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves the user's vote for a movie in constant time, independent of the number of the movie's ratings.
+ * The vote is unique per movie and user. The movie keeps the sum and the number of its votes and the number
+ * of votes per rate, and the difference made by the vote is added to them with one update statement,
+ * so the concurrent votes of different users are all counted without reading the aggregates first.
+ * The difference is also added to the daily rollup of the movie's ratings, in the row of the day of the vote.
+ * In the write-behind mode the difference is buffered and applied later by {@link MovieRatingBuffer}.
+ */
+@Component
+@Slf4j
+@Transactional
+public class MovieRatingWriter {
+
+    private static final String HISTOGRAM_ATTRIBUTE = "ratingHistogram";
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    private final MovieRatingBuffer movieRatingBuffer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param movieRatingBuffer The write-behind buffer of the rating aggregates to use
+     */
+    @Autowired
+    public MovieRatingWriter(@NotNull final MovieRatingBuffer movieRatingBuffer) {
+        this.movieRatingBuffer = movieRatingBuffer;
+    }
+
+    /**
+     * Whether the rating aggregates are buffered and applied later. The buffer announces the rated movies
+     * when it applies the changes, so the votes written in this mode don't change the aggregates yet.
+     *
+     * @return True if the rating aggregates are written behind
+     */
+    public boolean isWriteBehind() {
+        return this.movieRatingBuffer.isEnabled();
+    }
+
+    /**
+     * Insert the user's vote or change the rate of the existing one and apply the difference to the movie's
+     * rating aggregates. The existing vote is locked, so the concurrent votes of the same user are serialized.
+     * A missing vote can't be locked, so the user is locked before the vote is looked up again and inserted,
+     * and the concurrent first votes of the same user become an insert and an update. A first vote still
+     * rejected by the unique key of the votes is a conflict.
+     *
+     * @param movie The movie
+     * @param user The user
+     * @param rate The rate
+     * @throws ResourceConflictException if the user has rated the movie concurrently
+     */
+    public void saveRating(
+            @NotNull final MovieEntity movie,
+            @NotNull final UserEntity user,
+            final int rate
+    ) throws ResourceConflictException {
+        MovieRateEntity vote = this.findVote(movie.getId(), user.getId());
+        if (vote == null) {
+            this.entityManager.lock(user, LockModeType.PESSIMISTIC_WRITE);
+            vote = this.findVote(movie.getId(), user.getId());
+        }
+
+        final RatingDelta delta;
+        if (vote == null) {
+            final MovieRateEntity movieRate = new MovieRateEntity();
+            movieRate.setRate(rate);
+            movieRate.setMovie(movie);
+            movieRate.setUser(user);
+            try {
+                this.entityManager.persist(movieRate);
+                this.entityManager.flush();
+            } catch (final PersistenceException | DataIntegrityViolationException e) {
+                if (isConstraintViolation(e)) {
+                    throw new ResourceConflictException("The movie with id " + movie.getId() + " is being rated", e);
+                }
+                throw e;
+            }
+
+            delta = RatingDelta.vote(rate, RatingSeries.getDay(movieRate.getDate()));
+        } else {
+            final int oldRate = vote.getRate();
+            final LocalDate oldDay = RatingSeries.getDay(vote.getDate());
+            vote.setRate(rate);
+            this.entityManager.flush();
+
+            delta = RatingDelta.change(oldRate, oldDay, rate, RatingSeries.getDay(vote.getDate()));
+        }
+
+        this.apply(movie, delta);
+    }
+
+    /**
+     * Delete the user's vote and apply the difference to the movie's rating aggregates.
+     *
+     * @param movie The movie
+     * @param user The user
+     * @return True if the vote has been deleted, false if the user hasn't rated the movie
+     */
+    public boolean deleteRating(@NotNull final MovieEntity movie, @NotNull final UserEntity user) {
+        final MovieRateEntity vote = this.findVote(movie.getId(), user.getId());
+        if (vote == null) {
+            return false;
+        }
+
+        this.entityManager.remove(vote);
+        this.entityManager.flush();
+
+        this.apply(movie, RatingDelta.delete(vote.getRate(), RatingSeries.getDay(vote.getDate())));
+        return true;
+    }
+
+    /**
+     * Apply the difference made by the written vote to the movie's aggregates, or buffer the difference
+     * in the write-behind mode. The vote is written first, so the unique key is checked before the aggregates
+     * are changed and the audited date of the vote is known.
+     *
+     * @param movie The movie
+     * @param delta The difference made by the vote
+     */
+    private void apply(final MovieEntity movie, final RatingDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        if (this.movieRatingBuffer.isEnabled()) {
+            this.movieRatingBuffer.add(movie.getId(), delta);
+            return;
+        }
+
+        log.debug("Applying {} to the rating aggregates of the movie {}", delta, movie.getId());
+        applyDelta(this.entityManager, movie.getId(), delta);
+
+        // The aggregates have been changed in the database, reload them for the rest of the transaction
+        this.entityManager.refresh(movie);
+    }
+
+    /**
+     * Find and lock the user's vote for the movie.
+     *
+     * @param movieId The movie ID
+     * @param userId The user ID
+     * @return The vote or null if the user hasn't rated the movie
+     */
+    private MovieRateEntity findVote(final Long movieId, final Long userId) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MovieRateEntity> query = cb.createQuery(MovieRateEntity.class);
+        final Root<MovieRateEntity> root = query.from(MovieRateEntity.class);
+        query.select(root).where(
+                cb.equal(root.get(MovieRateEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.equal(root.get(MovieRateEntity_.user).get(IdEntity_.id), userId)
+        );
+
+        final List<MovieRateEntity> votes = this.entityManager
+                .createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        return votes.isEmpty() ? null : votes.get(0);
+    }
+
+    /**
+     * Check whether the database rejected the statement because of a constraint, SQL state class 23.
+     * Spring reports the violations translated already.
+     *
+     * @param e The exception thrown by the statement
+     * @return True if a constraint has been violated
+     */
+    private static boolean isConstraintViolation(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException) {
+                return true;
+            }
+            if (cause instanceof SQLException
+                    && StringUtils.startsWith(((SQLException) cause).getSQLState(), INTEGRITY_CONSTRAINT_VIOLATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add the difference made by one or more votes to the rating aggregates and the rating histogram of the movie
+     * and recompute its average rating with one update statement. The expressions of the statement read the values
+     * from before the update. The average of a movie without votes is null. Then add the difference of every day
+     * to the daily rollup, inserting the rows of the new days. The update of the movie locks its row, so
+     * the concurrent transactions don't insert the same day twice.
+     *
+     * @param entityManager The entity manager of the current transaction
+     * @param movieId The movie ID
+     * @param delta The difference of the sum of the rates, the number of votes, the number of votes per rate
+     *              and the votes of every day
+     */
+    static void applyDelta(final EntityManager entityManager, final Long movieId, final RatingDelta delta) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaUpdate<MovieEntity> update = cb.createCriteriaUpdate(MovieEntity.class);
+        final Root<MovieEntity> root = update.from(MovieEntity.class);
+        final Expression<Long> ratingSum = cb.sum(root.get(MovieEntity_.ratingSum), delta.getSum());
+        final Expression<Integer> ratingCount = cb.sum(root.get(MovieEntity_.ratingCount), delta.getCount());
+        update.set(root.get(MovieEntity_.ratingSum), ratingSum)
+                .set(root.get(MovieEntity_.ratingCount), ratingCount)
+                .set(
+                        root.get(MovieEntity_.rating),
+                        cb.quot(cb.toFloat(ratingSum), cb.nullif(ratingCount, 0)).as(Float.class)
+                );
+        for (int rate = RatingDelta.MIN_RATE; rate <= RatingDelta.MAX_RATE; rate++) {
+            if (delta.getHistogram(rate) != 0) {
+                final Path<Integer> bucket = root.get(HISTOGRAM_ATTRIBUTE + rate);
+                update.set(bucket, cb.sum(bucket, delta.getHistogram(rate)));
+            }
+        }
+        update.where(cb.equal(root.get(MovieEntity_.id), movieId));
+
+        entityManager.createQuery(update).executeUpdate();
+
+        for (final Map.Entry<LocalDate, DailyRating> day : delta.getDays().entrySet()) {
+            applyDay(entityManager, movieId, day.getKey(), day.getValue());
+        }
+    }
+
+    /**
+     * Add the difference of the votes of one day to its row of the movie's daily rollup, or insert the row.
+     *
+     * @param entityManager The entity manager of the current transaction
+     * @param movieId The movie ID
+     * @param day The day
+     * @param delta The difference of the sum and the number of the votes of the day
+     */
+    static void applyDay(
+            final EntityManager entityManager,
+            final Long movieId,
+            final LocalDate day,
+            final DailyRating delta
+    ) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaUpdate<MovieRatingDayEntity> update = cb.createCriteriaUpdate(MovieRatingDayEntity.class);
+        final Root<MovieRatingDayEntity> root = update.from(MovieRatingDayEntity.class);
+        update.set(
+                root.get(MovieRatingDayEntity_.ratingSum),
+                cb.sum(root.get(MovieRatingDayEntity_.ratingSum), delta.getSum())
+        ).set(
+                root.get(MovieRatingDayEntity_.ratingCount),
+                cb.sum(root.get(MovieRatingDayEntity_.ratingCount), delta.getCount())
+        ).where(
+                cb.equal(root.get(MovieRatingDayEntity_.movie).get(MovieEntity_.id), movieId),
+                cb.equal(root.get(MovieRatingDayEntity_.date), Date.valueOf(day))
+        );
+
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            final MovieRatingDayEntity rollup = new MovieRatingDayEntity();
+            rollup.setMovie(entityManager.getReference(MovieEntity.class, movieId));
+            rollup.setDate(Date.valueOf(day));
+            rollup.setRatingSum(delta.getSum());
+            rollup.setRatingCount(delta.getCount());
+            entityManager.persist(rollup);
+            entityManager.flush();
+            entityManager.detach(rollup);
+        }
+    }
+}
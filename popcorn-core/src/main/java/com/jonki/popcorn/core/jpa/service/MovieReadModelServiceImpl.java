@@ -0,0 +1,310 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.google.common.collect.Sets;
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.MovieRelation;
+import com.jonki.popcorn.common.dto.movie.Country;
+import com.jonki.popcorn.common.dto.movie.Genre;
+import com.jonki.popcorn.common.dto.movie.Language;
+import com.jonki.popcorn.common.dto.movie.OtherTitle;
+import com.jonki.popcorn.common.dto.movie.ReleaseDate;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieFavoritedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.MovieSearchEntity;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.core.service.MovieReadModelService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.validation.annotation.Validated;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JPA implementation of the Movie Read Model Service. When the read model is enabled, it's refreshed before
+ * the commit of every transaction which changed the movie, so it's always consistent with the catalog.
+ */
+@Service("movieReadModelService")
+@Slf4j
+@Transactional
+@Validated
+public class MovieReadModelServiceImpl implements MovieReadModelService {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * The relations of the movie projected to the read model.
+     */
+    private static final Set<MovieRelation> PROJECTED_RELATIONS = Sets.immutableEnumSet(
+            MovieRelation.TITLES,
+            MovieRelation.RELEASE_DATES,
+            MovieRelation.GENRES,
+            MovieRelation.COUNTRIES,
+            MovieRelation.LANGUAGES
+    );
+
+    private final MovieInfoLoader movieInfoLoader;
+    private final SearchProperties searchProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param movieInfoLoader The movie info loader to use
+     * @param searchProperties The search properties to use
+     */
+    @Autowired
+    public MovieReadModelServiceImpl(
+            @NotNull final MovieInfoLoader movieInfoLoader,
+            @NotNull final SearchProperties searchProperties
+    ) {
+        this.movieInfoLoader = movieInfoLoader;
+        this.searchProperties = searchProperties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refresh(
+            @Min(1) final Long id
+    ) {
+        log.info("Called with id {}", id);
+
+        final MovieEntity movie = this.entityManager.find(MovieEntity.class, id);
+        final MovieSearchEntity readModel = this.entityManager.find(MovieSearchEntity.class, id);
+
+        if (movie == null || movie.getStatus() != DataStatus.ACCEPTED) {
+            if (readModel != null) {
+                this.entityManager.remove(readModel);
+            }
+            return;
+        }
+
+        if (readModel == null) {
+            final MovieSearchEntity newReadModel = new MovieSearchEntity();
+            newReadModel.setId(id);
+            this.project(movie, newReadModel);
+            this.entityManager.persist(newReadModel);
+        } else {
+            this.project(movie, readModel);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rebuild() {
+        log.info("Called");
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaDelete<MovieSearchEntity> delete = cb.createCriteriaDelete(MovieSearchEntity.class);
+        delete.from(MovieSearchEntity.class);
+        this.entityManager.createQuery(delete).executeUpdate();
+
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+        query.select(root.get(MovieEntity_.id))
+                .where(cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED));
+        final List<Long> ids = this.entityManager.createQuery(query).getResultList();
+
+        for (int i = 0; i < ids.size(); i++) {
+            this.refresh(ids.get(i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+
+        log.info("Read model built for {} movies", ids.size());
+    }
+
+    /**
+     * Rebuild the read model when the application is ready, if it's enabled and out of sync with the movies.
+     *
+     * @param event The application ready event
+     */
+    @EventListener
+    public void onApplicationReady(final ApplicationReadyEvent event) {
+        if (!this.searchProperties.getReadModel().isEnabled()) {
+            return;
+        }
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+
+        final CriteriaQuery<Long> moviesQuery = cb.createQuery(Long.class);
+        final Root<MovieEntity> movies = moviesQuery.from(MovieEntity.class);
+        moviesQuery.select(cb.count(movies))
+                .where(cb.equal(movies.get(MovieEntity_.status), DataStatus.ACCEPTED));
+
+        final CriteriaQuery<Long> readModelQuery = cb.createQuery(Long.class);
+        readModelQuery.select(cb.count(readModelQuery.from(MovieSearchEntity.class)));
+
+        if (!this.entityManager.createQuery(moviesQuery).getSingleResult()
+                .equals(this.entityManager.createQuery(readModelQuery).getSingleResult())) {
+            this.rebuild();
+        }
+    }
+
+    /**
+     * Refresh the read model in the transaction which changed the movie.
+     *
+     * @param event The movie changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMovieChanged(final MovieChangedEvent event) {
+        if (this.searchProperties.getReadModel().isEnabled()) {
+            this.refresh(event.getMovieId());
+        }
+    }
+
+    /**
+     * Copy the rating to the read model in the transaction which rated the movie.
+     *
+     * @param event The movie rated event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMovieRated(final MovieRatedEvent event) {
+        if (this.searchProperties.getReadModel().isEnabled()) {
+            this.refreshCounters(event.getMovieId());
+        }
+    }
+
+    /**
+     * Copy the favorite count to the read model in the transaction which changed the favorites of the movie.
+     *
+     * @param event The movie favorited event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMovieFavorited(final MovieFavoritedEvent event) {
+        if (this.searchProperties.getReadModel().isEnabled()) {
+            this.refreshCounters(event.getMovieId());
+        }
+    }
+
+    /**
+     * Copy the rating and the favorite count of the movie to its read model. The votes and the favorites don't
+     * change the movie infos, so they aren't read again.
+     *
+     * @param id The movie ID
+     */
+    private void refreshCounters(final Long id) {
+        final MovieSearchEntity readModel = this.entityManager.find(MovieSearchEntity.class, id);
+        if (readModel == null) {
+            return;
+        }
+
+        final MovieEntity movie = this.entityManager.find(MovieEntity.class, id);
+        readModel.setRating(movie.getRating().orElse(null));
+        readModel.setFavoriteCount(movie.getFavoriteCount());
+    }
+
+    /**
+     * Copy the accepted state of the movie to the read model. The accepted infos of the projected relations are
+     * read with one query instead of loading the collections of the movie.
+     *
+     * @param movie The movie
+     * @param readModel The read model
+     */
+    @SuppressWarnings("unchecked")
+    private void project(final MovieEntity movie, final MovieSearchEntity readModel) {
+        final Map<MovieRelation, List<?>> infos
+                = this.movieInfoLoader.findRelations(movie.getId(), PROJECTED_RELATIONS);
+
+        final List<Date> releaseDates
+                = values((List<ReleaseDate>) infos.get(MovieRelation.RELEASE_DATES), ReleaseDate::getDate)
+                .stream()
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        final Optional<Date> releaseDate = releaseDates.stream().findFirst();
+
+        readModel.setTitle(movie.getTitle());
+        readModel.setType(movie.getType());
+        readModel.setTitles(join(values((List<OtherTitle>) infos.get(MovieRelation.TITLES), OtherTitle::getTitle),
+                title -> title.toUpperCase(Locale.ROOT)));
+        readModel.setReleaseDate(releaseDate.orElse(null));
+        readModel.setLatestReleaseDate(releaseDates.isEmpty() ? null : releaseDates.get(releaseDates.size() - 1));
+        readModel.setReleaseYear(releaseDate.map(MovieReadModelServiceImpl::getYear).orElse(null));
+        readModel.setGenres(join(values((List<Genre>) infos.get(MovieRelation.GENRES), Genre::getGenre),
+                Enum::name));
+        readModel.setCountries(join(values((List<Country>) infos.get(MovieRelation.COUNTRIES), Country::getCountry),
+                Enum::name));
+        readModel.setLanguages(join(
+                values((List<Language>) infos.get(MovieRelation.LANGUAGES), Language::getLanguage), Enum::name));
+        readModel.setRating(movie.getRating().orElse(null));
+        readModel.setFavoriteCount(movie.getFavoriteCount());
+    }
+
+    /**
+     * Get the non-null values of the movie infos.
+     *
+     * @param infos The DTOs of the movie infos
+     * @param mapper The function getting the value
+     * @param <I> The type of the DTO
+     * @param <V> The type of the value
+     * @return The values
+     */
+    private static <I, V> List<V> values(final Collection<I> infos, final Function<I, V> mapper) {
+        return infos
+                .stream()
+                .map(mapper)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Join the distinct values with the separator, which also opens and closes the string,
+     * so every value can be matched with LIKE '%|value|%'.
+     *
+     * @param values The values
+     * @param mapper The function converting the value to string
+     * @param <V> The type of the value
+     * @return The joined values
+     */
+    private static <V> String join(final Collection<V> values, final Function<V, String> mapper) {
+        return values
+                .stream()
+                .map(mapper)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(
+                        MovieSearchEntity.SEPARATOR, MovieSearchEntity.SEPARATOR, MovieSearchEntity.SEPARATOR
+                ));
+    }
+
+    private static Integer getYear(final Date date) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        return calendar.get(Calendar.YEAR);
+    }
+}
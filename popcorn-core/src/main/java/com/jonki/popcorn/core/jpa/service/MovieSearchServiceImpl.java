@@ -1,8 +1,10 @@
 package com.jonki.popcorn.core.jpa.service;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.jonki.popcorn.common.dto.DataStatus;
 import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.MovieRelation;
 import com.jonki.popcorn.common.dto.UserMovie;
 import com.jonki.popcorn.common.dto.movie.BoxOffice;
 import com.jonki.popcorn.common.dto.movie.Country;
@@ -17,24 +19,55 @@ import com.jonki.popcorn.common.dto.movie.Summary;
 import com.jonki.popcorn.common.dto.movie.Synopsis;
 import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
 import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingHistogram;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
 import com.jonki.popcorn.common.dto.movie.type.CountryType;
 import com.jonki.popcorn.common.dto.movie.type.GenreType;
 import com.jonki.popcorn.common.dto.movie.type.LanguageType;
 import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
 import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
+import com.jonki.popcorn.core.cache.MovieSnapshotCache;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.MovieSearchEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieSearchEntity_;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity_;
 import com.jonki.popcorn.core.jpa.repository.MovieRepository;
 import com.jonki.popcorn.core.jpa.repository.UserRepository;
+import com.jonki.popcorn.core.jpa.specification.KeysetSpecs;
+import com.jonki.popcorn.core.jpa.specification.MovieSearchSpecs;
 import com.jonki.popcorn.core.jpa.specification.MovieSpecs;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.core.search.CountCache;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
+import com.jonki.popcorn.core.search.SearchQueryExecutor;
+import com.jonki.popcorn.core.search.TitleSearchBackend;
 import com.jonki.popcorn.core.service.AuthorizationService;
+import com.jonki.popcorn.core.service.MovieIndexService;
 import com.jonki.popcorn.core.service.MovieSearchService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.queries.CursoredStream;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -44,16 +77,35 @@ import org.springframework.validation.annotation.Validated;
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -65,9 +117,23 @@ import java.util.stream.Collectors;
 @Validated
 public class MovieSearchServiceImpl implements MovieSearchService {
 
+    /**
+     * The sort property ordering the movies by the relevance of the title match.
+     */
+    public static final String RELEVANCE = "relevance";
+
     private final MovieRepository movieRepository;
     private final UserRepository userRepository;
     private final AuthorizationService authorizationService;
+    private final MovieIndexService movieIndexService;
+    private final CountCache countCache;
+    private final SearchProperties searchProperties;
+    private final List<TitleSearchBackend> titleSearchBackends;
+    private final SearchQueryExecutor searchQueryExecutor;
+    private final MovieDetailLoader movieDetailLoader;
+    private final MovieInfoLoader movieInfoLoader;
+    private final MovieSnapshotCache movieSnapshotCache;
+    private final MovieRatingLoader movieRatingLoader;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -78,23 +144,50 @@ public class MovieSearchServiceImpl implements MovieSearchService {
      * @param movieRepository The movie repository to use
      * @param userRepository The user repository to use
      * @param authorizationService The authorization service to use
+     * @param movieIndexService The movie index service to use
+     * @param countCache The count cache to use
+     * @param searchProperties The search properties to use
+     * @param titleSearchBackends The title search backends to use, in the order of preference
+     * @param searchQueryExecutor The search query executor to use
+     * @param movieDetailLoader The movie detail loader to use
+     * @param movieInfoLoader The movie info loader to use
+     * @param movieSnapshotCache The movie snapshot cache to use
+     * @param movieRatingLoader The movie rating loader to use
      */
     @Autowired
     public MovieSearchServiceImpl(
             @NotNull final MovieRepository movieRepository,
             @NotNull final UserRepository userRepository,
-            @NotNull final AuthorizationService authorizationService
+            @NotNull final AuthorizationService authorizationService,
+            @NotNull final MovieIndexService movieIndexService,
+            @NotNull final CountCache countCache,
+            @NotNull final SearchProperties searchProperties,
+            @NotNull final List<TitleSearchBackend> titleSearchBackends,
+            @NotNull final SearchQueryExecutor searchQueryExecutor,
+            @NotNull final MovieDetailLoader movieDetailLoader,
+            @NotNull final MovieInfoLoader movieInfoLoader,
+            @NotNull final MovieSnapshotCache movieSnapshotCache,
+            @NotNull final MovieRatingLoader movieRatingLoader
     ) {
         this.movieRepository = movieRepository;
         this.userRepository = userRepository;
         this.authorizationService = authorizationService;
+        this.movieIndexService = movieIndexService;
+        this.countCache = countCache;
+        this.searchProperties = searchProperties;
+        this.titleSearchBackends = titleSearchBackends;
+        this.searchQueryExecutor = searchQueryExecutor;
+        this.movieDetailLoader = movieDetailLoader;
+        this.movieInfoLoader = movieInfoLoader;
+        this.movieSnapshotCache = movieSnapshotCache;
+        this.movieRatingLoader = movieRatingLoader;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<MovieSearchResult> findMovies(
+    public SearchPage<MovieSearchResult> findMovies(
             @Nullable final String title,
             @Nullable final MovieType type,
             @Nullable final Date fromDate,
@@ -110,66 +203,392 @@ public class MovieSearchServiceImpl implements MovieSearchService {
                 " languages {}, genres {}, minRating {}, maxRating {}, page {}", title, type, fromDate, toDate,
                 countries, languages, genres, minRating, maxRating, page);
 
-        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
-        final CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        final Root<MovieEntity> root = countQuery.from(MovieEntity.class);
+        if (page.getSort().getOrderFor(RELEVANCE) != null) {
+            if (page instanceof KeysetPageRequest && ((KeysetPageRequest) page).getAfter().isPresent()) {
+                throw new ResourceBadRequestException("The relevance sort doesn't support keyset pagination");
+            }
+
+            final List<Long> rankedIds = StringUtils.isNotBlank(title)
+                    ? this.getTitleSearchBackend()
+                            .findRankedMovieIds(title, this.searchProperties.getFullText().getMaxCandidates())
+                            .orElse(null)
+                    : null;
+            if (rankedIds != null) {
+                final Map<Long, Integer> ranks = new HashMap<>();
+                rankedIds.forEach(id -> ranks.put(id, ranks.size()));
+                return this.findRankedMovies(ranks, type, fromDate, toDate, countries, languages, genres,
+                        minRating, maxRating, page);
+            }
 
-        final Predicate whereClause = MovieSpecs
-                .getFindPredicate(
+            // Nothing to rank by, fall back to a stable order
+            return this.findMovies(title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating,
+                    PageRequest.of(page.getPageNumber(), page.getPageSize(), Sort.by(KeysetSpecs.ID)));
+        }
+
+        final Set<Long> titleIds = this.findMovieIdsByTitle(title);
+        final Set<Long> facetIds = CollectionUtils.isNotEmpty(countries)
+                || CollectionUtils.isNotEmpty(languages)
+                || CollectionUtils.isNotEmpty(genres)
+                ? this.movieIndexService.findMovieIdsByFacets(type, countries, languages, genres).orElse(null)
+                : null;
+        final Set<Long> ids = intersect(titleIds, facetIds);
+        if (ids != null && ids.isEmpty()) {
+            return new SearchPage<>(Lists.newArrayList(), page, 0, null);
+        }
+
+        final boolean unfiltered = StringUtils.isBlank(title)
+                && fromDate == null
+                && toDate == null
+                && CollectionUtils.isEmpty(countries)
+                && CollectionUtils.isEmpty(languages)
+                && CollectionUtils.isEmpty(genres)
+                && minRating == null
+                && maxRating == null;
+        final Long estimate = unfiltered ? this.estimateCount(type) : null;
+        final String countKey = CountCache.key(StringUtils.isBlank(title) ? null : title.toUpperCase(Locale.ROOT),
+                type, fromDate, toDate, countries, languages, genres, minRating, maxRating);
+
+        if (this.searchProperties.getReadModel().isEnabled() && this.isReadModelSort(page.getSort())) {
+            return this.findMovies(
+                    MovieSearchEntity.class,
+                    (root, cb) -> MovieSearchSpecs.getFindPredicate(
+                            root,
+                            cb,
+                            titleIds == null ? title : null,
+                            facetIds == null ? type : null,
+                            fromDate,
+                            toDate,
+                            facetIds == null ? countries : null,
+                            facetIds == null ? languages : null,
+                            facetIds == null ? genres : null,
+                            minRating,
+                            maxRating,
+                            ids
+                    ),
+                    root -> Lists.newArrayList(
+                            root.get(MovieSearchEntity_.id),
+                            root.get(MovieSearchEntity_.title),
+                            root.get(MovieSearchEntity_.type),
+                            root.get(MovieSearchEntity_.rating)
+                    ),
+                    estimate,
+                    countKey,
+                    minRating != null || maxRating != null,
+                    page
+            );
+        }
+
+        return this.findMovies(
+                MovieEntity.class,
+                (root, cb) -> MovieSpecs.getFindPredicate(
                         root,
                         cb,
-                        title,
-                        type,
+                        titleIds == null ? title : null,
+                        facetIds == null ? type : null,
                         fromDate,
                         toDate,
-                        countries,
-                        languages,
-                        genres,
+                        facetIds == null ? countries : null,
+                        facetIds == null ? languages : null,
+                        facetIds == null ? genres : null,
                         minRating,
-                        maxRating
-                );
+                        maxRating,
+                        ids
+                ),
+                root -> Lists.newArrayList(
+                        root.get(MovieEntity_.id),
+                        root.get(MovieEntity_.title),
+                        root.get(MovieEntity_.type),
+                        root.get(MovieEntity_.rating)
+                ),
+                estimate,
+                countKey,
+                minRating != null || maxRating != null,
+                page
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SearchPage<MovieSearchResult> findMoviesByFuzzyTitle(
+            @NotBlank final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            @NotNull final Pageable page
+    ) {
+        log.info("Called with title {}, type {}, fromYear {}, toYear {}, countries {}," +
+                " languages {}, genres {}, minRating {}, maxRating {}, page {}", title, type, fromDate, toDate,
+                countries, languages, genres, minRating, maxRating, page);
 
-        countQuery.select(cb.count(root)).where(whereClause);
+        if (page instanceof KeysetPageRequest && ((KeysetPageRequest) page).getAfter().isPresent()) {
+            throw new ResourceBadRequestException("The fuzzy search doesn't support keyset pagination");
+        }
 
-        final Long count = this.entityManager.createQuery(countQuery).getSingleResult();
+        final Optional<Map<Long, Integer>> distances = this.movieIndexService.findMovieIdsByFuzzyTitle(title);
+        if (!distances.isPresent()) {
+            // Without the index only the exact phrase can be searched
+            return this.findMovies(title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating,
+                    page);
+        }
 
-        if (count > 0) {
-            final CriteriaQuery<MovieSearchResult> contentQuery = cb.createQuery(MovieSearchResult.class);
-            contentQuery.from(MovieEntity.class);
+        return this.findRankedMovies(distances.get(), type, fromDate, toDate, countries, languages, genres,
+                minRating, maxRating, page);
+    }
 
-            contentQuery.multiselect(
-                    root.get(MovieEntity_.id),
-                    root.get(MovieEntity_.title),
-                    root.get(MovieEntity_.type),
-                    root.get(MovieEntity_.rating)
-            );
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long exportMovies(
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            @NotNull final Consumer<MovieSearchResult> consumer
+    ) {
+        log.info("Called with title {}, type {}, fromYear {}, toYear {}, countries {}," +
+                " languages {}, genres {}, minRating {}, maxRating {}", title, type, fromDate, toDate,
+                countries, languages, genres, minRating, maxRating);
+
+        final Set<Long> titleIds = this.findMovieIdsByTitle(title);
+        final Set<Long> facetIds = CollectionUtils.isNotEmpty(countries)
+                || CollectionUtils.isNotEmpty(languages)
+                || CollectionUtils.isNotEmpty(genres)
+                ? this.movieIndexService.findMovieIdsByFacets(type, countries, languages, genres).orElse(null)
+                : null;
+        final Set<Long> ids = intersect(titleIds, facetIds);
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
 
-            contentQuery.where(whereClause);
-
-            final Sort sort = page.getSort();
-            final List<Order> orders = new ArrayList<>();
-            sort.iterator().forEachRemaining(
-                    order -> {
-                        if (order.isAscending()) {
-                            orders.add(cb.asc(root.get(order.getProperty())));
-                        } else {
-                            orders.add(cb.desc(root.get(order.getProperty())));
-                        }
-                    }
+        if (this.searchProperties.getReadModel().isEnabled()) {
+            return this.exportMovies(
+                    MovieSearchEntity.class,
+                    MovieSearchEntity_.id,
+                    (root, cb) -> MovieSearchSpecs.getFindPredicate(
+                            root,
+                            cb,
+                            titleIds == null ? title : null,
+                            facetIds == null ? type : null,
+                            fromDate,
+                            toDate,
+                            facetIds == null ? countries : null,
+                            facetIds == null ? languages : null,
+                            facetIds == null ? genres : null,
+                            minRating,
+                            maxRating,
+                            ids
+                    ),
+                    root -> Lists.newArrayList(
+                            root.get(MovieSearchEntity_.id),
+                            root.get(MovieSearchEntity_.title),
+                            root.get(MovieSearchEntity_.type),
+                            root.get(MovieSearchEntity_.rating)
+                    ),
+                    consumer
             );
+        }
+
+        return this.exportMovies(
+                MovieEntity.class,
+                MovieEntity_.id,
+                (root, cb) -> MovieSpecs.getFindPredicate(
+                        root,
+                        cb,
+                        titleIds == null ? title : null,
+                        facetIds == null ? type : null,
+                        fromDate,
+                        toDate,
+                        facetIds == null ? countries : null,
+                        facetIds == null ? languages : null,
+                        facetIds == null ? genres : null,
+                        minRating,
+                        maxRating,
+                        ids
+                ),
+                root -> Lists.newArrayList(
+                        root.get(MovieEntity_.id),
+                        root.get(MovieEntity_.title),
+                        root.get(MovieEntity_.type),
+                        root.get(MovieEntity_.rating)
+                ),
+                consumer
+        );
+    }
 
-            contentQuery.orderBy(orders);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MovieFacets getFacets(
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating
+    ) {
+        log.info("Called with title {}, type {}, fromYear {}, toYear {}, countries {}," +
+                " languages {}, genres {}, minRating {}, maxRating {}", title, type, fromDate, toDate,
+                countries, languages, genres, minRating, maxRating);
 
-            final List<MovieSearchResult> results = this.entityManager
-                    .createQuery(contentQuery)
-                    .setFirstResult(((Long) page.getOffset()).intValue())
-                    .setMaxResults(page.getPageSize())
-                    .getResultList();
+        final Set<Long> titleIds = this.findMovieIdsByTitle(title);
+        final boolean filtered = fromDate != null || toDate != null || minRating != null || maxRating != null;
 
-            return new PageImpl<>(results, page, count);
+        // The facet index answers the facet filters, the other criteria are resolved to the candidate IDs
+        final Set<Long> ids;
+        if (titleIds != null && !filtered) {
+            ids = titleIds;
+        } else if (StringUtils.isNotBlank(title) || filtered) {
+            final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+            final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+            final Root<MovieEntity> root = query.from(MovieEntity.class);
+            query.select(root.get(MovieEntity_.id)).distinct(true).where(
+                    MovieSpecs.getFindPredicate(root, cb, titleIds == null ? title : null, null, fromDate, toDate,
+                            null, null, null, minRating, maxRating, titleIds)
+            );
+            ids = Sets.newHashSet(this.entityManager.createQuery(query).getResultList());
         } else {
-            return new PageImpl<>(Lists.newArrayList(), page, count);
+            ids = null;
+        }
+
+        return this.movieIndexService
+                .countFacets(type, countries, languages, genres, ids)
+                .orElseGet(() -> this.countFacets(title, type, fromDate, toDate, countries, languages, genres,
+                        minRating, maxRating));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MovieSearchResult> suggestMovies(
+            @NotBlank final String prefix,
+            @Min(1) final int limit
+    ) {
+        log.info("Called with prefix {}, limit {}", prefix, limit);
+
+        final int maxResults = Math.min(limit, this.searchProperties.getSuggest().getTopK());
+        final Optional<List<MovieSearchResult>> suggestions
+                = this.movieIndexService.suggestMovies(prefix, maxResults);
+        if (suggestions.isPresent()) {
+            return suggestions.get();
         }
+
+        final String pattern = prefix.trim().toUpperCase(Locale.ROOT) + "%";
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MovieSearchResult> query = cb.createQuery(MovieSearchResult.class);
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+
+        final Subquery<Long> titles = query.subquery(Long.class);
+        final Root<MovieOtherTitleEntity> title = titles.from(MovieOtherTitleEntity.class);
+        titles.select(title.get(MovieInfoEntity_.movie).get(MovieEntity_.id)).where(
+                cb.equal(title.get(MovieInfoEntity_.status), DataStatus.ACCEPTED),
+                cb.or(
+                        cb.like(cb.upper(title.get(MovieOtherTitleEntity_.title)), pattern),
+                        cb.like(cb.upper(title.get(MovieOtherTitleEntity_.title)), "% " + pattern)
+                )
+        );
+
+        query.multiselect(
+                root.get(MovieEntity_.id),
+                root.get(MovieEntity_.title),
+                root.get(MovieEntity_.type),
+                root.get(MovieEntity_.rating)
+        ).where(
+                cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED),
+                root.get(MovieEntity_.id).in(titles)
+        ).orderBy(
+                cb.desc(root.get(MovieEntity_.rating)),
+                cb.desc(root.get(MovieEntity_.favoriteCount)),
+                cb.asc(root.get(MovieEntity_.id))
+        );
+
+        return this.entityManager.createQuery(query).setMaxResults(maxResults).getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MovieSearchResult> getMovies(
+            @NotEmpty final List<@NotNull Long> ids
+    ) throws ResourceBadRequestException {
+        log.info("Called with ids {}", ids);
+
+        final int maxIds = this.searchProperties.getBatch().getMaxIds();
+        if (ids.size() > maxIds) {
+            throw new ResourceBadRequestException("No more than " + maxIds + " movies can be got at once");
+        }
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MovieSearchResult> query = cb.createQuery(MovieSearchResult.class);
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+        query.multiselect(
+                root.get(MovieEntity_.id),
+                root.get(MovieEntity_.title),
+                root.get(MovieEntity_.type),
+                root.get(MovieEntity_.rating)
+        ).where(
+                cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED),
+                root.get(MovieEntity_.id).in(Sets.newHashSet(ids))
+        );
+
+        final Map<String, MovieSearchResult> results = this.entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(MovieSearchResult::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> results.get(id.toString()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMovieVersion(
+            @Min(1) final Long id
+    ) throws ResourceNotFoundException {
+        log.info("Called with id {}", id);
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+        query.select(root.get(MovieEntity_.contentVersion)).where(
+                cb.equal(root.get(MovieEntity_.id), id),
+                cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED)
+        );
+
+        return this.entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("No movie found with id " + id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRatingWriteBehind() {
+        return this.movieRatingLoader.isWriteBehind();
     }
 
     /**
@@ -181,7 +600,7 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return ServiceUtils.toMovieDto(this.findMovie(id));
+        return this.findMovieSnapshot(id);
     }
 
     /**
@@ -193,22 +612,90 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return ServiceUtils.toUserMovieDto(this.findMovie(id), this.findUser(this.authorizationService.getUserId()));
+        final UserEntity user = this.findUser(this.authorizationService.getUserId());
+
+        return ServiceUtils.toUserMovieDto(
+                this.findMovieSnapshot(id),
+                this.movieDetailLoader.findRating(id, user.getId()).orElse(null),
+                this.movieDetailLoader.isFavorite(id, user.getId())
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Integer> getUserRating(
+            @Min(1) final Long id
+    ) throws ResourceNotFoundException {
+        log.info("Called with id {}", id);
+
+        final UserEntity user = this.findUser(this.authorizationService.getUserId());
+
+        return this.movieDetailLoader.findRating(id, user.getId());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<RateResponse> getRatings(
+    public SearchPage<RateResponse> getRatings(
+            @Min(1) final Long id,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate,
+            @NotNull final Pageable page
+    ) throws ResourceNotFoundException, ResourceBadRequestException {
+        log.info("Called with id {}, fromDate {}, toDate {}, page {}", id, fromDate, toDate, page);
+
+        this.checkMovieExists(id);
+
+        return this.movieRatingLoader.findRatings(id, fromDate, toDate, page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RatingHistogram getRatingHistogram(
             @Min(1) final Long id
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getRatings()
-                .stream()
-                .map(ServiceUtils::toRateResponseDto)
-                .collect(Collectors.toList());
+        final MovieEntity movie = this.findMovie(id);
+
+        return new RatingHistogram.Builder(movie.getRatingHistogram(), movie.getRatingCount()).build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RatingTrendPoint> getRatingTrend(
+            @Min(1) final Long id,
+            @NotNull final TrendResolution resolution,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate
+    ) throws ResourceNotFoundException {
+        log.info("Called with id {}, resolution {}, fromDate {}, toDate {}", id, resolution, fromDate, toDate);
+
+        this.checkMovieExists(id);
+
+        return this.movieRatingLoader.findTrend(id, resolution, fromDate, toDate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<MovieRelation, List<?>> getRelations(
+            @Min(1) final Long id,
+            @NotNull final Set<MovieRelation> relations
+    ) throws ResourceNotFoundException {
+        log.info("Called with id {} and relations {}", id, relations);
+
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findRelations(id, relations);
     }
 
     /**
@@ -220,11 +707,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getOtherTitles()
-                .stream()
-                .filter(title -> title.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toOtherTitleDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findTitles(id);
     }
 
     /**
@@ -236,11 +721,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getReleaseDates()
-                .stream()
-                .filter(releaseDate -> releaseDate.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toReleaseDateDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findReleaseDates(id);
     }
 
     /**
@@ -252,11 +735,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getOutlines()
-                .stream()
-                .filter(outline -> outline.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toOutlineDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findOutlines(id);
     }
 
     /**
@@ -268,11 +749,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getSummaries()
-                .stream()
-                .filter(summary -> summary.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toSummaryDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findSummaries(id);
     }
 
     /**
@@ -284,11 +763,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getSynopses()
-                .stream()
-                .filter(synopsis -> synopsis.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toSynopsisDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findSynopses(id);
     }
 
     /**
@@ -300,11 +777,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getBoxOffices()
-                .stream()
-                .filter(boxOffice -> boxOffice.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toBoxOfficeDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findBoxOffices(id);
     }
 
     /**
@@ -316,11 +791,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getSites()
-                .stream()
-                .filter(site -> site.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toSiteDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findSites(id);
     }
 
     /**
@@ -332,11 +805,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getCountries()
-                .stream()
-                .filter(review -> review.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toCountryDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findCountries(id);
     }
 
     /**
@@ -348,11 +819,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getLanguages()
-                .stream()
-                .filter(review -> review.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toLanguageDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findLanguages(id);
     }
 
     /**
@@ -364,11 +833,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getGenres()
-                .stream()
-                .filter(review -> review.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toGenreDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findGenres(id);
     }
 
     /**
@@ -380,11 +847,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getReviews()
-                .stream()
-                .filter(review -> review.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toReviewDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findReviews(id);
     }
 
     /**
@@ -396,11 +861,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getPhotos()
-                .stream()
-                .filter(photo -> photo.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toImageResponseDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findPhotos(id);
     }
 
     /**
@@ -412,11 +875,9 @@ public class MovieSearchServiceImpl implements MovieSearchService {
     ) throws ResourceNotFoundException {
         log.info("Called with id {}", id);
 
-        return this.findMovie(id).getPosters()
-                .stream()
-                .filter(poster -> poster.getStatus() == DataStatus.ACCEPTED)
-                .map(ServiceUtils::toImageResponseDto)
-                .collect(Collectors.toList());
+        this.checkMovieExists(id);
+
+        return this.movieInfoLoader.findPosters(id);
     }
 
     /**
@@ -443,4 +904,407 @@ public class MovieSearchServiceImpl implements MovieSearchService {
                 .findByIdAndStatus(id, DataStatus.ACCEPTED)
                 .orElseThrow(() -> new ResourceNotFoundException("No movie found with id " + id));
     }
+
+    /**
+     * Helper method to check the movie exists without loading it.
+     *
+     * @param id The movie ID
+     * @throws ResourceNotFoundException if no movie found
+     */
+    private void checkMovieExists(final Long id) throws ResourceNotFoundException {
+        if (!this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED)) {
+            throw new ResourceNotFoundException("No movie found with id " + id);
+        }
+    }
+
+    /**
+     * Helper method to get the shared details of the movie, the same for every user. The cached details are read
+     * with the current rating of the movie, the votes don't evict them.
+     *
+     * @param id The movie ID
+     * @return The details of the movie
+     */
+    private Movie findMovieSnapshot(final Long id) {
+        return this.movieSnapshotCache.get(
+                id,
+                () -> this.movieDetailLoader.loadMovie(this.findMovie(id)),
+                movie -> this.movieDetailLoader.loadRating(movie, id)
+        );
+    }
+
+    /**
+     * Search for the movies in the given table.
+     *
+     * @param entityClass The class of the searched entity
+     * @param filter The function creating the search predicate
+     * @param selection The function selecting the search result
+     * @param estimate The estimated count or null if the exact count should be used
+     * @param countKey The key of the count in the count cache
+     * @param countByRating Whether the count depends on the rating of the movies
+     * @param page The page to get
+     * @param <E> The type of the searched entity
+     * @return The page of the matching movies
+     */
+    private <E> SearchPage<MovieSearchResult> findMovies(
+            final Class<E> entityClass,
+            final BiFunction<Root<E>, CriteriaBuilder, Predicate> filter,
+            final Function<Root<E>, List<Selection<?>>> selection,
+            @Nullable final Long estimate,
+            final String countKey,
+            final boolean countByRating,
+            final Pageable page
+    ) {
+        final boolean countExact = estimate == null;
+        final Sort sort = SearchUtils.getSort(page);
+
+        final SearchQueryExecutor.Result<Tuple> result = this.searchQueryExecutor.execute(
+                "movies",
+                () -> countExact
+                        ? this.countCache.count(
+                                countKey,
+                                countByRating,
+                                () -> SearchUtils.count(this.entityManager, entityClass, filter)
+                        )
+                        : estimate,
+                () -> {
+                    final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+                    final CriteriaQuery<Tuple> contentQuery = cb.createTupleQuery();
+                    final Root<E> root = contentQuery.from(entityClass);
+
+                    contentQuery.multiselect(SearchUtils.getContentSelections(
+                            root,
+                            cb.construct(MovieSearchResult.class, selection.apply(root).toArray(new Selection<?>[0])),
+                            page,
+                            sort
+                    ));
+
+                    contentQuery.where(
+                            SearchUtils.getContentPredicate(root, cb, filter.apply(root, cb), page, sort)
+                    );
+
+                    contentQuery.orderBy(KeysetSpecs.getOrders(root, cb, sort, page instanceof KeysetPageRequest));
+
+                    return SearchUtils
+                            .limit(this.entityManager.createQuery(contentQuery), page)
+                            .getResultList();
+                }
+        );
+
+        if (result.getContent() != null) {
+            return SearchUtils.toPage(
+                    result.getContent(), MovieSearchResult.class, page, result.getCount(), countExact, sort
+            );
+        } else {
+            return new SearchPage<>(Lists.newArrayList(), page, result.getCount(), countExact, null);
+        }
+    }
+
+    /**
+     * Stream the movies from a forward-only database cursor in the order of their IDs. The rows already passed
+     * to the consumer are released after every fetch.
+     *
+     * @param entityClass The class of the searched entity
+     * @param key The attribute which identifies the movie
+     * @param filter The function creating the search predicate
+     * @param selection The function selecting the attributes of the search result
+     * @param consumer The consumer of the movies
+     * @param <E> The type of the searched entity
+     * @return The number of exported movies
+     */
+    private <E> long exportMovies(
+            final Class<E> entityClass,
+            final SingularAttribute<? super E, Long> key,
+            final BiFunction<Root<E>, CriteriaBuilder, Predicate> filter,
+            final Function<Root<E>, List<Selection<?>>> selection,
+            final Consumer<MovieSearchResult> consumer
+    ) {
+        final int fetchSize = this.searchProperties.getExport().getFetchSize();
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MovieSearchResult> query = cb.createQuery(MovieSearchResult.class);
+        final Root<E> root = query.from(entityClass);
+        query.multiselect(selection.apply(root))
+                .distinct(true)
+                .where(filter.apply(root, cb))
+                .orderBy(cb.asc(root.get(key)));
+
+        final Query cursorQuery = this.entityManager.createQuery(query);
+        final CursoredStream cursor = (CursoredStream) cursorQuery
+                .setHint(QueryHints.CURSOR, HintValues.TRUE)
+                .setHint(QueryHints.CURSOR_PAGE_SIZE, fetchSize)
+                .setHint(QueryHints.JDBC_FETCH_SIZE, fetchSize)
+                .getSingleResult();
+
+        long count = 0;
+        try {
+            while (cursor.hasNext()) {
+                consumer.accept((MovieSearchResult) cursor.next());
+                if (++count % fetchSize == 0) {
+                    cursor.releasePrevious();
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return count;
+    }
+
+    /**
+     * Find IDs of the movies matching the title with the title index. The index matches the same substrings
+     * as the LIKE predicate. The title search backend matches words, so it's only used by the relevance sort.
+     *
+     * @param title The movie's title
+     * @return The IDs or null if the LIKE predicate should be used
+     */
+    private Set<Long> findMovieIdsByTitle(@Nullable final String title) {
+        if (StringUtils.isBlank(title)) {
+            return null;
+        }
+
+        return this.movieIndexService.findMovieIdsByTitle(title).orElse(null);
+    }
+
+    /**
+     * Get the first available title search backend.
+     *
+     * @return The title search backend
+     */
+    private TitleSearchBackend getTitleSearchBackend() {
+        return this.titleSearchBackends
+                .stream()
+                .filter(TitleSearchBackend::isAvailable)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No title search backend available"));
+    }
+
+    /**
+     * Get the page of the ranked movies which match the other criteria. Movies of the same rank are ordered
+     * by rating and favorites.
+     *
+     * @param ranks Ranks by ID of the movies matching the title, the lowest first
+     * @param type  The movie's type
+     * @param fromDate  Min time when the movie was premiered
+     * @param toDate  Max time when the movie was premiered
+     * @param countries  List of countries
+     * @param languages  List of languages
+     * @param genres  List of genres
+     * @param minRating  Minimal rating
+     * @param maxRating  Maximum rating
+     * @param page The page to get
+     * @return The page of the movies in the order of rank
+     */
+    private SearchPage<MovieSearchResult> findRankedMovies(
+            final Map<Long, Integer> ranks,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            final Pageable page
+    ) {
+        if (ranks.isEmpty()) {
+            return new SearchPage<>(Lists.newArrayList(), page, 0, null);
+        }
+
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+
+        final CriteriaQuery<Tuple> idQuery = cb.createTupleQuery();
+        final Root<MovieEntity> idRoot = idQuery.from(MovieEntity.class);
+        idQuery.multiselect(
+                idRoot.get(MovieEntity_.id),
+                idRoot.get(MovieEntity_.rating),
+                idRoot.get(MovieEntity_.favoriteCount)
+        ).distinct(true).where(
+                MovieSpecs.getFindPredicate(idRoot, cb, null, type, fromDate, toDate, countries, languages, genres,
+                        minRating, maxRating, ranks.keySet())
+        );
+
+        final List<Long> ids = this.entityManager.createQuery(idQuery)
+                .getResultList()
+                .stream()
+                .sorted(Comparator
+                        .comparing((Tuple movie) -> ranks.get(movie.get(0, Long.class)))
+                        .thenComparing(movie -> movie.get(1, Float.class),
+                                Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(movie -> movie.get(2, Integer.class), Comparator.reverseOrder())
+                        .thenComparing(movie -> movie.get(0, Long.class)))
+                .map(movie -> movie.get(0, Long.class))
+                .collect(Collectors.toList());
+        final int fromIndex = (int) Math.min(page.getOffset(), ids.size());
+        final List<Long> pageIds = ids.subList(fromIndex, Math.min(fromIndex + page.getPageSize(), ids.size()));
+        if (pageIds.isEmpty()) {
+            return new SearchPage<>(Lists.newArrayList(), page, ids.size(), null);
+        }
+
+        final CriteriaQuery<MovieSearchResult> contentQuery = cb.createQuery(MovieSearchResult.class);
+        final Root<MovieEntity> root = contentQuery.from(MovieEntity.class);
+        contentQuery.multiselect(
+                root.get(MovieEntity_.id),
+                root.get(MovieEntity_.title),
+                root.get(MovieEntity_.type),
+                root.get(MovieEntity_.rating)
+        ).where(root.get(MovieEntity_.id).in(pageIds));
+
+        final Map<String, MovieSearchResult> results = this.entityManager.createQuery(contentQuery)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(MovieSearchResult::getId, Function.identity()));
+
+        return new SearchPage<>(
+                pageIds.stream()
+                        .map(id -> results.get(id.toString()))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()),
+                page,
+                ids.size(),
+                null
+        );
+    }
+
+    /**
+     * Check whether the movies can be sorted by the read model.
+     *
+     * @param sort The requested sort
+     * @return True if all sort properties are present in the read model
+     */
+    private boolean isReadModelSort(final Sort sort) {
+        final Set<String> attributes = this.entityManager.getMetamodel()
+                .entity(MovieSearchEntity.class)
+                .getAttributes()
+                .stream()
+                .map(Attribute::getName)
+                .collect(Collectors.toSet());
+        return sort.stream().allMatch(order -> attributes.contains(order.getProperty()));
+    }
+
+    /**
+     * Estimate the number of accepted movies from the planner statistics, if enabled.
+     *
+     * @param type The type of the movie or null for all types
+     * @return The estimate or null if the exact count should be used
+     */
+    private Long estimateCount(@Nullable final MovieType type) {
+        if (!this.searchProperties.getCount().isEstimateEnabled()) {
+            return null;
+        }
+
+        final long estimate = SearchUtils.estimateCount(
+                this.entityManager,
+                "SELECT 1 FROM movies WHERE status = '" + DataStatus.ACCEPTED.name() + "'"
+                        + (type != null ? " AND type = '" + type.name() + "'" : "")
+        );
+        return estimate >= this.searchProperties.getCount().getEstimateThreshold() ? estimate : null;
+    }
+
+    /**
+     * Count the matching movies per facet value with grouped database queries.
+     *
+     * @param title  The movie's title
+     * @param type  The movie's type
+     * @param fromDate  Min time when the movie was premiered
+     * @param toDate  Max time when the movie was premiered
+     * @param countries  List of countries
+     * @param languages  List of languages
+     * @param genres  List of genres
+     * @param minRating  Minimal rating
+     * @param maxRating  Maximum rating
+     * @return The facet counts
+     */
+    private MovieFacets countFacets(
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating
+    ) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<MovieEntity> root = query.from(MovieEntity.class);
+
+        query.multiselect(root.get(MovieEntity_.type), cb.countDistinct(root.get(MovieEntity_.id)))
+                .where(MovieSpecs.getFindPredicate(root, cb, title, type, fromDate, toDate, countries, languages,
+                        genres, minRating, maxRating))
+                .groupBy(root.get(MovieEntity_.type));
+
+        final Map<MovieType, Long> types = new EnumMap<>(MovieType.class);
+        for (final Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            types.put(tuple.get(0, MovieType.class), tuple.get(1, Long.class));
+        }
+
+        final BiFunction<Root<MovieEntity>, CriteriaBuilder, Predicate> filter = (subqueryRoot, subqueryCb)
+                -> MovieSpecs.getFindPredicate(subqueryRoot, subqueryCb, title, type, fromDate, toDate, countries,
+                languages, genres, minRating, maxRating);
+
+        return new MovieFacets(
+                types,
+                this.countValues(MovieGenreEntity.class, MovieGenreEntity_.genre, GenreType.class, filter),
+                this.countValues(MovieCountryEntity.class, MovieCountryEntity_.country, CountryType.class, filter),
+                this.countValues(MovieLanguageEntity.class, MovieLanguageEntity_.language, LanguageType.class, filter)
+        );
+    }
+
+    /**
+     * Count the matching movies per accepted value of the movie info.
+     *
+     * @param entityClass The class of the movie info
+     * @param attribute The attribute holding the value
+     * @param valueClass The class of the value
+     * @param filter The filter of the movies
+     * @param <E> The type of the movie info
+     * @param <V> The type of the value
+     * @return The number of movies per value
+     */
+    private <E extends MovieInfoEntity, V extends Enum<V>> Map<V, Long> countValues(
+            final Class<E> entityClass,
+            final SingularAttribute<E, V> attribute,
+            final Class<V> valueClass,
+            final BiFunction<Root<MovieEntity>, CriteriaBuilder, Predicate> filter
+    ) {
+        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<E> root = query.from(entityClass);
+        final Join<E, MovieEntity> movie = root.join(MovieInfoEntity_.movie);
+
+        final Subquery<Long> subquery = query.subquery(Long.class);
+        final Root<MovieEntity> subqueryRoot = subquery.from(MovieEntity.class);
+        subquery.select(subqueryRoot.get(MovieEntity_.id)).where(filter.apply(subqueryRoot, cb));
+
+        query.multiselect(root.get(attribute), cb.countDistinct(movie.get(MovieEntity_.id)))
+                .where(
+                        cb.equal(root.get(MovieInfoEntity_.status), DataStatus.ACCEPTED),
+                        cb.isNotNull(root.get(attribute)),
+                        movie.get(MovieEntity_.id).in(subquery)
+                )
+                .groupBy(root.get(attribute));
+
+        final Map<V, Long> counts = new EnumMap<>(valueClass);
+        for (final Tuple tuple : this.entityManager.createQuery(query).getResultList()) {
+            counts.put(tuple.get(0, valueClass), tuple.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    /**
+     * Intersect the candidate IDs resolved by the indexes.
+     *
+     * @param ids The first candidate IDs or null if not resolved
+     * @param otherIds The second candidate IDs or null if not resolved
+     * @return The intersection or null if neither has been resolved
+     */
+    private static Set<Long> intersect(@Nullable final Set<Long> ids, @Nullable final Set<Long> otherIds) {
+        if (ids == null) {
+            return otherIds;
+        } else if (otherIds == null) {
+            return ids;
+        } else {
+            return Sets.newHashSet(Sets.intersection(ids, otherIds));
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jonki.popcorn.common.dto.search.BaseSearchResult;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
+import com.jonki.popcorn.core.jpa.specification.KeysetSpecs;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchCursor;
+import com.jonki.popcorn.core.search.SearchPage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Utility methods for paging the search results.
+ */
+public final class SearchUtils {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Get the sort of the search results. For keyset pagination the ID tie-breaker is appended.
+     *
+     * @param page The page request
+     * @return The sort
+     */
+    static Sort getSort(final Pageable page) {
+        return page instanceof KeysetPageRequest ? KeysetSpecs.getKeysetSort(page.getSort()) : page.getSort();
+    }
+
+    /**
+     * Count the rows matching the filter. Builds its own criteria, so it can run on any thread.
+     *
+     * @param entityManager The entity manager to use
+     * @param entityClass The class of the searched entity
+     * @param filter The function creating the search predicate
+     * @param <E> The type of the searched entity
+     * @return The number of rows
+     */
+    static <E> long count(
+            final EntityManager entityManager,
+            final Class<E> entityClass,
+            final BiFunction<Root<E>, CriteriaBuilder, Predicate> filter
+    ) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        final Root<E> root = countQuery.from(entityClass);
+        countQuery.select(cb.count(root)).where(filter.apply(root, cb));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    /**
+     * Add the predicate skipping the rows before the cursor of the page request, if any.
+     *
+     * @param root The root to use
+     * @param cb The criteria builder to use
+     * @param whereClause The search predicate
+     * @param page The page request
+     * @param sort The sort, see {@link #getSort(Pageable)}
+     * @return The predicate for the content query
+     * @throws ResourceBadRequestException if the cursor has been created for another sort
+     */
+    static Predicate getContentPredicate(
+            final Root<?> root,
+            final CriteriaBuilder cb,
+            final Predicate whereClause,
+            final Pageable page,
+            final Sort sort
+    ) throws ResourceBadRequestException {
+        if (!(page instanceof KeysetPageRequest) || !((KeysetPageRequest) page).getAfter().isPresent()) {
+            return whereClause;
+        }
+
+        final SearchCursor cursor = ((KeysetPageRequest) page).getAfter().get();
+        if (!cursor.matches(sort)) {
+            throw new ResourceBadRequestException("The cursor doesn't match the sort order");
+        }
+        return cb.and(whereClause, KeysetSpecs.getAfterPredicate(root, cb, sort, cursor));
+    }
+
+    /**
+     * Limit the content query to the page. For keyset pagination one additional row is fetched
+     * to find out whether there is a next page.
+     *
+     * @param query The content query
+     * @param page The page request
+     * @param <T> The type of the search result
+     * @return The limited query
+     */
+    static <T> TypedQuery<T> limit(final TypedQuery<T> query, final Pageable page) {
+        if (!(page instanceof KeysetPageRequest)) {
+            return query
+                    .setFirstResult(((Long) page.getOffset()).intValue())
+                    .setMaxResults(page.getPageSize());
+        }
+
+        return query
+                .setFirstResult(((KeysetPageRequest) page).getAfter().isPresent()
+                        ? 0 : ((Long) page.getOffset()).intValue())
+                .setMaxResults(page.getPageSize() + 1);
+    }
+
+    /**
+     * Get the selections of the content query, the search result followed by the sort values for keyset
+     * pagination, so the cursor to the next page is created from the same rows.
+     *
+     * @param root The root to use
+     * @param result The selection of the search result
+     * @param page The page request
+     * @param sort The sort, see {@link #getSort(Pageable)}
+     * @return The selections
+     */
+    static List<Selection<?>> getContentSelections(
+            final Root<?> root,
+            final Selection<?> result,
+            final Pageable page,
+            final Sort sort
+    ) {
+        final List<Selection<?>> selections = new ArrayList<>();
+        selections.add(result);
+        if (page instanceof KeysetPageRequest) {
+            sort.forEach(order -> selections.add(root.get(order.getProperty())));
+        }
+        return selections;
+    }
+
+    /**
+     * Create the page of the search results. For keyset pagination the cursor to the next page is
+     * created from the sort values of the last row.
+     *
+     * @param rows The rows of the content query, see {@link #getContentSelections(Root, Selection, Pageable, Sort)}
+     *             and {@link #limit(TypedQuery, Pageable)}
+     * @param resultClass The class of the search result
+     * @param page The page request
+     * @param count The total number of results
+     * @param countExact Whether the total number of results is exact
+     * @param sort The sort, see {@link #getSort(Pageable)}
+     * @param <T> The type of the search result
+     * @return The page
+     */
+    static <T extends BaseSearchResult> SearchPage<T> toPage(
+            final List<Tuple> rows,
+            final Class<T> resultClass,
+            final Pageable page,
+            final long count,
+            final boolean countExact,
+            final Sort sort
+    ) {
+        final List<T> content = rows
+                .stream()
+                .limit(page.getPageSize())
+                .map(row -> row.get(0, resultClass))
+                .collect(Collectors.toList());
+
+        if (!(page instanceof KeysetPageRequest) || rows.size() <= page.getPageSize()) {
+            return new SearchPage<>(content, page, count, countExact, null);
+        }
+
+        final Tuple last = rows.get(page.getPageSize() - 1);
+        final List<Object> values = new ArrayList<>();
+        for (int i = 1; i < last.getElements().size(); i++) {
+            values.add(last.get(i));
+        }
+
+        return new SearchPage<>(content, page, count, countExact, SearchCursor.of(sort, values).encode());
+    }
+
+    /**
+     * Estimate the number of rows returned by the query from the PostgreSQL planner statistics.
+     *
+     * @param entityManager The entity manager to use
+     * @param sql The native query
+     * @return The estimated number of rows
+     * @throws IllegalStateException if the plan can't be read
+     */
+    static long estimateCount(final EntityManager entityManager, final String sql) {
+        final Object plan = entityManager.createNativeQuery("EXPLAIN (FORMAT JSON) " + sql).getSingleResult();
+        try {
+            return OBJECT_MAPPER.readTree(String.valueOf(plan)).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Can't read the query plan", e);
+        }
+    }
+}
@@ -21,7 +21,7 @@ import com.jonki.popcorn.common.dto.movie.Site;
 import com.jonki.popcorn.common.dto.movie.Summary;
 import com.jonki.popcorn.common.dto.movie.Synopsis;
 import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
-import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
 import com.jonki.popcorn.core.jpa.entity.ContributionEntity;
 import com.jonki.popcorn.core.jpa.entity.MessageEntity;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
@@ -29,21 +29,24 @@ import com.jonki.popcorn.core.jpa.entity.UserEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieInfoEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieOutlineEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MoviePhotoEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MoviePosterEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieReleaseDateEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieReviewEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieSiteEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieSummaryEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieSynopsisEntity;
 
+import javax.annotation.Nullable;
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -104,31 +107,65 @@ public final class ServiceUtils {
     }
 
     /**
-     * Convert a movie entity to a DTO for external exposure.
+     * Convert a movie entity and its movie info to a DTO for external exposure.
      *
      * @param movieEntity The entity to convert
+     * @param infos The accepted movie info of the movie, each kind of info in the order of the movie's collection
+     * @param numberOfRating The number of the movie's ratings
      * @return The immutable DTO representation of the entity data
      */
-    static Movie toMovieDto(final MovieEntity movieEntity) {
-        return initMovieDto(movieEntity).build();
+    static Movie toMovieDto(
+            final MovieEntity movieEntity,
+            final List<? extends MovieInfoEntity> infos,
+            final int numberOfRating
+    ) {
+        return initMovieDto(movieEntity, infos, numberOfRating).build();
     }
 
     /**
-     * Convert a movie entity to a DTO for external exposure.
+     * Copy the movie DTO with the given rating.
      *
-     * @param movieEntity The entity to convert
-     * @param userEntity The entity provides data
-     * @return The immutable DTO representation of the entity data
+     * @param movie The DTO of the movie
+     * @param rating The rating of the movie or null if the movie hasn't been rated
+     * @param numberOfRating The number of the movie's ratings
+     * @return The immutable DTO representation of the movie with the rating
      */
-    static UserMovie toUserMovieDto(final MovieEntity movieEntity, final UserEntity userEntity) {
-        final UserMovie.Builder builder = new UserMovie.Builder(initMovieDto(movieEntity).build());
-
-        final boolean isYourRating = movieEntity.getRatings().stream().map(MovieRateEntity::getUser).collect(Collectors.toList()).contains(userEntity);
-        if(isYourRating) {
-            final int i = movieEntity.getRatings().stream().map(MovieRateEntity::getUser).collect(Collectors.toList()).indexOf(userEntity);
-            builder.withYourRating((float) movieEntity.getRatings().stream().map(MovieRateEntity::getRate).collect(Collectors.toList()).get(i));
+    static Movie toMovieDto(final Movie movie, @Nullable final Float rating, final int numberOfRating) {
+        if (Objects.equals(movie.getRating(), rating)
+                && Objects.equals(movie.getNumberOfRatings(), rating == null ? null : numberOfRating)) {
+            return movie;
         }
-        builder.withFavorited(userEntity.getFavoritesMovies().contains(movieEntity));
+
+        final Movie.Builder builder = (Movie.Builder) new Movie.Builder(movie.getTitle(), movie.getType())
+                .withId(movie.getId());
+
+        builder.withRating(rating);
+        builder.withNumberOfRating(rating == null ? null : numberOfRating);
+        builder.withTitleLocated(movie.getTitleLocated());
+        builder.withReleaseDate(movie.getReleaseDate());
+        builder.withCountries(movie.getCountries());
+        builder.withLanguages(movie.getLanguages());
+        builder.withGenres(movie.getGenres());
+        builder.withBoxofficeCumulative(movie.getBoxofficeCumulative());
+        builder.withOutline(movie.getOutline());
+        builder.withSummary(movie.getSummary());
+
+        return builder.build();
+    }
+
+    /**
+     * Add the data of the user to the movie DTO for external exposure.
+     *
+     * @param movie The DTO of the movie
+     * @param yourRating The user's rating of the movie or null if the user hasn't rated the movie
+     * @param favorited Whether the user has added the movie to favorites
+     * @return The immutable DTO representation of the movie for the user
+     */
+    static UserMovie toUserMovieDto(final Movie movie, @Nullable final Integer yourRating, final boolean favorited) {
+        final UserMovie.Builder builder = new UserMovie.Builder(movie);
+
+        Optional.ofNullable(yourRating).ifPresent(rate -> builder.withYourRating(rate.floatValue()));
+        builder.withFavorited(favorited);
 
         return builder.build();
     }
@@ -137,9 +174,15 @@ public final class ServiceUtils {
      * Get and initialization of the movie's builder.
      *
      * @param movieEntity Movie entity to obtain data
+     * @param infos The accepted movie info of the movie
+     * @param numberOfRating The number of the movie's ratings
      * @return The builder of Movie DTO
      */
-    private static Movie.Builder initMovieDto(final MovieEntity movieEntity) {
+    private static Movie.Builder initMovieDto(
+            final MovieEntity movieEntity,
+            final List<? extends MovieInfoEntity> infos,
+            final int numberOfRating
+    ) {
         final Movie.Builder builder = (Movie.Builder) new Movie.Builder(
                 movieEntity.getTitle(),
                 movieEntity.getType()
@@ -147,17 +190,15 @@ public final class ServiceUtils {
                 .withId(movieEntity.getId().toString());
 
         movieEntity.getRating().ifPresent(builder::withRating);
-        movieEntity.getRating().ifPresent(ratings -> builder.withNumberOfRating(movieEntity.getRatings().size()));
-        final Optional<String> locatedTitle = movieEntity.getOtherTitles().stream()
-                .filter(ot -> ot.getStatus() == DataStatus.ACCEPTED)
+        movieEntity.getRating().ifPresent(ratings -> builder.withNumberOfRating(numberOfRating));
+        final Optional<String> locatedTitle = infosOf(infos, MovieOtherTitleEntity.class)
                 .map(ServiceUtils::toOtherTitleDto)
                 .filter(ot -> ot.getCountry() != null
                         && ot.getCountry().getCode().equals(Locale.getDefault().getCountry()))
                 .map(OtherTitle::getTitle)
                 .findFirst();
         locatedTitle.ifPresent(builder::withTitleLocated);
-        final Supplier<Stream<ReleaseDate>> releaseDateStream = () -> movieEntity.getReleaseDates().stream()
-                .filter(ot -> ot.getStatus() == DataStatus.ACCEPTED)
+        final Supplier<Stream<ReleaseDate>> releaseDateStream = () -> infosOf(infos, MovieReleaseDateEntity.class)
                 .map(ServiceUtils::toReleaseDateDto);
         Optional<ReleaseDate> releaseDate = releaseDateStream.get()
                 .filter(rd -> rd.getCountry().getCode().equals(Locale.getDefault().getCountry()))
@@ -165,14 +206,11 @@ public final class ServiceUtils {
         if(releaseDate.isPresent()) {
             builder.withReleaseDate(releaseDate.get());
         } else {
+            final List<CountryType> countries = infosOf(infos, MovieCountryEntity.class)
+                    .map(MovieCountryEntity::getCountry)
+                    .collect(Collectors.toList());
             releaseDate = releaseDateStream.get()
-                    .filter(rd -> movieEntity.getCountries().stream()
-                            .filter(c -> c.getStatus() == DataStatus.ACCEPTED)
-                            .map(ServiceUtils::toCountryDto)
-                            .collect(Collectors.toList()).stream()
-                            .map(Country::getCountry)
-                            .collect(Collectors.toList())
-                            .contains(rd.getCountry()))
+                    .filter(rd -> countries.contains(rd.getCountry()))
                     .findFirst();
             if(releaseDate.isPresent()) {
                 builder.withReleaseDate(releaseDate.get());
@@ -181,15 +219,30 @@ public final class ServiceUtils {
                 builder.withReleaseDate(releaseDate.orElse(null));
             }
         }
-        builder.withCountries(movieEntity.getCountries().stream().filter(c -> c.getStatus() == DataStatus.ACCEPTED).map(MovieCountryEntity::getCountry).collect(Collectors.toList()));
-        builder.withLanguages(movieEntity.getLanguages().stream().filter(l -> l.getStatus() == DataStatus.ACCEPTED).map(MovieLanguageEntity::getLanguage).collect(Collectors.toList()));
-        builder.withGenres(movieEntity.getGenres().stream().filter(g -> g.getStatus() == DataStatus.ACCEPTED).map(MovieGenreEntity::getGenre).collect(Collectors.toList()));
-        builder.withBoxofficeCumulative(movieEntity.getBoxOffices().stream().filter(bo -> bo.getStatus() == DataStatus.ACCEPTED).map(MovieBoxOfficeEntity::getBoxOffice).reduce(BigDecimal::add).orElse(null));
-        builder.withOutline(movieEntity.getOutlines().stream().filter(o -> o.getStatus() == DataStatus.ACCEPTED).map(MovieOutlineEntity::getOutline).findFirst().orElse(null));
-        builder.withSummary(movieEntity.getSummaries().stream().filter(s -> s.getStatus() == DataStatus.ACCEPTED).map(MovieSummaryEntity::getSummary).findFirst().orElse(null));
+        builder.withCountries(infosOf(infos, MovieCountryEntity.class).map(MovieCountryEntity::getCountry).collect(Collectors.toList()));
+        builder.withLanguages(infosOf(infos, MovieLanguageEntity.class).map(MovieLanguageEntity::getLanguage).collect(Collectors.toList()));
+        builder.withGenres(infosOf(infos, MovieGenreEntity.class).map(MovieGenreEntity::getGenre).collect(Collectors.toList()));
+        builder.withBoxofficeCumulative(infosOf(infos, MovieBoxOfficeEntity.class).map(MovieBoxOfficeEntity::getBoxOffice).reduce(BigDecimal::add).orElse(null));
+        builder.withOutline(infosOf(infos, MovieOutlineEntity.class).map(MovieOutlineEntity::getOutline).findFirst().orElse(null));
+        builder.withSummary(infosOf(infos, MovieSummaryEntity.class).map(MovieSummaryEntity::getSummary).findFirst().orElse(null));
         return builder;
     }
 
+    /**
+     * Get the movie info of the given kind.
+     *
+     * @param infos The movie info of all kinds
+     * @param type The class of the kind of movie info
+     * @param <T> The kind of movie info
+     * @return The movie info of the kind
+     */
+    private static <T extends MovieInfoEntity> Stream<T> infosOf(
+            final List<? extends MovieInfoEntity> infos,
+            final Class<T> type
+    ) {
+        return infos.stream().filter(type::isInstance).map(type::cast);
+    }
+
     /**
      * Convert a message entity to a DTO for external exposure.
      *
@@ -434,20 +487,4 @@ public final class ServiceUtils {
 
         return builder.build();
     }
-
-    /**
-     * Convert a MovieRateEntity entity to a DTO for external exposure.
-     *
-     * @param movieRateEntity The entity to convert
-     * @return The immutable DTO representation of the entity data
-     */
-    static RateResponse toRateResponseDto(final MovieRateEntity movieRateEntity) {
-        final RateResponse.Builder builder = new RateResponse.Builder(
-                movieRateEntity.getRate(),
-                movieRateEntity.getUser().getUsername(),
-                movieRateEntity.getDate()
-        );
-
-        return builder.build();
-    }
 }
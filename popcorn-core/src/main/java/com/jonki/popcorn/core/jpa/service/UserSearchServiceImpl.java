@@ -8,13 +8,15 @@ import com.jonki.popcorn.common.exception.ResourceNotFoundException;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
 import com.jonki.popcorn.core.jpa.entity.UserEntity_;
 import com.jonki.popcorn.core.jpa.repository.UserRepository;
+import com.jonki.popcorn.core.jpa.specification.KeysetSpecs;
 import com.jonki.popcorn.core.jpa.specification.UserSpecs;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
+import com.jonki.popcorn.core.search.SearchQueryExecutor;
 import com.jonki.popcorn.core.service.AuthorizationService;
 import com.jonki.popcorn.core.service.UserSearchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -24,17 +26,17 @@ import org.springframework.validation.annotation.Validated;
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +50,7 @@ public class UserSearchServiceImpl implements UserSearchService {
 
     private final UserRepository userRepository;
     private final AuthorizationService authorizationService;
+    private final SearchQueryExecutor searchQueryExecutor;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -57,76 +60,75 @@ public class UserSearchServiceImpl implements UserSearchService {
      *
      * @param userRepository The user repository to use
      * @param authorizationService The authorization service to use
+     * @param searchQueryExecutor The search query executor to use
      */
     @Autowired
     public UserSearchServiceImpl(
             @NotNull final UserRepository userRepository,
-            @NotNull final AuthorizationService authorizationService
+            @NotNull final AuthorizationService authorizationService,
+            @NotNull final SearchQueryExecutor searchQueryExecutor
     ) {
         this.userRepository = userRepository;
         this.authorizationService = authorizationService;
+        this.searchQueryExecutor = searchQueryExecutor;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<UserSearchResult> findUsers(
+    public SearchPage<UserSearchResult> findUsers(
             @Nullable final String username,
             @NotNull final Pageable page
     ) {
         log.info("Called with username {}, page {}", username, page);
 
-        final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
-        final CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        final Root<UserEntity> root = countQuery.from(UserEntity.class);
-
-        final Predicate whereClause = UserSpecs
+        final BiFunction<Root<UserEntity>, CriteriaBuilder, Predicate> filter = (root, cb) -> UserSpecs
                 .getFindPredicate(
                         root,
                         cb,
                         username
                 );
-
-        countQuery.select(cb.count(root)).where(whereClause);
-
-        final Long count = this.entityManager.createQuery(countQuery).getSingleResult();
-
-        if (count > 0) {
-            final CriteriaQuery<UserSearchResult> contentQuery = cb.createQuery(UserSearchResult.class);
-            contentQuery.from(UserEntity.class);
-
-            contentQuery.multiselect(
-                    root.get(UserEntity_.uniqueId),
-                    root.get(UserEntity_.username),
-                    root.get(UserEntity_.email)
+        final Sort sort = SearchUtils.getSort(page);
+
+        final SearchQueryExecutor.Result<Tuple> result = this.searchQueryExecutor.execute(
+                "users",
+                () -> SearchUtils.count(this.entityManager, UserEntity.class, filter),
+                () -> {
+                    final CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+                    final CriteriaQuery<Tuple> contentQuery = cb.createTupleQuery();
+                    final Root<UserEntity> root = contentQuery.from(UserEntity.class);
+
+                    contentQuery.multiselect(SearchUtils.getContentSelections(
+                            root,
+                            cb.construct(
+                                    UserSearchResult.class,
+                                    root.get(UserEntity_.uniqueId),
+                                    root.get(UserEntity_.username),
+                                    root.get(UserEntity_.email)
+                            ),
+                            page,
+                            sort
+                    ));
+
+                    contentQuery.where(
+                            SearchUtils.getContentPredicate(root, cb, filter.apply(root, cb), page, sort)
+                    );
+
+                    contentQuery.orderBy(KeysetSpecs.getOrders(root, cb, sort, page instanceof KeysetPageRequest));
+
+                    return SearchUtils
+                            .limit(this.entityManager.createQuery(contentQuery), page)
+                            .getResultList();
+                }
+        );
+
+        if (result.getContent() != null) {
+            return SearchUtils.toPage(
+                    result.getContent(), UserSearchResult.class, page, result.getCount(), true, sort
             );
-
-            contentQuery.where(whereClause);
-
-            final Sort sort = page.getSort();
-            final List<Order> orders = new ArrayList<>();
-            sort.iterator().forEachRemaining(
-                    order -> {
-                        if (order.isAscending()) {
-                            orders.add(cb.asc(root.get(order.getProperty())));
-                        } else {
-                            orders.add(cb.desc(root.get(order.getProperty())));
-                        }
-                    }
-            );
-
-            contentQuery.orderBy(orders);
-
-            final List<UserSearchResult> results = this.entityManager
-                    .createQuery(contentQuery)
-                    .setFirstResult(((Long) page.getOffset()).intValue())
-                    .setMaxResults(page.getPageSize())
-                    .getResultList();
-
-            return new PageImpl<>(results, page, count);
         } else {
-            return new PageImpl<>(Lists.newArrayList(), page, count);
+            return new SearchPage<>(Lists.newArrayList(), page, result.getCount(), null);
         }
     }
 
@@ -0,0 +1,124 @@
+package com.jonki.popcorn.core.jpa.specification;
+
+import com.jonki.popcorn.core.search.SearchCursor;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications for keyset (seek) pagination. Rows with null sort values are always placed
+ * after rows with values, regardless of the database default.
+ */
+public final class KeysetSpecs {
+
+    /**
+     * Name of the ID attribute used as the tie-breaker.
+     */
+    public static final String ID = "id";
+
+    /**
+     * Get the sort with the ID tie-breaker appended, so the order of the rows is total.
+     *
+     * @param sort The requested sort
+     * @return The sort used for keyset pagination
+     */
+    public static Sort getKeysetSort(final Sort sort) {
+        if (sort.getOrderFor(ID) != null) {
+            return sort;
+        }
+        final Sort.Direction direction = sort.stream()
+                .findFirst()
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Generate criteria query orders for the given sort.
+     *
+     * @param root The root to use
+     * @param cb The criteria builder to use
+     * @param sort The sort
+     * @param keyset Whether rows with null sort values should be placed last
+     * @return The orders
+     */
+    public static List<Order> getOrders(
+            final Root<?> root,
+            final CriteriaBuilder cb,
+            final Sort sort,
+            final boolean keyset
+    ) {
+        final List<Order> orders = new ArrayList<>();
+        sort.iterator().forEachRemaining(
+                order -> {
+                    final Path<?> path = root.get(order.getProperty());
+                    if (keyset && isOptional(root, order.getProperty())) {
+                        orders.add(cb.asc(getNullFlag(cb, path)));
+                    }
+                    if (order.isAscending()) {
+                        orders.add(cb.asc(path));
+                    } else {
+                        orders.add(cb.desc(path));
+                    }
+                }
+        );
+        return orders;
+    }
+
+    /**
+     * Generate a criteria query predicate matching the rows placed after the cursor.
+     *
+     * @param root The root to use
+     * @param cb The criteria builder to use
+     * @param sort The keyset sort, see {@link #getKeysetSort(Sort)}
+     * @param cursor The cursor
+     * @return The specification
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Predicate getAfterPredicate(
+            final Root<?> root,
+            final CriteriaBuilder cb,
+            final Sort sort,
+            final SearchCursor cursor
+    ) {
+        final List<Predicate> orPredicates = new ArrayList<>();
+        final List<Predicate> equalPredicates = new ArrayList<>();
+        int index = 0;
+        for (final Sort.Order order : sort) {
+            final Path<Comparable> path = root.get(order.getProperty());
+            final Comparable value = (Comparable) cursor.getValue(index++, path.getJavaType());
+
+            if (value != null) {
+                final Predicate seek = order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+                final List<Predicate> andPredicates = new ArrayList<>(equalPredicates);
+                andPredicates.add(isOptional(root, order.getProperty()) ? cb.or(seek, cb.isNull(path)) : seek);
+                orPredicates.add(cb.and(andPredicates.toArray(new Predicate[andPredicates.size()])));
+                equalPredicates.add(cb.equal(path, value));
+            } else {
+                equalPredicates.add(cb.isNull(path));
+            }
+        }
+
+        return cb.or(orPredicates.toArray(new Predicate[orPredicates.size()]));
+    }
+
+    private static boolean isOptional(final Root<?> root, final String property) {
+        final Attribute<?, ?> attribute = root.getModel().getAttribute(property);
+        return attribute instanceof SingularAttribute && ((SingularAttribute<?, ?>) attribute).isOptional();
+    }
+
+    private static Expression<Integer> getNullFlag(final CriteriaBuilder cb, final Path<?> path) {
+        return cb.<Integer>selectCase()
+                .when(cb.isNull(path), 1)
+                .otherwise(0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.jonki.popcorn.core.jpa.specification;
+
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.core.jpa.entity.MovieSearchEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieSearchEntity_;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nullable;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Specifications for JPA queries over the movie search read model. Matches the same movies
+ * as {@link MovieSpecs} without joining the movie infos.
+ */
+public final class MovieSearchSpecs {
+
+    /**
+     * Generate a criteria query predicate for a where clause based on the given parameters.
+     *
+     * @param root The root to use
+     * @param cb The criteria builder to use
+     * @param title Title of the movie
+     * @param type Type of the movie
+     * @param fromDate Date range "from"
+     * @param toDate Date range "to"
+     * @param countries List of countries
+     * @param languages List of languages
+     * @param genres List of genres
+     * @param minRating Minimal rating
+     * @param maxRating Maximum rating
+     * @param ids IDs of the candidate movies, e.g. resolved by an in-memory index
+     * @return The specification
+     */
+    public static Predicate getFindPredicate(
+            final Root<MovieSearchEntity> root,
+            final CriteriaBuilder cb,
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            @Nullable final Collection<Long> ids
+    ) {
+        final List<Predicate> predicates = new ArrayList<>();
+
+        if (ids != null) {
+            predicates.add(root.get(MovieSearchEntity_.id).in(ids));
+        }
+        if (StringUtils.isNotBlank(title)) {
+            predicates.add(cb.like(root.get(MovieSearchEntity_.titles), "%" + title.toUpperCase(Locale.ROOT) + "%"));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(root.get(MovieSearchEntity_.type), type));
+        }
+        // Some accepted release date is on or after "from" and some is on or before "to"
+        if (fromDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get(MovieSearchEntity_.latestReleaseDate), fromDate));
+        }
+        if (toDate != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get(MovieSearchEntity_.releaseDate), toDate));
+        }
+        if (countries != null && !countries.isEmpty()) {
+            predicates.add(containsAny(cb, root.get(MovieSearchEntity_.countries), countries));
+        }
+        if (languages != null && !languages.isEmpty()) {
+            predicates.add(containsAny(cb, root.get(MovieSearchEntity_.languages), languages));
+        }
+        if (genres != null && !genres.isEmpty()) {
+            predicates.add(containsAny(cb, root.get(MovieSearchEntity_.genres), genres));
+        }
+        if (minRating != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get(MovieSearchEntity_.rating), (float) minRating));
+        }
+        if (maxRating != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get(MovieSearchEntity_.rating), (float) maxRating));
+        }
+
+        return cb.and(predicates.toArray(new Predicate[predicates.size()]));
+    }
+
+    private static Predicate containsAny(
+            final CriteriaBuilder cb,
+            final Path<String> path,
+            final Collection<? extends Enum<?>> values
+    ) {
+        final List<Predicate> orPredicates = values
+                .stream()
+                .map(value -> cb.like(path,
+                        "%" + MovieSearchEntity.SEPARATOR + value.name() + MovieSearchEntity.SEPARATOR + "%"))
+                .collect(Collectors.toList());
+        return cb.or(orPredicates.toArray(new Predicate[orPredicates.size()]));
+    }
+}
@@ -25,6 +25,7 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -66,10 +67,48 @@ public final class MovieSpecs {
             @Nullable final List<GenreType> genres,
             @Nullable final Integer minRating,
             @Nullable final Integer maxRating
+    ) {
+        return getFindPredicate(root, cb, title, type, fromDate, toDate, countries, languages, genres,
+                minRating, maxRating, null);
+    }
+
+    /**
+     * Generate a criteria query predicate for a where clause based on the given parameters.
+     *
+     * @param root The root to use
+     * @param cb The criteria builder to use
+     * @param title Title of the movie
+     * @param type Type of the movie
+     * @param fromDate Date range "from"
+     * @param toDate Date range "to"
+     * @param countries List of countries
+     * @param languages List of languages
+     * @param genres List of genres
+     * @param minRating Minimal rating
+     * @param maxRating Maximum rating
+     * @param ids IDs of the candidate movies, e.g. resolved by an in-memory index
+     * @return The specification
+     */
+    public static Predicate getFindPredicate(
+            final Root<MovieEntity> root,
+            final CriteriaBuilder cb,
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            @Nullable final Collection<Long> ids
     ) {
         final List<Predicate> predicates = new ArrayList<>();
 
         predicates.add(cb.equal(root.get(MovieEntity_.status), DataStatus.ACCEPTED));
+        if (ids != null) {
+            predicates.add(root.get(MovieEntity_.id).in(ids));
+        }
         if (StringUtils.isNotBlank(title)) {
             final Join<MovieEntity, MovieOtherTitleEntity> listOtherTitles = root.join(MovieEntity_.otherTitles);
             final List<Predicate> orPredicates =
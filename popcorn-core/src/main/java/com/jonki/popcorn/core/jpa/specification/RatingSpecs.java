@@ -0,0 +1,54 @@
+package com.jonki.popcorn.core.jpa.specification;
+
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity_;
+import com.jonki.popcorn.core.rating.RatingSeries;
+
+import javax.annotation.Nullable;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications for JPA queries.
+ *
+ * @see <a href="https://docs.spring.io/spring-data/data-jpa/docs/1.0.x/reference/html/#specifications">Docs</a>
+ */
+public final class RatingSpecs {
+
+    /**
+     * Generate a criteria query predicate for a where clause based on the given parameters. The movie
+     * is compared by its ID, so the movie isn't joined. The days of the range are included, they start
+     * in the time zone of the rating trend, so the ratings of a day are the ones of its point of the trend.
+     *
+     * @param root The root to use
+     * @param cb The criteria builder to use
+     * @param movieId The movie ID
+     * @param fromDate Rating day range "from"
+     * @param toDate Rating day range "to"
+     * @return The specification
+     */
+    public static Predicate getFindPredicate(
+            final Root<MovieRateEntity> root,
+            final CriteriaBuilder cb,
+            final Long movieId,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate
+    ) {
+        final List<Predicate> predicates = new ArrayList<>();
+
+        predicates.add(cb.equal(root.get(MovieRateEntity_.movie).get(MovieEntity_.id), movieId));
+        if (fromDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get(MovieRateEntity_.date), RatingSeries.getStart(fromDate)));
+        }
+        if (toDate != null) {
+            predicates.add(cb.lessThan(root.get(MovieRateEntity_.date), RatingSeries.getStart(toDate.plusDays(1))));
+        }
+
+        return cb.and(predicates.toArray(new Predicate[predicates.size()]));
+    }
+}
@@ -0,0 +1,76 @@
+package com.jonki.popcorn.core.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties for the in-memory caches of the movie data.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache")
+@Getter
+@Setter
+@Validated
+public class CacheProperties {
+
+    /**
+     * Snapshots of the movie details
+     */
+    private final Movie movie = new Movie();
+
+    /**
+     * Serialized responses of the movie details
+     */
+    private final Response response = new Response();
+
+    /**
+     * Properties for the cache of the movie details.
+     */
+    @Getter
+    @Setter
+    public static class Movie {
+
+        /**
+         * Cache the movie details
+         */
+        private boolean enabled;
+        /**
+         * Maximum number of cached movies, the least recently used movie is evicted above it
+         */
+        @Min(1)
+        private int maxSize = 10000;
+    }
+
+    /**
+     * Properties for the cache of the serialized responses of the movie details.
+     */
+    @Getter
+    @Setter
+    public static class Response {
+
+        /**
+         * Cache the serialized responses of the movie details for anonymous users
+         */
+        private boolean enabled;
+        /**
+         * Maximum number of movies with cached responses, the least recently used movie is evicted above it
+         */
+        @Min(1)
+        private int maxSize = 1000;
+        /**
+         * Keep a gzipped copy of every response for the clients accepting gzip
+         */
+        private boolean gzip = true;
+        /**
+         * Milliseconds the responses are still served after the movie has been rated or favorited, so their rating
+         * and entity tag may be that old
+         */
+        @Min(0)
+        private long ratingMaxAge = 10000;
+    }
+}
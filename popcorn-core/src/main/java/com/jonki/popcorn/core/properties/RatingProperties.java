@@ -0,0 +1,60 @@
+package com.jonki.popcorn.core.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties for the movie ratings.
+ */
+@Component
+@ConfigurationProperties(prefix = "rating")
+@Getter
+@Setter
+@Validated
+public class RatingProperties {
+
+    /**
+     * Recompute the rating aggregates and the daily rollups which don't match the votes at startup, e.g. after
+     * an abrupt stop in the write-behind mode or to fill the daily rollups of the votes cast before they existed.
+     * Enable it on one instance only, while no other instance holds buffered changes.
+     */
+    private boolean reconcileOnStartup;
+    /**
+     * Buffered updates of the rating aggregates of the movies
+     */
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * Properties for the write-behind buffer of the rating aggregates.
+     */
+    @Getter
+    @Setter
+    public static class WriteBehind {
+
+        /**
+         * Buffer the changes of the rating aggregates in memory instead of updating the movie with every vote.
+         * Only for a single instance, the buffers of the other instances are neither seen nor reconciled.
+         */
+        private boolean enabled;
+        /**
+         * Milliseconds between the flushes of the buffered changes
+         */
+        @Min(1)
+        private long flushInterval = 1000;
+        /**
+         * Number of buffered votes above which the changes are flushed before the interval elapses
+         */
+        @Min(1)
+        private int flushThreshold = 1000;
+        /**
+         * Number of independently locked stripes of the buffer
+         */
+        @Min(1)
+        private int stripes = 16;
+    }
+}
@@ -0,0 +1,254 @@
+package com.jonki.popcorn.core.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+/**
+ * Properties for the movie search.
+ */
+@Component
+@ConfigurationProperties(prefix = "search")
+@Getter
+@Setter
+@Validated
+public class SearchProperties {
+
+    /**
+     * In-memory title index
+     */
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    /**
+     * In-memory typo-tolerant title index
+     */
+    private final FuzzyIndex fuzzyIndex = new FuzzyIndex();
+
+    /**
+     * In-memory facet index
+     */
+    private final FacetIndex facetIndex = new FacetIndex();
+
+    /**
+     * In-memory title suggestions
+     */
+    private final Suggest suggest = new Suggest();
+
+    /**
+     * Database full-text title search
+     */
+    private final FullText fullText = new FullText();
+
+    /**
+     * Movie search read model
+     */
+    private final ReadModel readModel = new ReadModel();
+
+    /**
+     * Total counts of the paged movie search
+     */
+    private final Count count = new Count();
+
+    /**
+     * Parallel execution of the count and the content query
+     */
+    private final Parallel parallel = new Parallel();
+
+    /**
+     * Streaming export of the movie search
+     */
+    private final Export export = new Export();
+
+    /**
+     * Batch lookup of the movies
+     */
+    private final Batch batch = new Batch();
+
+    /**
+     * Properties for the in-memory title index.
+     */
+    @Getter
+    @Setter
+    public static class TitleIndex {
+
+        /**
+         * Build the index at startup and use it for title searches
+         */
+        private boolean enabled;
+        /**
+         * Maximum number of candidate IDs passed to the database, above it the LIKE query is used
+         */
+        @Min(1)
+        private int maxCandidates = 1000;
+    }
+
+    /**
+     * Properties for the in-memory typo-tolerant title index.
+     */
+    @Getter
+    @Setter
+    public static class FuzzyIndex {
+
+        /**
+         * Build the index at startup and use it for fuzzy title searches
+         */
+        private boolean enabled;
+        /**
+         * Maximum edit distance of one title word
+         */
+        @Min(0)
+        @Max(2)
+        private int maxDistance = 2;
+        /**
+         * Maximum number of candidate IDs passed to the database, the closest ones are kept
+         */
+        @Min(1)
+        private int maxCandidates = 1000;
+    }
+
+    /**
+     * Properties for the in-memory facet index.
+     */
+    @Getter
+    @Setter
+    public static class FacetIndex {
+
+        /**
+         * Build the index at startup and use it for type, genre, country and language filters and facet counts
+         */
+        private boolean enabled;
+        /**
+         * Maximum number of candidate IDs passed to the database, above it the joins are used
+         */
+        @Min(1)
+        private int maxCandidates = 1000;
+    }
+
+    /**
+     * Properties for the in-memory title suggestions.
+     */
+    @Getter
+    @Setter
+    public static class Suggest {
+
+        /**
+         * Build the prefix trie at startup and use it for the typeahead suggestions
+         */
+        private boolean enabled;
+        /**
+         * Number of the best movies kept for each prefix, the maximum number of suggestions
+         */
+        @Min(1)
+        private int topK = 10;
+    }
+
+    /**
+     * Properties for the database full-text title search.
+     */
+    @Getter
+    @Setter
+    public static class FullText {
+
+        /**
+         * Maximum number of ranked IDs passed to the database, above it the LIKE query is used
+         */
+        @Min(1)
+        private int maxCandidates = 1000;
+    }
+
+    /**
+     * Properties for the movie search read model.
+     */
+    @Getter
+    @Setter
+    public static class ReadModel {
+
+        /**
+         * Query only the movie_search table instead of joining the movie infos
+         */
+        private boolean enabled;
+    }
+
+    /**
+     * Properties for the total counts of the paged movie search.
+     */
+    @Getter
+    @Setter
+    public static class Count {
+
+        /**
+         * Cache the counts until the next catalog write
+         */
+        private boolean cacheEnabled;
+        /**
+         * Maximum number of cached counts
+         */
+        @Min(1)
+        private int cacheSize = 1000;
+        /**
+         * Use the planner statistics for unfiltered queries (PostgreSQL only)
+         */
+        private boolean estimateEnabled;
+        /**
+         * Minimal estimated number of rows for which the estimate is used instead of the exact count
+         */
+        @Min(0)
+        private long estimateThreshold = 10000;
+    }
+
+    /**
+     * Properties for the parallel execution of the count and the content query.
+     */
+    @Getter
+    @Setter
+    public static class Parallel {
+
+        /**
+         * Run the count query on its own connection while the content query runs
+         */
+        private boolean enabled;
+        /**
+         * Number of threads running the count queries
+         */
+        @Min(1)
+        private int poolSize = 4;
+        /**
+         * Maximum number of waiting count queries, above it the caller runs the count query
+         */
+        @Min(1)
+        private int queueCapacity = 100;
+    }
+
+    /**
+     * Properties for the streaming export of the movie search.
+     */
+    @Getter
+    @Setter
+    public static class Export {
+
+        /**
+         * Number of rows fetched from the database cursor at once
+         */
+        @Min(1)
+        private int fetchSize = 500;
+    }
+
+    /**
+     * Properties for the batch lookup of the movies.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Maximum number of movie IDs in one request
+         */
+        @Min(1)
+        private int maxIds = 100;
+    }
+}
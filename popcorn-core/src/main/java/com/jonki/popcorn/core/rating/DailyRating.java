@@ -0,0 +1,56 @@
+package com.jonki.popcorn.core.rating;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * The sum and the number of the votes of one day, or the change of them.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class DailyRating {
+
+    /**
+     * The sum of the rates
+     */
+    private final long sum;
+
+    /**
+     * The number of votes
+     */
+    private final int count;
+
+    /**
+     * Constructor.
+     *
+     * @param sum The sum of the rates
+     * @param count The number of votes
+     */
+    public DailyRating(final long sum, final int count) {
+        this.sum = sum;
+        this.count = count;
+    }
+
+    /**
+     * Add the votes of another one.
+     *
+     * @param other The other one
+     * @return The sum and the number of the votes of both
+     */
+    public DailyRating plus(@NotNull final DailyRating other) {
+        return new DailyRating(this.sum + other.sum, this.count + other.count);
+    }
+
+    /**
+     * Check whether there are no votes, or nothing changes.
+     *
+     * @return True if the sum and the number of votes are zero
+     */
+    public boolean isEmpty() {
+        return this.sum == 0 && this.count == 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.jonki.popcorn.core.rating;
+
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accumulates the changes of the rating aggregates per movie until they're drained. The movies are spread over
+ * independently locked stripes, so the votes for different movies rarely wait for each other, and the votes
+ * for the same movie only wait for the addition to a map entry instead of a database row lock.
+ */
+public final class RatingAccumulator {
+
+    private final Map<Long, RatingDelta>[] stripes;
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param stripes The number of stripes
+     */
+    @SuppressWarnings("unchecked")
+    public RatingAccumulator(final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("The number of stripes must be positive but is " + stripes);
+        }
+
+        this.stripes = new Map[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Add the change made by a vote.
+     *
+     * @param movieId The movie ID
+     * @param delta The change of the movie's rating aggregates
+     * @return The number of the accumulated votes, including this one
+     */
+    public int add(@NotNull final Long movieId, @NotNull final RatingDelta delta) {
+        final Map<Long, RatingDelta> stripe = this.stripe(movieId);
+        synchronized (stripe) {
+            stripe.merge(movieId, delta, RatingDelta::plus);
+        }
+        return this.depth.incrementAndGet();
+    }
+
+    /**
+     * Remove and return the accumulated changes.
+     *
+     * @return The changes by the movie ID, in the order of the IDs
+     */
+    public SortedMap<Long, RatingDelta> drain() {
+        final SortedMap<Long, RatingDelta> deltas = new TreeMap<>();
+        for (final Map<Long, RatingDelta> stripe : this.stripes) {
+            synchronized (stripe) {
+                deltas.putAll(stripe);
+                stripe.clear();
+            }
+        }
+        this.depth.set(0);
+        return deltas;
+    }
+
+    /**
+     * Put back the drained changes which couldn't be applied, merging them with the changes added since.
+     *
+     * @param deltas The changes by the movie ID
+     */
+    public void restore(@NotNull final Map<Long, RatingDelta> deltas) {
+        deltas.forEach((movieId, delta) -> {
+            final Map<Long, RatingDelta> stripe = this.stripe(movieId);
+            synchronized (stripe) {
+                stripe.merge(movieId, delta, RatingDelta::plus);
+            }
+            this.depth.incrementAndGet();
+        });
+    }
+
+    /**
+     * Get the approximate number of the accumulated votes. The votes put back after a failed flush count once
+     * per movie, and a vote added while the changes are drained may be missed.
+     *
+     * @return The number of votes
+     */
+    public int getDepth() {
+        return this.depth.get();
+    }
+
+    private Map<Long, RatingDelta> stripe(final Long movieId) {
+        return this.stripes[Math.floorMod(movieId.hashCode(), this.stripes.length)];
+    }
+}
@@ -0,0 +1,187 @@
+package com.jonki.popcorn.core.rating;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The change of the rating aggregates, the rating histogram and the daily rollup of the ratings of a movie
+ * made by one or more votes.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class RatingDelta {
+
+    /**
+     * The lowest rate
+     */
+    public static final int MIN_RATE = 1;
+
+    /**
+     * The highest rate
+     */
+    public static final int MAX_RATE = 10;
+
+    /**
+     * The change of the sum of the rates
+     */
+    private final long sum;
+
+    /**
+     * The change of the number of votes
+     */
+    private final int count;
+
+    /**
+     * The change of the number of votes for every rate, the first one for the lowest rate
+     */
+    @Getter(AccessLevel.NONE)
+    private final int[] histogram;
+
+    /**
+     * The change of the sum and the number of the votes of every changed day, in the order of the days
+     */
+    private final SortedMap<LocalDate, DailyRating> days;
+
+    /**
+     * Constructor.
+     *
+     * @param sum The change of the sum of the rates
+     * @param count The change of the number of votes
+     * @param histogram The change of the number of votes for every rate, the first one for the lowest rate
+     * @param days The change of the votes of every day, without the days which don't change
+     */
+    private RatingDelta(
+            final long sum,
+            final int count,
+            final int[] histogram,
+            final SortedMap<LocalDate, DailyRating> days
+    ) {
+        this.sum = sum;
+        this.count = count;
+        this.histogram = histogram;
+        this.days = Collections.unmodifiableSortedMap(days);
+    }
+
+    /**
+     * Create the change made by a new vote.
+     *
+     * @param rate The rate of the vote
+     * @param day The day of the vote
+     * @return The change
+     */
+    public static RatingDelta vote(final int rate, @NotNull final LocalDate day) {
+        final int[] histogram = new int[MAX_RATE - MIN_RATE + 1];
+        histogram[bucket(rate)]++;
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        addDay(days, day, new DailyRating(rate, 1));
+        return new RatingDelta(rate, 1, histogram, days);
+    }
+
+    /**
+     * Create the change made by changing the rate of a vote. The vote moves from the day of its previous
+     * change to the day of the new one.
+     *
+     * @param oldRate The previous rate of the vote
+     * @param oldDay The day of the previous change of the vote
+     * @param newRate The new rate of the vote
+     * @param newDay The day of the new change of the vote
+     * @return The change
+     */
+    public static RatingDelta change(
+            final int oldRate,
+            @NotNull final LocalDate oldDay,
+            final int newRate,
+            @NotNull final LocalDate newDay
+    ) {
+        final int[] histogram = new int[MAX_RATE - MIN_RATE + 1];
+        histogram[bucket(oldRate)]--;
+        histogram[bucket(newRate)]++;
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        addDay(days, oldDay, new DailyRating(-oldRate, -1));
+        addDay(days, newDay, new DailyRating(newRate, 1));
+        return new RatingDelta(newRate - oldRate, 0, histogram, days);
+    }
+
+    /**
+     * Create the change made by deleting a vote.
+     *
+     * @param rate The rate of the vote
+     * @param day The day of the last change of the vote
+     * @return The change
+     */
+    public static RatingDelta delete(final int rate, @NotNull final LocalDate day) {
+        final int[] histogram = new int[MAX_RATE - MIN_RATE + 1];
+        histogram[bucket(rate)]--;
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        addDay(days, day, new DailyRating(-rate, -1));
+        return new RatingDelta(-rate, -1, histogram, days);
+    }
+
+    /**
+     * Combine the change with another one.
+     *
+     * @param other The other change
+     * @return The change made by both
+     */
+    public RatingDelta plus(@NotNull final RatingDelta other) {
+        final int[] histogram = new int[this.histogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = this.histogram[i] + other.histogram[i];
+        }
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>(this.days);
+        other.days.forEach((day, change) -> addDay(days, day, change));
+        return new RatingDelta(this.sum + other.sum, this.count + other.count, histogram, days);
+    }
+
+    /**
+     * Get the change of the number of votes for the rate.
+     *
+     * @param rate The rate
+     * @return The change of the number of votes
+     */
+    public int getHistogram(final int rate) {
+        return this.histogram[bucket(rate)];
+    }
+
+    /**
+     * Check whether the change changes nothing, e.g. when a vote was changed to the same rate.
+     *
+     * @return True if nothing changes
+     */
+    public boolean isEmpty() {
+        return this.sum == 0
+                && this.count == 0
+                && Arrays.stream(this.histogram).allMatch(change -> change == 0)
+                && this.days.isEmpty();
+    }
+
+    private static void addDay(
+            final SortedMap<LocalDate, DailyRating> days,
+            final LocalDate day,
+            final DailyRating change
+    ) {
+        final DailyRating merged = days.containsKey(day) ? days.get(day).plus(change) : change;
+        if (merged.isEmpty()) {
+            days.remove(day);
+        } else {
+            days.put(day, merged);
+        }
+    }
+
+    private static int bucket(final int rate) {
+        if (rate < MIN_RATE || rate > MAX_RATE) {
+            throw new IllegalArgumentException("The rate must be between " + MIN_RATE + " and " + MAX_RATE);
+        }
+        return rate - MIN_RATE;
+    }
+}
@@ -0,0 +1,137 @@
+package com.jonki.popcorn.core.rating;
+
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
+
+import javax.validation.constraints.NotNull;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Downsamples the daily rollup of the ratings of a movie to a time series of the requested resolution.
+ * The series is computed from the days, so its cost depends on the number of days, not the number of votes.
+ */
+public final class RatingSeries {
+
+    /**
+     * The time zone the dates of the votes are bucketed into days in, on every path writing or reading the days.
+     */
+    public static final ZoneId ZONE = ZoneOffset.UTC;
+
+    /**
+     * Utility class.
+     */
+    private RatingSeries() {
+    }
+
+    /**
+     * Group the days into the periods of the resolution, weeks starting on Monday or calendar months,
+     * and compute the average of every period and the cumulative average until its end. The periods
+     * without votes are left out.
+     *
+     * @param days The sum and the number of the votes of every day, in the order of the days
+     * @param before The sum and the number of all votes before the first day of the series
+     * @param resolution The resolution of the series
+     * @return The points of the series, in the order of the periods
+     */
+    public static List<RatingTrendPoint> downsample(
+            @NotNull final SortedMap<LocalDate, DailyRating> days,
+            @NotNull final DailyRating before,
+            @NotNull final TrendResolution resolution
+    ) {
+        final List<RatingTrendPoint> points = new ArrayList<>();
+
+        DailyRating total = before;
+        LocalDate periodStart = null;
+        DailyRating period = null;
+        for (final Map.Entry<LocalDate, DailyRating> day : days.entrySet()) {
+            final LocalDate start = getPeriodStart(day.getKey(), resolution);
+            if (!start.equals(periodStart)) {
+                if (period != null) {
+                    total = total.plus(period);
+                    addPoint(points, periodStart, period, total);
+                }
+                periodStart = start;
+                period = day.getValue();
+            } else {
+                period = period.plus(day.getValue());
+            }
+        }
+        if (period != null) {
+            total = total.plus(period);
+            addPoint(points, periodStart, period, total);
+        }
+
+        return points;
+    }
+
+    /**
+     * Get the day of the date in the time zone of the days.
+     *
+     * @param date The date, e.g. the date of a vote
+     * @return The day
+     */
+    public static LocalDate getDay(@NotNull final Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZONE).toLocalDate();
+    }
+
+    /**
+     * Get the start of the day in the time zone of the days.
+     *
+     * @param day The day
+     * @return The date the day starts at
+     */
+    public static Date getStart(@NotNull final LocalDate day) {
+        return Date.from(day.atStartOfDay(ZONE).toInstant());
+    }
+
+    /**
+     * Get the first day of the period of the resolution containing the day.
+     *
+     * @param day The day
+     * @param resolution The resolution
+     * @return The first day of the period
+     */
+    public static LocalDate getPeriodStart(@NotNull final LocalDate day, @NotNull final TrendResolution resolution) {
+        switch (resolution) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+
+    private static void addPoint(
+            final List<RatingTrendPoint> points,
+            final LocalDate periodStart,
+            final DailyRating period,
+            final DailyRating total
+    ) {
+        if (period.getCount() == 0) {
+            return;
+        }
+
+        points.add(new RatingTrendPoint.Builder(
+                getStart(periodStart),
+                period.getCount(),
+                getAverage(period),
+                total.getCount(),
+                getAverage(total)
+        ).build());
+    }
+
+    private static Float getAverage(final DailyRating rating) {
+        return rating.getCount() > 0 ? (float) rating.getSum() / rating.getCount() : null;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * In-memory buffers and time series of the movie ratings.
+ */
+
+package com.jonki.popcorn.core.rating;
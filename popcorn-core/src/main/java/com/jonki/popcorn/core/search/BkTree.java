@@ -0,0 +1,254 @@
+package com.jonki.popcorn.core.search;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory BK-tree of the words of movie titles.
+ * Answers "title words within the edit distance" queries with the movie IDs and their distances.
+ * <p>
+ * Removed movies only leave their words without postings; the words are dropped on the next rebuild.
+ */
+public class BkTree {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<Long, Set<String>> words = new HashMap<>();
+    private Node root;
+
+    /**
+     * Index the titles of the movie. Replaces any titles indexed before for this movie.
+     *
+     * @param movieId The movie ID
+     * @param movieTitles The movie titles
+     */
+    public void put(@NotNull final Long movieId, @NotNull final Collection<String> movieTitles) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(movieId);
+            this.putUnlocked(movieId, movieTitles);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the movie from the index.
+     *
+     * @param movieId The movie ID
+     */
+    public void remove(@NotNull final Long movieId) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(movieId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole content of the index.
+     *
+     * @param movieTitles The titles grouped by movie ID
+     */
+    public void rebuild(@NotNull final Map<Long, ? extends Collection<String>> movieTitles) {
+        this.lock.writeLock().lock();
+        try {
+            this.nodes.clear();
+            this.words.clear();
+            this.root = null;
+            movieTitles.forEach(this::putUnlocked);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed movies.
+     *
+     * @return The number of movies
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.words.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the movies with a title word close to every word of the phrase. Case and diacritics are ignored.
+     * Short words allow fewer edits: none up to 2 letters, one up to 5 letters.
+     *
+     * @param phrase The phrase to search for
+     * @param maxDistance Maximum edit distance of one word
+     * @return The sum of the word distances by movie ID
+     */
+    public Map<Long, Integer> search(@NotNull final String phrase, final int maxDistance) {
+        final List<String> phraseWords = SearchText.words(phrase);
+        if (phraseWords.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            Map<Long, Integer> result = null;
+            for (final String word : new HashSet<>(phraseWords)) {
+                final int wordDistance = Math.min(maxDistance, word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2);
+                final Map<Long, Integer> matches = this.searchWord(word, wordDistance);
+                if (result == null) {
+                    result = matches;
+                } else {
+                    final Map<Long, Integer> intersection = new HashMap<>();
+                    for (final Map.Entry<Long, Integer> match : matches.entrySet()) {
+                        final Integer distance = result.get(match.getKey());
+                        if (distance != null) {
+                            intersection.put(match.getKey(), distance + match.getValue());
+                        }
+                    }
+                    result = intersection;
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> searchWord(final String word, final int maxDistance) {
+        final Map<Long, Integer> result = new HashMap<>();
+        if (this.root == null) {
+            return result;
+        }
+
+        final Deque<Node> stack = new ArrayDeque<>();
+        stack.push(this.root);
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            final int distance = distance(word, node.word);
+            if (distance <= maxDistance) {
+                for (final Long id : node.ids) {
+                    result.merge(id, distance, Math::min);
+                }
+            }
+
+            // Triangle inequality: only the children within maxDistance of the distance can match
+            final int from = Math.max(1, distance - maxDistance);
+            final int to = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int i = from; i <= to; i++) {
+                if (node.children[i] != null) {
+                    stack.push(node.children[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void putUnlocked(final Long movieId, final Collection<String> movieTitles) {
+        final Set<String> movieWords = new HashSet<>();
+        for (final String title : movieTitles) {
+            if (title != null) {
+                movieWords.addAll(SearchText.words(title));
+            }
+        }
+        if (movieWords.isEmpty()) {
+            return;
+        }
+        this.words.put(movieId, movieWords);
+        for (final String word : movieWords) {
+            this.addWord(word).ids.add(movieId);
+        }
+    }
+
+    private void removeUnlocked(final Long movieId) {
+        final Set<String> old = this.words.remove(movieId);
+        if (old == null) {
+            return;
+        }
+        for (final String word : old) {
+            this.nodes.get(word).ids.remove(movieId);
+        }
+    }
+
+    private Node addWord(final String word) {
+        final Node existing = this.nodes.get(word);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Node added = new Node(word);
+        this.nodes.put(word, added);
+        if (this.root == null) {
+            this.root = added;
+            return added;
+        }
+
+        Node node = this.root;
+        while (true) {
+            final int distance = distance(word, node.word);
+            if (distance >= node.children.length) {
+                node.children = Arrays.copyOf(node.children, distance + 1);
+            }
+            if (node.children[distance] == null) {
+                node.children[distance] = added;
+                return added;
+            }
+            node = node.children[distance];
+        }
+    }
+
+    /**
+     * Get the Levenshtein distance of the words.
+     *
+     * @param first The first word
+     * @param second The second word
+     * @return The number of single character insertions, deletions and substitutions
+     */
+    static int distance(final String first, final String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            final char c = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                final int substitution = previous[j - 1] + (c == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    /**
+     * Node of the tree holding one word. The child at index i is at the distance i from the word.
+     */
+    private static class Node {
+
+        private final String word;
+        private final Set<Long> ids = new HashSet<>();
+        private Node[] children = new Node[0];
+
+        Node(final String word) {
+            this.word = word;
+        }
+    }
+}
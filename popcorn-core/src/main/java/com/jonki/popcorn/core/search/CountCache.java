@@ -0,0 +1,193 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the total counts of the movie search, keyed by the normalized filter criteria.
+ * The whole cache is invalidated after every committed catalog write, a vote invalidates only the counts
+ * filtered by the rating.
+ */
+@Component
+@Slf4j
+public class CountCache {
+
+    private static final String SEPARATOR = "\u0000";
+
+    private final SearchProperties searchProperties;
+    private final Map<String, CachedCount> counts;
+
+    private long generation;
+    private long ratingGeneration;
+
+    /**
+     * Constructor.
+     *
+     * @param searchProperties The search properties to use
+     */
+    @Autowired
+    public CountCache(
+            @NotNull final SearchProperties searchProperties
+    ) {
+        this.searchProperties = searchProperties;
+        this.counts = new LinkedHashMap<String, CachedCount>(16, 0.75f, true) {
+            private static final long serialVersionUID = 3521470926118153047L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedCount> eldest) {
+                return this.size() > searchProperties.getCount().getCacheSize();
+            }
+        };
+    }
+
+    /**
+     * Create the normalized key of the filter criteria. Collections are sorted and deduplicated,
+     * dates are replaced with their time.
+     *
+     * @param criteria The filter criteria
+     * @return The key
+     */
+    public static String key(@NotNull final Object... criteria) {
+        return Stream.of(criteria)
+                .map(CountCache::normalize)
+                .collect(Collectors.joining(SEPARATOR));
+    }
+
+    /**
+     * Get the cached count or compute and cache it.
+     *
+     * @param key The key created by {@link #key(Object...)}
+     * @param counter The function computing the count
+     * @return The count
+     */
+    public long count(@NotNull final String key, @NotNull final Supplier<Long> counter) {
+        return this.count(key, false, counter);
+    }
+
+    /**
+     * Get the cached count or compute and cache it.
+     *
+     * @param key The key created by {@link #key(Object...)}
+     * @param byRating Whether the counted movies are filtered by the rating
+     * @param counter The function computing the count
+     * @return The count
+     */
+    public long count(@NotNull final String key, final boolean byRating, @NotNull final Supplier<Long> counter) {
+        if (!this.searchProperties.getCount().isCacheEnabled()) {
+            return counter.get();
+        }
+
+        final long currentGeneration;
+        final long currentRatingGeneration;
+        synchronized (this.counts) {
+            final CachedCount count = this.counts.get(key);
+            if (count != null) {
+                return count.value;
+            }
+            currentGeneration = this.generation;
+            currentRatingGeneration = this.ratingGeneration;
+        }
+
+        final Long count = counter.get();
+        synchronized (this.counts) {
+            // Don't cache the count computed before the last invalidation
+            if (this.generation == currentGeneration
+                    && (!byRating || this.ratingGeneration == currentRatingGeneration)) {
+                this.counts.put(key, new CachedCount(count, byRating));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove all cached counts.
+     */
+    public void invalidate() {
+        synchronized (this.counts) {
+            this.generation++;
+            this.counts.clear();
+        }
+    }
+
+    /**
+     * Remove the cached counts filtered by the rating.
+     */
+    public void invalidateRatings() {
+        synchronized (this.counts) {
+            this.ratingGeneration++;
+            this.counts.values().removeIf(count -> count.byRating);
+        }
+    }
+
+    /**
+     * Invalidate the cache after the movie has changed.
+     *
+     * @param event The movie changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(final MovieChangedEvent event) {
+        log.debug("Invalidating counts after {}", event);
+        this.invalidate();
+    }
+
+    /**
+     * Invalidate the counts filtered by the rating after the movie has been rated. The other counts don't
+     * depend on the votes.
+     *
+     * @param event The movie rated event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieRated(final MovieRatedEvent event) {
+        log.debug("Invalidating rating counts after {}", event);
+        this.invalidateRatings();
+    }
+
+    private static String normalize(@Nullable final Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).stream()
+                    .filter(Objects::nonNull)
+                    .map(CountCache::normalize)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        } else if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else {
+            return value.toString();
+        }
+    }
+
+    /**
+     * The cached count.
+     */
+    private static final class CachedCount {
+
+        private final long value;
+        private final boolean byRating;
+
+        private CachedCount(final long value, final boolean byRating) {
+            this.value = value;
+            this.byRating = byRating;
+        }
+    }
+}
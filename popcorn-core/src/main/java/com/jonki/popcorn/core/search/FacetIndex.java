@@ -0,0 +1,323 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory bitmap index of the movie facets: type, genres, countries and languages.
+ * Every indexed movie gets a dense ordinal, so the bitmaps stay small regardless of the movie IDs.
+ */
+public class FacetIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final BitSet free = new BitSet();
+    private final BitSet all = new BitSet();
+
+    private final Map<MovieType, BitSet> types = new EnumMap<>(MovieType.class);
+    private final Map<GenreType, BitSet> genres = new EnumMap<>(GenreType.class);
+    private final Map<CountryType, BitSet> countries = new EnumMap<>(CountryType.class);
+    private final Map<LanguageType, BitSet> languages = new EnumMap<>(LanguageType.class);
+
+    /**
+     * Index the facets of the movie. Replaces any facets indexed before for this movie.
+     *
+     * @param entry The facets of the movie
+     */
+    public void put(@NotNull final Entry entry) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(entry.movieId);
+            this.putUnlocked(entry);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the movie from the index.
+     *
+     * @param movieId The movie ID
+     */
+    public void remove(@NotNull final Long movieId) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(movieId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole content of the index.
+     *
+     * @param newEntries The facets of all movies
+     */
+    public void rebuild(@NotNull final Collection<Entry> newEntries) {
+        this.lock.writeLock().lock();
+        try {
+            this.ordinals.clear();
+            this.entries.clear();
+            this.free.clear();
+            this.all.clear();
+            this.types.clear();
+            this.genres.clear();
+            this.countries.clear();
+            this.languages.clear();
+            newEntries.forEach(this::putUnlocked);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed movies.
+     *
+     * @return The number of movies
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.ordinals.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the movies matching the filter. Values of one facet are ORed, facets are ANDed.
+     * Null or empty parameters are ignored.
+     *
+     * @param type The movie type
+     * @param countryTypes List of countries
+     * @param languageTypes List of languages
+     * @param genreTypes List of genres
+     * @return IDs of the matching movies
+     */
+    public Set<Long> search(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countryTypes,
+            @Nullable final Collection<LanguageType> languageTypes,
+            @Nullable final Collection<GenreType> genreTypes
+    ) {
+        this.lock.readLock().lock();
+        try {
+            return this.toIds(this.filter(type, countryTypes, languageTypes, genreTypes, null));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the movies per facet value among the movies matching the filter, in a single pass over the matches.
+     *
+     * @param type The movie type
+     * @param countryTypes List of countries
+     * @param languageTypes List of languages
+     * @param genreTypes List of genres
+     * @param movieIds IDs of the movies matching other criteria or null if there are no other criteria
+     * @return The facet counts
+     */
+    public MovieFacets count(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countryTypes,
+            @Nullable final Collection<LanguageType> languageTypes,
+            @Nullable final Collection<GenreType> genreTypes,
+            @Nullable final Collection<Long> movieIds
+    ) {
+        final Map<MovieType, Long> typeCounts = new EnumMap<>(MovieType.class);
+        final Map<GenreType, Long> genreCounts = new EnumMap<>(GenreType.class);
+        final Map<CountryType, Long> countryCounts = new EnumMap<>(CountryType.class);
+        final Map<LanguageType, Long> languageCounts = new EnumMap<>(LanguageType.class);
+
+        this.lock.readLock().lock();
+        try {
+            final BitSet matches = this.filter(type, countryTypes, languageTypes, genreTypes, movieIds);
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                final Entry entry = this.entries.get(i);
+                typeCounts.merge(entry.type, 1L, Long::sum);
+                entry.genres.forEach(genre -> genreCounts.merge(genre, 1L, Long::sum));
+                entry.countries.forEach(country -> countryCounts.merge(country, 1L, Long::sum));
+                entry.languages.forEach(language -> languageCounts.merge(language, 1L, Long::sum));
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        return new MovieFacets(typeCounts, genreCounts, countryCounts, languageCounts);
+    }
+
+    private BitSet filter(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countryTypes,
+            @Nullable final Collection<LanguageType> languageTypes,
+            @Nullable final Collection<GenreType> genreTypes,
+            @Nullable final Collection<Long> movieIds
+    ) {
+        final BitSet result = (BitSet) this.all.clone();
+        if (type != null) {
+            result.and(this.types.getOrDefault(type, new BitSet()));
+        }
+        and(result, this.countries, countryTypes);
+        and(result, this.languages, languageTypes);
+        and(result, this.genres, genreTypes);
+        if (movieIds != null) {
+            final BitSet ids = new BitSet();
+            movieIds.stream()
+                    .map(this.ordinals::get)
+                    .filter(ordinal -> ordinal != null)
+                    .forEach(ids::set);
+            result.and(ids);
+        }
+        return result;
+    }
+
+    private static <E extends Enum<E>> void and(
+            final BitSet result,
+            final Map<E, BitSet> bitmaps,
+            @Nullable final Collection<E> values
+    ) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        final BitSet union = new BitSet();
+        values.stream()
+                .map(bitmaps::get)
+                .filter(bitmap -> bitmap != null)
+                .forEach(union::or);
+        result.and(union);
+    }
+
+    private Set<Long> toIds(final BitSet bitSet) {
+        final Set<Long> ids = new HashSet<>();
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            ids.add(this.entries.get(i).movieId);
+        }
+        return ids;
+    }
+
+    private void putUnlocked(final Entry entry) {
+        int ordinal = this.free.nextSetBit(0);
+        if (ordinal >= 0) {
+            this.free.clear(ordinal);
+            this.entries.set(ordinal, entry);
+        } else {
+            ordinal = this.entries.size();
+            this.entries.add(entry);
+        }
+        this.ordinals.put(entry.movieId, ordinal);
+        this.all.set(ordinal);
+
+        this.types.computeIfAbsent(entry.type, key -> new BitSet()).set(ordinal);
+        for (final GenreType genre : entry.genres) {
+            this.genres.computeIfAbsent(genre, key -> new BitSet()).set(ordinal);
+        }
+        for (final CountryType country : entry.countries) {
+            this.countries.computeIfAbsent(country, key -> new BitSet()).set(ordinal);
+        }
+        for (final LanguageType language : entry.languages) {
+            this.languages.computeIfAbsent(language, key -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private void removeUnlocked(final Long movieId) {
+        final Integer ordinal = this.ordinals.remove(movieId);
+        if (ordinal == null) {
+            return;
+        }
+        final Entry entry = this.entries.get(ordinal);
+        this.entries.set(ordinal, null);
+        this.free.set(ordinal);
+        this.all.clear(ordinal);
+
+        this.types.get(entry.type).clear(ordinal);
+        entry.genres.forEach(genre -> this.genres.get(genre).clear(ordinal));
+        entry.countries.forEach(country -> this.countries.get(country).clear(ordinal));
+        entry.languages.forEach(language -> this.languages.get(language).clear(ordinal));
+    }
+
+    /**
+     * Facets of one movie.
+     */
+    public static class Entry {
+
+        private final Long movieId;
+        private final MovieType type;
+        private final Set<GenreType> genres = EnumSet.noneOf(GenreType.class);
+        private final Set<CountryType> countries = EnumSet.noneOf(CountryType.class);
+        private final Set<LanguageType> languages = EnumSet.noneOf(LanguageType.class);
+
+        /**
+         * Constructor.
+         *
+         * @param movieId The movie ID
+         * @param type The movie type
+         */
+        public Entry(@NotNull final Long movieId, @NotNull final MovieType type) {
+            this.movieId = movieId;
+            this.type = type;
+        }
+
+        /**
+         * Get the movie ID.
+         *
+         * @return The movie ID
+         */
+        public Long getMovieId() {
+            return this.movieId;
+        }
+
+        /**
+         * Add the genre.
+         *
+         * @param genre The genre
+         * @return The entry
+         */
+        public Entry withGenre(@NotNull final GenreType genre) {
+            this.genres.add(genre);
+            return this;
+        }
+
+        /**
+         * Add the country.
+         *
+         * @param country The country
+         * @return The entry
+         */
+        public Entry withCountry(@NotNull final CountryType country) {
+            this.countries.add(country);
+            return this;
+        }
+
+        /**
+         * Add the language.
+         *
+         * @param language The language
+         * @return The entry
+         */
+        public Entry withLanguage(@NotNull final LanguageType language) {
+            this.languages.add(language);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.Optional;
+
+/**
+ * Page request which asks for keyset (seek) pagination. The first page is fetched by offset,
+ * next pages are fetched after the cursor returned with the previous page. The pages requested
+ * by their number are fetched by offset only, see {@link #of(Pageable, String)}.
+ */
+public class KeysetPageRequest extends PageRequest {
+
+    private static final long serialVersionUID = -5613018702349412856L;
+
+    private final transient SearchCursor after;
+
+    /**
+     * Constructor.
+     *
+     * @param page The page to get
+     * @param after The token of the cursor to get the page after or null for the first page
+     * @throws ResourceBadRequestException if the token is malformed
+     */
+    public KeysetPageRequest(
+            @NotNull final Pageable page,
+            @Nullable final String after
+    ) throws ResourceBadRequestException {
+        super(page.getPageNumber(), page.getPageSize(), page.getSort());
+        this.after = after != null ? SearchCursor.decode(after) : null;
+    }
+
+    /**
+     * Create the page request for the paging parameters of a request. Keyset pagination is used for the first page,
+     * which returns the cursor to the next one, and for the pages after a cursor. Other pages are requested by
+     * their number, so they're fetched by offset without the cursor.
+     *
+     * @param page The page to get
+     * @param after The token of the cursor to get the page after or null
+     * @return The keyset page request or the page if it's fetched by offset
+     * @throws ResourceBadRequestException if the token is malformed
+     */
+    public static Pageable of(
+            @NotNull final Pageable page,
+            @Nullable final String after
+    ) throws ResourceBadRequestException {
+        return after != null || page.getPageNumber() == 0 ? new KeysetPageRequest(page, after) : page;
+    }
+
+    /**
+     * Get the cursor to get the page after.
+     *
+     * @return The cursor or empty for the first page
+     */
+    public Optional<SearchCursor> getAfter() {
+        return Optional.ofNullable(this.after);
+    }
+}
@@ -0,0 +1,475 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe in-memory prefix trie of movie titles for the typeahead suggestions.
+ * Every word of a title starts a key, so "mat" suggests "The Matrix". Every node keeps
+ * the best movies below it, so a lookup only walks the prefix.
+ * <p>
+ * The nodes are packed into arrays, children of a node are stored next to each other sorted by their label.
+ * The packed arrays are never changed, a lookup reads them without a lock. Changes of the titles are packed again
+ * by the executor and the new arrays replace the old ones at once. A change of the rank replaces the movie
+ * in the packed arrays in place, the lookup orders the movies by their current rank. The best movies of the nodes
+ * follow the new rank after the next packing, which the change of the rank requests too.
+ */
+public class PrefixTrie {
+
+    /**
+     * Maximum length of the indexed keys. Longer prefixes are answered from the node at this depth.
+     */
+    public static final int MAX_KEY_LENGTH = 32;
+
+    private static final Comparator<Entry> BY_POPULARITY = Comparator
+            .comparing((Entry entry) -> entry.rating, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(entry -> entry.favoriteCount, Comparator.reverseOrder())
+            .thenComparing(entry -> entry.movieId);
+
+    private final int topK;
+    private final Executor executor;
+    private final Object lock = new Object();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final AtomicBoolean packRequested = new AtomicBoolean();
+
+    private long version;
+    private volatile Packed packed = new Packed();
+
+    /**
+     * Constructor. The changes are packed by the thread which made them.
+     *
+     * @param topK The number of the best movies kept for each prefix
+     */
+    public PrefixTrie(final int topK) {
+        this(topK, Runnable::run);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param topK The number of the best movies kept for each prefix
+     * @param executor The executor packing the changes
+     */
+    public PrefixTrie(final int topK, @NotNull final Executor executor) {
+        this.topK = topK;
+        this.executor = executor;
+    }
+
+    /**
+     * Index the movie. Replaces the movie indexed before.
+     *
+     * @param entry The movie
+     */
+    public void put(@NotNull final Entry entry) {
+        synchronized (this.lock) {
+            this.entries.put(entry.movieId, entry);
+            this.version++;
+        }
+        this.requestPack();
+    }
+
+    /**
+     * Change the rank of the indexed movie without packing the trie on the caller's thread.
+     *
+     * @param movieId The movie ID
+     * @param rating The movie rating
+     * @param favoriteCount The number of users who favorited the movie
+     */
+    public void rank(@NotNull final Long movieId, @Nullable final Float rating, final int favoriteCount) {
+        synchronized (this.lock) {
+            final Entry entry = this.entries.get(movieId);
+            if (entry == null || (Objects.equals(entry.rating, rating) && entry.favoriteCount == favoriteCount)) {
+                return;
+            }
+
+            final Entry ranked = new Entry(entry, rating, favoriteCount);
+            this.entries.put(movieId, ranked);
+            this.version++;
+
+            final Integer ordinal = this.packed.ordinals.get(movieId);
+            if (ordinal != null) {
+                this.packed.entries.set(ordinal, ranked);
+            }
+        }
+        this.requestPack();
+    }
+
+    /**
+     * Remove the movie from the index.
+     *
+     * @param movieId The movie ID
+     */
+    public void remove(@NotNull final Long movieId) {
+        synchronized (this.lock) {
+            if (this.entries.remove(movieId) == null) {
+                return;
+            }
+            this.version++;
+        }
+        this.requestPack();
+    }
+
+    /**
+     * Replace the whole content of the index.
+     *
+     * @param newEntries All movies
+     */
+    public void rebuild(@NotNull final Collection<Entry> newEntries) {
+        synchronized (this.lock) {
+            this.entries.clear();
+            newEntries.forEach(entry -> this.entries.put(entry.movieId, entry));
+            this.version++;
+        }
+        this.pack();
+    }
+
+    /**
+     * Get the number of indexed movies.
+     *
+     * @return The number of movies
+     */
+    public int size() {
+        synchronized (this.lock) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Find the best movies with a title word starting with the prefix. Case and diacritics are ignored.
+     *
+     * @param prefix The prefix typed by the user
+     * @param limit Maximum number of movies, at most the top K of the trie
+     * @return The movies, the best first
+     */
+    public List<Entry> suggest(@NotNull final String prefix, final int limit) {
+        final String normalized = SearchText.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Packed current = this.packed;
+        int node = 0;
+        final int depth = Math.min(normalized.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < depth; i++) {
+            node = current.findChild(node, normalized.charAt(i));
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+
+        final List<Entry> result = new ArrayList<>();
+        for (int i = current.topStart[node]; i < current.topStart[node + 1]; i++) {
+            final Entry entry = current.entries.get(current.top[i]);
+            if (depth == normalized.length() || entry.matches(normalized)) {
+                result.add(entry);
+            }
+        }
+        result.sort(BY_POPULARITY);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Pack the changes by the executor, unless the packing has already been requested and hasn't started yet.
+     */
+    private void requestPack() {
+        if (this.packRequested.compareAndSet(false, true)) {
+            this.executor.execute(() -> {
+                this.packRequested.set(false);
+                this.pack();
+            });
+        }
+    }
+
+    private void pack() {
+        final Entry[] newEntries;
+        final long packedVersion;
+        synchronized (this.lock) {
+            newEntries = this.entries.values().toArray(new Entry[this.entries.size()]);
+            packedVersion = this.version;
+        }
+
+        final Node root = new Node('\0');
+        for (int ordinal = 0; ordinal < newEntries.length; ordinal++) {
+            for (final String key : newEntries[ordinal].keys) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), Node::new);
+                    node.offer(ordinal, newEntries, this.topK);
+                }
+            }
+        }
+
+        // Breadth-first order keeps the children of every node next to each other
+        final List<Node> nodes = new ArrayList<>();
+        final Queue<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            nodes.add(node);
+            queue.addAll(node.children.values());
+        }
+
+        final Packed newPacked = new Packed(nodes, newEntries, packedVersion);
+        synchronized (this.lock) {
+            // Keep the arrays packed from the later changes
+            if (newPacked.version > this.packed.version) {
+                // Replay the ranks changed while packing
+                for (int ordinal = 0; ordinal < newEntries.length; ordinal++) {
+                    final Entry entry = this.entries.get(newEntries[ordinal].movieId);
+                    if (entry != null && entry != newEntries[ordinal] && entry.keys.equals(newEntries[ordinal].keys)) {
+                        newPacked.entries.set(ordinal, entry);
+                    }
+                }
+                this.packed = newPacked;
+            }
+        }
+    }
+
+    /**
+     * The nodes of the trie packed into arrays.
+     */
+    private static final class Packed {
+
+        private final char[] labels;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[] topStart;
+        private final int[] top;
+        private final AtomicReferenceArray<Entry> entries;
+        private final Map<Long, Integer> ordinals;
+        private final long version;
+
+        /**
+         * Create the empty trie.
+         */
+        private Packed() {
+            this.labels = new char[1];
+            this.firstChild = new int[1];
+            this.childCount = new int[1];
+            this.topStart = new int[2];
+            this.top = new int[0];
+            this.entries = new AtomicReferenceArray<>(0);
+            this.ordinals = Collections.emptyMap();
+            this.version = -1;
+        }
+
+        /**
+         * Pack the nodes.
+         *
+         * @param nodes The nodes in the breadth-first order
+         * @param entries The movies referenced by their ordinal from the nodes
+         * @param version The version of the movies
+         */
+        private Packed(final List<Node> nodes, final Entry[] entries, final long version) {
+            final int size = nodes.size();
+            this.labels = new char[size];
+            this.firstChild = new int[size];
+            this.childCount = new int[size];
+            this.topStart = new int[size + 1];
+            int next = 1;
+            int topSize = 0;
+            for (int i = 0; i < size; i++) {
+                final Node node = nodes.get(i);
+                this.labels[i] = node.label;
+                this.firstChild[i] = next;
+                this.childCount[i] = node.children.size();
+                next += node.children.size();
+                this.topStart[i] = topSize;
+                topSize += node.top.size();
+            }
+            this.topStart[size] = topSize;
+
+            this.top = new int[topSize];
+            for (int i = 0; i < size; i++) {
+                final List<Integer> nodeTop = nodes.get(i).top;
+                for (int j = 0; j < nodeTop.size(); j++) {
+                    this.top[this.topStart[i] + j] = nodeTop.get(j);
+                }
+            }
+
+            this.entries = new AtomicReferenceArray<>(entries);
+            this.ordinals = new HashMap<>();
+            for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+                this.ordinals.put(entries[ordinal].movieId, ordinal);
+            }
+            this.version = version;
+        }
+
+        private int findChild(final int node, final char label) {
+            int low = this.firstChild[node];
+            int high = low + this.childCount[node] - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (this.labels[middle] < label) {
+                    low = middle + 1;
+                } else if (this.labels[middle] > label) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Node of the trie used while packing.
+     */
+    private static class Node {
+
+        private final char label;
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final List<Integer> top = new ArrayList<>();
+
+        Node(final char label) {
+            this.label = label;
+        }
+
+        void offer(final int ordinal, final Entry[] entries, final int topK) {
+            if (this.top.contains(ordinal)) {
+                return;
+            }
+            int position = this.top.size();
+            while (position > 0 && BY_POPULARITY.compare(entries[this.top.get(position - 1)], entries[ordinal]) > 0) {
+                position--;
+            }
+            if (position < topK) {
+                this.top.add(position, ordinal);
+                if (this.top.size() > topK) {
+                    this.top.remove(topK);
+                }
+            }
+        }
+    }
+
+    /**
+     * Movie suggested by the trie.
+     */
+    public static class Entry {
+
+        private final Long movieId;
+        private final String title;
+        private final MovieType type;
+        private final Float rating;
+        private final int favoriteCount;
+        private final Set<String> titles;
+        private final Set<String> keys;
+
+        /**
+         * Constructor.
+         *
+         * @param movieId The movie ID
+         * @param title The title of the movie
+         * @param type The movie type
+         * @param rating The movie rating
+         * @param favoriteCount The number of users who favorited the movie
+         * @param titles All accepted titles of the movie
+         */
+        public Entry(
+                @NotNull final Long movieId,
+                @NotNull final String title,
+                @NotNull final MovieType type,
+                @Nullable final Float rating,
+                final int favoriteCount,
+                @NotNull final Collection<String> titles
+        ) {
+            this.movieId = movieId;
+            this.title = title;
+            this.type = type;
+            this.rating = rating;
+            this.favoriteCount = favoriteCount;
+
+            this.titles = new HashSet<>();
+            this.keys = new HashSet<>();
+            for (final String movieTitle : titles) {
+                final String normalized = SearchText.normalize(movieTitle);
+                this.titles.add(normalized);
+                for (int i = 0; i < normalized.length(); i++) {
+                    if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                        this.keys.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Copy the movie with the new rank.
+         *
+         * @param entry The movie
+         * @param rating The movie rating
+         * @param favoriteCount The number of users who favorited the movie
+         */
+        private Entry(final Entry entry, @Nullable final Float rating, final int favoriteCount) {
+            this.movieId = entry.movieId;
+            this.title = entry.title;
+            this.type = entry.type;
+            this.rating = rating;
+            this.favoriteCount = favoriteCount;
+            this.titles = entry.titles;
+            this.keys = entry.keys;
+        }
+
+        /**
+         * Get the movie ID.
+         *
+         * @return The movie ID
+         */
+        public Long getMovieId() {
+            return this.movieId;
+        }
+
+        /**
+         * Get the title of the movie.
+         *
+         * @return The title
+         */
+        public String getTitle() {
+            return this.title;
+        }
+
+        /**
+         * Get the movie type.
+         *
+         * @return The type
+         */
+        public MovieType getType() {
+            return this.type;
+        }
+
+        /**
+         * Get the movie rating.
+         *
+         * @return The rating or null if the movie hasn't been rated yet
+         */
+        public Float getRating() {
+            return this.rating;
+        }
+
+        private boolean matches(final String prefix) {
+            for (final String movieTitle : this.titles) {
+                if (movieTitle.startsWith(prefix) || movieTitle.contains(" " + prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
+import org.springframework.data.domain.Sort;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque position in the sorted search results. Holds the sort values and the ID of the last row of the page.
+ */
+public final class SearchCursor {
+
+    private static final int VERSION = 1;
+
+    private final String sort;
+    private final List<String> values;
+
+    private SearchCursor(final String sort, final List<String> values) {
+        this.sort = sort;
+        this.values = values;
+    }
+
+    /**
+     * Create the cursor pointing after the row with the given sort values.
+     *
+     * @param sort The sort of the results, including the ID tie-breaker
+     * @param values The sort values of the last row, in the order of the sort
+     * @return The cursor
+     */
+    public static SearchCursor of(@NotNull final Sort sort, @NotNull final List<?> values) {
+        return new SearchCursor(
+                signature(sort),
+                Collections.unmodifiableList(values.stream().map(SearchCursor::format).collect(Collectors.toList()))
+        );
+    }
+
+    /**
+     * Decode the token created by {@link #encode()}.
+     *
+     * @param token The token
+     * @return The cursor
+     * @throws ResourceBadRequestException if the token is malformed
+     */
+    public static SearchCursor decode(@NotNull final String token) throws ResourceBadRequestException {
+        try (final DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token))
+        )) {
+            if (in.readByte() != VERSION) {
+                throw new ResourceBadRequestException("Unsupported cursor version");
+            }
+            final String sort = in.readUTF();
+            final int size = in.readUnsignedByte();
+            final List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(in.readBoolean() ? in.readUTF() : null);
+            }
+            return new SearchCursor(sort, Collections.unmodifiableList(values));
+        } catch (final IOException | IllegalArgumentException e) {
+            throw new ResourceBadRequestException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * Encode the cursor as an URL-safe token.
+     *
+     * @return The token
+     */
+    public String encode() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(this.sort);
+            out.writeByte(this.values.size());
+            for (final String value : this.values) {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    out.writeUTF(value);
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Check whether the cursor has been created for the given sort.
+     *
+     * @param sort The sort, including the ID tie-breaker
+     * @return True if the sort is the same
+     */
+    public boolean matches(@NotNull final Sort sort) {
+        return this.sort.equals(signature(sort)) && this.values.size() == sort.stream().count();
+    }
+
+    /**
+     * Get the sort value converted to the given type.
+     *
+     * @param index The index of the sort order
+     * @param type The type of the sorted attribute
+     * @return The value or null if the row had no value
+     * @throws ResourceBadRequestException if the value can't be converted
+     */
+    @Nullable
+    public Object getValue(final int index, @NotNull final Class<?> type) throws ResourceBadRequestException {
+        final String value = this.values.get(index);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parse(value, type);
+        } catch (final IllegalArgumentException e) {
+            throw new ResourceBadRequestException("Malformed cursor", e);
+        }
+    }
+
+    private static String signature(final Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+
+    private static String format(@Nullable final Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Timestamp) {
+            return ((Timestamp) value).getTime() + "." + ((Timestamp) value).getNanos();
+        } else if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else {
+            return value.toString();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(final String value, final Class<?> type) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Long.class || type == long.class) {
+            return Long.valueOf(value);
+        } else if (type == Integer.class || type == int.class) {
+            return Integer.valueOf(value);
+        } else if (type == Float.class || type == float.class) {
+            return Float.valueOf(value);
+        } else if (type == Double.class || type == double.class) {
+            return Double.valueOf(value);
+        } else if (type == Boolean.class || type == boolean.class) {
+            return Boolean.valueOf(value);
+        } else if (Date.class.isAssignableFrom(type)) {
+            final int dot = value.indexOf('.');
+            if (dot < 0) {
+                return new Date(Long.parseLong(value));
+            }
+            final Timestamp timestamp = new Timestamp(Long.parseLong(value.substring(0, dot)));
+            timestamp.setNanos(Integer.parseInt(value.substring(dot + 1)));
+            return timestamp;
+        } else if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+        throw new IllegalArgumentException("Unsupported sort type " + type);
+    }
+}
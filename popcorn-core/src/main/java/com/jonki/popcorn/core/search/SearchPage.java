@@ -0,0 +1,80 @@
+package com.jonki.popcorn.core.search;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Page of search results with the cursor to the next page. The total may be estimated.
+ *
+ * @param <T> The type of the search result
+ */
+public class SearchPage<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 2085617419853069582L;
+
+    private final String nextCursor;
+    private final boolean totalExact;
+
+    /**
+     * Constructor.
+     *
+     * @param content The content of the page
+     * @param pageable The page request
+     * @param total The total number of results
+     * @param nextCursor The token of the cursor to the next page or null if there's no next page or keyset
+     *                   pagination wasn't requested
+     */
+    public SearchPage(
+            @NotNull final List<T> content,
+            @NotNull final Pageable pageable,
+            final long total,
+            @Nullable final String nextCursor
+    ) {
+        this(content, pageable, total, true, nextCursor);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param content The content of the page
+     * @param pageable The page request
+     * @param total The total number of results
+     * @param totalExact Whether the total is exact or estimated
+     * @param nextCursor The token of the cursor to the next page or null if there's no next page or keyset
+     *                   pagination wasn't requested
+     */
+    public SearchPage(
+            @NotNull final List<T> content,
+            @NotNull final Pageable pageable,
+            final long total,
+            final boolean totalExact,
+            @Nullable final String nextCursor
+    ) {
+        super(content, pageable, total);
+        this.nextCursor = nextCursor;
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * Check whether the total number of results is exact.
+     *
+     * @return False if the total has been estimated from the database statistics
+     */
+    public boolean isTotalExact() {
+        return this.totalExact;
+    }
+
+    /**
+     * Get the token of the cursor to the next page.
+     *
+     * @return The token or empty if there's no next page
+     */
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(this.nextCursor);
+    }
+}
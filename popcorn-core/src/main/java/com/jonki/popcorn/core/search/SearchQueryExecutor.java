@@ -0,0 +1,178 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.core.properties.SearchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executes the count and the content query of a paged search.
+ * <p>
+ * In the parallel mode the count query runs on a bounded pool in its own read-only transaction, so on its own
+ * pooled connection, while the content query runs in the transaction of the caller. When the pool is saturated
+ * the caller runs the count query itself. Otherwise the count query runs first and the content query is skipped
+ * when nothing matches.
+ */
+@Component
+public class SearchQueryExecutor implements DisposableBean {
+
+    private static final String TIMER_NAME = "popcorn.search.query";
+
+    private final SearchProperties searchProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param searchProperties The search properties to use
+     * @param transactionManager The transaction manager to use
+     * @param meterRegistry The meter registry to use, the global registry if there is none
+     */
+    @Autowired
+    public SearchQueryExecutor(
+            @NotNull final SearchProperties searchProperties,
+            @NotNull final PlatformTransactionManager transactionManager,
+            @NotNull final ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(searchProperties, transactionManager, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param searchProperties The search properties to use
+     * @param transactionManager The transaction manager to use
+     * @param meterRegistry The meter registry to use
+     */
+    public SearchQueryExecutor(
+            @NotNull final SearchProperties searchProperties,
+            @NotNull final PlatformTransactionManager transactionManager,
+            @NotNull final MeterRegistry meterRegistry
+    ) {
+        this.searchProperties = searchProperties;
+        this.meterRegistry = meterRegistry;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+
+        final SearchProperties.Parallel parallel = searchProperties.getParallel();
+        this.executor = new ThreadPoolExecutor(
+                parallel.getPoolSize(),
+                parallel.getPoolSize(),
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallel.getQueueCapacity()),
+                new CustomizableThreadFactory("search-count-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Execute the count and the content query of the search.
+     *
+     * @param search The name of the search, used to tag the metrics
+     * @param count The count query
+     * @param content The content query
+     * @param <T> The type of the search result
+     * @return The results of the queries
+     */
+    public <T> Result<T> execute(
+            @NotNull final String search,
+            @NotNull final Supplier<Long> count,
+            @NotNull final Supplier<List<T>> content
+    ) {
+        final Timer countTimer = this.meterRegistry.timer(TIMER_NAME, "search", search, "query", "count");
+        final Timer contentTimer = this.meterRegistry.timer(TIMER_NAME, "search", search, "query", "content");
+
+        if (!this.searchProperties.getParallel().isEnabled()) {
+            final long total = countTimer.record(count);
+            return new Result<>(total, total > 0 ? contentTimer.record(content) : null);
+        }
+
+        final Future<Long> totalFuture = this.executor.submit(
+                () -> countTimer.record(() -> this.transactionTemplate.execute(status -> count.get()))
+        );
+        final List<T> results;
+        try {
+            results = contentTimer.record(content);
+        } catch (final RuntimeException e) {
+            totalFuture.cancel(true);
+            throw e;
+        }
+
+        try {
+            return new Result<>(totalFuture.get(), results);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the count of the " + search + " search", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Can't count the results of the " + search + " search", e.getCause());
+        }
+    }
+
+    /**
+     * Stop the pool when the application context is closed.
+     */
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Results of the count and the content query.
+     *
+     * @param <T> The type of the search result
+     */
+    public static class Result<T> {
+
+        private final long count;
+        private final List<T> content;
+
+        Result(final long count, final List<T> content) {
+            this.count = count;
+            this.content = content;
+        }
+
+        /**
+         * Get the total number of results.
+         *
+         * @return The number of results
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Get the results of the content query.
+         *
+         * @return The results or null if the content query has been skipped
+         */
+        public List<T> getContent() {
+            return this.content;
+        }
+    }
+}
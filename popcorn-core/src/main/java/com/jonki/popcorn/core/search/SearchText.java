@@ -0,0 +1,45 @@
+package com.jonki.popcorn.core.search;
+
+import javax.validation.constraints.NotNull;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility methods for normalizing the searched titles.
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchText() {
+    }
+
+    /**
+     * Normalize the text. Lower-cases it, strips the diacritics and replaces the punctuation with single spaces.
+     *
+     * @param value The text
+     * @return The normalized text
+     */
+    public static String normalize(@NotNull final String value) {
+        final String withoutMarks = MARKS
+                .matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+                .replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Split the text into normalized words.
+     *
+     * @param value The text
+     * @return The words
+     */
+    public static List<String> words(@NotNull final String value) {
+        final String normalized = normalize(value);
+        return normalized.isEmpty() ? Collections.emptyList() : Arrays.asList(normalized.split(" "));
+    }
+}
@@ -0,0 +1,35 @@
+package com.jonki.popcorn.core.search;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Strategy of the database title search ranking the movies of the relevance sort. The first available backend
+ * in the order of the beans is used. The other sorts match the titles by the substrings of the LIKE predicate,
+ * which the backends don't have to keep.
+ */
+public interface TitleSearchBackend {
+
+    /**
+     * Check whether the backend can be used with the current database.
+     *
+     * @return True if the backend is available
+     */
+    boolean isAvailable();
+
+    /**
+     * Find IDs of accepted movies with at least one accepted title matching the given phrase,
+     * the most relevant first.
+     *
+     * @param title The phrase to search for
+     * @param maxResults Maximum number of IDs
+     * @return The ranked IDs or empty if the backend doesn't rank the titles or more movies match,
+     * in which case the LIKE predicate is used
+     */
+    Optional<List<Long>> findRankedMovieIds(
+            @NotNull final String title,
+            @Min(1) final int maxResults
+    );
+}
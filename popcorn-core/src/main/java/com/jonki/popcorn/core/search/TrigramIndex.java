@@ -0,0 +1,194 @@
+package com.jonki.popcorn.core.search;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory trigram index of movie titles.
+ * Answers "title contains phrase" queries with a set of candidate movie IDs.
+ */
+public class TrigramIndex {
+
+    /**
+     * Minimal length of the phrase the index can answer.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> titles = new HashMap<>();
+
+    /**
+     * Index the titles of the movie. Replaces any titles indexed before for this movie.
+     *
+     * @param movieId The movie ID
+     * @param movieTitles The movie titles
+     */
+    public void put(@NotNull final Long movieId, @NotNull final Collection<String> movieTitles) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(movieId);
+            this.putUnlocked(movieId, movieTitles);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the movie from the index.
+     *
+     * @param movieId The movie ID
+     */
+    public void remove(@NotNull final Long movieId) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeUnlocked(movieId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole content of the index.
+     *
+     * @param movieTitles The titles grouped by movie ID
+     */
+    public void rebuild(@NotNull final Map<Long, ? extends Collection<String>> movieTitles) {
+        this.lock.writeLock().lock();
+        try {
+            this.postings.clear();
+            this.titles.clear();
+            movieTitles.forEach(this::putUnlocked);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed movies.
+     *
+     * @return The number of movies
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.titles.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the movies with at least one title containing the phrase. Case is ignored.
+     *
+     * @param phrase The phrase to search for
+     * @return IDs of the matching movies or empty if the phrase is too short to be answered by the index
+     */
+    public Optional<Set<Long>> search(@NotNull final String phrase) {
+        final String normalized = normalize(phrase);
+        if (normalized.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            final List<Set<Long>> lists = new ArrayList<>();
+            for (final String gram : grams(normalized)) {
+                final Set<Long> ids = this.postings.get(gram);
+                if (ids == null) {
+                    return Optional.of(Collections.emptySet());
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            final Set<Long> result = new HashSet<>();
+            for (final Long id : lists.get(0)) {
+                if (this.containsAll(lists, id) && this.matches(id, normalized)) {
+                    result.add(id);
+                }
+            }
+            return Optional.of(result);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private boolean containsAll(final List<Set<Long>> lists, final Long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(final Long id, final String phrase) {
+        for (final String title : this.titles.get(id)) {
+            if (title.contains(phrase)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putUnlocked(final Long movieId, final Collection<String> movieTitles) {
+        final Set<String> normalized = new HashSet<>();
+        for (final String title : movieTitles) {
+            if (title != null) {
+                normalized.add(normalize(title));
+            }
+        }
+        if (normalized.isEmpty()) {
+            return;
+        }
+        this.titles.put(movieId, normalized);
+        for (final String title : normalized) {
+            for (final String gram : grams(title)) {
+                this.postings.computeIfAbsent(gram, key -> new HashSet<>()).add(movieId);
+            }
+        }
+    }
+
+    private void removeUnlocked(final Long movieId) {
+        final Set<String> old = this.titles.remove(movieId);
+        if (old == null) {
+            return;
+        }
+        for (final String title : old) {
+            for (final String gram : grams(title)) {
+                final Set<Long> ids = this.postings.get(gram);
+                if (ids != null) {
+                    ids.remove(movieId);
+                    if (ids.isEmpty()) {
+                        this.postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String normalize(final String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(final String value) {
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * In-memory data structures used to answer movie searches without touching the database.
+ */
+
+package com.jonki.popcorn.core.search;
@@ -17,7 +17,7 @@ import com.jonki.popcorn.common.dto.movie.Synopsis;
 import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
 import com.jonki.popcorn.common.dto.search.ContributionSearchResult;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
-import org.springframework.data.domain.Page;
+import com.jonki.popcorn.core.search.SearchPage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.validation.annotation.Validated;
 
@@ -40,11 +40,11 @@ public interface MovieContributionSearchService {
      * @param status  The contribution's status
      * @param fromDate  Min date of the contribution
      * @param toDate  Max date of the contribution
-     * @param page  The page to get
+     * @param page  The page to get, a KeysetPageRequest for keyset pagination
      * @return All the contributions matching the criteria
      * @throws ResourceNotFoundException if no movie found
      */
-    Page<ContributionSearchResult> findContributions(
+    SearchPage<ContributionSearchResult> findContributions(
             @Nullable @Min(1) final Long id,
             @Nullable final MovieField field,
             @Nullable final DataStatus status,
@@ -0,0 +1,107 @@
+package com.jonki.popcorn.core.service;
+
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
+import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import org.springframework.validation.annotation.Validated;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Interface for in-memory movie indexes.
+ */
+@Validated
+public interface MovieIndexService {
+
+    /**
+     * Find IDs of accepted movies with at least one accepted title containing the given phrase.
+     *
+     * @param title The phrase to search for
+     * @return IDs of the matching movies or empty if the index can't answer the query
+     */
+    Optional<Set<Long>> findMovieIdsByTitle(
+            @NotNull final String title
+    );
+
+    /**
+     * Find IDs of accepted movies with an accepted title word close to every word of the phrase.
+     *
+     * @param title The phrase to search for, possibly misspelled
+     * @return The edit distances by ID of the matching movies or empty if the index can't answer the query
+     */
+    Optional<Map<Long, Integer>> findMovieIdsByFuzzyTitle(
+            @NotNull final String title
+    );
+
+    /**
+     * Find IDs of accepted movies matching the facet filter. Values of one facet are ORed, facets are ANDed.
+     * Null or empty parameters are ignored.
+     *
+     * @param type The movie type
+     * @param countries List of countries
+     * @param languages List of languages
+     * @param genres List of genres
+     * @return IDs of the matching movies or empty if the index can't answer the query
+     */
+    Optional<Set<Long>> findMovieIdsByFacets(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countries,
+            @Nullable final Collection<LanguageType> languages,
+            @Nullable final Collection<GenreType> genres
+    );
+
+    /**
+     * Count accepted movies matching the facet filter per value of each facet.
+     *
+     * @param type The movie type
+     * @param countries List of countries
+     * @param languages List of languages
+     * @param genres List of genres
+     * @param ids IDs of the movies matching the other criteria or null if there are no other criteria
+     * @return The facet counts or empty if the index can't answer the query
+     */
+    Optional<MovieFacets> countFacets(
+            @Nullable final MovieType type,
+            @Nullable final Collection<CountryType> countries,
+            @Nullable final Collection<LanguageType> languages,
+            @Nullable final Collection<GenreType> genres,
+            @Nullable final Collection<Long> ids
+    );
+
+    /**
+     * Find the best accepted movies with an accepted title word starting with the prefix.
+     *
+     * @param prefix The prefix typed by the user
+     * @param limit Maximum number of movies
+     * @return The movies ordered by rating and favorites or empty if the index can't answer the query
+     */
+    Optional<List<MovieSearchResult>> suggestMovies(
+            @NotBlank final String prefix,
+            @Min(1) final int limit
+    );
+
+    /**
+     * Build all indexes from the database.
+     */
+    void rebuild();
+
+    /**
+     * Reload the movie from the database into all indexes.
+     *
+     * @param id The movie ID
+     */
+    void reindexMovie(
+            @Min(1) final Long id
+    );
+}
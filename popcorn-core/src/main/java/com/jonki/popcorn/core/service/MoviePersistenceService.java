@@ -416,6 +416,17 @@ public interface MoviePersistenceService {
             @NotNull @Valid RateRequest rateRequest
     ) throws ResourceNotFoundException, ResourceConflictException;
 
+    /**
+     * Delete the user's rating for the movie.
+     *
+     * @param id The movie ID
+     * @throws ResourceNotFoundException if no movie found or no user found
+     * @throws ResourceConflictException if the user hasn't rated the movie
+     */
+    void deleteRating(
+            @Min(1) final Long id
+    ) throws ResourceNotFoundException, ResourceConflictException;
+
     /**
      * Add a movie to your favourites list.
      *
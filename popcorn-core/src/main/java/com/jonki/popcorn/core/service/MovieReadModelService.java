@@ -0,0 +1,27 @@
+package com.jonki.popcorn.core.service;
+
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Interface for maintaining the movie search read model.
+ */
+@Validated
+public interface MovieReadModelService {
+
+    /**
+     * Recreate the read model of the movie from its current state. The read model of a movie
+     * which isn't accepted is removed.
+     *
+     * @param id The movie ID
+     */
+    void refresh(
+            @Min(1) final Long id
+    );
+
+    /**
+     * Recreate the read model of all movies.
+     */
+    void rebuild();
+}
@@ -1,6 +1,7 @@
 package com.jonki.popcorn.core.service;
 
 import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.MovieRelation;
 import com.jonki.popcorn.common.dto.UserMovie;
 import com.jonki.popcorn.common.dto.movie.BoxOffice;
 import com.jonki.popcorn.common.dto.movie.Country;
@@ -15,22 +16,34 @@ import com.jonki.popcorn.common.dto.movie.Summary;
 import com.jonki.popcorn.common.dto.movie.Synopsis;
 import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
 import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingHistogram;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
 import com.jonki.popcorn.common.dto.movie.type.CountryType;
 import com.jonki.popcorn.common.dto.movie.type.GenreType;
 import com.jonki.popcorn.common.dto.movie.type.LanguageType;
 import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
 import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
-import org.springframework.data.domain.Page;
+import com.jonki.popcorn.core.search.SearchPage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interface for searching movies.
@@ -50,10 +63,11 @@ public interface MovieSearchService {
      * @param genres  List of genres
      * @param minRating  Minimal rating
      * @param maxRating  Maximum rating
-     * @param page  The page to get
+     * @param page  The page to get, a KeysetPageRequest for keyset pagination.
+     *              Sorted by "relevance" ranks the movies by the title match, without keyset pagination
      * @return All the movies matching the criteria
      */
-    Page<MovieSearchResult> findMovies(
+    SearchPage<MovieSearchResult> findMovies(
             @Nullable final String title,
             @Nullable final MovieType type,
             @Nullable final Date fromDate,
@@ -66,6 +80,136 @@ public interface MovieSearchService {
             @NotNull final Pageable page
     );
 
+    /**
+     * Search for movies with a title close to the possibly misspelled title which match the other filter criteria.
+     * Null or empty parameters are ignored.
+     *
+     * @param title  The movie's title, words within the configured edit distance match
+     * @param type  The movie's type
+     * @param fromDate  Min time when the movie was premiered
+     * @param toDate  Max time when the movie was premiered
+     * @param countries  List of countries
+     * @param languages  List of languages
+     * @param genres  List of genres
+     * @param minRating  Minimal rating
+     * @param maxRating  Maximum rating
+     * @param page  The page to get, without keyset pagination. The sort is ignored
+     * @return The matching movies ordered by the edit distance, rating and favorites
+     */
+    SearchPage<MovieSearchResult> findMoviesByFuzzyTitle(
+            @NotBlank final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            @NotNull final Pageable page
+    );
+
+    /**
+     * Stream all movies which match the given filter criteria in the order of their IDs. Null or empty parameters
+     * are ignored. The movies aren't counted and are read from a database cursor, so any number of movies can be
+     * exported with constant memory.
+     *
+     * @param title  The movie's title
+     * @param type  The movie's type
+     * @param fromDate  Min time when the movie was premiered
+     * @param toDate  Max time when the movie was premiered
+     * @param countries  List of countries
+     * @param languages  List of languages
+     * @param genres  List of genres
+     * @param minRating  Minimal rating
+     * @param maxRating  Maximum rating
+     * @param consumer  The consumer of the movies, called while the cursor is open
+     * @return The number of exported movies
+     */
+    long exportMovies(
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating,
+            @NotNull final Consumer<MovieSearchResult> consumer
+    );
+
+    /**
+     * Count movies which match the given filter criteria per type, genre, country and language.
+     * Null or empty parameters are ignored.
+     *
+     * @param title  The movie's title
+     * @param type  The movie's type
+     * @param fromDate  Min time when the movie was premiered
+     * @param toDate  Max time when the movie was premiered
+     * @param countries  List of countries
+     * @param languages  List of languages
+     * @param genres  List of genres
+     * @param minRating  Minimal rating
+     * @param maxRating  Maximum rating
+     * @return The number of matching movies per facet value
+     */
+    MovieFacets getFacets(
+            @Nullable final String title,
+            @Nullable final MovieType type,
+            @Nullable final Date fromDate,
+            @Nullable final Date toDate,
+            @Nullable final List<CountryType> countries,
+            @Nullable final List<LanguageType> languages,
+            @Nullable final List<GenreType> genres,
+            @Nullable final Integer minRating,
+            @Nullable final Integer maxRating
+    );
+
+    /**
+     * Suggest movies for the typeahead.
+     *
+     * @param prefix The prefix of a title word typed by the user
+     * @param limit Maximum number of movies
+     * @return The best matching movies ordered by rating
+     */
+    List<MovieSearchResult> suggestMovies(
+            @NotBlank final String prefix,
+            @Min(1) final int limit
+    );
+
+    /**
+     * Get the movies by IDs in one lookup.
+     *
+     * @param ids The movie IDs
+     * @return The movies in the order of the IDs, null for every ID of no movie
+     * @throws ResourceBadRequestException if there are more IDs than allowed in one lookup
+     */
+    List<MovieSearchResult> getMovies(
+            @NotEmpty final List<@NotNull Long> ids
+    ) throws ResourceBadRequestException;
+
+    /**
+     * Get the content version of the movie. It changes whenever the movie, its accepted info, its ratings
+     * or its favorites change.
+     *
+     * @param id The movie ID
+     * @return The content version
+     * @throws ResourceNotFoundException if no movie found
+     */
+    long getMovieVersion(
+            @Min(1) final Long id
+    ) throws ResourceNotFoundException;
+
+    /**
+     * Check whether the rating aggregates are written behind the votes. The votes are then saved at once, but
+     * the content version of the movie changes only when the buffered votes are applied, up to the flush interval
+     * later.
+     *
+     * @return True if the rating aggregates are written behind
+     */
+    boolean isRatingWriteBehind();
+
     /**
      * Get movie by ID.
      *
@@ -90,16 +234,79 @@ public interface MovieSearchService {
     ) throws ResourceNotFoundException;
 
     /**
-     * Get user ratings for the movie by ID.
+     * Get the logged in user's rate of the movie by ID. It changes with the user's vote, even before the content
+     * version of the movie does in the write-behind mode of the ratings.
      *
      * @param id The movie ID
+     * @return The rate or empty if the user hasn't rated the movie
+     * @throws ResourceNotFoundException if no user found
+     */
+    @PreAuthorize("hasRole('ROLE_USER')")
+    Optional<Integer> getUserRating(
+            @Min(1) final Long id
+    ) throws ResourceNotFoundException;
+
+    /**
+     * Get the page of user ratings for the movie by ID, ordered by the date. Null dates are ignored.
+     * The days of the range are included and start in UTC, like the days of the rating trend.
+     *
+     * @param id The movie ID
+     * @param fromDate Min day of the rating
+     * @param toDate Max day of the rating
+     * @param page The page to get, a KeysetPageRequest for keyset pagination
      * @return User ratings
      * @throws ResourceNotFoundException if no movie found
+     * @throws ResourceBadRequestException if the cursor of the page request has been created for another sort
+     */
+    SearchPage<RateResponse> getRatings(
+            @Min(1) final Long id,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate,
+            @NotNull final Pageable page
+    ) throws ResourceNotFoundException, ResourceBadRequestException;
+
+    /**
+     * Get the number of votes for every rate of the movie by ID.
+     *
+     * @param id The movie ID
+     * @return The rating histogram
+     * @throws ResourceNotFoundException if no movie found
      */
-    List<RateResponse> getRatings(
+    RatingHistogram getRatingHistogram(
             @Min(1) final Long id
     ) throws ResourceNotFoundException;
 
+    /**
+     * Get the trend of the rating of the movie by ID in the date range, downsampled to the resolution.
+     * Null dates are ignored. The days of the range are included and start in UTC.
+     *
+     * @param id The movie ID
+     * @param resolution The resolution of the trend
+     * @param fromDate Min day of the rating
+     * @param toDate Max day of the rating
+     * @return The points of the trend, in the order of the dates
+     * @throws ResourceNotFoundException if no movie found
+     */
+    List<RatingTrendPoint> getRatingTrend(
+            @Min(1) final Long id,
+            @NotNull final TrendResolution resolution,
+            @Nullable final LocalDate fromDate,
+            @Nullable final LocalDate toDate
+    ) throws ResourceNotFoundException;
+
+    /**
+     * Get the accepted info of several relations of the movie by ID at once, e.g. to embed it in the movie.
+     *
+     * @param id The movie ID
+     * @param relations The relations to get
+     * @return The info by the relation, in the order of the relations
+     * @throws ResourceNotFoundException if no movie found
+     */
+    Map<MovieRelation, List<?>> getRelations(
+            @Min(1) final Long id,
+            @NotNull final Set<MovieRelation> relations
+    ) throws ResourceNotFoundException;
+
     /**
      * Get titles for the movie by ID.
      *
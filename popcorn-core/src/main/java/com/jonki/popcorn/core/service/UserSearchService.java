@@ -4,7 +4,7 @@ import com.jonki.popcorn.common.dto.RelationshipStatus;
 import com.jonki.popcorn.common.dto.User;
 import com.jonki.popcorn.common.dto.search.UserSearchResult;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
-import org.springframework.data.domain.Page;
+import com.jonki.popcorn.core.search.SearchPage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -26,10 +26,10 @@ public interface UserSearchService {
      * Search for users which match the given filter criteria. Null or empty parameters are ignored.
      *
      * @param username The user's name
-     * @param page Page number
+     * @param page Page number, a KeysetPageRequest for keyset pagination
      * @return All the users matching the criteria
      */
-    Page<UserSearchResult> findUsers(
+    SearchPage<UserSearchResult> findUsers(
             @Nullable final String username,
             @NotNull final Pageable page
     );
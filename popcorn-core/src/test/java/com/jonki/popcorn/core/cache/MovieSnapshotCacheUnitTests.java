@@ -0,0 +1,146 @@
+package com.jonki.popcorn.core.cache;
+
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.properties.CacheProperties;
+import com.jonki.popcorn.test.category.UnitTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Unit tests for MovieSnapshotCache.
+ */
+@Category(UnitTest.class)
+public class MovieSnapshotCacheUnitTests {
+
+    private MovieSnapshotCache cache;
+    private MeterRegistry meterRegistry;
+    private AtomicInteger loads;
+    private Locale defaultLocale;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        final CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getMovie().setEnabled(true);
+        cacheProperties.getMovie().setMaxSize(2);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.cache = new MovieSnapshotCache(cacheProperties, this.meterRegistry);
+        this.loads = new AtomicInteger();
+        this.defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    /**
+     * Restore the default locale.
+     */
+    @After
+    public void cleanup() {
+        Locale.setDefault(this.defaultLocale);
+    }
+
+    /**
+     * Test the movie is loaded once and again after it has changed.
+     */
+    @Test
+    public void canCacheUntilEvicted() {
+        Assert.assertThat(this.cache.get(1L, () -> this.load(1L)).getTitle(), Matchers.is("1"));
+        Assert.assertThat(this.cache.get(1L, () -> this.load(1L)).getTitle(), Matchers.is("1"));
+        Assert.assertThat(this.loads.get(), Matchers.is(1));
+
+        this.cache.get(2L, () -> this.load(2L));
+        this.cache.onMovieChanged(new MovieChangedEvent(1L, null));
+        this.cache.get(1L, () -> this.load(1L));
+        this.cache.get(2L, () -> this.load(2L));
+        Assert.assertThat(this.loads.get(), Matchers.is(3));
+
+        Assert.assertThat(this.count("cache.gets", "result", "hit"), Matchers.is(2.0));
+        Assert.assertThat(this.count("cache.gets", "result", "miss"), Matchers.is(3.0));
+        Assert.assertThat(this.count("cache.evictions", "cause", "write"), Matchers.is(1.0));
+    }
+
+    /**
+     * Test the refresher updates only the cached details.
+     */
+    @Test
+    public void canRefreshCachedMovie() {
+        final AtomicInteger refreshes = new AtomicInteger();
+        final UnaryOperator<Movie> refresher = movie -> {
+            refreshes.incrementAndGet();
+            return movie;
+        };
+
+        this.cache.get(1L, () -> this.load(1L), refresher);
+        Assert.assertThat(refreshes.get(), Matchers.is(0));
+        this.cache.get(1L, () -> this.load(1L), refresher);
+        Assert.assertThat(refreshes.get(), Matchers.is(1));
+        Assert.assertThat(this.loads.get(), Matchers.is(1));
+    }
+
+    /**
+     * Test the least recently used movie is evicted when the cache is full.
+     */
+    @Test
+    public void canEvictLeastRecentlyUsed() {
+        this.cache.get(1L, () -> this.load(1L));
+        this.cache.get(2L, () -> this.load(2L));
+        this.cache.get(1L, () -> this.load(1L));
+        this.cache.get(3L, () -> this.load(3L));
+        Assert.assertThat(this.cache.size(), Matchers.is(2));
+
+        this.cache.get(1L, () -> this.load(1L));
+        Assert.assertThat(this.loads.get(), Matchers.is(3));
+        this.cache.get(2L, () -> this.load(2L));
+        Assert.assertThat(this.loads.get(), Matchers.is(4));
+
+        Assert.assertThat(this.count("cache.evictions", "cause", "size"), Matchers.is(2.0));
+    }
+
+    /**
+     * Test the movie is cached separately for every country of the default locale.
+     */
+    @Test
+    public void canCachePerCountry() {
+        this.cache.get(1L, () -> this.load(1L));
+        Locale.setDefault(Locale.UK);
+        this.cache.get(1L, () -> this.load(1L));
+        this.cache.get(1L, () -> this.load(1L));
+        Assert.assertThat(this.loads.get(), Matchers.is(2));
+        Assert.assertThat(this.cache.size(), Matchers.is(1));
+    }
+
+    /**
+     * Test the movie loaded while it has been evicted isn't cached.
+     */
+    @Test
+    public void cantCacheMovieLoadedDuringEviction() {
+        this.cache.get(1L, () -> {
+            this.cache.evict(1L);
+            return this.load(1L);
+        });
+        this.cache.get(1L, () -> this.load(1L));
+        Assert.assertThat(this.loads.get(), Matchers.is(2));
+    }
+
+    private Movie load(final Long id) {
+        this.loads.incrementAndGet();
+        return ((Movie.Builder) new Movie.Builder(id.toString(), MovieType.CINEMA).withId(id.toString())).build();
+    }
+
+    private double count(final String name, final String tag, final String value) {
+        return this.meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Classes to test the in-memory caches of the movie data.
+ */
+
+package com.jonki.popcorn.core.cache;
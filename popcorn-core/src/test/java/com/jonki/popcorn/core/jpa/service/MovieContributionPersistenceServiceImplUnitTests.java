@@ -26,6 +26,7 @@ import com.jonki.popcorn.common.dto.request.ContributionUpdateRequest;
 import com.jonki.popcorn.common.exception.ResourceException;
 import com.jonki.popcorn.common.exception.ResourceForbiddenException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
 import com.jonki.popcorn.core.jpa.entity.ContributionEntity;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
@@ -46,6 +47,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.io.File;
 import java.math.BigDecimal;
@@ -69,6 +71,7 @@ public class MovieContributionPersistenceServiceImplUnitTests {
     private UserRepository userRepository;
     private MoviePersistenceService moviePersistenceService;
     private AuthorizationService authorizationService;
+    private ApplicationEventPublisher eventPublisher;
     private MovieContributionPersistenceServiceImpl movieContributionPersistenceService;
 
     /**
@@ -82,6 +85,7 @@ public class MovieContributionPersistenceServiceImplUnitTests {
         this.userRepository = Mockito.mock(UserRepository.class);
         this.moviePersistenceService = Mockito.mock(MoviePersistenceService.class);
         this.authorizationService = Mockito.mock(AuthorizationService.class);
+        this.eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
         this.movieContributionPersistenceService = new MovieContributionPersistenceServiceImpl(
                 this.contributionRepository,
                 this.movieRepository,
@@ -89,7 +93,8 @@ public class MovieContributionPersistenceServiceImplUnitTests {
                 this.userRepository,
                 this.moviePersistenceService,
                 Mockito.mock(StorageService.class),
-                this.authorizationService
+                this.authorizationService,
+                this.eventPublisher
         );
     }
 
@@ -110,6 +115,7 @@ public class MovieContributionPersistenceServiceImplUnitTests {
         final ContributionEntity contributionEntity = new ContributionEntity();
         contributionEntity.getIdsToAdd().add(1L);
         contributionEntity.setField(MovieField.OTHER_TITLE);
+        contributionEntity.setMovie(new MovieEntity());
         final MovieOtherTitleEntity movieOtherTitleEntity = new MovieOtherTitleEntity();
         Mockito.when(this.authorizationService.getUserId()).thenReturn(userId);
         Mockito
@@ -132,6 +138,7 @@ public class MovieContributionPersistenceServiceImplUnitTests {
         Assert.assertThat(contributionEntity.getStatus(), Matchers.is(verificationStatus.getDataStatus()));
 
         Assert.assertThat(movieOtherTitleEntity.getStatus(), Matchers.is(DataStatus.ACCEPTED));
+        Mockito.verify(this.eventPublisher).publishEvent(Mockito.any(MovieChangedEvent.class));
     }
 
     /**
@@ -5,6 +5,7 @@ import com.jonki.popcorn.common.exception.ResourceException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
 import com.jonki.popcorn.core.jpa.repository.ContributionRepository;
 import com.jonki.popcorn.core.jpa.repository.MovieRepository;
+import com.jonki.popcorn.core.search.SearchQueryExecutor;
 import com.jonki.popcorn.test.category.UnitTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,7 +32,8 @@ public class MovieContributionSearchServiceImplUnitTests {
         this.contributionRepository = Mockito.mock(ContributionRepository.class);
         this.service = new MovieContributionSearchServiceImpl(
                 this.contributionRepository,
-                Mockito.mock(MovieRepository.class)
+                Mockito.mock(MovieRepository.class),
+                Mockito.mock(SearchQueryExecutor.class)
         );
     }
 
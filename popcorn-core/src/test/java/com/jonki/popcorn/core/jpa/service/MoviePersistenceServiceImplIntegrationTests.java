@@ -18,12 +18,15 @@ import com.jonki.popcorn.common.dto.movie.Synopsis;
 import com.jonki.popcorn.common.dto.movie.request.ImageRequest;
 import com.jonki.popcorn.common.dto.movie.request.RateRequest;
 import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
 import com.jonki.popcorn.common.dto.movie.type.CountryType;
 import com.jonki.popcorn.common.dto.movie.type.GenreType;
 import com.jonki.popcorn.common.dto.movie.type.LanguageType;
 import com.jonki.popcorn.common.dto.movie.type.MovieType;
 import com.jonki.popcorn.common.dto.movie.type.SiteType;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
 import com.jonki.popcorn.common.dto.request.MovieRequest;
+import com.jonki.popcorn.common.exception.ResourceConflictException;
 import com.jonki.popcorn.common.exception.ResourceException;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
@@ -50,6 +53,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -1237,11 +1241,43 @@ public class MoviePersistenceServiceImplIntegrationTests extends DBIntegrationTe
                 1
         ).build();
 
-        Assert.assertEquals(this.movieSearchService.getRatings(MOV_3_ID).size(), 0);
+        Assert.assertEquals(
+                this.movieSearchService.getRatings(MOV_3_ID, null, null, PageRequest.of(0, 10)).getContent().size(),
+                0
+        );
 
         this.moviePersistenceService.saveRating(MOV_3_ID, rateRequest);
 
-        Assert.assertEquals(this.movieSearchService.getRatings(MOV_3_ID).size(), 1);
+        Assert.assertEquals(
+                this.movieSearchService.getRatings(MOV_3_ID, null, null, PageRequest.of(0, 10)).getContent().size(),
+                1
+        );
+
+        final MovieEntity movie = this.movieRepository.getOne(MOV_3_ID);
+        Assert.assertThat(movie.getRating().orElse(null), Matchers.is(1F));
+        Assert.assertThat(movie.getRatingSum(), Matchers.is(1L));
+        Assert.assertThat(movie.getRatingCount(), Matchers.is(1));
+        Assert.assertThat(movie.getRatingHistogram(), Matchers.contains(1, 0, 0, 0, 0, 0, 0, 0, 0, 0));
+
+        final List<RatingTrendPoint> trend
+                = this.movieSearchService.getRatingTrend(MOV_3_ID, TrendResolution.DAY, null, null);
+        Assert.assertThat(trend.size(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getCount(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getTotalAverage(), Matchers.is(1F));
+    }
+
+    /**
+     * Test the saveRating method changes the content version of the movie.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canChangeMovieVersionWhenRated() throws ResourceException {
+        final long version = this.movieSearchService.getMovieVersion(MOV_3_ID);
+
+        this.moviePersistenceService.saveRating(MOV_3_ID, new RateRequest.Builder(1).build());
+
+        Assert.assertThat(this.movieSearchService.getMovieVersion(MOV_3_ID), Matchers.is(version + 1));
     }
 
     /**
@@ -1266,5 +1302,47 @@ public class MoviePersistenceServiceImplIntegrationTests extends DBIntegrationTe
 
         Assert.assertThat(movie.getRating().orElse(null), Matchers.is((float) rateRequest.getRate()));
         Assert.assertThat(movie.getRatings().size(), Matchers.is(1));
+        Assert.assertThat(movie.getRatingSum(), Matchers.is(10L));
+        Assert.assertThat(movie.getRatingCount(), Matchers.is(1));
+        Assert.assertThat(movie.getRatingHistogram(), Matchers.contains(0, 0, 0, 0, 0, 0, 0, 0, 0, 1));
+
+        // The changed vote moves from the day of its previous change to the current day
+        final List<RatingTrendPoint> trend
+                = this.movieSearchService.getRatingTrend(MOV_4_ID, TrendResolution.DAY, null, null);
+        Assert.assertThat(trend.size(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getAverage(), Matchers.is(10F));
+        Assert.assertThat(trend.get(0).getTotalCount(), Matchers.is(1));
+    }
+
+    /**
+     * Test the deleteRating method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canDeleteRating() throws ResourceException {
+        this.moviePersistenceService.deleteRating(MOV_4_ID);
+
+        final MovieEntity movie = this.movieRepository.getOne(MOV_4_ID);
+
+        Assert.assertThat(movie.getRating().isPresent(), Matchers.is(false));
+        Assert.assertThat(movie.getRatings().size(), Matchers.is(0));
+        Assert.assertThat(movie.getRatingSum(), Matchers.is(0L));
+        Assert.assertThat(movie.getRatingCount(), Matchers.is(0));
+        Assert.assertThat(movie.getRatingHistogram(), Matchers.everyItem(Matchers.is(0)));
+        Assert.assertThat(
+                this.movieSearchService.getRatingTrend(MOV_4_ID, TrendResolution.DAY, null, null).isEmpty(),
+                Matchers.is(true)
+        );
+    }
+
+    /**
+     * Test the deleteRating method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test(expected = ResourceConflictException.class)
+    public void cantDeleteRatingIfNotRated() throws ResourceException {
+        this.moviePersistenceService.deleteRating(MOV_3_ID);
     }
 }
@@ -25,6 +25,7 @@ import com.jonki.popcorn.common.dto.request.MovieRequest;
 import com.jonki.popcorn.common.exception.ResourceConflictException;
 import com.jonki.popcorn.common.exception.ResourceException;
 import com.jonki.popcorn.common.exception.ResourceForbiddenException;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
 import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
@@ -50,6 +51,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Calendar;
@@ -67,6 +69,8 @@ public class MoviePersistenceServiceImplUnitTests {
     private MovieRepository movieRepository;
     private UserRepository userRepository;
     private AuthorizationService authorizationService;
+    private ApplicationEventPublisher eventPublisher;
+    private MovieRatingWriter movieRatingWriter;
     private MoviePersistenceServiceImpl moviePersistenceService;
 
     /**
@@ -77,10 +81,14 @@ public class MoviePersistenceServiceImplUnitTests {
         this.movieRepository = Mockito.mock(MovieRepository.class);
         this.userRepository = Mockito.mock(UserRepository.class);
         this.authorizationService = Mockito.mock(AuthorizationService.class);
+        this.eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        this.movieRatingWriter = Mockito.mock(MovieRatingWriter.class);
         this.moviePersistenceService = new MoviePersistenceServiceImpl(
                 this.movieRepository,
                 this.userRepository,
-                this.authorizationService
+                this.authorizationService,
+                this.eventPublisher,
+                this.movieRatingWriter
         );
     }
 
@@ -556,6 +564,34 @@ public class MoviePersistenceServiceImplUnitTests {
                 .when(this.movieRepository.findByIdAndStatus(movieId, DataStatus.ACCEPTED))
                 .thenReturn(Optional.of(movieEntity));
         this.moviePersistenceService.saveRating(movieId, rateRequest);
+        Mockito.verify(this.movieRatingWriter).saveRating(movieEntity, userEntity, 1);
+    }
+
+    /**
+     * Test the saveRating method leaves announcing the movie to the write-behind buffer.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canSaveRatingWriteBehind() throws ResourceException {
+        final String userId = UUID.randomUUID().toString();
+        final Long movieId = new Random().nextLong();
+        final UserEntity userEntity = new UserEntity();
+        final MovieEntity movieEntity = new MovieEntity();
+        final RateRequest rateRequest = new RateRequest.Builder(
+                1
+        ).build();
+        Mockito.when(this.authorizationService.getUserId()).thenReturn(userId);
+        Mockito
+                .when(this.userRepository.findByUniqueIdAndEnabledTrue(userId))
+                .thenReturn(Optional.of(userEntity));
+        Mockito
+                .when(this.movieRepository.findByIdAndStatus(movieId, DataStatus.ACCEPTED))
+                .thenReturn(Optional.of(movieEntity));
+        Mockito.when(this.movieRatingWriter.isWriteBehind()).thenReturn(true);
+        this.moviePersistenceService.saveRating(movieId, rateRequest);
+        Mockito.verify(this.movieRatingWriter).saveRating(movieEntity, userEntity, 1);
+        Mockito.verify(this.eventPublisher, Mockito.never()).publishEvent(Mockito.any(MovieRatedEvent.class));
     }
 
     /**
@@ -586,6 +622,7 @@ public class MoviePersistenceServiceImplUnitTests {
                 .when(this.movieRepository.findByIdAndStatus(movieId, DataStatus.ACCEPTED))
                 .thenReturn(Optional.of(movieEntity));
         this.moviePersistenceService.saveRating(movieId, rateRequest);
+        Mockito.verify(this.movieRatingWriter).saveRating(movieEntity, userEntity, 7);
     }
 
     /**
@@ -618,4 +655,50 @@ public class MoviePersistenceServiceImplUnitTests {
                 .thenReturn(Optional.of(movieEntity));
         this.moviePersistenceService.saveRating(movieId, rateRequest);
     }
+
+    /**
+     * Test the deleteRating method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canDeleteRating() throws ResourceException {
+        final String userId = UUID.randomUUID().toString();
+        final Long movieId = new Random().nextLong();
+        final UserEntity userEntity = new UserEntity();
+        final MovieEntity movieEntity = new MovieEntity();
+        Mockito.when(this.authorizationService.getUserId()).thenReturn(userId);
+        Mockito
+                .when(this.userRepository.findByUniqueIdAndEnabledTrue(userId))
+                .thenReturn(Optional.of(userEntity));
+        Mockito
+                .when(this.movieRepository.findByIdAndStatus(movieId, DataStatus.ACCEPTED))
+                .thenReturn(Optional.of(movieEntity));
+        Mockito.when(this.movieRatingWriter.deleteRating(movieEntity, userEntity)).thenReturn(true);
+        this.moviePersistenceService.deleteRating(movieId);
+        Mockito.verify(this.movieRatingWriter).deleteRating(movieEntity, userEntity);
+        Mockito.verify(this.eventPublisher).publishEvent(Mockito.any(MovieRatedEvent.class));
+    }
+
+    /**
+     * Test the deleteRating method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test(expected = ResourceConflictException.class)
+    public void cantDeleteRatingIfNotRated() throws ResourceException {
+        final String userId = UUID.randomUUID().toString();
+        final Long movieId = new Random().nextLong();
+        final UserEntity userEntity = new UserEntity();
+        final MovieEntity movieEntity = new MovieEntity();
+        Mockito.when(this.authorizationService.getUserId()).thenReturn(userId);
+        Mockito
+                .when(this.userRepository.findByUniqueIdAndEnabledTrue(userId))
+                .thenReturn(Optional.of(userEntity));
+        Mockito
+                .when(this.movieRepository.findByIdAndStatus(movieId, DataStatus.ACCEPTED))
+                .thenReturn(Optional.of(movieEntity));
+        Mockito.when(this.movieRatingWriter.deleteRating(movieEntity, userEntity)).thenReturn(false);
+        this.moviePersistenceService.deleteRating(movieId);
+    }
 }
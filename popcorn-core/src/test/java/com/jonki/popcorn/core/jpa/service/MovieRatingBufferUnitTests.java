@@ -0,0 +1,143 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.core.properties.RatingProperties;
+import com.jonki.popcorn.core.rating.RatingDelta;
+import com.jonki.popcorn.test.category.UnitTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+/**
+ * Unit tests for MovieRatingBuffer.
+ */
+@Category(UnitTest.class)
+public class MovieRatingBufferUnitTests {
+
+    private static final LocalDate DAY = LocalDate.of(2018, 8, 15);
+
+    private PlatformTransactionManager transactionManager;
+    private ApplicationEventPublisher eventPublisher;
+    private MeterRegistry meterRegistry;
+    private MovieRatingBuffer buffer;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        final RatingProperties ratingProperties = new RatingProperties();
+        ratingProperties.getWriteBehind().setEnabled(true);
+        ratingProperties.getWriteBehind().setFlushThreshold(3);
+        this.transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        Mockito.when(this.transactionManager.getTransaction(Mockito.any(TransactionDefinition.class)))
+                .thenThrow(new CannotCreateTransactionException("No connection"));
+        this.eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.buffer = new MovieRatingBuffer(
+                ratingProperties,
+                this.transactionManager,
+                this.eventPublisher,
+                this.meterRegistry
+        );
+    }
+
+    /**
+     * Stop the flushes.
+     *
+     * @throws InterruptedException if interrupted
+     */
+    @After
+    public void cleanup() throws InterruptedException {
+        this.buffer.destroy();
+    }
+
+    /**
+     * Test the change is buffered only after the transaction of the vote has been committed.
+     */
+    @Test
+    public void canBufferAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.buffer.add(1L, RatingDelta.vote(7, DAY));
+            Assert.assertThat(this.depth(), Matchers.is(0.0));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            Assert.assertThat(this.depth(), Matchers.is(1.0));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test the changes are kept in the buffer when they can't be flushed.
+     */
+    @Test
+    public void canRetryFailedFlush() {
+        this.buffer.add(1L, RatingDelta.vote(7, DAY));
+        this.buffer.add(2L, RatingDelta.vote(3, DAY));
+
+        this.buffer.flush();
+
+        Mockito.verify(this.transactionManager).getTransaction(Mockito.any(TransactionDefinition.class));
+        Mockito.verifyZeroInteractions(this.eventPublisher);
+        Assert.assertThat(this.depth(), Matchers.is(2.0));
+    }
+
+    /**
+     * Test the changes are flushed before the interval when the threshold is reached.
+     */
+    @Test
+    public void canFlushAboveThreshold() {
+        this.buffer.add(1L, RatingDelta.vote(7, DAY));
+        this.buffer.add(1L, RatingDelta.vote(3, DAY));
+        Mockito.verifyZeroInteractions(this.transactionManager);
+
+        this.buffer.add(2L, RatingDelta.vote(5, DAY));
+
+        Mockito.verify(this.transactionManager, Mockito.timeout(5000))
+                .getTransaction(Mockito.any(TransactionDefinition.class));
+    }
+
+    /**
+     * Test the changes which cancel each other out aren't flushed.
+     */
+    @Test
+    public void cantFlushEmptyChanges() {
+        this.buffer.add(1L, RatingDelta.change(2, DAY, 4, DAY));
+        this.buffer.add(1L, RatingDelta.change(4, DAY, 2, DAY));
+
+        this.buffer.flush();
+
+        Mockito.verifyZeroInteractions(this.transactionManager);
+        Assert.assertThat(this.depth(), Matchers.is(0.0));
+    }
+
+    /**
+     * Test the aggregates aren't reconciled with the votes at startup unless it's enabled.
+     */
+    @Test
+    public void cantReconcileOnStartupByDefault() {
+        this.buffer.onContextRefreshed(Mockito.mock(ContextRefreshedEvent.class));
+
+        Mockito.verifyZeroInteractions(this.transactionManager);
+    }
+
+    private double depth() {
+        return this.meterRegistry.get("popcorn.rating.buffer.depth").gauge().value();
+    }
+}
@@ -0,0 +1,115 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.jonki.popcorn.common.exception.ResourceConflictException;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.UserEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceException;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Date;
+
+/**
+ * Unit tests for MovieRatingWriter.
+ */
+@Category(UnitTest.class)
+public class MovieRatingWriterUnitTests {
+
+    private EntityManager entityManager;
+    private TypedQuery<MovieRateEntity> voteQuery;
+    private MovieRatingBuffer movieRatingBuffer;
+    private MovieRatingWriter writer;
+    private MovieEntity movie;
+    private UserEntity user;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.entityManager = Mockito.mock(EntityManager.class);
+        final CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class);
+        final CriteriaQuery<MovieRateEntity> query = Mockito.mock(CriteriaQuery.class, Mockito.RETURNS_SELF);
+        final Root<MovieRateEntity> root = Mockito.mock(Root.class, Mockito.RETURNS_DEEP_STUBS);
+        this.voteQuery = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(this.entityManager.getCriteriaBuilder()).thenReturn(cb);
+        Mockito.when(cb.createQuery(MovieRateEntity.class)).thenReturn(query);
+        Mockito.when(query.from(MovieRateEntity.class)).thenReturn(root);
+        Mockito.when(this.entityManager.createQuery(query)).thenReturn(this.voteQuery);
+
+        this.movieRatingBuffer = Mockito.mock(MovieRatingBuffer.class);
+        Mockito.when(this.movieRatingBuffer.isEnabled()).thenReturn(true);
+        this.writer = new MovieRatingWriter(this.movieRatingBuffer);
+        ReflectionTestUtils.setField(this.writer, "entityManager", this.entityManager);
+
+        this.movie = new MovieEntity();
+        ReflectionTestUtils.setField(this.movie, "id", 1L);
+        this.user = Mockito.mock(UserEntity.class);
+        Mockito.when(this.user.getId()).thenReturn(2L);
+    }
+
+    /**
+     * Test the vote inserted by a concurrent first vote of the user after the lock of the user is updated.
+     *
+     * @throws ResourceConflictException on conflict
+     */
+    @Test
+    public void canUpdateVoteInsertedConcurrently() throws ResourceConflictException {
+        final MovieRateEntity vote = new MovieRateEntity();
+        vote.setRate(3);
+        ReflectionTestUtils.setField(vote, "date", new Date());
+        Mockito.when(this.voteQuery.getResultList())
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(vote));
+
+        this.writer.saveRating(this.movie, this.user, 7);
+
+        Mockito.verify(this.entityManager).lock(this.user, LockModeType.PESSIMISTIC_WRITE);
+        Mockito.verify(this.entityManager, Mockito.never()).persist(Mockito.any());
+        Assert.assertThat(vote.getRate(), Matchers.is(7));
+    }
+
+    /**
+     * Test a first vote rejected by the unique key of the votes is a conflict.
+     *
+     * @throws ResourceConflictException on conflict
+     */
+    @Test(expected = ResourceConflictException.class)
+    public void cantInsertDuplicateVote() throws ResourceConflictException {
+        Mockito.when(this.voteQuery.getResultList()).thenReturn(Collections.emptyList());
+        Mockito.doThrow(new PersistenceException(new SQLException("Unique index violation", "23505")))
+                .when(this.entityManager).flush();
+
+        this.writer.saveRating(this.movie, this.user, 7);
+    }
+
+    /**
+     * Test the other database errors of the first vote aren't a conflict.
+     *
+     * @throws ResourceConflictException on conflict
+     */
+    @Test(expected = PersistenceException.class)
+    public void cantHideDatabaseError() throws ResourceConflictException {
+        Mockito.when(this.voteQuery.getResultList()).thenReturn(Collections.emptyList());
+        Mockito.doThrow(new PersistenceException(new SQLException("Connection lost", "08006")))
+                .when(this.entityManager).flush();
+
+        this.writer.saveRating(this.movie, this.user, 7);
+    }
+}
@@ -0,0 +1,162 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.MovieRelation;
+import com.jonki.popcorn.common.dto.movie.Country;
+import com.jonki.popcorn.common.dto.movie.Genre;
+import com.jonki.popcorn.common.dto.movie.OtherTitle;
+import com.jonki.popcorn.common.dto.movie.ReleaseDate;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.jpa.entity.MovieEntity;
+import com.jonki.popcorn.core.jpa.entity.MovieSearchEntity;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for MovieReadModelServiceImpl.
+ */
+@Category(UnitTest.class)
+public class MovieReadModelServiceImplUnitTests {
+
+    private EntityManager entityManager;
+    private MovieInfoLoader movieInfoLoader;
+    private SearchProperties searchProperties;
+    private MovieReadModelServiceImpl service;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.entityManager = Mockito.mock(EntityManager.class);
+        this.movieInfoLoader = Mockito.mock(MovieInfoLoader.class);
+        this.searchProperties = new SearchProperties();
+        this.searchProperties.getReadModel().setEnabled(true);
+        this.service = new MovieReadModelServiceImpl(this.movieInfoLoader, this.searchProperties);
+        ReflectionTestUtils.setField(this.service, "entityManager", this.entityManager);
+    }
+
+    /**
+     * Test the read model is created from the accepted infos of the movie.
+     */
+    @Test
+    public void canCreateReadModel() {
+        final Date premiere = new GregorianCalendar(1999, Calendar.MARCH, 31).getTime();
+        final Date release = new GregorianCalendar(1999, Calendar.JUNE, 23).getTime();
+
+        final MovieEntity movie = new MovieEntity();
+        movie.setTitle("The Matrix");
+        movie.setType(MovieType.CINEMA);
+        movie.setStatus(DataStatus.ACCEPTED);
+        movie.setRating(8.5F);
+        movie.setFavoriteCount(3);
+        ReflectionTestUtils.setField(movie, "id", 1L);
+
+        final Map<MovieRelation, List<?>> infos = new EnumMap<>(MovieRelation.class);
+        infos.put(MovieRelation.TITLES, Lists.newArrayList(new OtherTitle.Builder("The Matrix", CountryType.USA).build()));
+        infos.put(MovieRelation.RELEASE_DATES, Lists.newArrayList(
+                new ReleaseDate.Builder(release, CountryType.USA).build(),
+                new ReleaseDate.Builder(premiere, CountryType.USA).build()
+        ));
+        infos.put(MovieRelation.GENRES, Lists.newArrayList(
+                new Genre.Builder(GenreType.SCI_FI).build(),
+                new Genre.Builder(GenreType.ACTION).build()
+        ));
+        infos.put(MovieRelation.COUNTRIES, Lists.newArrayList(new Country.Builder(CountryType.USA).build()));
+        infos.put(MovieRelation.LANGUAGES, Lists.newArrayList());
+
+        Mockito.when(this.entityManager.find(MovieEntity.class, 1L)).thenReturn(movie);
+        Mockito.when(this.movieInfoLoader.findRelations(Mockito.eq(1L), Mockito.anySet())).thenReturn(infos);
+
+        this.service.refresh(1L);
+
+        final ArgumentCaptor<MovieSearchEntity> captor = ArgumentCaptor.forClass(MovieSearchEntity.class);
+        Mockito.verify(this.entityManager, Mockito.times(1)).persist(captor.capture());
+
+        final MovieSearchEntity readModel = captor.getValue();
+        Assert.assertThat(readModel.getId(), Matchers.is(1L));
+        Assert.assertThat(readModel.getTitle(), Matchers.is("The Matrix"));
+        Assert.assertThat(readModel.getTitles(), Matchers.is("|THE MATRIX|"));
+        Assert.assertThat(readModel.getReleaseDate(), Matchers.is(premiere));
+        Assert.assertThat(readModel.getLatestReleaseDate(), Matchers.is(release));
+        Assert.assertThat(readModel.getReleaseYear(), Matchers.is(1999));
+        Assert.assertThat(readModel.getGenres(), Matchers.is("|ACTION|SCI_FI|"));
+        Assert.assertThat(readModel.getCountries(), Matchers.is("|USA|"));
+        Assert.assertThat(readModel.getLanguages(), Matchers.is("||"));
+        Assert.assertThat(readModel.getRating(), Matchers.is(8.5F));
+        Assert.assertThat(readModel.getFavoriteCount(), Matchers.is(3));
+    }
+
+    /**
+     * Test the read model of a movie which isn't accepted is removed.
+     */
+    @Test
+    public void canRemoveReadModel() {
+        final MovieEntity movie = new MovieEntity();
+        movie.setStatus(DataStatus.REJECTED);
+        final MovieSearchEntity readModel = new MovieSearchEntity();
+
+        Mockito.when(this.entityManager.find(MovieEntity.class, 1L)).thenReturn(movie);
+        Mockito.when(this.entityManager.find(MovieSearchEntity.class, 1L)).thenReturn(readModel);
+
+        this.service.refresh(1L);
+
+        Mockito.verify(this.entityManager, Mockito.times(1)).remove(readModel);
+        Mockito.verify(this.entityManager, Mockito.never()).persist(Mockito.any());
+    }
+
+    /**
+     * Test a vote copies only the rating and the favorite count to the read model.
+     */
+    @Test
+    public void canRefreshCountersAfterVote() {
+        final MovieEntity movie = new MovieEntity();
+        movie.setRating(7.0F);
+        movie.setFavoriteCount(2);
+        final MovieSearchEntity readModel = new MovieSearchEntity();
+
+        Mockito.when(this.entityManager.find(MovieEntity.class, 1L)).thenReturn(movie);
+        Mockito.when(this.entityManager.find(MovieSearchEntity.class, 1L)).thenReturn(readModel);
+
+        this.service.onMovieRated(new MovieRatedEvent(1L));
+
+        Assert.assertThat(readModel.getRating(), Matchers.is(7.0F));
+        Assert.assertThat(readModel.getFavoriteCount(), Matchers.is(2));
+        Mockito.verifyZeroInteractions(this.movieInfoLoader);
+    }
+
+    /**
+     * Test the read model isn't touched when it's disabled.
+     */
+    @Test
+    public void cantRefreshWhenDisabled() {
+        this.searchProperties.getReadModel().setEnabled(false);
+
+        this.service.onMovieChanged(new MovieChangedEvent(1L, null));
+        this.service.onMovieRated(new MovieRatedEvent(1L));
+        this.service.onApplicationReady(null);
+
+        Mockito.verifyZeroInteractions(this.entityManager, this.movieInfoLoader);
+    }
+}
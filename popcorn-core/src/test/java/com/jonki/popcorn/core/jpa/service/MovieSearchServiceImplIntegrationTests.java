@@ -2,11 +2,23 @@ package com.jonki.popcorn.core.jpa.service;
 
 import com.github.springtestdbunit.annotation.DatabaseSetup;
 import com.github.springtestdbunit.annotation.DatabaseTearDown;
+import com.google.common.collect.Lists;
 import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.MovieRelation;
 import com.jonki.popcorn.common.dto.UserMovie;
+import com.jonki.popcorn.common.dto.movie.Genre;
+import com.jonki.popcorn.common.dto.movie.ReleaseDate;
+import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
 import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
 import com.jonki.popcorn.common.dto.search.MovieSearchResult;
 import com.jonki.popcorn.common.exception.ResourceException;
+import com.jonki.popcorn.common.exception.ResourceNotFoundException;
+import com.jonki.popcorn.core.rating.RatingSeries;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
 import com.jonki.popcorn.core.security.model.CustomUserDetails;
 import com.jonki.popcorn.core.service.MovieSearchService;
 import com.jonki.popcorn.test.category.IntegrationTest;
@@ -16,6 +28,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,12 +38,23 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 /**
  * Integration tests for MovieSearchServiceImpl.
  */
 @Category(IntegrationTest.class)
 @DatabaseSetup("MovieSearchServiceImplIntegrationTests/init.xml")
 @DatabaseTearDown("cleanup.xml")
+@Import(StatementCounter.class)
 public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBase {
 
     private static final String USER_1_ID = "user1";
@@ -60,6 +84,9 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
     @Autowired
     private MovieSearchService movieSearchService;
 
+    @Autowired
+    private StatementCounter statementCounter;
+
     /**
      * Setup.
      */
@@ -147,6 +174,66 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
         Assert.assertThat(movies.getTotalElements(), Matchers.is(7L));
     }
 
+    /**
+     * Test the titles are matched by the substrings in the middle of the words on the default sort,
+     * e.g. "ov1" matches the title "Mov1".
+     */
+    @Test
+    public void canFindMoviesByTitleSubstring() {
+        final Page<MovieSearchResult> movies = this.movieSearchService
+                .findMovies(
+                        "ov1",
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        PageRequest.of(0, 10, Sort.Direction.DESC, "id")
+                );
+        Assert.assertThat(movies.getTotalElements(), Matchers.is(1L));
+        Assert.assertThat(movies.getContent().get(0).getId(), Matchers.is(MOV_1_ID.toString()));
+    }
+
+    /**
+     * Test the getMovies method.
+     */
+    @Test
+    public void canGetMoviesInOrderOfIds() {
+        final List<MovieSearchResult> movies
+                = this.movieSearchService.getMovies(Lists.newArrayList(MOV_14_ID, 100L, MOV_1_ID, MOV_14_ID));
+
+        Assert.assertThat(movies.size(), Matchers.is(4));
+        Assert.assertThat(movies.get(0).getId(), Matchers.is(MOV_14_ID.toString()));
+        Assert.assertThat(movies.get(0).getTitle(), Matchers.is(MOV_14_TITLE));
+        Assert.assertThat(movies.get(0).getRating(), Matchers.is(MOV_14_RATING));
+        Assert.assertThat(movies.get(1), Matchers.nullValue());
+        Assert.assertThat(movies.get(2).getId(), Matchers.is(MOV_1_ID.toString()));
+        Assert.assertThat(movies.get(3).getId(), Matchers.is(MOV_14_ID.toString()));
+    }
+
+    /**
+     * Test the getMovieVersion method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetMovieVersion() throws ResourceException {
+        Assert.assertThat(this.movieSearchService.getMovieVersion(MOV_14_ID), Matchers.is(0L));
+    }
+
+    /**
+     * Test the getMovieVersion method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test(expected = ResourceNotFoundException.class)
+    public void cantGetMovieVersionIfMovieDoesNotExist() throws ResourceException {
+        this.movieSearchService.getMovieVersion(100L);
+    }
+
     /**
      * Test the getMovie method.
      *
@@ -162,6 +249,25 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
         Assert.assertThat(movie.getRating(), Matchers.is(MOV_14_RATING));
     }
 
+    /**
+     * Test the getMovie method doesn't run a query per collection of the movie.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetMovieInConstantNumberOfQueries() throws ResourceException {
+        this.statementCounter.reset();
+        final Movie movie = this.movieSearchService.getMovie(MOV_14_ID);
+        final int queries = this.statementCounter.getCount();
+
+        Assert.assertThat(movie.getNumberOfRatings(), Matchers.is(1));
+        Assert.assertThat(queries, Matchers.lessThanOrEqualTo(3));
+
+        this.statementCounter.reset();
+        Assert.assertThat(this.movieSearchService.getMovie(MOV_1_ID).getId(), Matchers.is(MOV_1_ID.toString()));
+        Assert.assertThat(this.statementCounter.getCount(), Matchers.lessThanOrEqualTo(queries));
+    }
+
     /**
      * Test the getUserMovie method.
      *
@@ -179,6 +285,17 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
         Assert.assertTrue(movie.isFavorited());
     }
 
+    /**
+     * Test the getUserRating method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetUserRating() throws ResourceException {
+        Assert.assertThat(this.movieSearchService.getUserRating(MOV_14_ID), Matchers.is(Optional.of(10)));
+        Assert.assertThat(this.movieSearchService.getUserRating(MOV_1_ID), Matchers.is(Optional.empty()));
+    }
+
     /**
      * Test the getRatings method.
      *
@@ -186,7 +303,102 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
      */
     @Test
     public void canGetMovieRatings() throws ResourceException {
-        Assert.assertEquals(1, this.movieSearchService.getRatings(MOV_14_ID).size());
+        final SearchPage<RateResponse> ratings = this.movieSearchService.getRatings(
+                MOV_14_ID, null, null, new KeysetPageRequest(PageRequest.of(0, 10), null)
+        );
+
+        Assert.assertThat(ratings.getContent().size(), Matchers.is(1));
+        Assert.assertThat(ratings.getContent().get(0).getRate(), Matchers.is(10));
+        Assert.assertThat(ratings.getTotalElements(), Matchers.is(1L));
+        Assert.assertFalse(ratings.getNextCursor().isPresent());
+    }
+
+    /**
+     * Test the getRatings method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetMovieRatingsInDateRange() throws ResourceException {
+        final LocalDate day = LocalDate.of(2018, 8, 18);
+
+        Assert.assertThat(
+                this.movieSearchService.getRatings(MOV_14_ID, day, day, PageRequest.of(0, 10)).getTotalElements(),
+                Matchers.is(1L)
+        );
+        Assert.assertThat(
+                this.movieSearchService.getRatings(MOV_14_ID, day.plusDays(1), null, PageRequest.of(0, 10))
+                        .getContent()
+                        .isEmpty(),
+                Matchers.is(true)
+        );
+    }
+
+    /**
+     * Test the getRatingTrend method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetRatingTrend() throws ResourceException {
+        final List<RatingTrendPoint> trend
+                = this.movieSearchService.getRatingTrend(MOV_14_ID, TrendResolution.MONTH, null, null);
+
+        Assert.assertThat(trend.size(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getDate(), Matchers.is(RatingSeries.getStart(LocalDate.of(2018, 8, 1))));
+        Assert.assertThat(trend.get(0).getCount(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getAverage(), Matchers.is(10F));
+        Assert.assertThat(trend.get(0).getTotalCount(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getTotalAverage(), Matchers.is(10F));
+    }
+
+    /**
+     * Test the getRatingTrend method includes the same days as the ratings in the date range.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetRatingTrendInDateRange() throws ResourceException {
+        final LocalDate day = LocalDate.of(2018, 8, 18);
+
+        final List<RatingTrendPoint> trend
+                = this.movieSearchService.getRatingTrend(MOV_14_ID, TrendResolution.WEEK, day, day);
+        Assert.assertThat(trend.size(), Matchers.is(1));
+        Assert.assertThat(trend.get(0).getDate(), Matchers.is(RatingSeries.getStart(LocalDate.of(2018, 8, 13))));
+        Assert.assertThat(
+                this.movieSearchService.getRatingTrend(MOV_14_ID, TrendResolution.DAY, day.plusDays(1), null).isEmpty(),
+                Matchers.is(true)
+        );
+    }
+
+    /**
+     * Test the getRelations method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test
+    public void canGetMovieRelations() throws ResourceException {
+        final Map<MovieRelation, List<?>> relations = this.movieSearchService.getRelations(
+                MOV_1_ID,
+                EnumSet.of(MovieRelation.GENRES, MovieRelation.TITLES)
+        );
+
+        Assert.assertThat(relations.keySet(), Matchers.contains(MovieRelation.TITLES, MovieRelation.GENRES));
+        Assert.assertEquals(2, relations.get(MovieRelation.TITLES).size());
+        Assert.assertEquals(
+                this.movieSearchService.getGenres(MOV_1_ID).size(),
+                relations.get(MovieRelation.GENRES).size()
+        );
+    }
+
+    /**
+     * Test the getRelations method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test(expected = ResourceNotFoundException.class)
+    public void cantGetMovieRelationsIfMovieDoesNotExist() throws ResourceException {
+        this.movieSearchService.getRelations(100L, EnumSet.of(MovieRelation.TITLES));
     }
 
     /**
@@ -200,13 +412,22 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
     }
 
     /**
-     * Test the getReleaseDates method.
+     * Test the getReleaseDates method returns only the accepted release dates, ordered by the date.
      *
      * @throws ResourceException For any problem
      */
     @Test
     public void canGetMovieReleaseDates() throws ResourceException {
-        Assert.assertEquals(3, this.movieSearchService.getReleaseDates(MOV_2_ID).size());
+        final Date june = new GregorianCalendar(2018, Calendar.JUNE, 1).getTime();
+        final Date july = new GregorianCalendar(2018, Calendar.JULY, 24).getTime();
+
+        Assert.assertThat(
+                this.movieSearchService.getReleaseDates(MOV_2_ID)
+                        .stream()
+                        .map(ReleaseDate::getDate)
+                        .collect(Collectors.toList()),
+                Matchers.contains(june, july, july, july)
+        );
     }
 
     /**
@@ -280,13 +501,19 @@ public class MovieSearchServiceImplIntegrationTests extends DBIntegrationTestBas
     }
 
     /**
-     * Test the getGenres method.
+     * Test the getGenres method returns only the accepted genres, ordered by the genre.
      *
      * @throws ResourceException For any problem
      */
     @Test
     public void canGetMovieGenres() throws ResourceException {
-        Assert.assertEquals(3, this.movieSearchService.getGenres(MOV_10_ID).size());
+        Assert.assertThat(
+                this.movieSearchService.getGenres(MOV_10_ID)
+                        .stream()
+                        .map(Genre::getGenre)
+                        .collect(Collectors.toList()),
+                Matchers.contains(GenreType.ANIMATION, GenreType.COMEDY, GenreType.COMEDY, GenreType.COMEDY)
+        );
     }
 
     /**
@@ -2,38 +2,58 @@ package com.jonki.popcorn.core.jpa.service;
 
 import com.google.common.collect.Lists;
 import com.jonki.popcorn.common.dto.DataStatus;
-import com.jonki.popcorn.common.dto.StorageProvider;
+import com.jonki.popcorn.common.dto.MovieRelation;
+import com.jonki.popcorn.common.dto.movie.BoxOffice;
+import com.jonki.popcorn.common.dto.movie.Country;
+import com.jonki.popcorn.common.dto.movie.Genre;
+import com.jonki.popcorn.common.dto.movie.Language;
+import com.jonki.popcorn.common.dto.movie.OtherTitle;
+import com.jonki.popcorn.common.dto.movie.Outline;
+import com.jonki.popcorn.common.dto.movie.ReleaseDate;
+import com.jonki.popcorn.common.dto.movie.Review;
+import com.jonki.popcorn.common.dto.movie.Site;
+import com.jonki.popcorn.common.dto.movie.Summary;
+import com.jonki.popcorn.common.dto.movie.Synopsis;
+import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
+import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingHistogram;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
 import com.jonki.popcorn.common.exception.ResourceException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
+import com.jonki.popcorn.core.cache.MovieSnapshotCache;
 import com.jonki.popcorn.core.jpa.entity.MovieEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieBoxOfficeEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieCountryEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieGenreEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieLanguageEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieOtherTitleEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieOutlineEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MoviePhotoEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MoviePosterEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieReleaseDateEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieReviewEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieSiteEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieSummaryEntity;
-import com.jonki.popcorn.core.jpa.entity.movie.MovieSynopsisEntity;
 import com.jonki.popcorn.core.jpa.repository.MovieRepository;
 import com.jonki.popcorn.core.jpa.repository.UserRepository;
+import com.jonki.popcorn.core.properties.CacheProperties;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.core.rating.RatingSeries;
+import com.jonki.popcorn.core.search.CountCache;
+import com.jonki.popcorn.core.search.SearchPage;
+import com.jonki.popcorn.core.search.SearchQueryExecutor;
 import com.jonki.popcorn.core.service.AuthorizationService;
+import com.jonki.popcorn.core.service.MovieIndexService;
 import com.jonki.popcorn.test.category.UnitTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * Unit tests for MovieSearchServiceImpl.
@@ -42,6 +62,8 @@ import java.util.UUID;
 public class MovieSearchServiceImplUnitTests {
 
     private MovieRepository movieRepository;
+    private MovieInfoLoader movieInfoLoader;
+    private MovieRatingLoader movieRatingLoader;
     private MovieSearchServiceImpl service;
 
     /**
@@ -50,13 +72,38 @@ public class MovieSearchServiceImplUnitTests {
     @Before
     public void setup() {
         this.movieRepository = Mockito.mock(MovieRepository.class);
+        this.movieInfoLoader = Mockito.mock(MovieInfoLoader.class);
+        this.movieRatingLoader = Mockito.mock(MovieRatingLoader.class);
         this.service = new MovieSearchServiceImpl(
                 this.movieRepository,
                 Mockito.mock(UserRepository.class),
-                Mockito.mock(AuthorizationService.class)
+                Mockito.mock(AuthorizationService.class),
+                Mockito.mock(MovieIndexService.class),
+                new CountCache(new SearchProperties()),
+                new SearchProperties(),
+                Lists.newArrayList(new LikeTitleSearchBackend()),
+                Mockito.mock(SearchQueryExecutor.class),
+                Mockito.mock(MovieDetailLoader.class),
+                this.movieInfoLoader,
+                new MovieSnapshotCache(new CacheProperties(), new SimpleMeterRegistry()),
+                this.movieRatingLoader
         );
     }
 
+    /**
+     * Test the getMovies method.
+     *
+     * @throws ResourceException For any problem
+     */
+    @Test(expected = ResourceBadRequestException.class)
+    public void cantGetMoviesIfTooManyIds() throws ResourceException {
+        final List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= new SearchProperties().getBatch().getMaxIds() + 1; id++) {
+            ids.add(id);
+        }
+        this.service.getMovies(ids);
+    }
+
     /**
      * Test the getMovie method.
      *
@@ -90,9 +137,9 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMovieRatingsIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
-        this.service.getRatings(id);
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getRatings(id, null, null, PageRequest.of(0, 10));
     }
 
     /**
@@ -103,216 +150,190 @@ public class MovieSearchServiceImplUnitTests {
     @Test
     public void canGetMovieRatings() throws ResourceException {
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getRatings()).thenReturn(Lists.newArrayList());
+        final LocalDate fromDate = LocalDate.of(2018, 8, 18);
+        final Pageable page = PageRequest.of(0, 10);
+        final SearchPage<RateResponse> ratings = new SearchPage<>(Lists.newArrayList(), page, 0, null);
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertTrue(this.service.getRatings(id).isEmpty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(true);
+        Mockito.when(this.movieRatingLoader.findRatings(id, fromDate, null, page)).thenReturn(ratings);
+        Assert.assertThat(this.service.getRatings(id, fromDate, null, page), Matchers.sameInstance(ratings));
+        Mockito.verify(this.movieRepository, Mockito.never()).findByIdAndStatus(id, DataStatus.ACCEPTED);
     }
 
     /**
-     * Test the getTitles method.
+     * Test the getRatingHistogram method.
      *
      * @throws ResourceException For any problem
      */
     @Test(expected = ResourceNotFoundException.class)
-    public void cantGetMovieTitlesIfMovieDoesNotExist() throws ResourceException {
+    public void cantGetRatingHistogramIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
                 .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
                 .thenReturn(Optional.empty());
-        this.service.getTitles(id);
+        this.service.getRatingHistogram(id);
     }
 
     /**
-     * Test the getTitles method.
+     * Test the getRatingHistogram method.
      *
      * @throws ResourceException For any problem
      */
     @Test
-    public void canGetMovieTitles() throws ResourceException {
-        final List<MovieOtherTitleEntity> otherTitleList = new ArrayList<>();
-        MovieOtherTitleEntity ot = new MovieOtherTitleEntity();
-        ot.setStatus(DataStatus.ACCEPTED);
-        otherTitleList.add(ot);
-        ot = new MovieOtherTitleEntity();
-        ot.setStatus(DataStatus.REJECTED);
-        otherTitleList.add(ot);
-
+    public void canGetRatingHistogram() throws ResourceException {
         final Long id = new Random().nextLong();
+        final List<Integer> counts = Lists.newArrayList(0, 0, 1, 0, 0, 0, 0, 2, 0, 0);
         final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getOtherTitles()).thenReturn(otherTitleList);
+        Mockito.when(entity.getRatingHistogram()).thenReturn(counts);
+        Mockito.when(entity.getRatingCount()).thenReturn(3);
         Mockito
                 .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
                 .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getTitles(id).size());
+        final RatingHistogram histogram = this.service.getRatingHistogram(id);
+        Assert.assertThat(histogram.getCounts(), Matchers.is(counts));
+        Assert.assertThat(histogram.getTotal(), Matchers.is(3));
     }
 
     /**
-     * Test the getReleaseDates method.
+     * Test the getRatingTrend method.
      *
      * @throws ResourceException For any problem
      */
     @Test(expected = ResourceNotFoundException.class)
-    public void cantGetMovieReleaseDatesIfMovieDoesNotExist() throws ResourceException {
+    public void cantGetRatingTrendIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
-        this.service.getReleaseDates(id);
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getRatingTrend(id, TrendResolution.DAY, null, null);
     }
 
     /**
-     * Test the getReleaseDates method.
+     * Test the getRatingTrend method.
      *
      * @throws ResourceException For any problem
      */
     @Test
-    public void canGetMovieReleaseDates() throws ResourceException {
-        final List<MovieReleaseDateEntity> releaseDateList = new ArrayList<>();
-        MovieReleaseDateEntity rd = new MovieReleaseDateEntity();
-        rd.setStatus(DataStatus.ACCEPTED);
-        releaseDateList.add(rd);
-        rd = new MovieReleaseDateEntity();
-        rd.setStatus(DataStatus.REJECTED);
-        releaseDateList.add(rd);
-
+    public void canGetRatingTrend() throws ResourceException {
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getReleaseDates()).thenReturn(releaseDateList);
+        final LocalDate toDate = LocalDate.of(2018, 8, 18);
+        final List<RatingTrendPoint> trend = Lists.newArrayList(
+                new RatingTrendPoint.Builder(RatingSeries.getStart(toDate), 2, 7.5F, 2, 7.5F).build()
+        );
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getReleaseDates(id).size());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(true);
+        Mockito
+                .when(this.movieRatingLoader.findTrend(id, TrendResolution.WEEK, null, toDate))
+                .thenReturn(trend);
+        Assert.assertThat(
+                this.service.getRatingTrend(id, TrendResolution.WEEK, null, toDate),
+                Matchers.sameInstance(trend)
+        );
     }
 
     /**
-     * Test the getOutlines method.
+     * Test the getRelations method.
      *
      * @throws ResourceException For any problem
      */
     @Test(expected = ResourceNotFoundException.class)
-    public void cantGetMovieOutlinesIfMovieDoesNotExist() throws ResourceException {
+    public void cantGetMovieRelationsIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
-        this.service.getOutlines(id);
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getRelations(id, EnumSet.of(MovieRelation.TITLES));
     }
 
     /**
-     * Test the getOutlines method.
+     * Test the getRelations method.
      *
      * @throws ResourceException For any problem
      */
     @Test
-    public void canGetMovieOutlines() throws ResourceException {
-        final List<MovieOutlineEntity> outlineList = new ArrayList<>();
-        MovieOutlineEntity o = new MovieOutlineEntity();
-        o.setStatus(DataStatus.ACCEPTED);
-        outlineList.add(o);
-        o = new MovieOutlineEntity();
-        o.setStatus(DataStatus.REJECTED);
-        outlineList.add(o);
+    public void canGetMovieRelations() throws ResourceException {
+        final Set<MovieRelation> relations = EnumSet.of(MovieRelation.TITLES, MovieRelation.POSTERS);
+        final Map<MovieRelation, List<?>> infos = new EnumMap<>(MovieRelation.class);
 
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getOutlines()).thenReturn(outlineList);
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getOutlines(id).size());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(true);
+        Mockito.when(this.movieInfoLoader.findRelations(id, relations)).thenReturn(infos);
+        Assert.assertThat(this.service.getRelations(id, relations), Matchers.sameInstance(infos));
+        Mockito.verify(this.movieRepository, Mockito.never()).findByIdAndStatus(id, DataStatus.ACCEPTED);
     }
 
     /**
-     * Test the getSummaries method.
+     * Test the getTitles method.
      *
      * @throws ResourceException For any problem
      */
     @Test(expected = ResourceNotFoundException.class)
-    public void cantGetMovieSummariesIfMovieDoesNotExist() throws ResourceException {
+    public void cantGetMovieTitlesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
-        this.service.getSummaries(id);
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getTitles(id);
     }
 
     /**
-     * Test the getSummaries method.
+     * Test the getReleaseDates method.
      *
      * @throws ResourceException For any problem
      */
-    @Test
-    public void canGetMovieSummaries() throws ResourceException {
-        final List<MovieSummaryEntity> summaryList = new ArrayList<>();
-        MovieSummaryEntity s = new MovieSummaryEntity();
-        s.setStatus(DataStatus.ACCEPTED);
-        summaryList.add(s);
-        s = new MovieSummaryEntity();
-        s.setStatus(DataStatus.REJECTED);
-        summaryList.add(s);
-
+    @Test(expected = ResourceNotFoundException.class)
+    public void cantGetMovieReleaseDatesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getSummaries()).thenReturn(summaryList);
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getSummaries(id).size());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getReleaseDates(id);
     }
 
     /**
-     * Test the getSynopses method.
+     * Test the getOutlines method.
      *
      * @throws ResourceException For any problem
      */
     @Test(expected = ResourceNotFoundException.class)
-    public void cantGetMovieSynopsesIfMovieDoesNotExist() throws ResourceException {
+    public void cantGetMovieOutlinesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
-        this.service.getSynopses(id);
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getOutlines(id);
     }
 
     /**
-     * Test the getSynopses method.
+     * Test the getSummaries method.
      *
      * @throws ResourceException For any problem
      */
-    @Test
-    public void canGetMovieSynopses() throws ResourceException {
-        final List<MovieSynopsisEntity> synopsisList = new ArrayList<>();
-        MovieSynopsisEntity s = new MovieSynopsisEntity();
-        s.setStatus(DataStatus.ACCEPTED);
-        synopsisList.add(s);
-        s = new MovieSynopsisEntity();
-        s.setStatus(DataStatus.REJECTED);
-        synopsisList.add(s);
-
+    @Test(expected = ResourceNotFoundException.class)
+    public void cantGetMovieSummariesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getSynopses()).thenReturn(synopsisList);
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getSynopses(id).size());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getSummaries(id);
     }
 
     /**
-     * Test the getBoxOffices method.
+     * Test the getSynopses method.
      *
      * @throws ResourceException For any problem
      */
     @Test(expected = ResourceNotFoundException.class)
-    public void cantGetMovieBoxOfficesIfMovieDoesNotExist() throws ResourceException {
+    public void cantGetMovieSynopsesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
-        this.service.getBoxOffices(id);
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getSynopses(id);
     }
 
     /**
@@ -320,23 +341,13 @@ public class MovieSearchServiceImplUnitTests {
      *
      * @throws ResourceException For any problem
      */
-    @Test
-    public void canGetMovieBoxOffices() throws ResourceException {
-        final List<MovieBoxOfficeEntity> boxOfficeList = new ArrayList<>();
-        MovieBoxOfficeEntity bo = new MovieBoxOfficeEntity();
-        bo.setStatus(DataStatus.ACCEPTED);
-        boxOfficeList.add(bo);
-        bo = new MovieBoxOfficeEntity();
-        bo.setStatus(DataStatus.REJECTED);
-        boxOfficeList.add(bo);
-
+    @Test(expected = ResourceNotFoundException.class)
+    public void cantGetMovieBoxOfficesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getBoxOffices()).thenReturn(boxOfficeList);
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getBoxOffices(id).size());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
+        this.service.getBoxOffices(id);
     }
 
     /**
@@ -348,35 +359,11 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMovieSitesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getSites(id);
     }
 
-    /**
-     * Test the getSites method.
-     *
-     * @throws ResourceException For any problem
-     */
-    @Test
-    public void canGetMovieSites() throws ResourceException {
-        final List<MovieSiteEntity> siteList = new ArrayList<>();
-        MovieSiteEntity s = new MovieSiteEntity();
-        s.setStatus(DataStatus.ACCEPTED);
-        siteList.add(s);
-        s = new MovieSiteEntity();
-        s.setStatus(DataStatus.REJECTED);
-        siteList.add(s);
-
-        final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getSites()).thenReturn(siteList);
-        Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getSites(id).size());
-    }
-
     /**
      * Test the getCountries method.
      *
@@ -386,35 +373,11 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMovieCountriesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getCountries(id);
     }
 
-    /**
-     * Test the getCountries method.
-     *
-     * @throws ResourceException For any problem
-     */
-    @Test
-    public void canGetMovieCountries() throws ResourceException {
-        final List<MovieCountryEntity> countryList = new ArrayList<>();
-        MovieCountryEntity c = new MovieCountryEntity();
-        c.setStatus(DataStatus.ACCEPTED);
-        countryList.add(c);
-        c = new MovieCountryEntity();
-        c.setStatus(DataStatus.REJECTED);
-        countryList.add(c);
-
-        final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getCountries()).thenReturn(countryList);
-        Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getCountries(id).size());
-    }
-
     /**
      * Test the getLanguages method.
      *
@@ -424,35 +387,11 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMovieLanguagesIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getLanguages(id);
     }
 
-    /**
-     * Test the getLanguages method.
-     *
-     * @throws ResourceException For any problem
-     */
-    @Test
-    public void canGetMovieLanguages() throws ResourceException {
-        final List<MovieLanguageEntity> languageList = new ArrayList<>();
-        MovieLanguageEntity l = new MovieLanguageEntity();
-        l.setStatus(DataStatus.ACCEPTED);
-        languageList.add(l);
-        l = new MovieLanguageEntity();
-        l.setStatus(DataStatus.REJECTED);
-        languageList.add(l);
-
-        final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getLanguages()).thenReturn(languageList);
-        Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getLanguages(id).size());
-    }
-
     /**
      * Test the getGenres method.
      *
@@ -462,35 +401,11 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMovieGenresIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getGenres(id);
     }
 
-    /**
-     * Test the getGenres method.
-     *
-     * @throws ResourceException For any problem
-     */
-    @Test
-    public void canGetMovieGenres() throws ResourceException {
-        final List<MovieGenreEntity> genreList = new ArrayList<>();
-        MovieGenreEntity g = new MovieGenreEntity();
-        g.setStatus(DataStatus.ACCEPTED);
-        genreList.add(g);
-        g = new MovieGenreEntity();
-        g.setStatus(DataStatus.REJECTED);
-        genreList.add(g);
-
-        final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getGenres()).thenReturn(genreList);
-        Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getGenres(id).size());
-    }
-
     /**
      * Test the getReviews method.
      *
@@ -500,35 +415,11 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMovieReviewsIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getReviews(id);
     }
 
-    /**
-     * Test the getReviews method.
-     *
-     * @throws ResourceException For any problem
-     */
-    @Test
-    public void canGetMovieReviews() throws ResourceException {
-        final List<MovieReviewEntity> reviewList = new ArrayList<>();
-        MovieReviewEntity r = new MovieReviewEntity();
-        r.setStatus(DataStatus.ACCEPTED);
-        reviewList.add(r);
-        r = new MovieReviewEntity();
-        r.setStatus(DataStatus.REJECTED);
-        reviewList.add(r);
-
-        final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getReviews()).thenReturn(reviewList);
-        Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getReviews(id).size());
-    }
-
     /**
      * Test the getPhotos method.
      *
@@ -538,39 +429,11 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMoviePhotosIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getPhotos(id);
     }
 
-    /**
-     * Test the getPhotos method.
-     *
-     * @throws ResourceException For any problem
-     */
-    @Test
-    public void canGetMoviePhotos() throws ResourceException {
-        final List<MoviePhotoEntity> photoList = new ArrayList<>();
-        MoviePhotoEntity p = new MoviePhotoEntity();
-        p.setStatus(DataStatus.ACCEPTED);
-        p.setProvider(StorageProvider.GOOGLE);
-        p.setIdInCloud(UUID.randomUUID().toString());
-        photoList.add(p);
-        p = new MoviePhotoEntity();
-        p.setStatus(DataStatus.REJECTED);
-        p.setProvider(StorageProvider.GOOGLE);
-        p.setIdInCloud(UUID.randomUUID().toString());
-        photoList.add(p);
-
-        final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getPhotos()).thenReturn(photoList);
-        Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getPhotos(id).size());
-    }
-
     /**
      * Test the getPosters method.
      *
@@ -580,36 +443,64 @@ public class MovieSearchServiceImplUnitTests {
     public void cantGetMoviePostersIfMovieDoesNotExist() throws ResourceException {
         final Long id = new Random().nextLong();
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.empty());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(false);
         this.service.getPosters(id);
     }
 
     /**
-     * Test the getPosters method.
+     * Test the sub-resources of the movie are loaded by the movie info loader once the movie is known to exist,
+     * without loading the movie.
      *
      * @throws ResourceException For any problem
      */
     @Test
-    public void canGetMoviePosters() throws ResourceException {
-        final List<MoviePosterEntity> posterList = new ArrayList<>();
-        MoviePosterEntity p = new MoviePosterEntity();
-        p.setStatus(DataStatus.ACCEPTED);
-        p.setProvider(StorageProvider.GOOGLE);
-        p.setIdInCloud(UUID.randomUUID().toString());
-        posterList.add(p);
-        p = new MoviePosterEntity();
-        p.setStatus(DataStatus.REJECTED);
-        p.setProvider(StorageProvider.GOOGLE);
-        p.setIdInCloud(UUID.randomUUID().toString());
-        posterList.add(p);
-
+    public void canGetMovieInfo() throws ResourceException {
         final Long id = new Random().nextLong();
-        final MovieEntity entity = Mockito.mock(MovieEntity.class);
-        Mockito.when(entity.getPosters()).thenReturn(posterList);
         Mockito
-                .when(this.movieRepository.findByIdAndStatus(id, DataStatus.ACCEPTED))
-                .thenReturn(Optional.of(entity));
-        Assert.assertEquals(1, this.service.getPosters(id).size());
+                .when(this.movieRepository.existsByIdAndStatus(id, DataStatus.ACCEPTED))
+                .thenReturn(true);
+
+        final List<OtherTitle> titles = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findTitles(id)).thenReturn(titles);
+        final List<ReleaseDate> releaseDates = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findReleaseDates(id)).thenReturn(releaseDates);
+        final List<Outline> outlines = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findOutlines(id)).thenReturn(outlines);
+        final List<Summary> summaries = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findSummaries(id)).thenReturn(summaries);
+        final List<Synopsis> synopses = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findSynopses(id)).thenReturn(synopses);
+        final List<BoxOffice> boxOffices = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findBoxOffices(id)).thenReturn(boxOffices);
+        final List<Site> sites = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findSites(id)).thenReturn(sites);
+        final List<Country> countries = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findCountries(id)).thenReturn(countries);
+        final List<Language> languages = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findLanguages(id)).thenReturn(languages);
+        final List<Genre> genres = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findGenres(id)).thenReturn(genres);
+        final List<Review> reviews = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findReviews(id)).thenReturn(reviews);
+        final List<ImageResponse> photos = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findPhotos(id)).thenReturn(photos);
+        final List<ImageResponse> posters = new ArrayList<>();
+        Mockito.when(this.movieInfoLoader.findPosters(id)).thenReturn(posters);
+
+        Assert.assertThat(this.service.getTitles(id), Matchers.sameInstance(titles));
+        Assert.assertThat(this.service.getReleaseDates(id), Matchers.sameInstance(releaseDates));
+        Assert.assertThat(this.service.getOutlines(id), Matchers.sameInstance(outlines));
+        Assert.assertThat(this.service.getSummaries(id), Matchers.sameInstance(summaries));
+        Assert.assertThat(this.service.getSynopses(id), Matchers.sameInstance(synopses));
+        Assert.assertThat(this.service.getBoxOffices(id), Matchers.sameInstance(boxOffices));
+        Assert.assertThat(this.service.getSites(id), Matchers.sameInstance(sites));
+        Assert.assertThat(this.service.getCountries(id), Matchers.sameInstance(countries));
+        Assert.assertThat(this.service.getLanguages(id), Matchers.sameInstance(languages));
+        Assert.assertThat(this.service.getGenres(id), Matchers.sameInstance(genres));
+        Assert.assertThat(this.service.getReviews(id), Matchers.sameInstance(reviews));
+        Assert.assertThat(this.service.getPhotos(id), Matchers.sameInstance(photos));
+        Assert.assertThat(this.service.getPosters(id), Matchers.sameInstance(posters));
+        Mockito.verify(this.movieRepository, Mockito.never()).findByIdAndStatus(id, DataStatus.ACCEPTED);
     }
 }
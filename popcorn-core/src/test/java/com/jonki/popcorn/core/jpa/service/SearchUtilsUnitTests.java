@@ -0,0 +1,74 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.common.dto.search.UserSearchResult;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchCursor;
+import com.jonki.popcorn.core.search.SearchPage;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for SearchUtils.
+ */
+@Category(UnitTest.class)
+public class SearchUtilsUnitTests {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.ASC, "username", "id");
+
+    /**
+     * Test the cursor to the next page is created from the sort values of the last row of the page.
+     */
+    @Test
+    public void canCreateCursorFromContentRows() {
+        final List<Tuple> rows = Lists.newArrayList(
+                this.row("user1", 1L), this.row("user2", 2L), this.row("user3", 3L)
+        );
+
+        final SearchPage<UserSearchResult> page = SearchUtils.toPage(
+                rows, UserSearchResult.class, new KeysetPageRequest(PageRequest.of(0, 2, SORT), null), 3, true, SORT
+        );
+
+        Assert.assertThat(page.getContent().size(), Matchers.is(2));
+        Assert.assertThat(page.getContent().get(1).getUsername(), Matchers.is("user2"));
+        final SearchCursor cursor = SearchCursor.decode(page.getNextCursor().orElse(null));
+        Assert.assertThat(cursor.getValue(0, String.class), Matchers.is("user2"));
+        Assert.assertThat(cursor.getValue(1, Long.class), Matchers.is(2L));
+    }
+
+    /**
+     * Test the last page has no cursor.
+     */
+    @Test
+    public void cantCreateCursorForLastPage() {
+        final List<Tuple> rows = Lists.newArrayList(this.row("user1", 1L));
+
+        final SearchPage<UserSearchResult> page = SearchUtils.toPage(
+                rows, UserSearchResult.class, new KeysetPageRequest(PageRequest.of(0, 2, SORT), null), 1, true, SORT
+        );
+
+        Assert.assertThat(page.getContent().size(), Matchers.is(1));
+        Assert.assertFalse(page.getNextCursor().isPresent());
+    }
+
+    private Tuple row(final String username, final Long id) {
+        final Tuple row = Mockito.mock(Tuple.class);
+        Mockito.when(row.get(0, UserSearchResult.class))
+                .thenReturn(new UserSearchResult(username, username, username + "@popcorn.com"));
+        Mockito.when(row.get(1)).thenReturn(username);
+        Mockito.when(row.get(2)).thenReturn(id);
+        Mockito.when(row.getElements()).thenReturn(Collections.nCopies(3, Mockito.mock(TupleElement.class)));
+        return row;
+    }
+}
@@ -0,0 +1,78 @@
+package com.jonki.popcorn.core.jpa.service;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the JDBC statements prepared on the data source, for the query count regression tests.
+ */
+@TestConfiguration
+public class StatementCounter implements BeanPostProcessor {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Wrap the data source with a data source counting the statements.
+     */
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof DataSource)) {
+            return bean;
+        }
+
+        return new DelegatingDataSource((DataSource) bean) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return countStatements(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(final String username, final String password) throws SQLException {
+                return countStatements(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Reset the number of statements.
+     */
+    public void reset() {
+        this.count.set(0);
+    }
+
+    /**
+     * Get the number of statements prepared since the last reset.
+     *
+     * @return The number of statements
+     */
+    public int getCount() {
+        return this.count.get();
+    }
+
+    private Connection countStatements(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")
+                            || method.getName().equals("prepareCall")
+                            || method.getName().equals("createStatement")) {
+                        this.count.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+}
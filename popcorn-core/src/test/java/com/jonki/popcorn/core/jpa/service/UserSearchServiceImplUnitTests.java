@@ -5,6 +5,7 @@ import com.jonki.popcorn.common.exception.ResourceException;
 import com.jonki.popcorn.common.exception.ResourceNotFoundException;
 import com.jonki.popcorn.core.jpa.entity.UserEntity;
 import com.jonki.popcorn.core.jpa.repository.UserRepository;
+import com.jonki.popcorn.core.search.SearchQueryExecutor;
 import com.jonki.popcorn.core.service.AuthorizationService;
 import com.jonki.popcorn.test.category.UnitTest;
 import org.hamcrest.Matchers;
@@ -36,7 +37,8 @@ public class UserSearchServiceImplUnitTests {
         this.authorizationService = Mockito.mock(AuthorizationService.class);
         this.userSearchService = new UserSearchServiceImpl(
                 this.userRepository,
-                this.authorizationService
+                this.authorizationService,
+                Mockito.mock(SearchQueryExecutor.class)
         );
     }
 
@@ -0,0 +1,111 @@
+package com.jonki.popcorn.core.jpa.specification;
+
+import com.jonki.popcorn.core.jpa.entity.MovieEntity_;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity;
+import com.jonki.popcorn.core.jpa.entity.movie.MovieRateEntity_;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Tests for the rating specifications.
+ */
+@Category(UnitTest.class)
+public class RatingSpecsUnitTests {
+
+    private static final Long MOVIE_ID = 1L;
+    private static final LocalDate FROM_DATE = LocalDate.of(2018, 8, 18);
+    private static final LocalDate TO_DATE = LocalDate.of(2018, 8, 19);
+
+    private TimeZone defaultZone;
+
+    private Root<MovieRateEntity> root;
+    private CriteriaBuilder cb;
+    private Path<Date> path;
+
+    /**
+     * Setup some variables. The attributes of the metamodel aren't initialized without the persistence unit,
+     * so all the paths are the same mock. The default time zone is east of UTC, so the days starting
+     * in the default time zone would be off by one.
+     */
+    @Before
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        this.defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Warsaw"));
+
+        this.root = (Root<MovieRateEntity>) Mockito.mock(Root.class);
+        this.cb = Mockito.mock(CriteriaBuilder.class);
+        this.path = (Path<Date>) Mockito.mock(Path.class);
+
+        Mockito.doReturn(this.path).when(this.root).get(MovieRateEntity_.movie);
+        Mockito.doReturn(this.path).when((Path) this.path).get(MovieEntity_.id);
+    }
+
+    /**
+     * Restore the default time zone.
+     */
+    @After
+    public void cleanup() {
+        TimeZone.setDefault(this.defaultZone);
+    }
+
+    /**
+     * Test the find specification includes the days of the range, starting in UTC.
+     */
+    @Test
+    public void testFindWithAll() {
+        RatingSpecs.getFindPredicate(
+                this.root,
+                this.cb,
+                MOVIE_ID,
+                FROM_DATE,
+                TO_DATE
+        );
+
+        Mockito
+                .verify(this.cb, Mockito.times(1))
+                .equal(this.path, MOVIE_ID);
+        Mockito
+                .verify(this.cb, Mockito.times(1))
+                .greaterThanOrEqualTo(this.path, Date.from(Instant.parse("2018-08-18T00:00:00Z")));
+        Mockito
+                .verify(this.cb, Mockito.times(1))
+                .lessThan(this.path, Date.from(Instant.parse("2018-08-20T00:00:00Z")));
+    }
+
+    /**
+     * Test the find specification.
+     */
+    @Test
+    public void testFindWithOutDates() {
+        RatingSpecs.getFindPredicate(
+                this.root,
+                this.cb,
+                MOVIE_ID,
+                null,
+                null
+        );
+
+        Mockito
+                .verify(this.cb, Mockito.times(1))
+                .equal(this.path, MOVIE_ID);
+        Mockito
+                .verify(this.cb, Mockito.never())
+                .greaterThanOrEqualTo(Mockito.eq(this.path), Mockito.any(Date.class));
+        Mockito
+                .verify(this.cb, Mockito.never())
+                .lessThan(Mockito.eq(this.path), Mockito.any(Date.class));
+    }
+}
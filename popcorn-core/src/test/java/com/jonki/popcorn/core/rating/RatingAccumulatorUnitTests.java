@@ -0,0 +1,95 @@
+package com.jonki.popcorn.core.rating;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for RatingAccumulator.
+ */
+@Category(UnitTest.class)
+public class RatingAccumulatorUnitTests {
+
+    private static final LocalDate DAY = LocalDate.of(2018, 8, 15);
+
+    /**
+     * Test the changes are summed per movie and drained in the order of the movie IDs.
+     */
+    @Test
+    public void canAccumulateAndDrain() {
+        final RatingAccumulator accumulator = new RatingAccumulator(4);
+
+        Assert.assertThat(accumulator.add(7L, RatingDelta.vote(8, DAY)), Matchers.is(1));
+        Assert.assertThat(accumulator.add(3L, RatingDelta.vote(5, DAY)), Matchers.is(2));
+        Assert.assertThat(accumulator.add(7L, RatingDelta.change(8, DAY, 6, DAY)), Matchers.is(3));
+        Assert.assertThat(accumulator.getDepth(), Matchers.is(3));
+
+        final Map<Long, RatingDelta> deltas = accumulator.drain();
+        Assert.assertThat(deltas.keySet(), Matchers.contains(3L, 7L));
+        Assert.assertThat(deltas.get(3L), Matchers.is(RatingDelta.vote(5, DAY)));
+        Assert.assertThat(deltas.get(7L), Matchers.is(RatingDelta.vote(6, DAY)));
+        Assert.assertThat(accumulator.getDepth(), Matchers.is(0));
+        Assert.assertThat(accumulator.drain().isEmpty(), Matchers.is(true));
+    }
+
+    /**
+     * Test the restored changes are merged with the changes added since they were drained.
+     */
+    @Test
+    public void canRestore() {
+        final RatingAccumulator accumulator = new RatingAccumulator(1);
+        accumulator.add(1L, RatingDelta.vote(10, DAY));
+        final Map<Long, RatingDelta> deltas = accumulator.drain();
+        accumulator.add(1L, RatingDelta.vote(4, DAY));
+
+        accumulator.restore(deltas);
+
+        Assert.assertThat(accumulator.getDepth(), Matchers.is(2));
+        Assert.assertThat(
+                accumulator.drain().get(1L),
+                Matchers.is(RatingDelta.vote(10, DAY).plus(RatingDelta.vote(4, DAY)))
+        );
+    }
+
+    /**
+     * Test no change is lost when the votes are added concurrently.
+     *
+     * @throws InterruptedException if interrupted
+     */
+    @Test
+    public void canAddConcurrently() throws InterruptedException {
+        final RatingAccumulator accumulator = new RatingAccumulator(8);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4000; i++) {
+            final long movieId = i % 3;
+            executor.execute(() -> accumulator.add(movieId, RatingDelta.vote(2, DAY)));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        final Map<Long, RatingDelta> deltas = accumulator.drain();
+        Assert.assertThat(
+                deltas.values().stream().mapToInt(RatingDelta::getCount).sum(),
+                Matchers.is(4000)
+        );
+        Assert.assertThat(deltas.get(0L).getSum(), Matchers.is(2668L));
+        Assert.assertThat(deltas.get(0L).getCount(), Matchers.is(1334));
+        Assert.assertThat(deltas.get(0L).getHistogram(2), Matchers.is(1334));
+    }
+
+    /**
+     * Test the accumulator needs at least one stripe.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void cantCreateWithoutStripes() {
+        new RatingAccumulator(0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.jonki.popcorn.core.rating;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+
+/**
+ * Unit tests for RatingDelta.
+ */
+@Category(UnitTest.class)
+public class RatingDeltaUnitTests {
+
+    private static final LocalDate DAY = LocalDate.of(2018, 8, 15);
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    /**
+     * Test a new vote adds its rate, one vote and one vote to the bucket of its rate.
+     */
+    @Test
+    public void canVote() {
+        final RatingDelta delta = RatingDelta.vote(7, DAY);
+
+        Assert.assertThat(delta.getSum(), Matchers.is(7L));
+        Assert.assertThat(delta.getCount(), Matchers.is(1));
+        Assert.assertThat(delta.getHistogram(7), Matchers.is(1));
+        Assert.assertThat(delta.getHistogram(6), Matchers.is(0));
+        Assert.assertThat(delta.getDays().size(), Matchers.is(1));
+        Assert.assertThat(delta.getDays().get(DAY), Matchers.is(new DailyRating(7L, 1)));
+        Assert.assertThat(delta.isEmpty(), Matchers.is(false));
+    }
+
+    /**
+     * Test a changed vote moves between the buckets without changing the number of votes.
+     */
+    @Test
+    public void canChange() {
+        final RatingDelta delta = RatingDelta.change(3, DAY, 9, DAY);
+
+        Assert.assertThat(delta.getSum(), Matchers.is(6L));
+        Assert.assertThat(delta.getCount(), Matchers.is(0));
+        Assert.assertThat(delta.getHistogram(3), Matchers.is(-1));
+        Assert.assertThat(delta.getHistogram(9), Matchers.is(1));
+        Assert.assertThat(delta.getDays().get(DAY), Matchers.is(new DailyRating(6L, 0)));
+        Assert.assertThat(RatingDelta.change(5, DAY, 5, DAY).isEmpty(), Matchers.is(true));
+    }
+
+    /**
+     * Test a deleted vote is taken away from the aggregates and its bucket.
+     */
+    @Test
+    public void canDelete() {
+        final RatingDelta delta = RatingDelta.delete(10, DAY);
+
+        Assert.assertThat(delta.getSum(), Matchers.is(-10L));
+        Assert.assertThat(delta.getCount(), Matchers.is(-1));
+        Assert.assertThat(delta.getHistogram(10), Matchers.is(-1));
+        Assert.assertThat(delta.getDays().get(DAY), Matchers.is(new DailyRating(-10L, -1)));
+        Assert.assertThat(RatingDelta.vote(10, DAY).plus(delta).isEmpty(), Matchers.is(true));
+    }
+
+    /**
+     * Test the changes of several votes are combined.
+     */
+    @Test
+    public void canCombine() {
+        final RatingDelta delta = RatingDelta.vote(4, DAY)
+                .plus(RatingDelta.change(4, DAY, 8, DAY))
+                .plus(RatingDelta.vote(1, DAY));
+
+        Assert.assertThat(delta, Matchers.is(RatingDelta.vote(8, DAY).plus(RatingDelta.vote(1, DAY))));
+        Assert.assertThat(delta.getSum(), Matchers.is(9L));
+        Assert.assertThat(delta.getCount(), Matchers.is(2));
+        Assert.assertThat(delta.getHistogram(4), Matchers.is(0));
+    }
+
+    /**
+     * Test a vote changed on another day moves from the day of its previous change to the new day.
+     */
+    @Test
+    public void canMoveVoteToAnotherDay() {
+        final RatingDelta delta = RatingDelta.change(3, DAY, 9, NEXT_DAY);
+
+        Assert.assertThat(delta.getSum(), Matchers.is(6L));
+        Assert.assertThat(delta.getCount(), Matchers.is(0));
+        Assert.assertThat(delta.getDays().get(DAY), Matchers.is(new DailyRating(-3L, -1)));
+        Assert.assertThat(delta.getDays().get(NEXT_DAY), Matchers.is(new DailyRating(9L, 1)));
+        Assert.assertThat(delta.isEmpty(), Matchers.is(false));
+
+        final RatingDelta combined = RatingDelta.vote(3, DAY).plus(delta);
+        Assert.assertThat(combined, Matchers.is(RatingDelta.vote(9, NEXT_DAY)));
+        Assert.assertThat(combined.getDays().containsKey(DAY), Matchers.is(false));
+    }
+
+    /**
+     * Test a rate out of the range is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void cantVoteOutOfRange() {
+        RatingDelta.vote(11, DAY);
+    }
+}
@@ -0,0 +1,138 @@
+package com.jonki.popcorn.core.rating;
+
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for RatingSeries.
+ */
+@Category(UnitTest.class)
+public class RatingSeriesUnitTests {
+
+    private static final DailyRating NONE = new DailyRating(0, 0);
+
+    /**
+     * Test every day with votes is a point and the cumulative average includes the previous days.
+     */
+    @Test
+    public void canDownsampleToDays() {
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        days.put(LocalDate.of(2018, 8, 15), new DailyRating(8, 1));
+        days.put(LocalDate.of(2018, 8, 17), new DailyRating(0, 0));
+        days.put(LocalDate.of(2018, 8, 18), new DailyRating(12, 3));
+
+        final List<RatingTrendPoint> points = RatingSeries.downsample(days, NONE, TrendResolution.DAY);
+
+        Assert.assertThat(points.size(), Matchers.is(2));
+        Assert.assertThat(points.get(0).getDate(), Matchers.is(getDate(Calendar.AUGUST, 15)));
+        Assert.assertThat(points.get(0).getCount(), Matchers.is(1));
+        Assert.assertThat(points.get(0).getAverage(), Matchers.is(8F));
+        Assert.assertThat(points.get(0).getTotalCount(), Matchers.is(1));
+        Assert.assertThat(points.get(0).getTotalAverage(), Matchers.is(8F));
+        Assert.assertThat(points.get(1).getDate(), Matchers.is(getDate(Calendar.AUGUST, 18)));
+        Assert.assertThat(points.get(1).getCount(), Matchers.is(3));
+        Assert.assertThat(points.get(1).getAverage(), Matchers.is(4F));
+        Assert.assertThat(points.get(1).getTotalCount(), Matchers.is(4));
+        Assert.assertThat(points.get(1).getTotalAverage(), Matchers.is(5F));
+    }
+
+    /**
+     * Test the days are grouped into the weeks starting on Monday.
+     */
+    @Test
+    public void canDownsampleToWeeks() {
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        days.put(LocalDate.of(2018, 8, 12), new DailyRating(6, 2));
+        days.put(LocalDate.of(2018, 8, 13), new DailyRating(10, 1));
+        days.put(LocalDate.of(2018, 8, 19), new DailyRating(5, 1));
+
+        final List<RatingTrendPoint> points = RatingSeries.downsample(days, NONE, TrendResolution.WEEK);
+
+        Assert.assertThat(points.size(), Matchers.is(2));
+        Assert.assertThat(points.get(0).getDate(), Matchers.is(getDate(Calendar.AUGUST, 6)));
+        Assert.assertThat(points.get(0).getCount(), Matchers.is(2));
+        Assert.assertThat(points.get(1).getDate(), Matchers.is(getDate(Calendar.AUGUST, 13)));
+        Assert.assertThat(points.get(1).getCount(), Matchers.is(2));
+        Assert.assertThat(points.get(1).getAverage(), Matchers.is(7.5F));
+        Assert.assertThat(points.get(1).getTotalCount(), Matchers.is(4));
+        Assert.assertThat(points.get(1).getTotalAverage(), Matchers.is(5.25F));
+    }
+
+    /**
+     * Test the days are grouped into the calendar months and the votes before the series are counted
+     * in the cumulative average.
+     */
+    @Test
+    public void canDownsampleToMonthsAfterPreviousVotes() {
+        final SortedMap<LocalDate, DailyRating> days = new TreeMap<>();
+        days.put(LocalDate.of(2018, 8, 1), new DailyRating(4, 1));
+        days.put(LocalDate.of(2018, 8, 31), new DailyRating(8, 1));
+        days.put(LocalDate.of(2018, 9, 1), new DailyRating(9, 1));
+
+        final List<RatingTrendPoint> points
+                = RatingSeries.downsample(days, new DailyRating(20, 2), TrendResolution.MONTH);
+
+        Assert.assertThat(points.size(), Matchers.is(2));
+        Assert.assertThat(points.get(0).getDate(), Matchers.is(getDate(Calendar.AUGUST, 1)));
+        Assert.assertThat(points.get(0).getCount(), Matchers.is(2));
+        Assert.assertThat(points.get(0).getAverage(), Matchers.is(6F));
+        Assert.assertThat(points.get(0).getTotalCount(), Matchers.is(4));
+        Assert.assertThat(points.get(0).getTotalAverage(), Matchers.is(8F));
+        Assert.assertThat(points.get(1).getDate(), Matchers.is(getDate(Calendar.SEPTEMBER, 1)));
+        Assert.assertThat(points.get(1).getTotalCount(), Matchers.is(5));
+        Assert.assertThat(points.get(1).getTotalAverage(), Matchers.is(8.2F));
+    }
+
+    /**
+     * Test a series without days has no points.
+     */
+    @Test
+    public void canDownsampleNoDays() {
+        Assert.assertThat(
+                RatingSeries.downsample(new TreeMap<>(), new DailyRating(7, 1), TrendResolution.MONTH).isEmpty(),
+                Matchers.is(true)
+        );
+    }
+
+    /**
+     * Test the dates are bucketed into the days in UTC, whatever the default time zone.
+     */
+    @Test
+    public void canGetDayInUtc() {
+        final TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Auckland"));
+        try {
+            final Date lateEvening = Date.from(Instant.parse("2018-08-15T23:30:00Z"));
+
+            Assert.assertThat(RatingSeries.getDay(lateEvening), Matchers.is(LocalDate.of(2018, 8, 15)));
+            Assert.assertThat(
+                    RatingSeries.getStart(LocalDate.of(2018, 8, 15)),
+                    Matchers.is(Date.from(Instant.parse("2018-08-15T00:00:00Z")))
+            );
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static Date getDate(final int month, final int day) {
+        final Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(RatingSeries.ZONE));
+        calendar.clear();
+        calendar.set(2018, month, day);
+        return calendar.getTime();
+    }
+}
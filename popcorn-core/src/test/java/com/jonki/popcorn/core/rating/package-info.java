@@ -0,0 +1,5 @@
+/**
+ * Classes to test the in-memory buffers of the movie ratings.
+ */
+
+package com.jonki.popcorn.core.rating;
@@ -0,0 +1,79 @@
+package com.jonki.popcorn.core.search;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Map;
+
+/**
+ * Unit tests for BkTree.
+ */
+@Category(UnitTest.class)
+public class BkTreeUnitTests {
+
+    private BkTree tree;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.tree = new BkTree();
+        this.tree.rebuild(ImmutableMap.of(
+                1L, Lists.newArrayList("The Matrix"),
+                2L, Lists.newArrayList("The Matrix Reloaded"),
+                3L, Lists.newArrayList("Gladiator"),
+                4L, Lists.newArrayList("Amélie", "Le Fabuleux Destin d'Amélie Poulain")
+        ));
+    }
+
+    /**
+     * Test the Levenshtein distance.
+     */
+    @Test
+    public void canComputeDistance() {
+        Assert.assertThat(BkTree.distance("matrix", "matrix"), Matchers.is(0));
+        Assert.assertThat(BkTree.distance("matrix", "matrx"), Matchers.is(1));
+        Assert.assertThat(BkTree.distance("matrix", "matirx"), Matchers.is(2));
+        Assert.assertThat(BkTree.distance("", "abc"), Matchers.is(3));
+        Assert.assertThat(BkTree.distance("kitten", "sitting"), Matchers.is(3));
+    }
+
+    /**
+     * Test every word of the phrase has to be close to a title word.
+     */
+    @Test
+    public void canSearch() {
+        final Map<Long, Integer> matrix = this.tree.search("Matirx", 2);
+        Assert.assertThat(matrix.size(), Matchers.is(2));
+        Assert.assertThat(matrix.get(1L), Matchers.is(2));
+        Assert.assertThat(matrix.get(2L), Matchers.is(2));
+
+        final Map<Long, Integer> reloaded = this.tree.search("matrix relaoded", 2);
+        Assert.assertThat(reloaded.size(), Matchers.is(1));
+        Assert.assertThat(reloaded.get(2L), Matchers.is(2));
+
+        Assert.assertThat(this.tree.search("gladaitor", 1).isEmpty(), Matchers.is(true));
+        Assert.assertThat(this.tree.search("amelei", 2).get(4L), Matchers.is(2));
+        Assert.assertThat(this.tree.search("qwerty", 2).isEmpty(), Matchers.is(true));
+    }
+
+    /**
+     * Test the movie can be replaced and removed.
+     */
+    @Test
+    public void canPutAndRemove() {
+        this.tree.put(3L, Lists.newArrayList("Gladiators"));
+        Assert.assertThat(this.tree.search("gladiatorz", 2).get(3L), Matchers.is(1));
+
+        this.tree.remove(1L);
+        Assert.assertThat(this.tree.search("matrix", 2).keySet(), Matchers.contains(2L));
+        Assert.assertThat(this.tree.size(), Matchers.is(3));
+    }
+}
@@ -0,0 +1,111 @@
+package com.jonki.popcorn.core.search;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for CountCache.
+ */
+@Category(UnitTest.class)
+public class CountCacheUnitTests {
+
+    private CountCache countCache;
+    private AtomicInteger queries;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        final SearchProperties searchProperties = new SearchProperties();
+        searchProperties.getCount().setCacheEnabled(true);
+        searchProperties.getCount().setCacheSize(2);
+        this.countCache = new CountCache(searchProperties);
+        this.queries = new AtomicInteger();
+    }
+
+    /**
+     * Test the key doesn't depend on the order of the collection elements.
+     */
+    @Test
+    public void canNormalizeKey() {
+        Assert.assertThat(
+                CountCache.key("T", Lists.newArrayList(CountryType.POLAND, CountryType.USA, CountryType.POLAND), null),
+                Matchers.is(CountCache.key("T", Lists.newArrayList(CountryType.USA, CountryType.POLAND), null))
+        );
+    }
+
+    /**
+     * Test the count is computed once and again after the invalidation.
+     */
+    @Test
+    public void canCacheUntilInvalidated() {
+        Assert.assertThat(this.countCache.count("a", this::query), Matchers.is(1L));
+        Assert.assertThat(this.countCache.count("a", this::query), Matchers.is(1L));
+        this.countCache.invalidate();
+        Assert.assertThat(this.countCache.count("a", this::query), Matchers.is(2L));
+    }
+
+    /**
+     * Test the count computed during the invalidation isn't cached.
+     */
+    @Test
+    public void cantCacheStaleCount() {
+        this.countCache.count("a", () -> {
+            this.countCache.invalidate();
+            return this.query();
+        });
+        Assert.assertThat(this.countCache.count("a", this::query), Matchers.is(2L));
+    }
+
+    /**
+     * Test the least recently used count is evicted.
+     */
+    @Test
+    public void canEvictLeastRecentlyUsed() {
+        this.countCache.count("a", this::query);
+        this.countCache.count("b", this::query);
+        this.countCache.count("a", this::query);
+        this.countCache.count("c", this::query);
+        Assert.assertThat(this.countCache.count("a", this::query), Matchers.is(1L));
+        Assert.assertThat(this.countCache.count("b", this::query), Matchers.is(4L));
+    }
+
+    /**
+     * Test a vote invalidates only the counts filtered by the rating.
+     */
+    @Test
+    public void canInvalidateRatingCounts() {
+        Assert.assertThat(this.countCache.count("a", false, this::query), Matchers.is(1L));
+        Assert.assertThat(this.countCache.count("b", true, this::query), Matchers.is(2L));
+        this.countCache.onMovieRated(new MovieRatedEvent(1L));
+        Assert.assertThat(this.countCache.count("a", false, this::query), Matchers.is(1L));
+        Assert.assertThat(this.countCache.count("b", true, this::query), Matchers.is(3L));
+    }
+
+    /**
+     * Test the rating count computed during the rating invalidation isn't cached.
+     */
+    @Test
+    public void cantCacheStaleRatingCount() {
+        this.countCache.count("a", true, () -> {
+            this.countCache.invalidateRatings();
+            return this.query();
+        });
+        Assert.assertThat(this.countCache.count("a", true, this::query), Matchers.is(2L));
+    }
+
+    private Long query() {
+        return (long) this.queries.incrementAndGet();
+    }
+}
@@ -0,0 +1,130 @@
+package com.jonki.popcorn.core.search;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Unit tests for FacetIndex.
+ */
+@Category(UnitTest.class)
+public class FacetIndexUnitTests {
+
+    private FacetIndex index;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.index = new FacetIndex();
+        this.index.rebuild(Lists.newArrayList(
+                new FacetIndex.Entry(1L, MovieType.CINEMA)
+                        .withGenre(GenreType.ACTION)
+                        .withGenre(GenreType.SCI_FI)
+                        .withCountry(CountryType.USA)
+                        .withLanguage(LanguageType.ENGLISH),
+                new FacetIndex.Entry(2L, MovieType.CINEMA)
+                        .withGenre(GenreType.DRAMA)
+                        .withCountry(CountryType.POLAND)
+                        .withLanguage(LanguageType.POLISH),
+                new FacetIndex.Entry(3L, MovieType.TV)
+                        .withGenre(GenreType.ACTION)
+                        .withCountry(CountryType.POLAND)
+                        .withCountry(CountryType.USA)
+                        .withLanguage(LanguageType.ENGLISH)
+                        .withLanguage(LanguageType.POLISH)
+        ));
+    }
+
+    /**
+     * Test the values of one facet are ORed and the facets are ANDed.
+     */
+    @Test
+    public void canSearch() {
+        Assert.assertThat(
+                this.index.search(null, null, null, Lists.newArrayList(GenreType.ACTION, GenreType.DRAMA)),
+                Matchers.containsInAnyOrder(1L, 2L, 3L)
+        );
+        Assert.assertThat(
+                this.index.search(MovieType.CINEMA, Lists.newArrayList(CountryType.POLAND), null, null),
+                Matchers.containsInAnyOrder(2L)
+        );
+        Assert.assertThat(
+                this.index.search(
+                        null,
+                        Lists.newArrayList(CountryType.USA),
+                        Lists.newArrayList(LanguageType.POLISH),
+                        Lists.newArrayList(GenreType.ACTION)
+                ),
+                Matchers.containsInAnyOrder(3L)
+        );
+        Assert.assertThat(
+                this.index.search(MovieType.VIDEO, null, null, null),
+                Matchers.empty()
+        );
+    }
+
+    /**
+     * Test the facets are counted among the matching movies.
+     */
+    @Test
+    public void canCount() {
+        final MovieFacets facets = this.index.count(null, Lists.newArrayList(CountryType.USA), null, null, null);
+        Assert.assertThat(facets.getTypes().get(MovieType.CINEMA), Matchers.is(1L));
+        Assert.assertThat(facets.getTypes().get(MovieType.TV), Matchers.is(1L));
+        Assert.assertThat(facets.getGenres().get(GenreType.ACTION), Matchers.is(2L));
+        Assert.assertThat(facets.getGenres().get(GenreType.SCI_FI), Matchers.is(1L));
+        Assert.assertFalse(facets.getGenres().containsKey(GenreType.DRAMA));
+        Assert.assertThat(facets.getCountries().get(CountryType.POLAND), Matchers.is(1L));
+        Assert.assertThat(facets.getLanguages().get(LanguageType.ENGLISH), Matchers.is(2L));
+    }
+
+    /**
+     * Test the facets are counted only among the given candidates.
+     */
+    @Test
+    public void canCountCandidates() {
+        final MovieFacets facets = this.index.count(null, null, null, null, Lists.newArrayList(2L, 3L, 4L));
+        Assert.assertThat(facets.getTypes().get(MovieType.CINEMA), Matchers.is(1L));
+        Assert.assertThat(facets.getCountries().get(CountryType.POLAND), Matchers.is(2L));
+        Assert.assertThat(facets.getCountries().get(CountryType.USA), Matchers.is(1L));
+    }
+
+    /**
+     * Test the movie can be replaced and removed and its ordinal reused.
+     */
+    @Test
+    public void canPutAndRemove() {
+        this.index.put(new FacetIndex.Entry(2L, MovieType.VIDEO).withGenre(GenreType.ACTION));
+        Assert.assertThat(
+                this.index.search(null, Lists.newArrayList(CountryType.POLAND), null, null),
+                Matchers.containsInAnyOrder(3L)
+        );
+        Assert.assertThat(
+                this.index.search(MovieType.VIDEO, null, null, Lists.newArrayList(GenreType.ACTION)),
+                Matchers.containsInAnyOrder(2L)
+        );
+
+        this.index.remove(1L);
+        this.index.put(new FacetIndex.Entry(4L, MovieType.CINEMA).withGenre(GenreType.DRAMA));
+        Assert.assertThat(this.index.size(), Matchers.is(3));
+        Assert.assertThat(
+                this.index.search(null, null, null, Lists.newArrayList(GenreType.ACTION)),
+                Matchers.containsInAnyOrder(2L, 3L)
+        );
+        Assert.assertThat(
+                this.index.search(MovieType.CINEMA, null, null, null),
+                Matchers.containsInAnyOrder(4L)
+        );
+    }
+}
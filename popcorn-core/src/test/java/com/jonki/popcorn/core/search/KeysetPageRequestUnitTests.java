@@ -0,0 +1,55 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for KeysetPageRequest.
+ */
+@Category(UnitTest.class)
+public class KeysetPageRequestUnitTests {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.ASC, "title", "id");
+
+    /**
+     * Test the first page uses keyset pagination, so it returns the cursor to the next page.
+     */
+    @Test
+    public void canUseKeysetForFirstPage() {
+        final Pageable page = KeysetPageRequest.of(PageRequest.of(0, 10, SORT), null);
+
+        Assert.assertThat(page, Matchers.instanceOf(KeysetPageRequest.class));
+        Assert.assertFalse(((KeysetPageRequest) page).getAfter().isPresent());
+    }
+
+    /**
+     * Test the page after a cursor uses keyset pagination.
+     */
+    @Test
+    public void canUseKeysetAfterCursor() {
+        final String after = SearchCursor.of(SORT, Arrays.asList("A", 1L)).encode();
+
+        final Pageable page = KeysetPageRequest.of(PageRequest.of(3, 10, SORT), after);
+
+        Assert.assertThat(page, Matchers.instanceOf(KeysetPageRequest.class));
+        Assert.assertTrue(((KeysetPageRequest) page).getAfter().isPresent());
+    }
+
+    /**
+     * Test the page requested by its number is fetched by offset.
+     */
+    @Test
+    public void canUseOffsetForPageNumber() {
+        final Pageable request = PageRequest.of(3, 10, SORT);
+
+        Assert.assertThat(KeysetPageRequest.of(request, null), Matchers.sameInstance(request));
+    }
+}
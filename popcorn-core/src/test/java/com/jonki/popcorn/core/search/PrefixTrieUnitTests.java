@@ -0,0 +1,111 @@
+package com.jonki.popcorn.core.search;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for PrefixTrie.
+ */
+@Category(UnitTest.class)
+public class PrefixTrieUnitTests {
+
+    private PrefixTrie trie;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.trie = new PrefixTrie(2);
+        this.trie.rebuild(Lists.newArrayList(
+                new PrefixTrie.Entry(1L, "The Matrix", MovieType.CINEMA, 8.7F, 10,
+                        Lists.newArrayList("The Matrix", "Matrix")),
+                new PrefixTrie.Entry(2L, "The Matrix Reloaded", MovieType.CINEMA, 7.2F, 5,
+                        Lists.newArrayList("The Matrix Reloaded")),
+                new PrefixTrie.Entry(3L, "Matka", MovieType.TV, null, 0,
+                        Lists.newArrayList("Matka")),
+                new PrefixTrie.Entry(4L, "Amélie", MovieType.CINEMA, 8.3F, 7,
+                        Lists.newArrayList("Le Fabuleux Destin d'Amélie Poulain", "Amélie"))
+        ));
+    }
+
+    /**
+     * Test the best movies with a title word starting with the prefix are suggested.
+     */
+    @Test
+    public void canSuggest() {
+        Assert.assertThat(this.ids(this.trie.suggest("MAT", 10)), Matchers.contains(1L, 2L));
+        Assert.assertThat(this.ids(this.trie.suggest("matk", 10)), Matchers.contains(3L));
+        Assert.assertThat(this.ids(this.trie.suggest("the matrix r", 10)), Matchers.contains(2L));
+        Assert.assertThat(this.ids(this.trie.suggest("amelie", 10)), Matchers.contains(4L));
+        Assert.assertThat(this.ids(this.trie.suggest("fab", 1)), Matchers.contains(4L));
+        Assert.assertThat(this.trie.suggest("atrix", 10), Matchers.empty());
+        Assert.assertThat(this.trie.suggest(" ", 10), Matchers.empty());
+    }
+
+    /**
+     * Test prefixes longer than the indexed keys are checked against the titles.
+     */
+    @Test
+    public void canSuggestLongPrefix() {
+        this.trie.put(new PrefixTrie.Entry(5L, "Long", MovieType.CINEMA, 1F, 0, Lists.newArrayList(
+                "Once Upon a Time in the West of the Wild Country")));
+        this.trie.put(new PrefixTrie.Entry(6L, "Longer", MovieType.CINEMA, 2F, 0, Lists.newArrayList(
+                "Once Upon a Time in the West of the Other Country")));
+
+        Assert.assertThat(
+                this.ids(this.trie.suggest("once upon a time in the west of the wild", 10)),
+                Matchers.contains(5L)
+        );
+    }
+
+    /**
+     * Test the trie is packed again after the movies have been changed.
+     */
+    @Test
+    public void canPutAndRemove() {
+        this.trie.put(new PrefixTrie.Entry(3L, "Matka", MovieType.TV, 9.5F, 0, Lists.newArrayList("Matka")));
+        Assert.assertThat(this.ids(this.trie.suggest("mat", 10)), Matchers.contains(3L, 1L));
+
+        this.trie.remove(1L);
+        Assert.assertThat(this.ids(this.trie.suggest("mat", 10)), Matchers.contains(3L, 2L));
+        Assert.assertThat(this.trie.size(), Matchers.is(3));
+    }
+
+    /**
+     * Test a change of the rank reorders the suggestions at once and the best movies follow it after the packing.
+     */
+    @Test
+    public void canRankWithoutPacking() {
+        final List<Runnable> packs = new ArrayList<>();
+        final PrefixTrie deferred = new PrefixTrie(2, packs::add);
+        deferred.rebuild(Lists.newArrayList(
+                new PrefixTrie.Entry(1L, "The Matrix", MovieType.CINEMA, 8.7F, 10, Lists.newArrayList("The Matrix")),
+                new PrefixTrie.Entry(2L, "Matrix", MovieType.CINEMA, 7.2F, 5, Lists.newArrayList("Matrix")),
+                new PrefixTrie.Entry(3L, "Matka", MovieType.TV, null, 0, Lists.newArrayList("Matka"))
+        ));
+
+        deferred.rank(2L, 9.0F, 5);
+        deferred.rank(3L, 9.5F, 0);
+        Assert.assertThat(packs.size(), Matchers.is(1));
+        Assert.assertThat(this.ids(deferred.suggest("mat", 10)), Matchers.contains(2L, 1L));
+        Assert.assertThat(deferred.suggest("matk", 10).get(0).getRating(), Matchers.is(9.5F));
+
+        packs.forEach(Runnable::run);
+        Assert.assertThat(this.ids(deferred.suggest("mat", 10)), Matchers.contains(3L, 2L));
+    }
+
+    private List<Long> ids(final List<PrefixTrie.Entry> entries) {
+        return entries.stream().map(PrefixTrie.Entry::getMovieId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package com.jonki.popcorn.core.search;
+
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Unit tests for SearchCursor.
+ */
+@Category(UnitTest.class)
+public class SearchCursorUnitTests {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "title", "type", "rating", "created", "id");
+
+    /**
+     * Test the encoded cursor can be decoded with the typed values.
+     */
+    @Test
+    public void canEncodeAndDecode() {
+        final Timestamp created = new Timestamp(1514764800123L);
+        created.setNanos(123456789);
+
+        final SearchCursor cursor = SearchCursor.decode(
+                SearchCursor.of(SORT, Arrays.asList("The Matrix|1", MovieType.TV, null, created, 42L)).encode()
+        );
+
+        Assert.assertTrue(cursor.matches(SORT));
+        Assert.assertThat(cursor.getValue(0, String.class), Matchers.is("The Matrix|1"));
+        Assert.assertThat(cursor.getValue(1, MovieType.class), Matchers.is(MovieType.TV));
+        Assert.assertThat(cursor.getValue(2, Float.class), Matchers.nullValue());
+        Assert.assertThat(cursor.getValue(3, Date.class), Matchers.is(created));
+        Assert.assertThat(cursor.getValue(4, Long.class), Matchers.is(42L));
+    }
+
+    /**
+     * Test the cursor doesn't match another sort.
+     */
+    @Test
+    public void cantMatchAnotherSort() {
+        final SearchCursor cursor = SearchCursor.of(Sort.by(Sort.Direction.ASC, "title", "id"), Arrays.asList("A", 1L));
+
+        Assert.assertFalse(cursor.matches(Sort.by(Sort.Direction.DESC, "title", "id")));
+        Assert.assertFalse(cursor.matches(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    /**
+     * Test the malformed token.
+     */
+    @Test(expected = ResourceBadRequestException.class)
+    public void cantDecodeMalformedToken() {
+        SearchCursor.decode("not a cursor");
+    }
+}
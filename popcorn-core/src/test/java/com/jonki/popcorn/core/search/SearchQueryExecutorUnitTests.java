@@ -0,0 +1,139 @@
+package com.jonki.popcorn.core.search;
+
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.core.properties.SearchProperties;
+import com.jonki.popcorn.test.category.UnitTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for SearchQueryExecutor.
+ */
+@Category(UnitTest.class)
+public class SearchQueryExecutorUnitTests {
+
+    private SearchProperties searchProperties;
+    private PlatformTransactionManager transactionManager;
+    private MeterRegistry meterRegistry;
+    private SearchQueryExecutor executor;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.searchProperties = new SearchProperties();
+        this.transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        Mockito.when(this.transactionManager.getTransaction(Mockito.any(TransactionDefinition.class)))
+                .thenReturn(Mockito.mock(TransactionStatus.class));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.executor = new SearchQueryExecutor(this.searchProperties, this.transactionManager, this.meterRegistry);
+    }
+
+    /**
+     * Stop the pool.
+     */
+    @After
+    public void cleanup() {
+        this.executor.destroy();
+    }
+
+    /**
+     * Test the content query is skipped when nothing matches.
+     */
+    @Test
+    public void canSkipContent() {
+        final SearchQueryExecutor.Result<String> result = this.executor.execute(
+                "test",
+                () -> 0L,
+                () -> {
+                    throw new IllegalStateException("The content query shouldn't run");
+                }
+        );
+
+        Assert.assertThat(result.getCount(), Matchers.is(0L));
+        Assert.assertNull(result.getContent());
+        Assert.assertThat(
+                this.meterRegistry.get("popcorn.search.query").tags("search", "test", "query", "count").timer().count(),
+                Matchers.is(1L)
+        );
+        Mockito.verifyZeroInteractions(this.transactionManager);
+    }
+
+    /**
+     * Test both queries run at the same time in the parallel mode.
+     *
+     * @throws InterruptedException if interrupted
+     */
+    @Test
+    public void canExecuteInParallel() throws InterruptedException {
+        this.searchProperties.getParallel().setEnabled(true);
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        final SearchQueryExecutor.Result<String> result = this.executor.execute(
+                "test",
+                () -> {
+                    latch.countDown();
+                    this.await(latch);
+                    return 2L;
+                },
+                () -> {
+                    latch.countDown();
+                    this.await(latch);
+                    return Lists.newArrayList("a", "b");
+                }
+        );
+
+        Assert.assertThat(result.getCount(), Matchers.is(2L));
+        Assert.assertThat(result.getContent(), Matchers.contains("a", "b"));
+        Assert.assertThat(
+                this.meterRegistry.get("popcorn.search.query").tags("query", "content").timer().count(),
+                Matchers.is(1L)
+        );
+        Mockito.verify(this.transactionManager, Mockito.times(1)).getTransaction(Mockito.argThat(
+                definition -> definition.isReadOnly()
+                        && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+        ));
+    }
+
+    /**
+     * Test the failure of the count query is propagated.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void canPropagateCountFailure() {
+        this.searchProperties.getParallel().setEnabled(true);
+
+        final List<String> content = Lists.newArrayList();
+        this.executor.execute(
+                "test",
+                () -> {
+                    throw new IllegalArgumentException("count");
+                },
+                () -> content
+        );
+    }
+
+    private void await(final CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("The queries didn't run in parallel");
+            }
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jonki.popcorn.core.search;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Unit tests for TrigramIndex.
+ */
+@Category(UnitTest.class)
+public class TrigramIndexUnitTests {
+
+    private TrigramIndex index;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.index = new TrigramIndex();
+        this.index.rebuild(ImmutableMap.of(
+                1L, Lists.newArrayList("The Matrix", "Matrix"),
+                2L, Lists.newArrayList("The Matrix Reloaded"),
+                3L, Lists.newArrayList("Seven")
+        ));
+    }
+
+    /**
+     * Test the search ignores case and matches any title of the movie.
+     */
+    @Test
+    public void canSearchIgnoringCase() {
+        final Optional<Set<Long>> ids = this.index.search("mAtRiX");
+        Assert.assertTrue(ids.isPresent());
+        Assert.assertThat(ids.get(), Matchers.containsInAnyOrder(1L, 2L));
+    }
+
+    /**
+     * Test the candidates are verified against the whole phrase, not only its trigrams.
+     */
+    @Test
+    public void canVerifyCandidates() {
+        final Optional<Set<Long>> ids = this.index.search("ixmat");
+        Assert.assertTrue(ids.isPresent());
+        Assert.assertThat(ids.get(), Matchers.empty());
+    }
+
+    /**
+     * Test the phrase shorter than a trigram isn't answered.
+     */
+    @Test
+    public void cantSearchTooShortPhrase() {
+        Assert.assertFalse(this.index.search("se").isPresent());
+    }
+
+    /**
+     * Test the put method replaces old titles of the movie.
+     */
+    @Test
+    public void canReplaceTitles() {
+        this.index.put(3L, Lists.newArrayList("Se7en"));
+        Assert.assertThat(this.index.search("seven").get(), Matchers.empty());
+        Assert.assertThat(this.index.search("se7").get(), Matchers.contains(3L));
+        Assert.assertThat(this.index.size(), Matchers.is(3));
+    }
+
+    /**
+     * Test the remove method.
+     */
+    @Test
+    public void canRemoveMovie() {
+        this.index.remove(1L);
+        Assert.assertThat(this.index.search("matrix").get(), Matchers.contains(2L));
+        Assert.assertThat(this.index.size(), Matchers.is(2));
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Classes to test the in-memory search data structures.
+ */
+
+package com.jonki.popcorn.core.search;
@@ -0,0 +1,201 @@
+package com.jonki.popcorn.web.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Sets;
+import com.jonki.popcorn.common.dto.Contribution;
+import com.jonki.popcorn.common.dto.DataStatus;
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.MovieField;
+import com.jonki.popcorn.common.dto.ShallowUser;
+import com.jonki.popcorn.common.dto.movie.OtherTitle;
+import com.jonki.popcorn.common.dto.movie.Synopsis;
+import com.jonki.popcorn.common.dto.movie.type.CountryType;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.LanguageType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import com.jonki.popcorn.web.hateoas.resource.ContributionResource;
+import com.jonki.popcorn.web.hateoas.resource.MovieResource;
+import com.jonki.popcorn.web.hateoas.resource.MovieSearchResultResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the payload size and the serialization time of HAL JSON, CBOR and Smile. The payloads are a movie
+ * with its synopses embedded, a page of movie search results and a contribution of synopses. The synopses
+ * are a few thousand characters long, like the synopses of real movies.
+ *
+ * The sizes of the payloads are printed once per format. Run with ./gradlew :popcorn-web:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatsBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SYNOPSES = 3;
+    private static final int SYNOPSIS_LENGTH = 4000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private MovieResource movie;
+    private List<MovieSearchResultResource> page;
+    private ContributionResource contribution;
+
+    /**
+     * Create the object mapper of the format and the payloads, and print the sizes of the payloads.
+     *
+     * @throws Exception For any problem
+     */
+    @Setup
+    public void setup() throws Exception {
+        this.objectMapper = halObjectMapper(this.format);
+
+        final List<Synopsis> synopses = new ArrayList<>();
+        for (int i = 0; i < SYNOPSES; i++) {
+            synopses.add(new Synopsis.Builder(text(i)).build());
+        }
+
+        this.movie = new MovieResource(
+                ((Movie.Builder) new Movie.Builder("The Movie", MovieType.CINEMA).withId("42"))
+                        .withTitleLocated("Ten Film")
+                        .withRating(7.5F)
+                        .withNumberOfRating(1234)
+                        .withCountries(Arrays.asList(CountryType.USA, CountryType.POLAND))
+                        .withLanguages(Arrays.asList(LanguageType.ENGLISH, LanguageType.POLISH))
+                        .withGenres(Arrays.asList(GenreType.DRAMA, GenreType.CRIME))
+                        .withBoxofficeCumulative(new BigDecimal("123456789.00"))
+                        .withOutline(text(SYNOPSES).substring(0, 200))
+                        .withSummary(text(SYNOPSES + 1).substring(0, 1000))
+                        .build()
+        );
+        this.movie.add(new Link("http://localhost:8080/api/v1.0/movies/42"));
+        this.movie.add(new Link("http://localhost:8080/api/v1.0/movies/42/synopses", "synopses"));
+        this.movie.embed("synopses", synopses);
+        this.movie.embed("titles", Arrays.asList(
+                new OtherTitle.Builder("Film", CountryType.POLAND).build(),
+                new OtherTitle.Builder("The Film", CountryType.USA).build()
+        ));
+
+        this.page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            final MovieSearchResultResource resource = new MovieSearchResultResource(
+                    new MovieSearchResult(id, "The Movie " + id, MovieType.CINEMA, 6.5F)
+            );
+            resource.add(new Link("http://localhost:8080/api/v1.0/movies/" + id));
+            this.page.add(resource);
+        }
+
+        final Map<Long, Synopsis> elements = new HashMap<>();
+        for (int i = 0; i < synopses.size(); i++) {
+            elements.put((long) i, synopses.get(i));
+        }
+        this.contribution = new ContributionResource(
+                ((Contribution.Builder<Synopsis>) new Contribution.Builder<Synopsis>(
+                        42L,
+                        "The Movie",
+                        new ShallowUser.Builder("user", "http://localhost:8080/avatar.png").build(),
+                        DataStatus.WAITING,
+                        MovieField.SYNOPSIS,
+                        Sets.newHashSet("http://www.example.com"),
+                        new Date()
+                ).withId("1")).withElementsToAdd(elements).build()
+        );
+
+        System.out.printf(
+                "%n%s sizes: movie %d B, search page %d B, contribution %d B%n",
+                this.format,
+                this.movie(),
+                this.searchPage(),
+                this.contribution()
+        );
+    }
+
+    /**
+     * Serialize the movie with its embedded synopses.
+     *
+     * @return The size of the payload
+     * @throws Exception For any problem
+     */
+    @Benchmark
+    public int movie() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.movie).length;
+    }
+
+    /**
+     * Serialize a page of movie search results.
+     *
+     * @return The size of the payload
+     * @throws Exception For any problem
+     */
+    @Benchmark
+    public int searchPage() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.page).length;
+    }
+
+    /**
+     * Serialize a contribution of synopses.
+     *
+     * @return The size of the payload
+     * @throws Exception For any problem
+     */
+    @Benchmark
+    public int contribution() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.contribution).length;
+    }
+
+    private static ObjectMapper halObjectMapper(final String format) {
+        final ObjectMapper objectMapper;
+        switch (format) {
+            case "cbor":
+                objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+                break;
+            case "smile":
+                objectMapper = Jackson2ObjectMapperBuilder.smile().build();
+                break;
+            default:
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                break;
+        }
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(
+                new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(), null, null)
+        );
+        return objectMapper;
+    }
+
+    private static String text(final int seed) {
+        final String[] words = {
+                "the", "detective", "returns", "to", "a", "city", "where", "nobody", "remembers", "her",
+                "and", "every", "witness", "tells", "a", "different", "story", "about", "the", "night",
+        };
+        final StringBuilder text = new StringBuilder(SYNOPSIS_LENGTH);
+        int i = seed;
+        while (text.length() < SYNOPSIS_LENGTH) {
+            text.append(words[i % words.length]).append(i % 17 == 0 ? ". " : " ");
+            i = i * 31 + 7 & 0xFFFF;
+        }
+        return text.toString();
+    }
+}
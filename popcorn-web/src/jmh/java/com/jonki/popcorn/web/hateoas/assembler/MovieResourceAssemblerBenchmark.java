@@ -0,0 +1,179 @@
+package com.jonki.popcorn.web.hateoas.assembler;
+
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import com.jonki.popcorn.web.controller.MovieContributionRestController;
+import com.jonki.popcorn.web.controller.MovieRestController;
+import com.jonki.popcorn.web.hateoas.link.LinkTemplateRegistry;
+import com.jonki.popcorn.web.hateoas.resource.MovieResource;
+import com.jonki.popcorn.web.hateoas.resource.MovieSearchResultResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the assemblers using the link template registry with the assemblers building every link
+ * through ControllerLinkBuilder.methodOn, as they did before. Every invocation simulates one request:
+ * one movie detail, or one page of movie search results.
+ *
+ * Run with ./gradlew :popcorn-web:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieResourceAssemblerBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private MovieResourceAssembler movieResourceAssembler;
+    private MovieSearchResultResourceAssembler movieSearchResultResourceAssembler;
+    private Movie movie;
+    private List<MovieSearchResult> page;
+
+    /**
+     * Create the assemblers and the DTOs.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final LinkTemplateRegistry linkTemplateRegistry = new LinkTemplateRegistry();
+        this.movieResourceAssembler = new MovieResourceAssembler(linkTemplateRegistry);
+        this.movieSearchResultResourceAssembler = new MovieSearchResultResourceAssembler(linkTemplateRegistry);
+
+        this.movie = ((Movie.Builder) new Movie.Builder("Movie", MovieType.CINEMA).withId("42")).build();
+        this.page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            this.page.add(new MovieSearchResult(id, "Movie " + id, MovieType.CINEMA, 5.0F));
+        }
+    }
+
+    /**
+     * Bind a new request to the thread, as the dispatcher servlet does.
+     */
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("popcorn.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Unbind the request.
+     */
+    @TearDown(Level.Invocation)
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Assemble the movie detail with the link templates.
+     *
+     * @return The resource
+     */
+    @Benchmark
+    public MovieResource movieWithTemplates() {
+        return this.movieResourceAssembler.toResource(this.movie);
+    }
+
+    /**
+     * Assemble the movie detail through the controller proxies.
+     *
+     * @return The resource
+     */
+    @Benchmark
+    public MovieResource movieWithMethodOn() {
+        final MovieResource movieResource = new MovieResource(this.movie);
+        final Long id = Long.valueOf(this.movie.getId());
+
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getMovie(id, null, null, null))
+                .withSelfRel());
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getTitles(id, null)).withRel("titles"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getReleaseDates(id, null))
+                .withRel("releaseDates"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getOutlines(id, null)).withRel("outlines"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getSummaries(id, null))
+                .withRel("summaries"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getSynopses(id, null)).withRel("synopses"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getBoxOffices(id, null))
+                .withRel("boxOffices"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getSites(id, null)).withRel("sites"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getCountries(id, null))
+                .withRel("countries"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getLanguages(id, null))
+                .withRel("languages"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getGenres(id, null)).withRel("genres"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getReviews(id, null)).withRel("reviews"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getPhotos(id, null)).withRel("photos"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class).getPosters(id, null)).withRel("posters"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieRestController.class)
+                        .getRatings(id, null, null, null, null, null, null)).withRel("ratings"));
+        movieResource.add(ControllerLinkBuilder.linkTo(
+                ControllerLinkBuilder.methodOn(MovieContributionRestController.class)
+                        .findContributions(id, null, null, null, null, null, null, null))
+                .withRel("contributions"));
+
+        return movieResource;
+    }
+
+    /**
+     * Assemble a page of movie search results with the link templates.
+     *
+     * @return The resources
+     */
+    @Benchmark
+    public List<MovieSearchResultResource> searchPageWithTemplates() {
+        final List<MovieSearchResultResource> resources = new ArrayList<>(PAGE_SIZE);
+        for (final MovieSearchResult result : this.page) {
+            resources.add(this.movieSearchResultResourceAssembler.toResource(result));
+        }
+        return resources;
+    }
+
+    /**
+     * Assemble a page of movie search results through the controller proxies.
+     *
+     * @return The resources
+     */
+    @Benchmark
+    public List<MovieSearchResultResource> searchPageWithMethodOn() {
+        final List<MovieSearchResultResource> resources = new ArrayList<>(PAGE_SIZE);
+        for (final MovieSearchResult result : this.page) {
+            final MovieSearchResultResource resource = new MovieSearchResultResource(result);
+            resource.add(ControllerLinkBuilder.linkTo(
+                    ControllerLinkBuilder.methodOn(MovieRestController.class)
+                            .getMovie(Long.valueOf(result.getId()), null, null, null)
+            ).withSelfRel());
+            resources.add(resource);
+        }
+        return resources;
+    }
+}
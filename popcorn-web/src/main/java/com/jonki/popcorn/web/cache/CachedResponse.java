@@ -0,0 +1,160 @@
+package com.jonki.popcorn.web.cache;
+
+import com.jonki.popcorn.web.util.ConditionalRequestUtils;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The encoded body of a response with the headers describing it, optionally with a gzipped copy of the body.
+ */
+@Getter
+public final class CachedResponse {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+
+    private final String contentType;
+    private final String eTag;
+    private final byte[] body;
+    @Nullable
+    private final byte[] gzippedBody;
+
+    /**
+     * Constructor.
+     *
+     * @param contentType The value of the Content-Type header, e.g. application/hal+json;charset=UTF-8
+     * @param eTag The entity tag of the body
+     * @param body The encoded body
+     * @param gzip Keep a gzipped copy of the body
+     */
+    public CachedResponse(
+            @NotNull final String contentType,
+            @NotNull final String eTag,
+            @NotNull final byte[] body,
+            final boolean gzip
+    ) {
+        this.contentType = contentType;
+        this.eTag = eTag;
+        this.body = body;
+        this.gzippedBody = gzip ? gzip(body) : null;
+    }
+
+    /**
+     * Create the response to the request. The client gets 304 if its representation is still current, and
+     * the gzipped body if there is one and the client accepts gzip. The gzipped body has its own entity tag,
+     * as a strong validator can't be shared by two content codings, but either entity tag of the current body
+     * revalidates the client's representation.
+     *
+     * @param request The request
+     * @return The response with the encoded body
+     */
+    public ResponseEntity<byte[]> toResponseEntity(@NotNull final WebRequest request) {
+        final boolean gzipped = this.gzippedBody != null && acceptsGzip(request);
+        final String currentETag = gzipped ? this.getGzippedETag() : this.eTag;
+
+        final boolean notModified = ConditionalRequestUtils.isNotModified(request, this.eTag)
+                || this.gzippedBody != null && ConditionalRequestUtils.isNotModified(request, this.getGzippedETag());
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentETag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(currentETag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_TYPE, this.contentType);
+
+        if (gzipped) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(this.gzippedBody);
+        }
+        return builder.body(this.body);
+    }
+
+    /**
+     * Get the number of bytes held by the response.
+     *
+     * @return The size of the body and its gzipped copy
+     */
+    public int size() {
+        return this.body.length + (this.gzippedBody == null ? 0 : this.gzippedBody.length);
+    }
+
+    private String getGzippedETag() {
+        return ConditionalRequestUtils.suffixETag(this.eTag, GZIP);
+    }
+
+    /**
+     * Check whether the client accepts gzip by the Accept-Encoding headers of the request. The quality value
+     * of gzip or its alias x-gzip is used, otherwise the one of the wildcard. A coding isn't acceptable
+     * with the quality value 0.
+     *
+     * @param request The request
+     * @return True if the client accepts gzip
+     */
+    static boolean acceptsGzip(final WebRequest request) {
+        final String[] acceptEncoding = request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Float gzip = null;
+        Float any = null;
+        for (final String value : acceptEncoding) {
+            for (final String element : value.split(",")) {
+                final String[] parts = element.split(";");
+                final String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (coding.equals(GZIP) || coding.equals(X_GZIP)) {
+                    gzip = Math.max(gzip == null ? 0 : gzip, getQuality(parts));
+                } else if (coding.equals("*")) {
+                    any = getQuality(parts);
+                }
+            }
+        }
+
+        final Float quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * Get the quality value of an element of the Accept-Encoding header.
+     *
+     * @param parts The coding and the parameters of the element
+     * @return The quality value, 1 if there is none and 0 if it's invalid
+     */
+    private static float getQuality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    return Float.parseFloat(parameter[1].trim());
+                } catch (final NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(final byte[] body) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
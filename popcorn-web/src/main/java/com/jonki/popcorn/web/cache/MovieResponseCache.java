@@ -0,0 +1,321 @@
+package com.jonki.popcorn.web.cache;
+
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieFavoritedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.properties.CacheProperties;
+import com.jonki.popcorn.web.util.ConditionalRequestUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the encoded responses of the movie details for anonymous users, keyed by the movie ID.
+ * A response is kept for every base URI of the links, negotiated content type and country of the default locale
+ * the movie has been read with. The body is encoded by the same message converters as any other response, so a cached response is
+ * byte for byte the response it replaces, and a hit costs a map lookup plus copying the bytes to the client.
+ * <p>
+ * The least recently used movie is evicted when the cache is full. A movie is evicted as soon as a write
+ * changing its details has been committed. The votes and the favorites don't evict the movie one by one,
+ * its responses expire once the oldest vote or favorite after them is older than the rating max age.
+ */
+@Component
+@Slf4j
+public class MovieResponseCache {
+
+    private static final String CACHE_NAME = "movieResponses";
+
+    private final CacheProperties cacheProperties;
+    private final Supplier<List<HttpMessageConverter<?>>> messageConverters;
+    private final Map<Long, Map<String, CachedResponse>> responses;
+    private final Map<Long, Long> ratedSince = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter writeEvictions;
+
+    private long generation;
+    private long ratingGeneration;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheProperties The cache properties to use
+     * @param meterRegistry The meter registry to use, the global registry if there is none
+     * @param handlerAdapter The handler adapter whose message converters encode the responses
+     */
+    @Autowired
+    public MovieResponseCache(
+            @NotNull final CacheProperties cacheProperties,
+            @NotNull final ObjectProvider<MeterRegistry> meterRegistry,
+            @NotNull final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter
+    ) {
+        this(
+                cacheProperties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                () -> handlerAdapter.getObject().getMessageConverters()
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cacheProperties The cache properties to use
+     * @param meterRegistry The meter registry to use
+     * @param messageConverters The supplier of the message converters encoding the responses
+     */
+    public MovieResponseCache(
+            @NotNull final CacheProperties cacheProperties,
+            @NotNull final MeterRegistry meterRegistry,
+            @NotNull final Supplier<List<HttpMessageConverter<?>>> messageConverters
+    ) {
+        this.cacheProperties = cacheProperties;
+        this.messageConverters = messageConverters;
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", "size");
+        this.writeEvictions = meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", "write");
+        this.responses = new LinkedHashMap<Long, Map<String, CachedResponse>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 2840366307251741620L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Map<String, CachedResponse>> eldest) {
+                if (this.size() > cacheProperties.getResponse().getMaxSize()) {
+                    MovieResponseCache.this.sizeEvictions.increment();
+                    MovieResponseCache.this.ratedSince.remove(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("cache.size", this, MovieResponseCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether the responses are cached.
+     *
+     * @return True if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return this.cacheProperties.getResponse().isEnabled();
+    }
+
+    /**
+     * Negotiate the content type of the response from the Accept header of the request, like the message
+     * converters would.
+     *
+     * @param request The request
+     * @param producible The content types the handler produces, in the order of preference
+     * @return The content type or empty if the client accepts none of them or the Accept header is invalid
+     */
+    public Optional<MediaType> negotiate(@NotNull final WebRequest request, @NotNull final List<MediaType> producible) {
+        return ConditionalRequestUtils.negotiate(request, producible);
+    }
+
+    /**
+     * Respond with the cached response of the movie or encode the body and cache the response.
+     *
+     * @param movieId The movie ID
+     * @param baseUri The base URI of the links in the body
+     * @param contentType The negotiated content type
+     * @param request The request
+     * @param eTag The supplier of the entity tag of the representation, the entity tag of the content type's
+     *             variant is derived from it
+     * @param body The supplier of the body
+     * @return The response with the encoded body
+     */
+    public ResponseEntity<byte[]> respond(
+            @NotNull final Long movieId,
+            @NotNull final String baseUri,
+            @NotNull final MediaType contentType,
+            @NotNull final WebRequest request,
+            @NotNull final Supplier<String> eTag,
+            @NotNull final Supplier<?> body
+    ) {
+        final String variant = baseUri + "|" + contentType + "|" + Locale.getDefault().getCountry();
+        final long now = System.currentTimeMillis();
+        final long currentGeneration;
+        final long currentRatingGeneration;
+        synchronized (this.responses) {
+            final Long rated = this.ratedSince.get(movieId);
+            if (rated != null && now - rated >= this.cacheProperties.getResponse().getRatingMaxAge()) {
+                this.evict(movieId);
+            }
+
+            final Map<String, CachedResponse> byVariant = this.responses.get(movieId);
+            final CachedResponse response = byVariant == null ? null : byVariant.get(variant);
+            if (response != null) {
+                this.hits.increment();
+                return response.toResponseEntity(request);
+            }
+            currentGeneration = this.generation;
+            currentRatingGeneration = this.ratingGeneration;
+        }
+
+        this.misses.increment();
+        final String currentETag = ConditionalRequestUtils.variantETag(eTag.get(), contentType);
+        final CachedResponse response = this.encode(body.get(), contentType, currentETag);
+        synchronized (this.responses) {
+            // Don't cache the responses encoded before the last eviction
+            if (this.generation == currentGeneration) {
+                this.responses.computeIfAbsent(movieId, id -> new HashMap<>()).put(variant, response);
+                // The response may have been encoded before a vote
+                if (this.ratingGeneration != currentRatingGeneration) {
+                    this.ratedSince.putIfAbsent(movieId, now);
+                }
+            }
+        }
+        return response.toResponseEntity(request);
+    }
+
+    /**
+     * Remove the responses of the movie.
+     *
+     * @param movieId The movie ID
+     */
+    public void evict(@NotNull final Long movieId) {
+        synchronized (this.responses) {
+            this.generation++;
+            this.ratedSince.remove(movieId);
+            if (this.responses.remove(movieId) != null) {
+                this.writeEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Get the number of movies with cached responses.
+     *
+     * @return The number of movies
+     */
+    public int size() {
+        synchronized (this.responses) {
+            return this.responses.size();
+        }
+    }
+
+    /**
+     * Evict the movie after it has changed.
+     *
+     * @param event The movie changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(final MovieChangedEvent event) {
+        log.debug("Evicting the responses of the movie after {}", event);
+        this.evict(event.getMovieId());
+    }
+
+    /**
+     * Start the rating max age of the responses of the movie after it has been rated, as the details contain
+     * the rating.
+     *
+     * @param event The movie rated event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieRated(final MovieRatedEvent event) {
+        this.rate(event.getMovieId());
+    }
+
+    /**
+     * Start the rating max age of the responses of the movie after it has been added to or removed from favorites,
+     * as the entity tag of the cached responses contains the content version of the movie.
+     *
+     * @param event The movie favorited event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieFavorited(final MovieFavoritedEvent event) {
+        this.rate(event.getMovieId());
+    }
+
+    /**
+     * Mark the responses of the movie as rated since now, unless they have been rated before.
+     *
+     * @param movieId The movie ID
+     */
+    private void rate(final Long movieId) {
+        synchronized (this.responses) {
+            this.ratingGeneration++;
+            if (this.responses.containsKey(movieId)) {
+                this.ratedSince.putIfAbsent(movieId, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Encode the body with the first message converter which can write it as the content type.
+     *
+     * @param body The body
+     * @param contentType The content type
+     * @param eTag The entity tag of the body
+     * @return The encoded response
+     */
+    @SuppressWarnings("unchecked")
+    private CachedResponse encode(final Object body, final MediaType contentType, final String eTag) {
+        for (final HttpMessageConverter<?> converter : this.messageConverters.get()) {
+            if (converter.canWrite(body.getClass(), contentType)) {
+                final BufferedOutputMessage message = new BufferedOutputMessage();
+                try {
+                    ((HttpMessageConverter<Object>) converter).write(body, contentType, message);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                final MediaType written = message.getHeaders().getContentType();
+                return new CachedResponse(
+                        (written == null ? contentType : written).toString(),
+                        eTag,
+                        message.body.toByteArray(),
+                        this.cacheProperties.getResponse().isGzip()
+                );
+            }
+        }
+        throw new IllegalStateException("No converter for " + body.getClass().getName() + " as " + contentType);
+    }
+
+    /**
+     * Output message buffering the body in memory.
+     */
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+
+        @Override
+        public OutputStream getBody() {
+            return this.body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Caches of the serialized responses.
+ */
+
+package com.jonki.popcorn.web.cache;
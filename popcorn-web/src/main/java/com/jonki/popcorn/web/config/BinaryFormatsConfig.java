@@ -0,0 +1,89 @@
+package com.jonki.popcorn.web.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.hateoas.RelProvider;
+import org.springframework.hateoas.hal.CurieProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration of the binary formats of the REST API, CBOR (application/cbor) and Smile
+ * (application/x-jackson-smile). The object mappers of the formats are configured like the JSON ones,
+ * and render the resources in the HAL structure, so a binary payload has the same shape as its HAL JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final RelProvider relProvider;
+    private final ObjectProvider<CurieProvider> curieProvider;
+    private final MessageSourceAccessor linkRelationMessageSource;
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapperBuilder The builder configuring the JSON object mappers
+     * @param relProvider The provider of the relations of the embedded resources
+     * @param curieProvider The provider of the CURIEs, if any
+     * @param linkRelationMessageSource The source of the titles of the link relations
+     */
+    @Autowired
+    public BinaryFormatsConfig(
+            final Jackson2ObjectMapperBuilder objectMapperBuilder,
+            @Qualifier("_relProvider") final RelProvider relProvider,
+            final ObjectProvider<CurieProvider> curieProvider,
+            @Qualifier("linkRelationMessageSource") final MessageSourceAccessor linkRelationMessageSource
+    ) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.relProvider = relProvider;
+        this.curieProvider = curieProvider;
+        this.linkRelationMessageSource = linkRelationMessageSource;
+    }
+
+    /**
+     * Replace the default CBOR and Smile converters, which know neither the configuration of the application
+     * nor HAL, with the converters of the binary formats.
+     *
+     * @param converters The configured converters
+     */
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                this.configure(Jackson2ObjectMapperBuilder.cbor().build())
+        ));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                this.configure(Jackson2ObjectMapperBuilder.smile().build())
+        ));
+    }
+
+    /**
+     * Configure the object mapper of a binary format like the JSON object mappers and add the HAL support.
+     *
+     * @param objectMapper The object mapper created with the factory of the format
+     * @return The configured object mapper
+     */
+    private ObjectMapper configure(final ObjectMapper objectMapper) {
+        this.objectMapperBuilder.configure(objectMapper);
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                this.relProvider,
+                this.curieProvider.getIfAvailable(),
+                this.linkRelationMessageSource
+        ));
+        return objectMapper;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jonki.popcorn.web.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.web.jackson.SparseFieldsFilter;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for Jackson. The customizations apply to the HAL object mapper as well.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Customizer applying the sparse fields filter to the movies.
+     *
+     * @return The customizer of the object mapper builder
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(Movie.class, SparseFieldsFilter.Mixin.class)
+                .filters(new SimpleFilterProvider().addFilter(SparseFieldsFilter.ID, new SparseFieldsFilter()));
+    }
+}
@@ -20,13 +20,17 @@ import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
 import com.jonki.popcorn.common.dto.request.ContributionNewRequest;
 import com.jonki.popcorn.common.dto.request.ContributionUpdateRequest;
 import com.jonki.popcorn.common.dto.search.ContributionSearchResult;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
 import com.jonki.popcorn.core.service.MovieContributionPersistenceService;
 import com.jonki.popcorn.core.service.MovieContributionSearchService;
 import com.jonki.popcorn.web.hateoas.assembler.ContributionSearchResultResourceAssembler;
 import com.jonki.popcorn.web.hateoas.resource.ContributionResource;
 import com.jonki.popcorn.web.hateoas.resource.ContributionSearchResultResource;
+import com.jonki.popcorn.web.util.BinaryMediaTypes;
 import com.jonki.popcorn.web.util.MapUtils;
 import com.jonki.popcorn.web.util.MultipartFileUtils;
+import com.jonki.popcorn.web.util.PagedResourcesUtils;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -139,13 +143,18 @@ public class MovieContributionRestController {
      * @param status The contribution status (optional)
      * @param fromDate Creation date range "from" (optional)
      * @param toDate Creation date range "to" (optional)
+     * @param after The cursor to get the page after (optional)
      * @param page The page to get
      * @param assembler The paged resources assembler to use
      * @return All contributions matching the criteria
      */
     @ApiOperation(value = "Find contributions")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
-    @GetMapping(value = "/{id}/contributions", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/{id}/contributions", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     PagedResources<ContributionSearchResultResource> findContributions(
@@ -159,11 +168,13 @@ public class MovieContributionRestController {
             @RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final Date fromDate,
             @ApiParam(value = "Creation date range \"to\"")
             @RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final Date toDate,
+            @ApiParam(value = "The cursor from the next link, for keyset pagination")
+            @RequestParam(value = "after", required = false) final String after,
             @PageableDefault(sort = {"created"}, direction = Sort.Direction.DESC) final Pageable page,
             final PagedResourcesAssembler<ContributionSearchResult> assembler
     ) {
-        log.info("Called with id {}, field {}, status {}, fromDate {}, toDate {}, page {}",
-                id, field, status, fromDate, toDate, page);
+        log.info("Called with id {}, field {}, status {}, fromDate {}, toDate {}, after {}, page {}",
+                id, field, status, fromDate, toDate, after, page);
 
         // Build the self link which will be used for the next, previous, etc links
         final Link self = ControllerLinkBuilder
@@ -176,14 +187,21 @@ public class MovieContributionRestController {
                                         status,
                                         fromDate,
                                         toDate,
+                                        after,
                                         page,
                                         assembler
                                 )
                 ).withSelfRel();
 
-        return assembler.toResource(this.movieContributionSearchService.findContributions(
-                id, field, status, fromDate, toDate, page
-        ), this.contributionSearchResultResourceAssembler, self);
+        final SearchPage<ContributionSearchResult> contributions = this.movieContributionSearchService.findContributions(
+                id, field, status, fromDate, toDate, KeysetPageRequest.of(page, after)
+        );
+
+        return PagedResourcesUtils.withSearchPage(
+                assembler.toResource(contributions, this.contributionSearchResultResourceAssembler, self),
+                contributions,
+                self
+        );
     }
 
     /**
@@ -194,7 +212,11 @@ public class MovieContributionRestController {
      */
     @ApiOperation(value = "Get the contribution of titles")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/othertitles", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/othertitles", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<OtherTitle> getOtherTitleContribution(
@@ -273,7 +295,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of release dates")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/releasedates", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/releasedates", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<ReleaseDate> getReleaseDateContribution(
@@ -344,7 +370,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of outlines")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/outlines", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/outlines", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Outline> getOutlineContribution(
@@ -416,7 +446,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of summaries")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/summaries", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/summaries", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Summary> getSummaryContribution(
@@ -488,7 +522,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of synopses")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/synopses", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/synopses", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Synopsis> getSynopsisContribution(
@@ -560,7 +598,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of box offices")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/boxoffices", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/boxoffices", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<BoxOffice> getBoxOfficeContribution(
@@ -632,7 +674,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of sites")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/sites", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/sites", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Site> getSiteContribution(
@@ -704,7 +750,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of countries")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/countries", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/countries", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Country> getCountryContribution(
@@ -776,7 +826,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of languages")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/languages", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/languages", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Language> getLanguageContribution(
@@ -848,7 +902,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of genres")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/genres", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/genres", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Genre> getGenreContribution(
@@ -920,7 +978,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of reviews")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/reviews", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/reviews", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<Review> getReviewContribution(
@@ -992,7 +1054,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of photos")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/photos", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/photos", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<ImageResponse> getPhotoContribution(
@@ -1135,7 +1201,11 @@ public class MovieContributionRestController {
 
     @ApiOperation(value = "Get the contribution of posters")
     @ApiResponses(value = { @ApiResponse(code = 404, message = "No contribution found") })
-    @GetMapping(value = "/contributions/{id}/posters", produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(value = "/contributions/{id}/posters", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     ContributionResource<ImageResponse> getPosterContribution(
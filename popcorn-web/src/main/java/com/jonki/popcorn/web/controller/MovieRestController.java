@@ -1,5 +1,8 @@
 package com.jonki.popcorn.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.MovieRelation;
 import com.jonki.popcorn.common.dto.VerificationStatus;
 import com.jonki.popcorn.common.dto.movie.BoxOffice;
 import com.jonki.popcorn.common.dto.movie.Country;
@@ -15,25 +18,39 @@ import com.jonki.popcorn.common.dto.movie.Synopsis;
 import com.jonki.popcorn.common.dto.movie.request.RateRequest;
 import com.jonki.popcorn.common.dto.movie.response.ImageResponse;
 import com.jonki.popcorn.common.dto.movie.response.RateResponse;
+import com.jonki.popcorn.common.dto.movie.response.RatingHistogram;
+import com.jonki.popcorn.common.dto.movie.response.RatingTrendPoint;
 import com.jonki.popcorn.common.dto.movie.type.CountryType;
 import com.jonki.popcorn.common.dto.movie.type.GenreType;
 import com.jonki.popcorn.common.dto.movie.type.LanguageType;
 import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.common.dto.movie.type.TrendResolution;
 import com.jonki.popcorn.common.dto.request.MovieRequest;
+import com.jonki.popcorn.common.dto.search.MovieFacets;
 import com.jonki.popcorn.common.dto.search.MovieSearchResult;
+import com.jonki.popcorn.common.exception.ResourceBadRequestException;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
 import com.jonki.popcorn.core.service.AuthorizationService;
 import com.jonki.popcorn.core.service.MoviePersistenceService;
 import com.jonki.popcorn.core.service.MovieSearchService;
+import com.jonki.popcorn.web.cache.MovieResponseCache;
 import com.jonki.popcorn.web.hateoas.assembler.MovieResourceAssembler;
 import com.jonki.popcorn.web.hateoas.assembler.MovieSearchResultResourceAssembler;
+import com.jonki.popcorn.web.hateoas.link.LinkTemplateRegistry;
 import com.jonki.popcorn.web.hateoas.resource.MovieResource;
 import com.jonki.popcorn.web.hateoas.resource.MovieSearchResultResource;
+import com.jonki.popcorn.web.jackson.SparseFieldsFilter;
+import com.jonki.popcorn.web.util.BinaryMediaTypes;
+import com.jonki.popcorn.web.util.ConditionalRequestUtils;
+import com.jonki.popcorn.web.util.PagedResourcesUtils;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -43,6 +60,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -59,11 +77,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST end-point for supporting Movies.
@@ -74,11 +105,21 @@ import java.util.List;
 @Api(value = "Movie Data API", description = "Provides a list of methods that manage movies")
 public class MovieRestController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final List<MediaType> MOVIE_MEDIA_TYPES = Arrays.asList(
+            MediaTypes.HAL_JSON,
+            BinaryMediaTypes.CBOR,
+            BinaryMediaTypes.SMILE
+    );
+
     private final MoviePersistenceService moviePersistenceService;
     private final MovieSearchService movieSearchService;
     private final AuthorizationService authorizationService;
     private final MovieResourceAssembler movieResourceAssembler;
     private final MovieSearchResultResourceAssembler movieSearchResultResourceAssembler;
+    private final ObjectMapper objectMapper;
+    private final MovieResponseCache movieResponseCache;
+    private final LinkTemplateRegistry linkTemplateRegistry;
 
     /**
      * Constructor.
@@ -88,6 +129,9 @@ public class MovieRestController {
      * @param authorizationService The authorization service to use
      * @param movieResourceAssembler Assemble movie resources out of movies
      * @param movieSearchResultResourceAssembler Assemble movie search resources out of movies
+     * @param objectMapper The object mapper to use
+     * @param movieResponseCache The cache of the movie responses to use
+     * @param linkTemplateRegistry The registry of the link templates to use
      */
     @Autowired
     public MovieRestController(
@@ -95,13 +139,19 @@ public class MovieRestController {
             final MovieSearchService movieSearchService,
             final AuthorizationService authorizationService,
             final MovieResourceAssembler movieResourceAssembler,
-            final MovieSearchResultResourceAssembler movieSearchResultResourceAssembler
+            final MovieSearchResultResourceAssembler movieSearchResultResourceAssembler,
+            final ObjectMapper objectMapper,
+            final MovieResponseCache movieResponseCache,
+            final LinkTemplateRegistry linkTemplateRegistry
     ) {
         this.moviePersistenceService = moviePersistenceService;
         this.movieSearchService = movieSearchService;
         this.authorizationService = authorizationService;
         this.movieResourceAssembler = movieResourceAssembler;
         this.movieSearchResultResourceAssembler = movieSearchResultResourceAssembler;
+        this.objectMapper = objectMapper;
+        this.movieResponseCache = movieResponseCache;
+        this.linkTemplateRegistry = linkTemplateRegistry;
     }
 
     /**
@@ -167,12 +217,18 @@ public class MovieRestController {
      * @param genres List of genres (optional)
      * @param minRating Min. movie rating (optional)
      * @param maxRating Max. movie rating (optional)
+     * @param fuzzy Whether to tolerate typos in the title (optional)
+     * @param after The cursor to get the page after (optional)
      * @param page The page to get
      * @param assembler The paged resources assembler to use
      * @return All movies matching the criteria
      */
     @ApiOperation(value = "Find movies")
-    @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
+    @GetMapping(produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.OK)
     public
     PagedResources<MovieSearchResultResource> findMovies(
@@ -194,14 +250,19 @@ public class MovieRestController {
             @RequestParam(value = "minRating", required = false) @Size(max = 10) final Integer minRating,
             @ApiParam(value = "Max. rating")
             @RequestParam(value = "maxRating", required = false) @Size(max = 10) final Integer maxRating,
+            @ApiParam(value = "Tolerate typos in the title, the movies are ordered by the closest title")
+            @RequestParam(value = "fuzzy", defaultValue = "false") final boolean fuzzy,
+            @ApiParam(value = "The cursor from the next link, for keyset pagination")
+            @RequestParam(value = "after", required = false) final String after,
             @PageableDefault(sort = {"title"}, direction = Sort.Direction.DESC) final Pageable page,
             final PagedResourcesAssembler<MovieSearchResult> assembler
     ) {
         log.info("Called with" + " title {}, type {}," +
                 "fromDate {}, toDate {}, countries {}," +
                 "languages {}, genres {}, minRating {}," +
-                        "maxRating {},  page {},",
-                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating, page);
+                        "maxRating {}, fuzzy {}, after {}, page {},",
+                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating, fuzzy, after,
+                page);
 
         // Build the self link which will be used for the next, previous, etc links
         final Link self = ControllerLinkBuilder
@@ -218,36 +279,271 @@ public class MovieRestController {
                                         genres,
                                         minRating,
                                         maxRating,
+                                        fuzzy,
+                                        after,
                                         page,
                                         assembler
                                 )
                 ).withSelfRel();
 
-        return assembler.toResource(this.movieSearchService.findMovies(
-                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating, page
-        ), this.movieSearchResultResourceAssembler, self);
+        final SearchPage<MovieSearchResult> movies = fuzzy && StringUtils.isNotBlank(title)
+                ? this.movieSearchService.findMoviesByFuzzyTitle(
+                        title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating,
+                        KeysetPageRequest.of(page, after)
+                )
+                : this.movieSearchService.findMovies(
+                        title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating,
+                        KeysetPageRequest.of(page, after)
+                );
+
+        return PagedResourcesUtils.withSearchPage(
+                assembler.toResource(movies, this.movieSearchResultResourceAssembler, self), movies, self
+        );
+    }
+
+    /**
+     * Get the number of movies per type, genre, country and language for given filter criteria.
+     *
+     * @param title The title of the movie (optional)
+     * @param type The type of the movie (optional)
+     * @param fromDate Release date range "from" (optional)
+     * @param toDate Release date range "to" (optional)
+     * @param countries List of countries (optional)
+     * @param languages List of languages (optional)
+     * @param genres List of genres (optional)
+     * @param minRating Min. movie rating (optional)
+     * @param maxRating Max. movie rating (optional)
+     * @return The facet counts of the movies matching the criteria
+     */
+    @ApiOperation(value = "Get facet counts of movies")
+    @GetMapping(value = "/facets")
+    @ResponseStatus(HttpStatus.OK)
+    public
+    MovieFacets getFacets(
+            @ApiParam(value = "The title of the movie")
+            @RequestParam(value = "title", required = false) final String title,
+            @ApiParam(value = "The type of the movie")
+            @RequestParam(value = "type", required = false) final MovieType type,
+            @ApiParam(value = "Release date range \"from\"")
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final Date fromDate,
+            @ApiParam(value = "Release date range \"to\"")
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final Date toDate,
+            @ApiParam(value = "List of countries")
+            @RequestParam(value = "country", required = false) final List<CountryType> countries,
+            @ApiParam(value = "List of languages")
+            @RequestParam(value = "language", required = false) final List<LanguageType> languages,
+            @ApiParam(value = "List of genres")
+            @RequestParam(value = "genre", required = false) final List<GenreType> genres,
+            @ApiParam(value = "Min. rating")
+            @RequestParam(value = "minRating", required = false) @Size(max = 10) final Integer minRating,
+            @ApiParam(value = "Max. rating")
+            @RequestParam(value = "maxRating", required = false) @Size(max = 10) final Integer maxRating
+    ) {
+        log.info("Called with" + " title {}, type {}," +
+                "fromDate {}, toDate {}, countries {}," +
+                "languages {}, genres {}, minRating {}," +
+                        "maxRating {}",
+                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating);
+
+        return this.movieSearchService.getFacets(
+                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating
+        );
     }
 
     /**
-     * Get Movie for given id.
+     * Export all movies matching the filter criteria as newline delimited JSON, one movie per line in the order
+     * of their IDs. The movies are written while they are read from the database.
+     *
+     * @param title The title of the movie (optional)
+     * @param type The type of the movie (optional)
+     * @param fromDate Release date range "from" (optional)
+     * @param toDate Release date range "to" (optional)
+     * @param countries List of countries (optional)
+     * @param languages List of languages (optional)
+     * @param genres List of genres (optional)
+     * @param minRating Min. movie rating (optional)
+     * @param maxRating Max. movie rating (optional)
+     * @param response The response to write the movies to
+     * @throws IOException if the response can't be written
+     */
+    @ApiOperation(value = "Export movies")
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public
+    void exportMovies(
+            @ApiParam(value = "The title of the movie")
+            @RequestParam(value = "title", required = false) final String title,
+            @ApiParam(value = "The type of the movie")
+            @RequestParam(value = "type", required = false) final MovieType type,
+            @ApiParam(value = "Release date range \"from\"")
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final Date fromDate,
+            @ApiParam(value = "Release date range \"to\"")
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final Date toDate,
+            @ApiParam(value = "List of countries")
+            @RequestParam(value = "country", required = false) final List<CountryType> countries,
+            @ApiParam(value = "List of languages")
+            @RequestParam(value = "language", required = false) final List<LanguageType> languages,
+            @ApiParam(value = "List of genres")
+            @RequestParam(value = "genre", required = false) final List<GenreType> genres,
+            @ApiParam(value = "Min. rating")
+            @RequestParam(value = "minRating", required = false) @Size(max = 10) final Integer minRating,
+            @ApiParam(value = "Max. rating")
+            @RequestParam(value = "maxRating", required = false) @Size(max = 10) final Integer maxRating,
+            final HttpServletResponse response
+    ) throws IOException {
+        log.info("Called with" + " title {}, type {}," +
+                "fromDate {}, toDate {}, countries {}," +
+                "languages {}, genres {}, minRating {}," +
+                        "maxRating {}",
+                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating);
+
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        final OutputStream outputStream = response.getOutputStream();
+        final long count = this.movieSearchService.exportMovies(
+                title, type, fromDate, toDate, countries, languages, genres, minRating, maxRating,
+                movie -> {
+                    try {
+                        outputStream.write(this.objectMapper.writeValueAsBytes(movie));
+                        outputStream.write('\n');
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+        );
+        outputStream.flush();
+
+        log.debug("Exported {} movies", count);
+    }
+
+    /**
+     * Get movie suggestions for the typeahead.
+     *
+     * @param prefix The prefix of a title word
+     * @param limit Maximum number of movies
+     * @return The best matching movies
+     */
+    @ApiOperation(value = "Suggest movies")
+    @GetMapping(value = "/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public
+    List<MovieSearchResult> suggestMovies(
+            @ApiParam(value = "The prefix of a title word", required = true)
+            @RequestParam("q") final String prefix,
+            @ApiParam(value = "Maximum number of movies")
+            @RequestParam(value = "limit", defaultValue = "10") final Integer limit
+    ) {
+        log.info("Called with prefix {}, limit {}", prefix, limit);
+
+        return this.movieSearchService.suggestMovies(prefix, limit);
+    }
+
+    /**
+     * Get movies for given ids in one request.
+     *
+     * @param ids The movie IDs
+     * @return The movies in the order of the IDs, null for every ID of no movie
+     */
+    @ApiOperation(value = "Get movies by IDs")
+    @ApiResponses(value = { @ApiResponse(code = 400, message = "Too many movie IDs") })
+    @GetMapping(value = "/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public
+    List<MovieSearchResult> getMovies(
+            @ApiParam(value = "The movie IDs", required = true)
+            @RequestParam("ids") final List<Long> ids
+    ) {
+        log.info("Called with ids {}", ids);
+
+        return this.movieSearchService.getMovies(ids);
+    }
+
+    /**
+     * Get Movie for given id. The collections of the relations to embed are loaded at once and inlined
+     * in the movie, and only the requested fields of the movie are serialized. The whole movie is served
+     * to anonymous users from the cache of the encoded responses, if it's enabled.
      *
      * @param id The movie ID
+     * @param embed The relations to embed, e.g. titles,genres,posters
+     * @param fields The fields of the movie to serialize, all of them if empty
+     * @param request The request
      * @return The movie
+     * @throws ResourceBadRequestException if one of the relations to embed doesn't exist
      */
     @ApiOperation(value = "Get movie")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found or no user found") })
-    @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public MovieResource getMovie(
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 400, message = "Unknown relation to embed"),
+            @ApiResponse(code = 404, message = "No movie found or no user found")
+    })
+    @GetMapping(value = "/{id}", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
+    public ResponseEntity<?> getMovie(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
-    ) {
-        log.info("Called with id {}", id);
+            @PathVariable("id") final Long id,
+            @ApiParam(value = "The relations to embed, e.g. titles,genres,posters")
+            @RequestParam(value = "embed", required = false) final Set<String> embed,
+            @ApiParam(value = "The fields of the movie to return, e.g. title,rating")
+            @RequestParam(value = "fields", required = false) final Set<String> fields,
+            final WebRequest request
+    ) throws ResourceBadRequestException {
+        log.info("Called with id {}, embed {} and fields {}", id, embed, fields);
+
+        if (embed == null && fields == null && this.movieResponseCache.isEnabled()
+                && !this.authorizationService.isLogged()) {
+            final Optional<MediaType> contentType = this.movieResponseCache.negotiate(request, MOVIE_MEDIA_TYPES);
+            if (contentType.isPresent()) {
+                return this.movieResponseCache.respond(
+                        id,
+                        this.linkTemplateRegistry.getBaseUri(),
+                        contentType.get(),
+                        request,
+                        () -> ConditionalRequestUtils.strongETag(
+                                this.movieSearchService.getMovieVersion(id), Locale.getDefault().getCountry()
+                        ),
+                        () -> this.toMovieResource(
+                                this.movieSearchService.getMovie(id), EnumSet.noneOf(MovieRelation.class)
+                        )
+                );
+            }
+        }
+
+        final Set<MovieRelation> relations = EnumSet.noneOf(MovieRelation.class);
+        if (embed != null) {
+            for (final String rel : embed) {
+                relations.add(MovieRelation.fromRel(rel)
+                        .orElseThrow(() -> new ResourceBadRequestException("No relation " + rel + " to embed")));
+            }
+        }
+        if (fields != null) {
+            request.setAttribute(SparseFieldsFilter.FIELDS_ATTRIBUTE, fields, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        final long version = this.movieSearchService.getMovieVersion(id);
+        final String country = Locale.getDefault().getCountry();
 
         if(this.authorizationService.isLogged()) {
-            return this.movieResourceAssembler.toResource(this.movieSearchService.getUserMovie(id));
+            return ConditionalRequestUtils.conditionalGet(
+                    request,
+                    ConditionalRequestUtils.strongETag(
+                            version,
+                            country,
+                            this.authorizationService.getUserId(),
+                            // The user's vote is saved at once, the version may follow it later
+                            this.movieSearchService.getUserRating(id).orElse(0)
+                    ),
+                    () -> this.toMovieResource(this.movieSearchService.getUserMovie(id), relations)
+            );
         } else {
-            return this.movieResourceAssembler.toResource(this.movieSearchService.getMovie(id));
+            return ConditionalRequestUtils.conditionalGet(
+                    request,
+                    ConditionalRequestUtils.strongETag(version, country),
+                    () -> this.toMovieResource(this.movieSearchService.getMovie(id), relations)
+            );
         }
     }
 
@@ -255,260 +551,364 @@ public class MovieRestController {
      * Get all the titles for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of titles
      */
     @ApiOperation(value = "Get movie titles")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/titles")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<OtherTitle> getTitles(
+    ResponseEntity<List<OtherTitle>> getTitles(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getTitles(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getTitles(id)
+        );
     }
 
     /**
      * Get all the release dates for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of release dates
      */
     @ApiOperation(value = "Get movie release dates")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/releaseDates")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<ReleaseDate> getReleaseDates(
+    ResponseEntity<List<ReleaseDate>> getReleaseDates(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getReleaseDates(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getReleaseDates(id)
+        );
     }
 
     /**
      * Get all the outlines for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of outlines
      */
     @ApiOperation(value = "Get movie outlines")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/outlines")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Outline> getOutlines(
+    ResponseEntity<List<Outline>> getOutlines(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getOutlines(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getOutlines(id)
+        );
     }
 
     /**
      * Get all the summaries for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of summaries
      */
     @ApiOperation(value = "Get movie summaries")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/summaries")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Summary> getSummaries(
+    ResponseEntity<List<Summary>> getSummaries(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getSummaries(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getSummaries(id)
+        );
     }
 
     /**
      * Get all the synopses for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of synopses
      */
     @ApiOperation(value = "Get movie synopses")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/synopses")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Synopsis> getSynopses(
+    ResponseEntity<List<Synopsis>> getSynopses(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getSynopses(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getSynopses(id)
+        );
     }
 
     /**
      * Get all the box offices for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of box offices
      */
     @ApiOperation(value = "Get movie box offices")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/boxOffices")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<BoxOffice> getBoxOffices(
+    ResponseEntity<List<BoxOffice>> getBoxOffices(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getBoxOffices(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getBoxOffices(id)
+        );
     }
 
     /**
      * Get all the sites for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of sites
      */
     @ApiOperation(value = "Get movie sites")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/sites")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Site> getSites(
+    ResponseEntity<List<Site>> getSites(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getSites(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getSites(id)
+        );
     }
 
     /**
      * Get all the countries for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of countries
      */
     @ApiOperation(value = "Get movie countries")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/countries")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Country> getCountries(
+    ResponseEntity<List<Country>> getCountries(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getCountries(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getCountries(id)
+        );
     }
 
     /**
      * Get all the languages for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of languages
      */
     @ApiOperation(value = "Get movie languages")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/languages")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Language> getLanguages(
+    ResponseEntity<List<Language>> getLanguages(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getLanguages(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getLanguages(id)
+        );
     }
 
     /**
      * Get all the genres for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of genres
      */
     @ApiOperation(value = "Get movie genres")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/genres")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Genre> getGenres(
+    ResponseEntity<List<Genre>> getGenres(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getGenres(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getGenres(id)
+        );
     }
 
     /**
      * Get all the reviews for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of reviews
      */
     @ApiOperation(value = "Get movie reviews")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/reviews")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<Review> getReviews(
+    ResponseEntity<List<Review>> getReviews(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getReviews(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getReviews(id)
+        );
     }
 
     /**
      * Get all the photos for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of photos
      */
     @ApiOperation(value = "Get movie photos")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/photos")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<ImageResponse> getPhotos(
+    ResponseEntity<List<ImageResponse>> getPhotos(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getPhotos(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getPhotos(id)
+        );
     }
 
     /**
      * Get all the posters for a given movie.
      *
      * @param id The movie ID
+     * @param request The request
      * @return The list of posters
      */
     @ApiOperation(value = "Get movie posters")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
     @GetMapping(value = "/{id}/posters")
-    @ResponseStatus(HttpStatus.OK)
     public
-    List<ImageResponse> getPosters(
+    ResponseEntity<List<ImageResponse>> getPosters(
             @ApiParam(value = "The movie ID", required = true)
-            @PathVariable("id") final Long id
+            @PathVariable("id") final Long id,
+            final WebRequest request
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getPosters(id);
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                ConditionalRequestUtils.strongETag(this.movieSearchService.getMovieVersion(id)),
+                () -> this.movieSearchService.getPosters(id)
+        );
     }
 
     /**
@@ -543,23 +943,159 @@ public class MovieRestController {
     }
 
     /**
-     * Get all the ratings for a given movie.
+     * Get the ratings for a given movie, page by page.
      *
      * @param id The movie ID
-     * @return The list of ratings
+     * @param fromDate Rating date range "from" (optional)
+     * @param toDate Rating date range "to" (optional)
+     * @param after The cursor to get the page after (optional)
+     * @param page The page to get, sorted by the date only
+     * @param assembler The paged resources assembler to use
+     * @param request The request
+     * @return The page of ratings
      */
     @ApiOperation(value = "Get ratings")
-    @ApiResponses(value = { @ApiResponse(code = 404, message = "No movie found") })
-    @GetMapping(value = "/{id}/ratings")
-    @ResponseStatus(HttpStatus.OK)
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
+    @GetMapping(value = "/{id}/ratings", produces = {
+            MediaTypes.HAL_JSON_VALUE,
+            BinaryMediaTypes.CBOR_VALUE,
+            BinaryMediaTypes.SMILE_VALUE
+    })
+    public
+    ResponseEntity<PagedResources<Resource<RateResponse>>> getRatings(
+            @ApiParam(value = "The movie ID", required = true)
+            @PathVariable("id") final Long id,
+            @ApiParam(value = "Rating date range \"from\", the day in UTC")
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final LocalDate fromDate,
+            @ApiParam(value = "Rating date range \"to\", the day in UTC")
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final LocalDate toDate,
+            @ApiParam(value = "The cursor from the next link, for keyset pagination")
+            @RequestParam(value = "after", required = false) final String after,
+            @PageableDefault(sort = {"date"}) final Pageable page,
+            final PagedResourcesAssembler<RateResponse> assembler,
+            final WebRequest request
+    ) {
+        log.info("Called with id {}, fromDate {}, toDate {}, after {}, page {}", id, fromDate, toDate, after, page);
+
+        // Build the self link which will be used for the next, previous, etc links
+        final Link self = ControllerLinkBuilder
+                .linkTo(
+                        ControllerLinkBuilder
+                                .methodOn(MovieRestController.class)
+                                .getRatings(
+                                        id,
+                                        fromDate,
+                                        toDate,
+                                        after,
+                                        page,
+                                        assembler,
+                                        request
+                                )
+                ).withSelfRel();
+
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                this.getRatingsETag(id),
+                () -> {
+                    final SearchPage<RateResponse> ratings = this.movieSearchService.getRatings(
+                            id, fromDate, toDate, KeysetPageRequest.of(page, after)
+                    );
+
+                    return PagedResourcesUtils.withSearchPage(assembler.toResource(ratings, self), ratings, self);
+                }
+        );
+    }
+
+    /**
+     * Get the number of votes for every rate of a given movie.
+     *
+     * @param id The movie ID
+     * @param request The request
+     * @return The rating histogram
+     */
+    @ApiOperation(value = "Get the rating histogram")
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
+    @GetMapping(value = "/{id}/ratings/histogram")
     public
-    List<RateResponse> getRatings(
+    ResponseEntity<RatingHistogram> getRatingHistogram(
+            @ApiParam(value = "The movie ID", required = true)
+            @PathVariable("id") final Long id,
+            final WebRequest request
+    ) {
+        log.info("Called with id {}", id);
+
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                this.getRatingsETag(id),
+                () -> this.movieSearchService.getRatingHistogram(id)
+        );
+    }
+
+    /**
+     * Get the trend of the rating of a given movie, the number and the average of the votes per day, week
+     * or month and the cumulative averages.
+     *
+     * @param id The movie ID
+     * @param resolution The resolution of the trend
+     * @param fromDate Rating date range "from"
+     * @param toDate Rating date range "to"
+     * @param request The request
+     * @return The points of the trend
+     */
+    @ApiOperation(value = "Get the rating trend")
+    @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not modified"),
+            @ApiResponse(code = 404, message = "No movie found")
+    })
+    @GetMapping(value = "/{id}/ratings/trend")
+    public
+    ResponseEntity<List<RatingTrendPoint>> getRatingTrend(
+            @ApiParam(value = "The movie ID", required = true)
+            @PathVariable("id") final Long id,
+            @ApiParam(value = "The resolution of the trend")
+            @RequestParam(value = "resolution", defaultValue = "DAY") final TrendResolution resolution,
+            @ApiParam(value = "Rating date range \"from\", the day in UTC")
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final LocalDate fromDate,
+            @ApiParam(value = "Rating date range \"to\", the day in UTC")
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(pattern="yyyy-MM-dd") final LocalDate toDate,
+            final WebRequest request
+    ) {
+        log.info("Called with id {}, resolution {}, fromDate {}, toDate {}", id, resolution, fromDate, toDate);
+
+        return ConditionalRequestUtils.conditionalGet(
+                request,
+                this.getRatingsETag(id),
+                () -> this.movieSearchService.getRatingTrend(id, resolution, fromDate, toDate)
+        );
+    }
+
+    /**
+     * Delete the user's rating for a given movie.
+     *
+     * @param id The movie ID
+     */
+    @ApiOperation(value = "Delete your rating of the movie")
+    @ApiResponses(value = {
+            @ApiResponse(code = 404, message = "No movie found"),
+            @ApiResponse(code = 409, message = "The movie is not rated")
+    })
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @DeleteMapping(value = "/{id}/ratings")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public
+    void deleteRating(
             @ApiParam(value = "The movie ID", required = true)
             @PathVariable("id") final Long id
     ) {
         log.info("Called with id {}", id);
 
-        return this.movieSearchService.getRatings(id);
+        this.moviePersistenceService.deleteRating(id);
     }
 
     /**
@@ -611,4 +1147,37 @@ public class MovieRestController {
 
         this.moviePersistenceService.undoFavoriteMovie(id);
     }
+
+    /**
+     * Helper method to get the entity tag of the ratings of the movie. In the write-behind mode of the ratings
+     * the version of the movie changes only when the buffered votes are applied, so the ratings may lag the votes
+     * by up to the flush interval and the tag is weak.
+     *
+     * @param id The movie ID
+     * @return The entity tag of the ratings
+     */
+    private String getRatingsETag(final Long id) {
+        final long version = this.movieSearchService.getMovieVersion(id);
+        return this.movieSearchService.isRatingWriteBehind()
+                ? ConditionalRequestUtils.weakETag(version)
+                : ConditionalRequestUtils.strongETag(version);
+    }
+
+    /**
+     * Assemble the movie resource with the embedded collections of the relations.
+     *
+     * @param movie The movie
+     * @param relations The relations to embed
+     * @return The movie resource
+     */
+    private MovieResource toMovieResource(final Movie movie, final Set<MovieRelation> relations) {
+        final MovieResource movieResource = this.movieResourceAssembler.toResource(movie);
+
+        if (!relations.isEmpty()) {
+            this.movieSearchService.getRelations(Long.valueOf(movie.getId()), relations)
+                    .forEach((relation, infos) -> movieResource.embed(relation.getRel(), infos));
+        }
+
+        return movieResource;
+    }
 }
@@ -5,12 +5,15 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.jonki.popcorn.common.dto.search.UserSearchResult;
 import com.jonki.popcorn.common.exception.ResourceConflictException;
 import com.jonki.popcorn.common.exception.ResourceForbiddenException;
+import com.jonki.popcorn.core.search.KeysetPageRequest;
+import com.jonki.popcorn.core.search.SearchPage;
 import com.jonki.popcorn.core.service.AuthorizationService;
 import com.jonki.popcorn.core.service.UserSearchService;
 import com.jonki.popcorn.web.hateoas.assembler.UserResourceAssembler;
 import com.jonki.popcorn.web.hateoas.assembler.UserSearchResultResourceAssembler;
 import com.jonki.popcorn.web.hateoas.resource.UserResource;
 import com.jonki.popcorn.web.hateoas.resource.UserSearchResultResource;
+import com.jonki.popcorn.web.util.PagedResourcesUtils;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -78,6 +81,7 @@ public class UserRestController {
      * Get users for given filter criteria.
      *
      * @param q Phrase to search in the user's name (optional)
+     * @param after The cursor to get the page after (optional)
      * @param page The page to get
      * @param assembler The paged resources assembler to use
      * @return All users matching the criteria
@@ -89,10 +93,12 @@ public class UserRestController {
     PagedResources<UserSearchResultResource> findUsers(
             @ApiParam(value = "The user's name")
             @RequestParam(value = "q", required = false) final String q,
+            @ApiParam(value = "The cursor from the next link, for keyset pagination")
+            @RequestParam(value = "after", required = false) final String after,
             @PageableDefault(sort = {"id"}, direction = Sort.Direction.ASC) final Pageable page,
             final PagedResourcesAssembler<UserSearchResult> assembler
     ) {
-        log.info("Called with q {}, page {}", q, page);
+        log.info("Called with q {}, after {}, page {}", q, after, page);
 
         // Build the self link which will be used for the next, previous, etc links
         final Link self = ControllerLinkBuilder
@@ -101,14 +107,19 @@ public class UserRestController {
                                 .methodOn(UserRestController.class)
                                 .findUsers(
                                         q,
+                                        after,
                                         page,
                                         assembler
                                 )
                 ).withSelfRel();
 
-        return assembler.toResource(this.userSearchService.findUsers(
-                q, page
-        ), this.userSearchResultResourceAssembler, self);
+        final SearchPage<UserSearchResult> users = this.userSearchService.findUsers(
+                q, KeysetPageRequest.of(page, after)
+        );
+
+        return PagedResourcesUtils.withSearchPage(
+                assembler.toResource(users, this.userSearchResultResourceAssembler, self), users, self
+        );
     }
 
     /**
@@ -3,154 +3,72 @@ package com.jonki.popcorn.web.hateoas.assembler;
 import com.jonki.popcorn.common.dto.Movie;
 import com.jonki.popcorn.web.controller.MovieContributionRestController;
 import com.jonki.popcorn.web.controller.MovieRestController;
+import com.jonki.popcorn.web.hateoas.link.LinkTemplate;
+import com.jonki.popcorn.web.hateoas.link.LinkTemplateRegistry;
 import com.jonki.popcorn.web.hateoas.resource.MovieResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceAssembler;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Assembles Movie resources out of Movie DTOs.
  */
 @Component
 public class MovieResourceAssembler implements ResourceAssembler<Movie, MovieResource> {
 
+    private final LinkTemplateRegistry linkTemplateRegistry;
+    private final Map<String, LinkTemplate> templates;
+
+    /**
+     * Constructor. Resolves the templates of the movie's links.
+     *
+     * @param linkTemplateRegistry The registry of the link templates
+     */
+    @Autowired
+    public MovieResourceAssembler(final LinkTemplateRegistry linkTemplateRegistry) {
+        this.linkTemplateRegistry = linkTemplateRegistry;
+
+        final Map<String, LinkTemplate> movieTemplates = new LinkedHashMap<>();
+        movieTemplates.put(Link.REL_SELF, this.movieTemplate("getMovie"));
+        movieTemplates.put("titles", this.movieTemplate("getTitles"));
+        movieTemplates.put("releaseDates", this.movieTemplate("getReleaseDates"));
+        movieTemplates.put("outlines", this.movieTemplate("getOutlines"));
+        movieTemplates.put("summaries", this.movieTemplate("getSummaries"));
+        movieTemplates.put("synopses", this.movieTemplate("getSynopses"));
+        movieTemplates.put("boxOffices", this.movieTemplate("getBoxOffices"));
+        movieTemplates.put("sites", this.movieTemplate("getSites"));
+        movieTemplates.put("countries", this.movieTemplate("getCountries"));
+        movieTemplates.put("languages", this.movieTemplate("getLanguages"));
+        movieTemplates.put("genres", this.movieTemplate("getGenres"));
+        movieTemplates.put("reviews", this.movieTemplate("getReviews"));
+        movieTemplates.put("photos", this.movieTemplate("getPhotos"));
+        movieTemplates.put("posters", this.movieTemplate("getPosters"));
+        movieTemplates.put("ratings", this.movieTemplate("getRatings"));
+        movieTemplates.put("contributions",
+                linkTemplateRegistry.getTemplate(MovieContributionRestController.class, "findContributions"));
+        this.templates = Collections.unmodifiableMap(movieTemplates);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public MovieResource toResource(final Movie movie) {
         final MovieResource movieResource = new MovieResource(movie);
+        final String baseUri = this.linkTemplateRegistry.getBaseUri();
         final Long id = Long.valueOf(movie.getId());
 
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getMovie(id)
-                ).withSelfRel()
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getTitles(id)
-                ).withRel("titles")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getReleaseDates(id)
-                ).withRel("releaseDates")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getOutlines(id)
-                ).withRel("outlines")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getSummaries(id)
-                ).withRel("summaries")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getSynopses(id)
-                ).withRel("synopses")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getBoxOffices(id)
-                ).withRel("boxOffices")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getSites(id)
-                ).withRel("sites")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getCountries(id)
-                ).withRel("countries")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getLanguages(id)
-                ).withRel("languages")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getGenres(id)
-                ).withRel("genres")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getReviews(id)
-                ).withRel("reviews")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getPhotos(id)
-                ).withRel("photos")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getPosters(id)
-                ).withRel("posters")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getRatings(id)
-                ).withRel("ratings")
-        );
-
-        movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieContributionRestController.class)
-                                .findContributions(id,
-                                        null, null, null, null, null, null)
-                ).withRel("contributions")
-        );
+        this.templates.forEach((rel, template) -> movieResource.add(template.link(baseUri, rel, id)));
 
         return movieResource;
     }
+
+    private LinkTemplate movieTemplate(final String methodName) {
+        return this.linkTemplateRegistry.getTemplate(MovieRestController.class, methodName);
+    }
 }
@@ -2,9 +2,12 @@ package com.jonki.popcorn.web.hateoas.assembler;
 
 import com.jonki.popcorn.common.dto.search.MovieSearchResult;
 import com.jonki.popcorn.web.controller.MovieRestController;
+import com.jonki.popcorn.web.hateoas.link.LinkTemplate;
+import com.jonki.popcorn.web.hateoas.link.LinkTemplateRegistry;
 import com.jonki.popcorn.web.hateoas.resource.MovieSearchResultResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceAssembler;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -13,6 +16,20 @@ import org.springframework.stereotype.Component;
 @Component
 public class MovieSearchResultResourceAssembler implements ResourceAssembler<MovieSearchResult, MovieSearchResultResource> {
 
+    private final LinkTemplateRegistry linkTemplateRegistry;
+    private final LinkTemplate movieTemplate;
+
+    /**
+     * Constructor. Resolves the template of the movie link.
+     *
+     * @param linkTemplateRegistry The registry of the link templates
+     */
+    @Autowired
+    public MovieSearchResultResourceAssembler(final LinkTemplateRegistry linkTemplateRegistry) {
+        this.linkTemplateRegistry = linkTemplateRegistry;
+        this.movieTemplate = linkTemplateRegistry.getTemplate(MovieRestController.class, "getMovie");
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -21,11 +38,9 @@ public class MovieSearchResultResourceAssembler implements ResourceAssembler<Mov
         final MovieSearchResultResource movieResource = new MovieSearchResultResource(movie);
 
         movieResource.add(
-                ControllerLinkBuilder.linkTo(
-                        ControllerLinkBuilder
-                                .methodOn(MovieRestController.class)
-                                .getMovie(Long.valueOf(movie.getId()))
-                ).withSelfRel()
+                this.movieTemplate.link(
+                        this.linkTemplateRegistry.getBaseUri(), Link.REL_SELF, Long.valueOf(movie.getId())
+                )
         );
 
         return movieResource;
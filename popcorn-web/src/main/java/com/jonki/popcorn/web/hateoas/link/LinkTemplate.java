@@ -0,0 +1,91 @@
+package com.jonki.popcorn.web.hateoas.link;
+
+import lombok.Getter;
+import org.springframework.hateoas.Link;
+import org.springframework.web.util.UriUtils;
+
+import javax.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The URI template of a controller route, parsed once into its literal parts and path variables.
+ * Expanding the template only encodes the values of the path variables and concatenates the parts.
+ */
+public final class LinkTemplate {
+
+    @Getter
+    private final String template;
+    private final String[] literals;
+    @Getter
+    private final List<String> variables;
+
+    /**
+     * Parse the template.
+     *
+     * @param template The URI template relative to the servlet mapping, e.g. /api/v1.0/movies/{id}
+     */
+    public LinkTemplate(@NotNull final String template) {
+        final List<String> literalParts = new ArrayList<>();
+        final List<String> variableNames = new ArrayList<>();
+
+        int start = 0;
+        int open = template.indexOf('{');
+        while (open != -1) {
+            final int close = template.indexOf('}', open);
+            if (close == -1) {
+                throw new IllegalArgumentException("Unclosed variable in the template " + template);
+            }
+
+            literalParts.add(template.substring(start, open));
+            final String variable = template.substring(open + 1, close);
+            final int pattern = variable.indexOf(':');
+            variableNames.add((pattern == -1 ? variable : variable.substring(0, pattern)).trim());
+
+            start = close + 1;
+            open = template.indexOf('{', start);
+        }
+        literalParts.add(template.substring(start));
+
+        this.template = template;
+        this.literals = literalParts.toArray(new String[literalParts.size()]);
+        this.variables = Collections.unmodifiableList(variableNames);
+    }
+
+    /**
+     * Expand the template.
+     *
+     * @param baseUri The URI of the servlet mapping of the current request, e.g. http://localhost:8080
+     * @param values The values of the path variables, in the order of the template
+     * @return The absolute URI
+     */
+    public String expand(@NotNull final String baseUri, @NotNull final Object... values) {
+        if (values.length != this.variables.size()) {
+            throw new IllegalArgumentException(
+                    "The template " + this.template + " expects " + this.variables.size() + " values"
+            );
+        }
+
+        final StringBuilder uri = new StringBuilder(baseUri.length() + this.template.length() + 16);
+        uri.append(baseUri).append(this.literals[0]);
+        for (int i = 0; i < values.length; i++) {
+            uri.append(UriUtils.encodePathSegment(String.valueOf(values[i]), StandardCharsets.UTF_8))
+                    .append(this.literals[i + 1]);
+        }
+        return uri.toString();
+    }
+
+    /**
+     * Create the link to the expanded template.
+     *
+     * @param baseUri The URI of the servlet mapping of the current request
+     * @param rel The relation of the link
+     * @param values The values of the path variables, in the order of the template
+     * @return The link
+     */
+    public Link link(@NotNull final String baseUri, @NotNull final String rel, @NotNull final Object... values) {
+        return new Link(this.expand(baseUri, values), rel);
+    }
+}
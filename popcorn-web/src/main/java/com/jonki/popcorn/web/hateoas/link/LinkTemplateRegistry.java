@@ -0,0 +1,79 @@
+package com.jonki.popcorn.web.hateoas.link;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.core.MappingDiscoverer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.constraints.NotNull;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the link templates of the controller routes. The mapping of a handler method is resolved once,
+ * when the assemblers ask for its template at startup, instead of proxying the controller and expanding
+ * the mapping reflectively for every link.
+ */
+@Component
+@Slf4j
+public class LinkTemplateRegistry {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplateRegistry.class.getName() + ".baseUri";
+
+    private final MappingDiscoverer discoverer = new AnnotationMappingDiscoverer(RequestMapping.class);
+    private final Map<Method, LinkTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Get the template of the handler method.
+     *
+     * @param controller The controller class
+     * @param methodName The name of the handler method, unique among the handler methods of the controller
+     * @return The link template
+     * @throws IllegalArgumentException if the controller has no or more than one handler method of the name
+     */
+    public LinkTemplate getTemplate(@NotNull final Class<?> controller, @NotNull final String methodName) {
+        final List<Method> methods = Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(controller))
+                .filter(method -> method.getName().equals(methodName))
+                .filter(method -> AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class))
+                .collect(Collectors.toList());
+
+        if (methods.size() != 1) {
+            throw new IllegalArgumentException(
+                    "Expected one handler method " + methodName + " in " + controller.getName()
+                            + " but found " + methods.size()
+            );
+        }
+
+        return this.templates.computeIfAbsent(methods.get(0), method -> {
+            final String mapping = this.discoverer.getMapping(controller, method);
+            log.info("Registering the link template {} of {}", mapping, method);
+            return new LinkTemplate(mapping);
+        });
+    }
+
+    /**
+     * Get the base URI of the links, i.e. the URI of the servlet mapping of the current request,
+     * including the forwarded host and protocol. It's resolved once per request and kept in the request attributes.
+     *
+     * @return The base URI
+     */
+    public String getBaseUri() {
+        final RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+}
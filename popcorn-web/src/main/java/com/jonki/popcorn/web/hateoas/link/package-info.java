@@ -0,0 +1,5 @@
+/**
+ * Link templates of the controller routes, resolved once at startup.
+ */
+
+package com.jonki.popcorn.web.hateoas.link;
@@ -1,14 +1,23 @@
 package com.jonki.popcorn.web.hateoas.resource;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.jonki.popcorn.common.dto.Movie;
 import org.springframework.hateoas.Resource;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * HATEOAS resource representation of an Movie.
  */
 public class MovieResource extends Resource<Movie> {
 
+    private final Map<String, List<?>> embedded = new LinkedHashMap<>();
+
     /**
      * Constructor.
      *
@@ -18,4 +27,25 @@ public class MovieResource extends Resource<Movie> {
     public MovieResource(final Movie movie) {
         super(movie);
     }
+
+    /**
+     * Embed the collection of the relation in the resource.
+     *
+     * @param rel The relation of the collection, named like its link
+     * @param content The collection
+     */
+    public void embed(final String rel, final List<?> content) {
+        this.embedded.put(rel, content);
+    }
+
+    /**
+     * Get the embedded collections by their relations.
+     *
+     * @return The embedded collections, serialized only if there are any
+     */
+    @JsonProperty("_embedded")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public Map<String, List<?>> getEmbedded() {
+        return Collections.unmodifiableMap(this.embedded);
+    }
 }
@@ -0,0 +1,55 @@
+package com.jonki.popcorn.web.jackson;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+
+/**
+ * Drops the properties of a DTO the client hasn't asked for before they are serialized. The requested fields
+ * are kept in the request attributes by the controller, so the DTO is serialized in full unless the current
+ * request asks for a sparse fieldset. The ID is always serialized.
+ */
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+    /**
+     * The ID of the filter.
+     */
+    public static final String ID = "sparseFields";
+
+    /**
+     * The name of the request attribute with the set of requested fields.
+     */
+    public static final String FIELDS_ATTRIBUTE = SparseFieldsFilter.class.getName() + ".fields";
+
+    private static final String ID_FIELD = "id";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean include(final PropertyWriter writer) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        final Set<String> fields
+                = (Set<String>) attributes.getAttribute(FIELDS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return fields == null
+                || fields.isEmpty()
+                || fields.contains(writer.getName())
+                || ID_FIELD.equals(writer.getName());
+    }
+
+    /**
+     * Mix-in applying the filter to a DTO.
+     */
+    @JsonFilter(ID)
+    public interface Mixin {
+    }
+}
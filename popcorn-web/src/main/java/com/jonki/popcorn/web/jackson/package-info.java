@@ -0,0 +1,5 @@
+/**
+ * Customizations of the JSON serialization of the resources.
+ */
+
+package com.jonki.popcorn.web.jackson;
@@ -0,0 +1,29 @@
+package com.jonki.popcorn.web.util;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Binary media types of the JSON data model, encoded with the Jackson binary data formats.
+ */
+public final class BinaryMediaTypes {
+
+    /**
+     * A String equivalent of {@link BinaryMediaTypes#CBOR}.
+     */
+    public static final String CBOR_VALUE = "application/cbor";
+
+    /**
+     * Public constant media type for {@code application/cbor}.
+     */
+    public static final MediaType CBOR = MediaType.valueOf(CBOR_VALUE);
+
+    /**
+     * A String equivalent of {@link BinaryMediaTypes#SMILE}.
+     */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Public constant media type for {@code application/x-jackson-smile}.
+     */
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+}
@@ -0,0 +1,188 @@
+package com.jonki.popcorn.web.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Utility methods for conditional requests.
+ */
+public final class ConditionalRequestUtils {
+
+    // The media types of the message converters, for the handlers which don't declare the produced ones
+    private static final List<MediaType> DEFAULT_MEDIA_TYPES = Arrays.asList(
+            MediaType.APPLICATION_JSON,
+            BinaryMediaTypes.CBOR,
+            BinaryMediaTypes.SMILE
+    );
+
+    /**
+     * Create a strong entity tag out of the parts identifying the representation.
+     *
+     * @param parts The parts, e.g. the version of the resource
+     * @return The quoted entity tag
+     */
+    public static String strongETag(final Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Create a weak entity tag out of the parts identifying the representation, for the representations which
+     * may change a while before the parts do.
+     *
+     * @param parts The parts, e.g. the version of the resource
+     * @return The weak quoted entity tag
+     */
+    public static String weakETag(final Object... parts) {
+        return "W/" + strongETag(parts);
+    }
+
+    /**
+     * Add the suffix to the entity tag, inside its quotes.
+     *
+     * @param eTag The quoted entity tag
+     * @param suffix The suffix, e.g. the token of a variant
+     * @return The quoted entity tag with the suffix
+     */
+    public static String suffixETag(final String eTag, final String suffix) {
+        return StringUtils.removeEnd(eTag, "\"") + "-" + suffix + "\"";
+    }
+
+    /**
+     * Get the entity tag of the variant of the representation in the content type. The binary formats get
+     * their own entity tags, so a cache revalidating one format with the entity tag of another doesn't get 304.
+     * JSON keeps the entity tag of the representation.
+     *
+     * @param eTag The entity tag of the representation
+     * @param contentType The negotiated content type, null if unknown
+     * @return The entity tag of the variant
+     */
+    public static String variantETag(final String eTag, @Nullable final MediaType contentType) {
+        if (contentType == null) {
+            return eTag;
+        }
+        if (BinaryMediaTypes.CBOR.isCompatibleWith(contentType)) {
+            return suffixETag(eTag, "cbor");
+        }
+        if (BinaryMediaTypes.SMILE.isCompatibleWith(contentType)) {
+            return suffixETag(eTag, "smile");
+        }
+        return eTag;
+    }
+
+    /**
+     * Negotiate the content type of the response from the Accept header, the same way as the message converters
+     * are chosen.
+     *
+     * @param request The request
+     * @param producible The content types which can be produced, in the order of preference
+     * @return The content type or empty if none is acceptable
+     */
+    public static Optional<MediaType> negotiate(final WebRequest request, final List<MediaType> producible) {
+        final List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        } catch (final InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+        if (acceptable.isEmpty()) {
+            return producible.stream().findFirst();
+        }
+
+        MediaType.sortBySpecificityAndQuality(acceptable);
+        return acceptable.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .flatMap(type -> producible.stream().filter(type::isCompatibleWith))
+                .findFirst();
+    }
+
+    /**
+     * Respond to a conditional GET. When one of the entity tags of the If-None-Match header matches,
+     * 304 is returned without creating the body. The response varies by the Accept header, as the body
+     * is negotiated between JSON and the binary formats, so the entity tag is the one of the negotiated variant.
+     *
+     * @param request The request
+     * @param eTag The current entity tag of the resource
+     * @param body The supplier of the body
+     * @param <T> The type of the body
+     * @return The response with the entity tag
+     */
+    public static <T> ResponseEntity<T> conditionalGet(
+            final WebRequest request,
+            final String eTag,
+            final Supplier<T> body
+    ) {
+        final String variantETag = variantETag(eTag, negotiate(request, getProducibleMediaTypes(request)).orElse(null));
+        if (isNotModified(request, variantETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(variantETag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        return ResponseEntity.ok().eTag(variantETag).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    /**
+     * Check whether one of the entity tags of the If-None-Match headers of the request matches the current one.
+     *
+     * @param request The request
+     * @param eTag The current entity tag of the resource
+     * @return True if the client's representation is still current
+     */
+    public static boolean isNotModified(final WebRequest request, final String eTag) {
+        return isNotModified(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), eTag);
+    }
+
+    /**
+     * Check whether one of the entity tags of the If-None-Match headers matches the current one. Weak comparison
+     * is used, as required for If-None-Match.
+     *
+     * @param ifNoneMatch The values of the If-None-Match headers, null if there are none
+     * @param eTag The current entity tag
+     * @return True if the client's representation is still current
+     */
+    private static boolean isNotModified(final String[] ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        final String current = StringUtils.removeStart(eTag, "W/");
+        return Arrays.stream(ifNoneMatch)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || StringUtils.removeStart(tag, "W/").equals(current));
+    }
+
+    /**
+     * Get the content types declared as produced by the handler of the request, or the content types
+     * of the message converters if it declares none.
+     *
+     * @param request The request
+     * @return The content types, in the order of preference
+     */
+    @SuppressWarnings("unchecked")
+    private static List<MediaType> getProducibleMediaTypes(final WebRequest request) {
+        final Object producible = request.getAttribute(
+                HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST
+        );
+        return producible instanceof Collection && !((Collection<?>) producible).isEmpty()
+                ? new ArrayList<>((Collection<MediaType>) producible)
+                : DEFAULT_MEDIA_TYPES;
+    }
+}
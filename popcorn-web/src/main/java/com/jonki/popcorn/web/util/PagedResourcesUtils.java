@@ -0,0 +1,101 @@
+package com.jonki.popcorn.web.util;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jonki.popcorn.core.search.SearchPage;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods for paged resources.
+ */
+public final class PagedResourcesUtils {
+
+    /**
+     * Name of the request parameter with the cursor for keyset pagination.
+     */
+    public static final String AFTER_PARAM = "after";
+
+    /**
+     * Adapt the paged resources to the search page. The offset based next link is replaced with the link
+     * to the page after the cursor of the search page, or removed if there is no next page. The page
+     * metadata tells whether the total is exact.
+     *
+     * @param resources The paged resources built from the search page
+     * @param page The search page
+     * @param self The self link used to build the paged resources
+     * @param <R> The type of the resource
+     * @return The paged resources
+     */
+    public static <R extends ResourceSupport> PagedResources<R> withSearchPage(
+            final PagedResources<R> resources,
+            final SearchPage<?> page,
+            final Link self
+    ) {
+        final List<Link> links = new ArrayList<>(resources.getLinks());
+        links.removeIf(link -> Link.REL_NEXT.equals(link.getRel()));
+        page.getNextCursor().ifPresent(cursor -> links.add(new Link(
+                UriComponentsBuilder.fromUriString(self.getHref())
+                        .replaceQueryParam(AFTER_PARAM, cursor)
+                        .replaceQueryParam("page")
+                        .build()
+                        .toUriString(),
+                Link.REL_NEXT
+        )));
+
+        final PagedResources.PageMetadata metadata = resources.getMetadata();
+        return new PagedResources<>(
+                resources.getContent(),
+                new SearchPageMetadata(
+                        metadata.getSize(),
+                        metadata.getNumber(),
+                        metadata.getTotalElements(),
+                        metadata.getTotalPages(),
+                        page.isTotalExact()
+                ),
+                links
+        );
+    }
+
+    /**
+     * Page metadata which tells whether the total is exact or estimated.
+     */
+    public static class SearchPageMetadata extends PagedResources.PageMetadata {
+
+        @JsonProperty
+        private final boolean totalExact;
+
+        /**
+         * Constructor.
+         *
+         * @param size The size of the page
+         * @param number The number of the page
+         * @param totalElements The total number of elements
+         * @param totalPages The total number of pages
+         * @param totalExact Whether the totals are exact
+         */
+        public SearchPageMetadata(
+                final long size,
+                final long number,
+                final long totalElements,
+                final long totalPages,
+                final boolean totalExact
+        ) {
+            super(size, number, totalElements, totalPages);
+            this.totalExact = totalExact;
+        }
+
+        /**
+         * Check whether the totals are exact.
+         *
+         * @return False if the totals have been estimated
+         */
+        public boolean isTotalExact() {
+            return this.totalExact;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+CREATE TABLE movies_ratings_daily (id SERIAL NOT NULL, movie_id BIGINT NOT NULL, DATE DATE NOT NULL, rating_sum BIGINT NOT NULL, rating_count INTEGER NOT NULL, PRIMARY KEY (id));
+ALTER TABLE movies_ratings_daily ADD CONSTRAINT UK_movies_ratings_daily_movie_id_date UNIQUE (movie_id, DATE);
+ALTER TABLE movies_ratings_daily ADD CONSTRAINT FK_movies_ratings_daily_movie_id FOREIGN KEY (movie_id) REFERENCES movies (ID);
@@ -0,0 +1 @@
+ALTER TABLE movies ADD COLUMN content_version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+ALTER TABLE movies ADD COLUMN rating_sum BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_count INTEGER DEFAULT 0 NOT NULL;
+UPDATE movies SET rating_sum = COALESCE((SELECT SUM(r.rate) FROM movies_ratings r WHERE r.movie_id = movies.id), 0), rating_count = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id);
+UPDATE movies SET rating = CAST(rating_sum AS FLOAT) / rating_count WHERE rating_count > 0;
@@ -0,0 +1 @@
+CREATE INDEX IDX_movies_ratings_movie_id_date_id ON movies_ratings (movie_id, date, id);
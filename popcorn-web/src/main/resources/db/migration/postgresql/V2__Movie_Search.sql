@@ -0,0 +1,5 @@
+CREATE TABLE movie_search (movie_id BIGINT NOT NULL, title VARCHAR(255) NOT NULL, type VARCHAR(255) NOT NULL, titles VARCHAR(20000) NOT NULL, release_date DATE, latest_release_date DATE, release_year INTEGER, genres VARCHAR(2000) NOT NULL, countries VARCHAR(2000) NOT NULL, languages VARCHAR(2000) NOT NULL, rating FLOAT, favorite_count INTEGER NOT NULL, PRIMARY KEY (movie_id));
+ALTER TABLE movie_search ADD CONSTRAINT FK_movie_search_movie_id FOREIGN KEY (movie_id) REFERENCES movies (ID);
+CREATE INDEX IDX_movie_search_type ON movie_search (type);
+CREATE INDEX IDX_movie_search_release_date ON movie_search (release_date);
+CREATE INDEX IDX_movie_search_rating ON movie_search (rating);
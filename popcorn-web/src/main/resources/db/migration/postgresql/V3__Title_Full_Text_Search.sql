@@ -0,0 +1 @@
+CREATE INDEX IDX_movies_info_title_tsv ON movies_info USING GIN (to_tsvector('simple', title)) WHERE dtype = 'OTHER_TITLE';
@@ -0,0 +1,3 @@
+CREATE TABLE movies_ratings_duplicates AS SELECT * FROM movies_ratings WHERE EXISTS (SELECT 1 FROM movies_ratings newer WHERE newer.movie_id = movies_ratings.movie_id AND newer.user_id = movies_ratings.user_id AND newer.id > movies_ratings.id);
+DELETE FROM movies_ratings WHERE id IN (SELECT id FROM movies_ratings_duplicates);
+ALTER TABLE movies_ratings ADD CONSTRAINT UK_movies_ratings_movie_id_user_id UNIQUE (movie_id, user_id);
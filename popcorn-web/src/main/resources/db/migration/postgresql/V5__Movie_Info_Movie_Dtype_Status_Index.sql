@@ -0,0 +1 @@
+CREATE INDEX IDX_movies_info_movie_id_dtype_status ON movies_info (movie_id, dtype, status);
@@ -0,0 +1,21 @@
+ALTER TABLE movies ADD COLUMN rating_histogram_1 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_2 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_3 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_4 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_5 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_6 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_7 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_8 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_9 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE movies ADD COLUMN rating_histogram_10 INTEGER DEFAULT 0 NOT NULL;
+UPDATE movies SET
+    rating_histogram_1 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 1),
+    rating_histogram_2 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 2),
+    rating_histogram_3 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 3),
+    rating_histogram_4 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 4),
+    rating_histogram_5 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 5),
+    rating_histogram_6 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 6),
+    rating_histogram_7 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 7),
+    rating_histogram_8 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 8),
+    rating_histogram_9 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 9),
+    rating_histogram_10 = (SELECT COUNT(*) FROM movies_ratings r WHERE r.movie_id = movies.id AND r.rate = 10);
@@ -0,0 +1,91 @@
+package com.jonki.popcorn.web.cache;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit tests for CachedResponse.
+ */
+@Category(UnitTest.class)
+public class CachedResponseUnitTests {
+
+    private final CachedResponse response = new CachedResponse(
+            "application/hal+json;charset=UTF-8",
+            "\"1\"",
+            "{\"id\":1}".getBytes(StandardCharsets.UTF_8),
+            true
+    );
+
+    /**
+     * Test the gzipped body has its own entity tag.
+     */
+    @Test
+    public void canTagGzippedBody() {
+        Assert.assertThat(this.respond("gzip", null).getHeaders().getETag(), Matchers.is("\"1-gzip\""));
+        Assert.assertThat(this.respond(null, null).getHeaders().getETag(), Matchers.is("\"1\""));
+    }
+
+    /**
+     * Test either entity tag of the current body revalidates the client's representation, and 304 carries
+     * the entity tag of the coding the client would get now.
+     */
+    @Test
+    public void canRevalidateEitherCoding() {
+        final ResponseEntity<byte[]> gzipped = this.respond("gzip", "\"1\"");
+        Assert.assertThat(gzipped.getStatusCode(), Matchers.is(HttpStatus.NOT_MODIFIED));
+        Assert.assertThat(gzipped.getHeaders().getETag(), Matchers.is("\"1-gzip\""));
+
+        final ResponseEntity<byte[]> identity = this.respond(null, "\"1-gzip\"");
+        Assert.assertThat(identity.getStatusCode(), Matchers.is(HttpStatus.NOT_MODIFIED));
+        Assert.assertThat(identity.getHeaders().getETag(), Matchers.is("\"1\""));
+
+        Assert.assertThat(this.respond("gzip", "\"2-gzip\"").getStatusCode(), Matchers.is(HttpStatus.OK));
+    }
+
+    /**
+     * Test the quality values of the Accept-Encoding header are parsed.
+     */
+    @Test
+    public void canParseAcceptEncoding() {
+        Assert.assertThat(this.acceptsGzip("gzip"), Matchers.is(true));
+        Assert.assertThat(this.acceptsGzip("deflate, GZIP;q=0.5"), Matchers.is(true));
+        Assert.assertThat(this.acceptsGzip("x-gzip"), Matchers.is(true));
+        Assert.assertThat(this.acceptsGzip("*"), Matchers.is(true));
+        Assert.assertThat(this.acceptsGzip("gzip;q=0"), Matchers.is(false));
+        Assert.assertThat(this.acceptsGzip("gzip;q=0.0"), Matchers.is(false));
+        Assert.assertThat(this.acceptsGzip("gzip; q=0"), Matchers.is(false));
+        Assert.assertThat(this.acceptsGzip("gzip;q=0.000, *"), Matchers.is(false));
+        Assert.assertThat(this.acceptsGzip("*;q=0"), Matchers.is(false));
+        Assert.assertThat(this.acceptsGzip("deflate, identity"), Matchers.is(false));
+        Assert.assertThat(this.acceptsGzip(null), Matchers.is(false));
+    }
+
+    private ResponseEntity<byte[]> respond(final String acceptEncoding, final String ifNoneMatch) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return this.response.toResponseEntity(new ServletWebRequest(request));
+    }
+
+    private boolean acceptsGzip(final String acceptEncoding) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return CachedResponse.acceptsGzip(new ServletWebRequest(request));
+    }
+}
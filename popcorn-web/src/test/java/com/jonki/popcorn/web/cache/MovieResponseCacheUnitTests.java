@@ -0,0 +1,277 @@
+package com.jonki.popcorn.web.cache;
+
+import com.jonki.popcorn.core.event.MovieChangedEvent;
+import com.jonki.popcorn.core.event.MovieFavoritedEvent;
+import com.jonki.popcorn.core.event.MovieRatedEvent;
+import com.jonki.popcorn.core.properties.CacheProperties;
+import com.jonki.popcorn.test.category.UnitTest;
+import com.jonki.popcorn.web.util.BinaryMediaTypes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Unit tests for MovieResponseCache.
+ */
+@Category(UnitTest.class)
+public class MovieResponseCacheUnitTests {
+
+    private static final String BASE_URI = "http://localhost";
+    private static final List<MediaType> PRODUCIBLE = Arrays.asList(
+            MediaTypes.HAL_JSON,
+            BinaryMediaTypes.CBOR,
+            BinaryMediaTypes.SMILE
+    );
+
+    private CacheProperties cacheProperties;
+    private MovieResponseCache cache;
+    private MeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.cacheProperties = new CacheProperties();
+        this.cacheProperties.getResponse().setEnabled(true);
+        this.cacheProperties.getResponse().setMaxSize(2);
+        final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+        converter.setSupportedMediaTypes(Collections.singletonList(MediaTypes.HAL_JSON));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.cache = new MovieResponseCache(
+                this.cacheProperties,
+                this.meterRegistry,
+                () -> Collections.singletonList(converter)
+        );
+        this.loads = new AtomicInteger();
+    }
+
+    /**
+     * Test the response is encoded once and again after the movie has changed, but not after every vote.
+     */
+    @Test
+    public void canCacheUntilEvicted() {
+        final ResponseEntity<byte[]> response = this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(response.getStatusCode(), Matchers.is(HttpStatus.OK));
+        Assert.assertThat(
+                new String(response.getBody(), StandardCharsets.UTF_8),
+                Matchers.is("{\"id\":1}")
+        );
+        Assert.assertThat(response.getHeaders().getETag(), Matchers.is("\"1\""));
+        Assert.assertThat(
+                response.getHeaders().getContentType().isCompatibleWith(MediaTypes.HAL_JSON),
+                Matchers.is(true)
+        );
+        Assert.assertThat(
+                this.respond(1L, new MockHttpServletRequest()).getBody(),
+                Matchers.is(response.getBody())
+        );
+        Assert.assertThat(this.loads.get(), Matchers.is(1));
+
+        this.cache.onMovieChanged(new MovieChangedEvent(1L, null));
+        this.respond(1L, new MockHttpServletRequest());
+        this.cache.onMovieRated(new MovieRatedEvent(1L));
+        this.respond(1L, new MockHttpServletRequest());
+        this.cache.onMovieFavorited(new MovieFavoritedEvent(1L));
+        this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(2));
+
+        Assert.assertThat(this.count("cache.gets", "result", "hit"), Matchers.is(3.0));
+        Assert.assertThat(this.count("cache.gets", "result", "miss"), Matchers.is(2.0));
+        Assert.assertThat(this.count("cache.evictions", "cause", "write"), Matchers.is(1.0));
+    }
+
+    /**
+     * Test the response expires after the rating max age since the vote.
+     */
+    @Test
+    public void canExpireAfterRatingMaxAge() {
+        this.cacheProperties.getResponse().setRatingMaxAge(0);
+
+        this.respond(1L, new MockHttpServletRequest());
+        this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(1));
+
+        this.cache.onMovieRated(new MovieRatedEvent(1L));
+        this.respond(1L, new MockHttpServletRequest());
+        this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(2));
+        Assert.assertThat(this.count("cache.evictions", "cause", "write"), Matchers.is(1.0));
+    }
+
+    /**
+     * Test the response encoded during a vote expires after the rating max age.
+     */
+    @Test
+    public void canExpireResponseEncodedDuringVote() {
+        this.cacheProperties.getResponse().setRatingMaxAge(0);
+
+        this.cache.respond(
+                1L,
+                BASE_URI,
+                MediaTypes.HAL_JSON,
+                new ServletWebRequest(new MockHttpServletRequest()),
+                () -> "\"1\"",
+                () -> {
+                    this.cache.onMovieRated(new MovieRatedEvent(1L));
+                    return this.load(1L);
+                }
+        );
+        this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(2));
+    }
+
+    /**
+     * Test the least recently used movie is evicted when the cache is full.
+     */
+    @Test
+    public void canEvictLeastRecentlyUsed() {
+        this.respond(1L, new MockHttpServletRequest());
+        this.respond(2L, new MockHttpServletRequest());
+        this.respond(1L, new MockHttpServletRequest());
+        this.respond(3L, new MockHttpServletRequest());
+        Assert.assertThat(this.cache.size(), Matchers.is(2));
+
+        this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(3));
+        this.respond(2L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(4));
+
+        Assert.assertThat(this.count("cache.evictions", "cause", "size"), Matchers.is(2.0));
+    }
+
+    /**
+     * Test the gzipped body is served to the clients accepting it.
+     *
+     * @throws IOException on error
+     */
+    @Test
+    public void canServeGzippedBody() throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+        final ResponseEntity<byte[]> response = this.respond(1L, request);
+        Assert.assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), Matchers.is("gzip"));
+        Assert.assertThat(
+                response.getHeaders().getVary(),
+                Matchers.contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+        );
+
+        final byte[] body = new byte[64];
+        final int length;
+        try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            length = in.read(body);
+        }
+        Assert.assertThat(new String(body, 0, length, StandardCharsets.UTF_8), Matchers.is("{\"id\":1}"));
+
+        final MockHttpServletRequest identity = new MockHttpServletRequest();
+        identity.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        Assert.assertThat(
+                this.respond(1L, identity).getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING),
+                Matchers.is(false)
+        );
+        Assert.assertThat(this.loads.get(), Matchers.is(1));
+    }
+
+    /**
+     * Test the cached response isn't sent if the client has the current version.
+     */
+    @Test
+    public void canRespondNotModified() {
+        this.respond(1L, new MockHttpServletRequest());
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1\"");
+        final ResponseEntity<byte[]> response = this.respond(1L, request);
+        Assert.assertThat(response.getStatusCode(), Matchers.is(HttpStatus.NOT_MODIFIED));
+        Assert.assertThat(response.getBody(), Matchers.nullValue());
+        Assert.assertThat(response.getHeaders().getETag(), Matchers.is("\"1\""));
+    }
+
+    /**
+     * Test the content type is negotiated from the Accept header.
+     */
+    @Test
+    public void canNegotiateContentType() {
+        Assert.assertThat(this.negotiate(null), Matchers.is(Optional.of(MediaTypes.HAL_JSON)));
+        Assert.assertThat(this.negotiate("*/*"), Matchers.is(Optional.of(MediaTypes.HAL_JSON)));
+        Assert.assertThat(
+                this.negotiate("application/hal+json;q=0.5, application/cbor"),
+                Matchers.is(Optional.of(BinaryMediaTypes.CBOR))
+        );
+        Assert.assertThat(this.negotiate("application/*;q=0, text/html"), Matchers.is(Optional.empty()));
+        Assert.assertThat(this.negotiate("text/html"), Matchers.is(Optional.empty()));
+        Assert.assertThat(this.negotiate("not a media type"), Matchers.is(Optional.empty()));
+    }
+
+    /**
+     * Test the response encoded while the movie has been evicted isn't cached.
+     */
+    @Test
+    public void cantCacheResponseEncodedDuringEviction() {
+        this.cache.respond(
+                1L,
+                BASE_URI,
+                MediaTypes.HAL_JSON,
+                new ServletWebRequest(new MockHttpServletRequest()),
+                () -> "\"1\"",
+                () -> {
+                    this.cache.evict(1L);
+                    return this.load(1L);
+                }
+        );
+        this.respond(1L, new MockHttpServletRequest());
+        Assert.assertThat(this.loads.get(), Matchers.is(2));
+    }
+
+    private ResponseEntity<byte[]> respond(final Long id, final MockHttpServletRequest request) {
+        return this.cache.respond(
+                id,
+                BASE_URI,
+                MediaTypes.HAL_JSON,
+                new ServletWebRequest(request),
+                () -> "\"" + id + "\"",
+                () -> this.load(id)
+        );
+    }
+
+    private Optional<MediaType> negotiate(final String accept) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return this.cache.negotiate(new ServletWebRequest(request), PRODUCIBLE);
+    }
+
+    private Map<String, Long> load(final Long id) {
+        this.loads.incrementAndGet();
+        return Collections.singletonMap("id", id);
+    }
+
+    private double count(final String name, final String tag, final String value) {
+        return this.meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.jonki.popcorn.web.hateoas.link;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import com.jonki.popcorn.web.controller.MovieContributionRestController;
+import com.jonki.popcorn.web.controller.MovieRestController;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for LinkTemplateRegistry and LinkTemplate.
+ */
+@Category(UnitTest.class)
+public class LinkTemplateRegistryUnitTests {
+
+    private LinkTemplateRegistry registry;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("popcorn.example.com");
+        request.setServerPort(8443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        this.registry = new LinkTemplateRegistry();
+    }
+
+    /**
+     * Reset the request.
+     */
+    @After
+    public void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Test the expanded template is the same link as the one built through the controller proxy.
+     */
+    @Test
+    public void canExpandLikeControllerLinkBuilder() {
+        final LinkTemplate movie = this.registry.getTemplate(MovieRestController.class, "getMovie");
+        final LinkTemplate titles = this.registry.getTemplate(MovieRestController.class, "getTitles");
+
+        Assert.assertThat(movie.getTemplate(), Matchers.is("/api/v1.0/movies/{id}"));
+        Assert.assertThat(movie.getVariables(), Matchers.contains("id"));
+        Assert.assertThat(
+                movie.expand(this.registry.getBaseUri(), 42L),
+                Matchers.is(ControllerLinkBuilder.linkTo(
+                        ControllerLinkBuilder.methodOn(MovieRestController.class).getMovie(42L, null, null, null)
+                ).toUri().toString())
+        );
+        Assert.assertThat(
+                titles.link(this.registry.getBaseUri(), "titles", 42L).getHref(),
+                Matchers.is(ControllerLinkBuilder.linkTo(
+                        ControllerLinkBuilder.methodOn(MovieRestController.class).getTitles(42L, null)
+                ).toUri().toString())
+        );
+    }
+
+    /**
+     * Test the template of a handler method is resolved once.
+     */
+    @Test
+    public void canResolveTemplateOnce() {
+        Assert.assertThat(
+                this.registry.getTemplate(MovieContributionRestController.class, "findContributions"),
+                Matchers.sameInstance(
+                        this.registry.getTemplate(MovieContributionRestController.class, "findContributions")
+                )
+        );
+    }
+
+    /**
+     * Test the values of the path variables are encoded and the patterns of the variables are ignored.
+     */
+    @Test
+    public void canEncodePathVariables() {
+        final LinkTemplate template = new LinkTemplate("/api/{name:[a-z ]+}/items/{id}");
+
+        Assert.assertThat(template.getVariables(), Matchers.contains("name", "id"));
+        Assert.assertThat(
+                template.expand("http://localhost", "a b", 1),
+                Matchers.is("http://localhost/api/a%20b/items/1")
+        );
+    }
+
+    /**
+     * Test the template can't be expanded with the wrong number of values.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void cantExpandWithWrongNumberOfValues() {
+        new LinkTemplate("/api/{id}").expand("http://localhost");
+    }
+
+    /**
+     * Test the template of an unknown handler method can't be resolved.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void cantGetTemplateOfUnknownMethod() {
+        this.registry.getTemplate(MovieRestController.class, "getNothing");
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Tests for classes in the com.jonki.popcorn.web.hateoas.link package.
+ */
+
+package com.jonki.popcorn.web.hateoas.link;
@@ -0,0 +1,109 @@
+package com.jonki.popcorn.web.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.jonki.popcorn.common.dto.Movie;
+import com.jonki.popcorn.common.dto.movie.Genre;
+import com.jonki.popcorn.common.dto.movie.type.GenreType;
+import com.jonki.popcorn.common.dto.movie.type.MovieType;
+import com.jonki.popcorn.test.category.UnitTest;
+import com.jonki.popcorn.web.hateoas.resource.MovieResource;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for SparseFieldsFilter.
+ */
+@Category(UnitTest.class)
+public class SparseFieldsFilterUnitTests {
+
+    private ObjectMapper objectMapper;
+    private MovieResource movieResource;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new Jackson2HalModule());
+        this.objectMapper.setHandlerInstantiator(
+                new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(), null, null)
+        );
+        this.objectMapper.addMixIn(Movie.class, SparseFieldsFilter.Mixin.class);
+        this.objectMapper.setFilterProvider(
+                new SimpleFilterProvider().addFilter(SparseFieldsFilter.ID, new SparseFieldsFilter())
+        );
+
+        final Movie movie = ((Movie.Builder) new Movie.Builder("Movie", MovieType.CINEMA).withId("1"))
+                .withOutline("Outline")
+                .build();
+        this.movieResource = new MovieResource(movie);
+        this.movieResource.add(new Link("http://localhost/api/v1.0/movies/1"));
+        this.movieResource.embed("genres", Lists.newArrayList(new Genre.Builder(GenreType.ACTION).build()));
+    }
+
+    /**
+     * Reset the request.
+     */
+    @After
+    public void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Test all the fields are serialized if the request doesn't ask for a sparse fieldset.
+     *
+     * @throws Exception For any problem
+     */
+    @Test
+    public void canSerializeAllFields() throws Exception {
+        final JsonNode json = this.objectMapper.valueToTree(this.movieResource);
+
+        Assert.assertThat(json.path("title").asText(), Matchers.is("Movie"));
+        Assert.assertThat(json.path("outline").asText(), Matchers.is("Outline"));
+        Assert.assertThat(json.has("type"), Matchers.is(true));
+        Assert.assertThat(json.path("_embedded").path("genres").size(), Matchers.is(1));
+        Assert.assertThat(json.path("_links").path("self").path("href").asText(),
+                Matchers.is("http://localhost/api/v1.0/movies/1"));
+    }
+
+    /**
+     * Test only the requested fields and the ID are serialized, along with the links and the embedded collections.
+     *
+     * @throws Exception For any problem
+     */
+    @Test
+    public void canSerializeRequestedFields() throws Exception {
+        RequestContextHolder.currentRequestAttributes().setAttribute(
+                SparseFieldsFilter.FIELDS_ATTRIBUTE,
+                Sets.newHashSet("title"),
+                RequestAttributes.SCOPE_REQUEST
+        );
+
+        final JsonNode json = this.objectMapper.valueToTree(this.movieResource);
+
+        Assert.assertThat(json.path("title").asText(), Matchers.is("Movie"));
+        Assert.assertThat(json.path("id").asText(), Matchers.is("1"));
+        Assert.assertThat(json.has("outline"), Matchers.is(false));
+        Assert.assertThat(json.has("type"), Matchers.is(false));
+        Assert.assertThat(json.path("_embedded").path("genres").size(), Matchers.is(1));
+        Assert.assertThat(json.has("_links"), Matchers.is(true));
+    }
+}
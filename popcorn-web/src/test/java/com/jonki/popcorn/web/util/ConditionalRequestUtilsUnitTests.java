@@ -0,0 +1,110 @@
+package com.jonki.popcorn.web.util;
+
+import com.jonki.popcorn.test.category.UnitTest;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * Unit tests for ConditionalRequestUtils.
+ */
+@Category(UnitTest.class)
+public class ConditionalRequestUtilsUnitTests {
+
+    private static final String ETAG = ConditionalRequestUtils.strongETag(7L, "US");
+
+    /**
+     * Test JSON and the binary formats of the same version get different entity tags.
+     */
+    @Test
+    public void canTagEveryFormat() {
+        final String json = this.get(MediaType.APPLICATION_JSON_VALUE, null).getHeaders().getETag();
+        final String cbor = this.get(BinaryMediaTypes.CBOR_VALUE, null).getHeaders().getETag();
+        final String smile = this.get(BinaryMediaTypes.SMILE_VALUE, null).getHeaders().getETag();
+
+        Assert.assertThat(json, Matchers.is("\"7-US\""));
+        Assert.assertThat(cbor, Matchers.is("\"7-US-cbor\""));
+        Assert.assertThat(smile, Matchers.is("\"7-US-smile\""));
+        Assert.assertThat(this.get(null, null).getHeaders().getETag(), Matchers.is(json));
+    }
+
+    /**
+     * Test the entity tag of one format doesn't revalidate another one.
+     */
+    @Test
+    public void cantRevalidateOtherFormat() {
+        final ResponseEntity<String> response = this.get(BinaryMediaTypes.CBOR_VALUE, ETAG);
+        Assert.assertThat(response.getStatusCode(), Matchers.is(HttpStatus.OK));
+        Assert.assertThat(response.getBody(), Matchers.is("body"));
+
+        Assert.assertThat(
+                this.get(BinaryMediaTypes.CBOR_VALUE, "\"7-US-cbor\"").getStatusCode(),
+                Matchers.is(HttpStatus.NOT_MODIFIED)
+        );
+        Assert.assertThat(
+                this.get(MediaType.APPLICATION_JSON_VALUE, "W/" + ETAG).getStatusCode(),
+                Matchers.is(HttpStatus.NOT_MODIFIED)
+        );
+    }
+
+    /**
+     * Test a weak entity tag stays weak in every format and revalidates the representation.
+     */
+    @Test
+    public void canRevalidateWeakETag() {
+        final String weak = ConditionalRequestUtils.weakETag(7L);
+        Assert.assertThat(weak, Matchers.is("W/\"7\""));
+        Assert.assertThat(ConditionalRequestUtils.suffixETag(weak, "cbor"), Matchers.is("W/\"7-cbor\""));
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, weak);
+        Assert.assertThat(
+                ConditionalRequestUtils.conditionalGet(new ServletWebRequest(request), weak, () -> "body")
+                        .getStatusCode(),
+                Matchers.is(HttpStatus.NOT_MODIFIED)
+        );
+    }
+
+    /**
+     * Test the content type is negotiated among the content types produced by the handler.
+     */
+    @Test
+    public void canNegotiateProducedContentType() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor");
+        request.setAttribute(
+                HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE,
+                new LinkedHashSet<>(Arrays.asList(MediaTypes.HAL_JSON, BinaryMediaTypes.SMILE))
+        );
+
+        Assert.assertThat(
+                ConditionalRequestUtils.conditionalGet(new ServletWebRequest(request), ETAG, () -> "body")
+                        .getHeaders()
+                        .getETag(),
+                Matchers.is(ETAG)
+        );
+    }
+
+    private ResponseEntity<String> get(final String accept, final String ifNoneMatch) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return ConditionalRequestUtils.conditionalGet(new ServletWebRequest(request), ETAG, () -> "body");
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Tests for classes in the com.jonki.popcorn.web.util package.
+ */
+
+package com.jonki.popcorn.web.util;